@@ -0,0 +1,25 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Population#getAverageFitness()}, chiamata dal GA a ogni generazione per il
+ * criterio di miglioramento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class AverageFitnessBenchmark extends ComponentBenchmark {
+
+    @Benchmark
+    public double averageFitness() {
+        return population.getAverageFitness();
+    }
+}
@@ -0,0 +1,41 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkInitializer;
+import com.pokedexsocial.backend.benchmark.stub.PokedexJsonLoader;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Stato comune dei micro-benchmark dei singoli componenti del GA.
+ *
+ * <p>Per ogni trial carica il Pokedex dal JSON (nessun database) e crea una popolazione
+ * casuale di {@code populationSize} team, già valutata. Ogni invocazione lavora su
+ * questa popolazione, che non cambia tra un'invocazione e l'altra: i tempi e i byte
+ * allocati sono quelli di un'applicazione del componente a una generazione di quella
+ * dimensione. Le sottoclassi aggiungono il proprio {@code @Setup}, eseguito dopo questo.</p>
+ */
+@State(Scope.Thread)
+public abstract class ComponentBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int populationSize;
+
+    protected PokedexJsonLoader loader;
+    protected Population<PokemonTeamGA> population;
+    protected final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setupPopulation() {
+        loader = new PokedexJsonLoader();
+        population = new BenchmarkInitializer(loader, populationSize).initialize();
+        new PokemonTeamFitnessFunction().evaluate(population);
+    }
+}
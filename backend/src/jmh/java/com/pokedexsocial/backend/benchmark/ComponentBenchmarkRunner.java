@@ -0,0 +1,83 @@
+package com.pokedexsocial.backend.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Esegue i micro-benchmark dei singoli componenti del GA con i profiler GC e stack e
+ * scrive i risultati in JSON, per confrontare le esecuzioni e trovare le regressioni
+ * di un componente.
+ *
+ * <p>Uso, dalla cartella {@code backend}:</p>
+ * <pre>
+ * mvn -Pbenchmark process-classes
+ * java -cp target/classes:$(cat target/benchmark.classpath) \
+ *     com.pokedexsocial.backend.benchmark.ComponentBenchmarkRunner [file.json] [filtro]
+ * </pre>
+ *
+ * <p>Il file di default è {@code target/jmh/components.json}; il filtro opzionale è
+ * un'espressione regolare JMH (es. {@code Selection}) che limita i benchmark eseguiti.
+ * Nel JSON, {@code gc.alloc.rate.norm} sono i byte allocati per invocazione e
+ * {@code stack} i metodi più campionati.</p>
+ */
+public class ComponentBenchmarkRunner {
+
+    private static final List<Class<? extends ComponentBenchmark>> BENCHMARKS = List.of(
+            SelectionOperatorBenchmark.class,
+            CrossoverOperatorBenchmark.class,
+            SwapMutationBenchmark.class,
+            FitnessEvaluationBenchmark.class,
+            AverageFitnessBenchmark.class,
+            RandomPokemonBenchmark.class,
+            PokemonConstructionBenchmark.class);
+
+    public static void main(String[] args) throws RunnerException {
+        File output = new File(args.length > 0 ? args[0] : "target/jmh/components.json");
+        File directory = output.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Impossibile creare " + directory);
+        }
+
+        //Senza include JMH eseguirebbe tutti i benchmark, anche quelli end-to-end
+        OptionsBuilder builder = new OptionsBuilder();
+        int included = 0;
+        for (Class<? extends ComponentBenchmark> benchmark : BENCHMARKS) {
+            if (args.length < 2 || benchmark.getSimpleName().matches(".*" + args[1] + ".*")) {
+                builder.include(benchmark.getName());
+                included++;
+            }
+        }
+        if (included == 0) {
+            throw new IllegalArgumentException("Nessun benchmark corrisponde a " + args[1]);
+        }
+
+        Options opt = builder
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+
+                .forks(1)
+                .threads(1)
+
+                .addProfiler(GCProfiler.class)
+                .addProfiler(StackProfiler.class)
+
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.getPath())
+
+                .build();
+
+        new Runner(opt).run();
+    }
+}
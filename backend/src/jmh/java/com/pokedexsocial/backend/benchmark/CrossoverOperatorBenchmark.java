@@ -0,0 +1,48 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamSinglePointCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamTwoPointCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamUniformCrossover;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un'applicazione di ogni {@link CrossoverOperator} dei team alla popolazione usata come
+ * mating pool. Il crossover con vincoli non è incluso: delega a uno di questi e ripara
+ * i figli, quindi dipende dai vincoli scelti più che dall'operatore.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class CrossoverOperatorBenchmark extends ComponentBenchmark {
+
+    @Param({"uniform", "single", "two"})
+    public String operator;
+
+    private CrossoverOperator<PokemonTeamGA> crossover;
+
+    @Setup(Level.Trial)
+    public void setupOperator() {
+        crossover = switch (operator) {
+            case "uniform" -> new PokemonTeamUniformCrossover();
+            case "single" -> new PokemonTeamSinglePointCrossover();
+            default -> new PokemonTeamTwoPointCrossover();
+        };
+    }
+
+    @Benchmark
+    public Population<PokemonTeamGA> crossover() throws CloneNotSupportedException {
+        return crossover.apply(population, random);
+    }
+}
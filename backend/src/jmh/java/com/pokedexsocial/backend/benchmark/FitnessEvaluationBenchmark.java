@@ -0,0 +1,29 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * La valutazione di una generazione con {@link PokemonTeamFitnessFunction}: la fitness di
+ * ogni team più la ricerca del migliore.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class FitnessEvaluationBenchmark extends ComponentBenchmark {
+
+    private final PokemonTeamFitnessFunction fitness = new PokemonTeamFitnessFunction();
+
+    @Benchmark
+    public PokemonTeamGA evaluate() {
+        fitness.evaluate(population);
+        return population.getBestIndividual();
+    }
+}
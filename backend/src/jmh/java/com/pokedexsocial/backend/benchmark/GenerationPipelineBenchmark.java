@@ -0,0 +1,111 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkInitializer;
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkPokemonSwapMutation;
+import com.pokedexsocial.backend.benchmark.stub.PokedexJsonLoader;
+import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.DoubleBufferedGeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamUniformCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.RankSelection;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una generazione del GA: pipeline classica, che crea nuove popolazioni e nuovi individui
+ * a ogni operatore, contro la pipeline a doppio buffer, che scrive negli slot preallocati.
+ *
+ * <p>Ogni invocazione è una generazione (selezione per rank, crossover uniforme, mutazione)
+ * e la popolazione evolve da un'invocazione all'altra. Con {@code scope = operators} la
+ * fitness non viene calcolata e si misurano solo gli operatori; con {@code full} la
+ * generazione include la valutazione dei team. Da eseguire con {@code -prof gc}:
+ * {@code gc.alloc.rate.norm} sono i byte allocati per generazione.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class GenerationPipelineBenchmark {
+
+    @Param({"100", "1000"})
+    public int populationSize;
+
+    @Param({"operators", "full"})
+    public String scope;
+
+    private final Random random = new Random(42);
+
+    private FitnessFunction<PokemonTeamGA> fitness;
+    private RankSelection<PokemonTeamGA> selection;
+    private PokemonTeamUniformCrossover crossover;
+    private BenchmarkPokemonSwapMutation mutation;
+
+    private Population<PokemonTeamGA> current;
+    private DoubleBufferedGeneticAlgorithm<PokemonTeamGA> buffered;
+    private DoubleBufferedGeneticAlgorithm.Buffers<PokemonTeamGA> buffers;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        PokedexJsonLoader loader = new PokedexJsonLoader();
+        BenchmarkInitializer initializer = new BenchmarkInitializer(loader, populationSize);
+        fitness = "full".equals(scope) ? new PokemonTeamFitnessFunction() : new NoFitness();
+        selection = new RankSelection<>();
+        crossover = new PokemonTeamUniformCrossover();
+        mutation = new BenchmarkPokemonSwapMutation(loader, 0.3);
+
+        current = initializer.initialize();
+        new PokemonTeamFitnessFunction().evaluate(current);
+
+        buffered = new DoubleBufferedGeneticAlgorithm<>(fitness, initializer, selection, crossover, mutation,
+                1.0, Integer.MAX_VALUE, 0);
+        Population<PokemonTeamGA> initial = initializer.initialize();
+        new PokemonTeamFitnessFunction().evaluate(initial);
+        buffers = buffered.allocate(initial);
+    }
+
+    @Benchmark
+    public Population<PokemonTeamGA> allocating() throws CloneNotSupportedException {
+        Population<PokemonTeamGA> matingPool = selection.apply(current, random);
+        Population<PokemonTeamGA> offsprings = crossover.apply(matingPool, random);
+        Population<PokemonTeamGA> next = mutation.apply(offsprings, random);
+        fitness.evaluate(next);
+        current = next;
+        return current;
+    }
+
+    @Benchmark
+    public boolean doubleBuffered() {
+        return buffered.step(buffers, random);
+    }
+
+    // Lascia la fitness com'è: isola il costo degli operatori
+    private static final class NoFitness extends FitnessFunction<PokemonTeamGA> {
+        NoFitness() {
+            super(true);
+        }
+
+        @Override
+        public void evaluate(Population<PokemonTeamGA> population) {
+            population.setBestIndividual(population.iterator().next());
+        }
+
+        @Override
+        public void evaluate(PokemonTeamGA individual) {
+            //Nessun calcolo
+            individual.setFitness(individual.getFitness());
+        }
+    }
+}
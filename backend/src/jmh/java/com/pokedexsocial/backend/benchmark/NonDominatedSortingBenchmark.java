@@ -0,0 +1,51 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.NonDominatedSorting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo dell'ordinamento non dominato di NSGA-II su popolazioni grandi.
+ *
+ * <p>Gli obiettivi sono 5, come le componenti della fitness dei team, con valori interi
+ * 0-100 così che esistano sia fronti ampi sia pareggi.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class NonDominatedSortingBenchmark {
+
+    private static final int OBJECTIVES = 5;
+
+    @Param({"1000", "10000"})
+    public int population;
+
+    private double[] objectives;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        objectives = new double[population * OBJECTIVES];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = random.nextInt(101);
+        }
+    }
+
+    @Benchmark
+    public List<int[]> sort() {
+        return NonDominatedSorting.sort(objectives, OBJECTIVES);
+    }
+}
@@ -0,0 +1,68 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * La costruzione di {@link PokemonGA} (calcolo di totale, resistenze, debolezze e valori
+ * derivati), come fa il Pokedex all'avvio. Ogni invocazione crea {@code populationSize}
+ * Pokémon, scorrendo ciclicamente i dati del Pokedex JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class PokemonConstructionBenchmark extends ComponentBenchmark {
+
+    //Dati grezzi estratti una volta, così si misura solo il costruttore
+    private int[] ids;
+    private int[] numbers;
+    private String[] names;
+    private PokemonType[] types1;
+    private PokemonType[] types2;
+    private int[][] stats;
+    private PokemonRarity[] rarities;
+
+    @Setup(Level.Trial)
+    public void setupData() {
+        List<PokemonGA> all = loader.getAll();
+        ids = new int[populationSize];
+        numbers = new int[populationSize];
+        names = new String[populationSize];
+        types1 = new PokemonType[populationSize];
+        types2 = new PokemonType[populationSize];
+        stats = new int[populationSize][];
+        rarities = new PokemonRarity[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            PokemonGA p = all.get(i % all.size());
+            ids[i] = p.getId();
+            numbers[i] = p.getNumber();
+            names[i] = p.getName();
+            types1[i] = p.getType1();
+            types2[i] = p.getType2();
+            stats[i] = new int[]{p.getHp(), p.getAttack(), p.getDefense(),
+                    p.getSpecialAttack(), p.getSpecialDefense(), p.getSpeed()};
+            rarities[i] = p.getRarity();
+        }
+    }
+
+    @Benchmark
+    public void construct(Blackhole blackhole) {
+        for (int i = 0; i < populationSize; i++) {
+            int[] s = stats[i];
+            blackhole.consume(new PokemonGA(ids[i], numbers[i], names[i], types1[i], types2[i],
+                    s[0], s[1], s[2], s[3], s[4], s[5], rarities[i]));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkPokedex;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Pokedex#getRandomPokemon()} su un Pokedex vero caricato dal JSON. Ogni invocazione
+ * estrae i membri necessari a inizializzare una popolazione ({@code populationSize} team
+ * da {@value PokemonTeamGA#MAX_TEAM_MEMBERS}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class RandomPokemonBenchmark extends ComponentBenchmark {
+
+    private Pokedex pokedex;
+
+    @Setup(Level.Trial)
+    public void setupPokedex() {
+        pokedex = BenchmarkPokedex.create(loader);
+    }
+
+    @Benchmark
+    public void randomPokemon(Blackhole blackhole) {
+        int draws = populationSize * PokemonTeamGA.MAX_TEAM_MEMBERS;
+        for (int i = 0; i < draws; i++) {
+            blackhole.consume(pokedex.getRandomPokemon());
+        }
+    }
+}
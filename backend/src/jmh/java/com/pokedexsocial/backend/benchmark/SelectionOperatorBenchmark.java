@@ -0,0 +1,49 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.BinaryTournamentSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.KTournamentSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.RankSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.RouletteWheelSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un'applicazione di ogni {@link SelectionOperator} a una popolazione valutata:
+ * restituisce il mating pool della generazione.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class SelectionOperatorBenchmark extends ComponentBenchmark {
+
+    @Param({"roulette", "binary", "ktournament", "rank"})
+    public String operator;
+
+    private SelectionOperator<PokemonTeamGA> selection;
+
+    @Setup(Level.Trial)
+    public void setupOperator() {
+        selection = switch (operator) {
+            case "roulette" -> new RouletteWheelSelection<>();
+            case "binary" -> new BinaryTournamentSelection<>();
+            case "ktournament" -> new KTournamentSelection<>();
+            default -> new RankSelection<>();
+        };
+    }
+
+    @Benchmark
+    public Population<PokemonTeamGA> select() throws CloneNotSupportedException {
+        return selection.apply(population, random);
+    }
+}
@@ -0,0 +1,121 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.service.TeamLshIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latenza e recall della ricerca di team simili: indice MinHash/LSH contro scansione completa.
+ *
+ * <p>I team sintetici sono varianti (0-2 membri cambiati) di un insieme di archetipi,
+ * così ogni query ha vicini reali. La recall@K è calcolata una volta per trial, sulle
+ * stesse query misurate, e stampata alla fine.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SimilarTeamBenchmark {
+
+    private static final int POKEMON = 1025;
+    private static final int TOP_K = 10;
+    private static final int QUERIES = 256;
+
+    @Param({"10000", "100000", "1000000"})
+    public int teams;
+
+    private TeamLshIndex index;
+    private List<List<Integer>> queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        SplittableRandom random = new SplittableRandom(42);
+        // un archetipo ogni 20 team: i cluster crescono con l'indice
+        List<List<Integer>> archetypes = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, teams / 20); i++) {
+            archetypes.add(randomTeam(random));
+        }
+
+        index = new TeamLshIndex();
+        for (int teamId = 1; teamId <= teams; teamId++) {
+            index.put(teamId, variant(archetypes.get(random.nextInt(archetypes.size())), random));
+        }
+
+        queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(variant(archetypes.get(random.nextInt(archetypes.size())), random));
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public List<TeamLshIndex.Match> lsh() {
+        return index.query(nextQuery(), TOP_K, -1);
+    }
+
+    @Benchmark
+    public List<TeamLshIndex.Match> bruteForce() {
+        return index.bruteForce(nextQuery(), TOP_K, -1);
+    }
+
+    @TearDown(Level.Trial)
+    public void printRecall() {
+        int expected = 0;
+        int found = 0;
+        for (List<Integer> query : queries) {
+            List<TeamLshIndex.Match> exact = index.bruteForce(query, TOP_K, -1);
+            List<TeamLshIndex.Match> approx = index.query(query, TOP_K, -1);
+            expected += exact.size();
+            // a parità di similarità qualsiasi team va bene: si confrontano i punteggi
+            for (int i = 0; i < exact.size(); i++) {
+                if (i < approx.size() && approx.get(i).similarity() >= exact.get(i).similarity()) {
+                    found++;
+                }
+            }
+        }
+
+        System.out.println("\n=== RECALL LSH ===");
+        System.out.printf("Team: %d | Recall@%d: %.4f%n", teams, TOP_K, expected == 0 ? 1.0 : (double) found / expected);
+        System.out.println("==================\n");
+    }
+
+    private List<Integer> nextQuery() {
+        List<Integer> query = queries.get(next);
+        next = (next + 1) % QUERIES;
+        return query;
+    }
+
+    private static List<Integer> randomTeam(SplittableRandom random) {
+        List<Integer> team = new ArrayList<>(6);
+        while (team.size() < 6) {
+            int id = 1 + random.nextInt(POKEMON);
+            if (!team.contains(id)) {
+                team.add(id);
+            }
+        }
+        return team;
+    }
+
+    private static List<Integer> variant(List<Integer> archetype, SplittableRandom random) {
+        List<Integer> team = new ArrayList<>(archetype);
+        for (int i = random.nextInt(3); i > 0; i--) {
+            team.set(random.nextInt(6), 1 + random.nextInt(POKEMON));
+        }
+        return team;
+    }
+}
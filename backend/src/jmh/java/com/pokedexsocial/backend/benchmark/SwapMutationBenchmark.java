@@ -0,0 +1,37 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkPokemonGenerator;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.PokemonSwapMutation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un'applicazione di {@link PokemonSwapMutation} (quella di produzione, con la probabilità
+ * di default 0.3) alla popolazione; i sostituti sono estratti dal Pokedex JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class SwapMutationBenchmark extends ComponentBenchmark {
+
+    private PokemonSwapMutation mutation;
+
+    @Setup(Level.Trial)
+    public void setupOperator() {
+        mutation = new PokemonSwapMutation(new BenchmarkPokemonGenerator(loader), 0.3);
+    }
+
+    @Benchmark
+    public Population<PokemonTeamGA> mutate() throws CloneNotSupportedException {
+        return mutation.apply(population, random);
+    }
+}
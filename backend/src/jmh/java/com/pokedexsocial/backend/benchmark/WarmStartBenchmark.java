@@ -0,0 +1,159 @@
+package com.pokedexsocial.backend.benchmark;
+
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkInitializer;
+import com.pokedexsocial.backend.benchmark.stub.BenchmarkPokemonSwapMutation;
+import com.pokedexsocial.backend.benchmark.stub.PokedexJsonLoader;
+import com.pokedexsocial.backend.optimizer.ga.archive.EliteArchive;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.GeneCodec;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.SimpleGeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamUniformCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.RankSelection;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.results.Results;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm start da un archivio dei migliori team contro partenza da team solo casuali.
+ *
+ * <p>L'archivio è riempito, una volta per trial, da alcune esecuzioni precedenti a freddo;
+ * la soglia è la fitness finale media di quelle esecuzioni. Ogni invocazione misura
+ * un'esecuzione completa del GA; alla fine sono stampate le generazioni medie per
+ * raggiungere la soglia e la fitness finale media. Con {@code seedFraction = 0}
+ * l'archivio non è usato.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class WarmStartBenchmark {
+
+    private static final int POPULATION = 100;
+    private static final int PREVIOUS_RUNS = 5;
+
+    @Param({"0.0", "0.2"})
+    public double seedFraction;
+
+    private PokedexJsonLoader loader;
+    private EliteArchive<PokemonTeamGA> archive;
+    private double threshold;
+    private final Random random = new Random(42);
+
+    private int generationsToThresholdSum;
+    private int missed;
+    private double fitnessSum;
+    private int count;
+    private Results<PokemonTeamGA> lastResult;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception {
+        loader = new PokedexJsonLoader();
+        archive = new EliteArchive<>(new LoaderCodec(loader.getAll()), PokemonTeamGA::canonicalHash, 50, seedFraction, 1);
+
+        double finalFitness = 0;
+        for (int i = 0; i < PREVIOUS_RUNS; i++) {
+            Results<PokemonTeamGA> previous = algorithm(new BenchmarkInitializer(loader, POPULATION)).run();
+            archive.offer("default", previous.getBestGeneration());
+            finalFitness += previous.getBestIndividual().getFitness();
+        }
+        threshold = finalFitness / PREVIOUS_RUNS;
+
+        generationsToThresholdSum = 0;
+        missed = 0;
+        fitnessSum = 0;
+        count = 0;
+    }
+
+    @Benchmark
+    public Results<PokemonTeamGA> run() throws Exception {
+        lastResult = algorithm(new WarmStartInitializer()).run();
+        return lastResult;
+    }
+
+    @TearDown(Level.Invocation)
+    public void collectStats() {
+        List<Population<PokemonTeamGA>> generations = lastResult.getGenerations();
+        int reached = generations.size();
+        for (int i = 0; i < generations.size(); i++) {
+            if (generations.get(i).getBestIndividual().getFitness() >= threshold) {
+                reached = i;
+                break;
+            }
+        }
+        if (reached == generations.size()) {
+            missed++;
+        }
+        generationsToThresholdSum += reached;
+        fitnessSum += lastResult.getBestIndividual().getFitness();
+        count++;
+    }
+
+    @TearDown(Level.Trial)
+    public void printAverages() {
+        System.out.println("\n=== WARM START ===");
+        System.out.printf("Seed fraction: %.2f | Soglia: %.3f (archivio: %d team)%n",
+                seedFraction, threshold, archive.size("default"));
+        System.out.printf("Media generazioni alla soglia: %.2f (soglia mancata %d/%d)%n",
+                (double) generationsToThresholdSum / count, missed, count);
+        System.out.printf("Media Fitness: %.3f%n", fitnessSum / count);
+        System.out.println("==================\n");
+    }
+
+    private SimpleGeneticAlgorithm<PokemonTeamGA> algorithm(Initializer<PokemonTeamGA> initializer) {
+        return new SimpleGeneticAlgorithm<>(new PokemonTeamFitnessFunction(), initializer, new RankSelection<>(),
+                new PokemonTeamUniformCrossover(), new BenchmarkPokemonSwapMutation(loader, 0.3), 1.0, 40, 10);
+    }
+
+    // Semi dall'archivio, il resto casuale come nel benchmark del GA
+    private class WarmStartInitializer extends Initializer<PokemonTeamGA> {
+        @Override
+        public Population<PokemonTeamGA> initialize() {
+            List<PokemonTeamGA> seeds = archive.seeds("default", POPULATION, random);
+            Population<PokemonTeamGA> population = new BenchmarkInitializer(loader, POPULATION - seeds.size()).initialize();
+            Population<PokemonTeamGA> seeded = new FixedSizePopulation<>(population.getId(), POPULATION);
+            seeded.addAll(seeds);
+            seeded.addAll(population);
+            return seeded;
+        }
+    }
+
+    // Gli ID del loader sono progressivi: l'ID n è l'elemento n - 1
+    private record LoaderCodec(List<PokemonGA> pokemons) implements GeneCodec<PokemonTeamGA> {
+        @Override
+        public int[] encode(PokemonTeamGA individual) {
+            PokemonGA[] coding = individual.getCoding();
+            int[] genes = new int[coding.length];
+            for (int i = 0; i < coding.length; i++) {
+                genes[i] = coding[i].getId();
+            }
+            return genes;
+        }
+
+        @Override
+        public PokemonTeamGA decode(int[] genes) {
+            PokemonGA[] coding = new PokemonGA[genes.length];
+            for (int i = 0; i < genes.length; i++) {
+                coding[i] = pokemons.get(genes[i] - 1);
+            }
+            return new PokemonTeamGA(coding);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.pokedexsocial.backend.benchmark.stub;
+
+import com.pokedexsocial.backend.model.Pokemon;
+import com.pokedexsocial.backend.model.Type;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypePool;
+import com.pokedexsocial.backend.repository.PokemonRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Crea un {@link Pokedex} vero a partire dal Pokedex JSON, senza database: il repository
+ * è un proxy che restituisce le entità ricavate dal JSON e il pool dei tipi è quello
+ * del {@link PokedexJsonLoader}. Così si misura il codice di produzione di {@code Pokedex}.
+ */
+public final class BenchmarkPokedex {
+
+    private BenchmarkPokedex() {
+    }
+
+    public static Pokedex create(PokedexJsonLoader loader) {
+        BenchmarkPokemonTypePool types = loader.getTypePool();
+        PokemonTypePool typePool = new PokemonTypePool(null, null) {
+            @Override
+            public Optional<PokemonType> getTypeByName(PokemonTypeName name) {
+                return Optional.ofNullable(types.get(name));
+            }
+        };
+
+        List<Pokemon> entities = new ArrayList<>();
+        for (PokemonGA pokemon : loader.getAll()) {
+            entities.add(toEntity(pokemon));
+        }
+
+        PokemonRepository repository = (PokemonRepository) Proxy.newProxyInstance(
+                PokemonRepository.class.getClassLoader(),
+                new Class<?>[]{PokemonRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllWithTypes" -> entities;
+                    case "toString" -> "BenchmarkPokemonRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        Pokedex pokedex = new Pokedex(typePool, repository);
+        pokedex.init();
+        return pokedex;
+    }
+
+    private static Pokemon toEntity(PokemonGA pokemon) {
+        Pokemon entity = new Pokemon();
+        entity.setId(pokemon.getId());
+        entity.setNdex(pokemon.getNumber());
+        entity.setSpecies(pokemon.getName());
+        entity.setType1(toEntity(pokemon.getType1().getName()));
+        if (pokemon.getType2().getName() != PokemonTypeName.UNDEFINED) {
+            entity.setType2(toEntity(pokemon.getType2().getName()));
+        }
+        entity.setHp(pokemon.getHp());
+        entity.setAttack(pokemon.getAttack());
+        entity.setDefense(pokemon.getDefense());
+        entity.setSpattack(pokemon.getSpecialAttack());
+        entity.setSpdefense(pokemon.getSpecialDefense());
+        entity.setSpeed(pokemon.getSpeed());
+        entity.setTotal(pokemon.getTotal());
+        return entity;
+    }
+
+    private static Type toEntity(PokemonTypeName name) {
+        return new Type(name.ordinal() + 1, name.name());
+    }
+}
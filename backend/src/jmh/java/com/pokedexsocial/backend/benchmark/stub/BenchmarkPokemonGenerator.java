@@ -0,0 +1,23 @@
+package com.pokedexsocial.backend.benchmark.stub;
+
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGenerator;
+
+/**
+ * Generatore che estrae dal Pokedex JSON invece che dal {@code Pokedex} del database,
+ * così gli operatori di produzione (es. PokemonSwapMutation) girano senza Spring.
+ */
+public class BenchmarkPokemonGenerator extends PokemonGenerator {
+
+    private final PokedexJsonLoader loader;
+
+    public BenchmarkPokemonGenerator(PokedexJsonLoader loader) {
+        super(null);
+        this.loader = loader;
+    }
+
+    @Override
+    public PokemonGA generatePokemon() {
+        return loader.randomPokemon();
+    }
+}
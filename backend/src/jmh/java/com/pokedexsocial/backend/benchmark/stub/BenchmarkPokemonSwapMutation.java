@@ -1,13 +1,15 @@
 package com.pokedexsocial.backend.benchmark.stub;
 
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.InPlaceMutation;
 import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
 
+import java.util.List;
 import java.util.Random;
 
-public class BenchmarkPokemonSwapMutation extends MutationOperator<PokemonTeamGA> {
+public class BenchmarkPokemonSwapMutation extends MutationOperator<PokemonTeamGA> implements InPlaceMutation<PokemonTeamGA> {
 
     private final PokedexJsonLoader loader;
     private final double mutationProbability;
@@ -33,6 +35,16 @@ public class BenchmarkPokemonSwapMutation extends MutationOperator<PokemonTeamGA
         return newPopulation;
     }
 
+    @Override
+    public void mutateInPlace(List<PokemonTeamGA> population, Random rand) {
+        for (int i = 0; i < population.size(); i++) {
+            if (rand.nextDouble() <= mutationProbability) {
+                PokemonGA[] coding = population.get(i).getCoding();
+                coding[rand.nextInt(coding.length)] = loader.randomPokemon();
+            }
+        }
+    }
+
     private PokemonTeamGA mutate(PokemonTeamGA individual, Random rand) {
         PokemonGA[] original = individual.getCoding();
         PokemonGA[] mutated = original.clone();
@@ -52,7 +52,10 @@ public class PokedexJsonLoader {
                 PokemonType type1 = typePool.get(dto.type1);
                 PokemonType type2 = typePool.get(dto.type2);
 
+                // ID progressivo, come quello del database (serve all'hash canonico dei team);
+                // resistenze / debolezze prese dal JSON (ok)
                 PokemonGA ga = new PokemonGA(
+                        result.size() + 1,
                         dto.number,
                         dto.name,
                         type1,
@@ -64,11 +67,7 @@ public class PokedexJsonLoader {
                         dto.specialDefense,
                         dto.speed,
                         dto.rarity
-                );
-
-                // Resistenze / debolezze prese dal JSON (ok)
-                ga.setResistances(dto.resistances);
-                ga.setWeaknesses(dto.weaknesses);
+                ).withDefenses(dto.resistances, dto.weaknesses);
 
                 result.add(ga);
             }
@@ -87,4 +86,8 @@ public class PokedexJsonLoader {
     public List<PokemonGA> getAll() {
         return pokemons;
     }
+
+    public BenchmarkPokemonTypePool getTypePool() {
+        return typePool;
+    }
 }
\ No newline at end of file
@@ -1,27 +1,41 @@
 package com.pokedexsocial.backend.controller;
 
+import com.pokedexsocial.backend.dto.CursorPagedResponse;
 import com.pokedexsocial.backend.dto.PagedResponse;
 import com.pokedexsocial.backend.dto.PokemonDto;
 import com.pokedexsocial.backend.dto.PokemonFiltersDto;
 import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.service.PokemonResponseCache;
 import com.pokedexsocial.backend.service.PokemonService;
 import com.pokedexsocial.backend.specification.PokemonSearchCriteria;
+import com.pokedexsocial.backend.util.AcceptEncoding;
+import com.pokedexsocial.backend.util.Cursor;
 import com.pokedexsocial.backend.util.SortWhitelist;
+import com.pokedexsocial.backend.util.Versioned;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Set;
 
 /** REST controller for Pokémon catalog endpoints. */
@@ -30,22 +44,58 @@ import java.util.Set;
 @Validated
 public class PokemonController {
 
+    /** Maximum number of Pokémon that can be requested by a single batch call. */
+    static final int MAX_BATCH_SIZE = 50;
+
     private final PokemonService pokemonService;
+    private final PokemonResponseCache responseCache;
 
-    public PokemonController(PokemonService pokemonService) {
+    public PokemonController(PokemonService pokemonService, PokemonResponseCache responseCache) {
         this.pokemonService = pokemonService;
+        this.responseCache = responseCache;
     }
 
     /**
      * Retrieves a Pokémon by its unique ID.
+     * <p>
+     * The body is the pre-serialized {@link PokemonDto} JSON held by {@link PokemonResponseCache},
+     * gzip-compressed when the client accepts it. The response carries an ETag and a
+     * Last-Modified date, so conditional requests are answered with {@code 304 Not Modified}.
      *
-     * @param id database identifier of the Pokémon (must be >= 1)
-     * @return PokemonDto with complete details
+     * @param id             database identifier of the Pokémon (must be >= 1)
+     * @param acceptEncoding the client's {@code Accept-Encoding} header, if any
+     * @return the PokemonDto JSON with complete details
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PokemonDto> getPokemonById(@PathVariable @Min(1) Integer id) {
-        PokemonDto pokemon = pokemonService.getPokemonById(id);
-        return ResponseEntity.ok(pokemon);
+    public ResponseEntity<byte[]> getPokemonById(
+            @PathVariable @Min(1) Integer id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        PokemonResponseCache.EncodedPokemon pokemon = responseCache.get(id);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .lastModified(pokemon.lastModified());
+
+        if (pokemon.gzip() != null && AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.eTag(pokemon.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(pokemon.gzip());
+        }
+        return response.eTag(pokemon.etag()).body(pokemon.json());
+    }
+
+    /**
+     * Retrieves several Pokémon by ID in one request, e.g. all members of a team.
+     *
+     * @param ids database identifiers of the Pokémon (1 to {@value #MAX_BATCH_SIZE} values)
+     * @return the PokemonDtos, in the order the IDs were given
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<PokemonDto>> getPokemonByIds(
+            @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Min(1) Integer> ids) {
+        return ResponseEntity.ok(pokemonService.getPokemonByIds(ids));
     }
 
     /**
@@ -74,9 +124,50 @@ public class PokemonController {
         return PagedResponse.from(result);
     }
 
+    /**
+     * Searches Pokémon with cursor (keyset) pagination.
+     * <p>
+     * Same filters and sort whitelist as {@link #search}, but pages are addressed by the
+     * opaque {@code cursor} returned in the previous response instead of a page number,
+     * so deep pages stay as cheap as the first one. When a cursor is given, its sort
+     * order takes precedence over the {@code sort} parameter.
+     *
+     * @param criteria the search criteria (validated)
+     * @param cursor   the cursor of the previous page, absent for the first page
+     * @param pageable page size and sorting information (the page number is ignored)
+     * @return a cursor page containing the matching Pokémon
+     */
+    @GetMapping("/scroll")
+    public CursorPagedResponse<PokemonListDto> scroll(
+            @Valid @ModelAttribute PokemonSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @PageableDefault(size = 20, sort = "ndex", direction = Sort.Direction.ASC) Pageable pageable) {
+
+        Cursor after = Cursor.decode(cursor);
+        Sort safeSort = SortWhitelist.filter(
+                after != null ? Sort.by(after.toOrder()) : pageable.getSort(),
+                Set.of("ndex", "species"),
+                Sort.by("ndex").ascending()
+        );
+
+        return pokemonService.scroll(criteria, safeSort.iterator().next(), pageable.getPageSize(), after);
+    }
+
+    /**
+     * Retrieves the metadata used to build the catalogue filters.
+     * <p>
+     * The response carries a strong ETag and {@code Cache-Control: no-cache}, so
+     * clients revalidate with {@code If-None-Match} and receive {@code 304 Not Modified}
+     * while the metadata is unchanged.
+     *
+     * @return the filters metadata
+     */
     @GetMapping("/filters")
     public ResponseEntity<PokemonFiltersDto> getFilters() {
-        PokemonFiltersDto filters = pokemonService.getFilters();
-        return ResponseEntity.ok(filters);
+        Versioned<PokemonFiltersDto> filters = pokemonService.getVersionedFilters();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(filters.etag())
+                .body(filters.value());
     }
 }
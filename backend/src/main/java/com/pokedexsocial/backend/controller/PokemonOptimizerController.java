@@ -1,24 +1,91 @@
 package com.pokedexsocial.backend.controller;
 
+import com.pokedexsocial.backend.dto.CounterTeamRequest;
 import com.pokedexsocial.backend.dto.OptimizationResultDTO;
+import com.pokedexsocial.backend.dto.ParetoFrontDto;
+import com.pokedexsocial.backend.dto.TeamCompletionRequest;
+import com.pokedexsocial.backend.service.OptimizationRunService;
 import com.pokedexsocial.backend.service.TeamOptimizationService;
+import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/optimizer")
 public class PokemonOptimizerController {
 
     private final TeamOptimizationService optimizationService;
+    private final OptimizationRunService runService;
 
-    public PokemonOptimizerController(TeamOptimizationService optimizationService) {
+    public PokemonOptimizerController(TeamOptimizationService optimizationService,
+                                      OptimizationRunService runService) {
         this.optimizationService = optimizationService;
+        this.runService = runService;
     }
 
-
+    /**
+     * Runs the optimizer. Like the other runs, it is processed asynchronously and stops
+     * early on timeout or when the client disconnects, returning the best team found so far.
+     *
+     * @return the best team found, flagged as cancelled when the run was stopped early
+     */
     @GetMapping("/run")
-    public OptimizationResultDTO runOptimization() throws CloneNotSupportedException {
-        return optimizationService.optimize();
+    public WebAsyncTask<OptimizationResultDTO> runOptimization() {
+        return runService.submit(optimizationService::optimize, OptimizationResultDTO::getStopReason);
+    }
+
+    /**
+     * Completes a team around locked members, never proposing banned Pokémon or rarities.
+     *
+     * @param request the locked members (up to 5) and the bans
+     * @return the best team found, locked members first
+     */
+    @PostMapping("/run")
+    public WebAsyncTask<OptimizationResultDTO> runConstrainedOptimization(
+            @Valid @RequestBody TeamCompletionRequest request) {
+        return runService.submit(token -> optimizationService.optimize(request, token),
+                OptimizationResultDTO::getStopReason);
+    }
+
+    /**
+     * Runs the multi-objective optimizer and returns the Pareto front of teams, so that
+     * raw stats can be traded against coverage and the other fitness components.
+     *
+     * @return the non-dominated teams with their objective values
+     */
+    @GetMapping("/pareto")
+    public WebAsyncTask<ParetoFrontDto> runParetoOptimization() {
+        return runService.submit(optimizationService::optimizePareto, ParetoFrontDto::stopReason);
+    }
+
+    /**
+     * Evolves a team that counters an opponent: super-effective coverage against it,
+     * little exposure to its types. Requires authentication; the run fails with 403 if
+     * the opponent is a private team of another user.
+     *
+     * @param request the opponent, as a saved team ID or a list of Pokémon IDs
+     * @return the best counter team found
+     */
+    @PostMapping("/counter")
+    public WebAsyncTask<OptimizationResultDTO> runCounterOptimization(@Valid @RequestBody CounterTeamRequest request) {
+        return runService.submit(token -> optimizationService.optimizeCounter(request, token),
+                OptimizationResultDTO::getStopReason);
+    }
+
+    /**
+     * Returns the optimizer run counters: runs started, completed, failed and in progress,
+     * runs stopped early by reason, async timeouts and errors.
+     *
+     * @return the counters by name
+     */
+    @GetMapping("/metrics")
+    public Map<String, Long> getRunMetrics() {
+        return runService.getMetrics();
     }
 }
@@ -1,11 +1,25 @@
 package com.pokedexsocial.backend.controller;
 
 import com.pokedexsocial.backend.dto.CreateTeamRequest;
+import com.pokedexsocial.backend.dto.CursorPagedResponse;
+import com.pokedexsocial.backend.dto.LeaderboardEntryDto;
 import com.pokedexsocial.backend.dto.PagedResponse;
+import com.pokedexsocial.backend.dto.SimilarTeamDto;
+import com.pokedexsocial.backend.dto.TeamAnalysisDto;
+import com.pokedexsocial.backend.dto.TeamAnalysisRequest;
 import com.pokedexsocial.backend.dto.TeamDto;
+import com.pokedexsocial.backend.service.TeamAnalysisService;
+import com.pokedexsocial.backend.service.TeamFeedService;
+import com.pokedexsocial.backend.service.TeamLeaderboardService;
 import com.pokedexsocial.backend.service.TeamService;
+import com.pokedexsocial.backend.service.TeamSimilarityService;
+import com.pokedexsocial.backend.util.Cursor;
+import com.pokedexsocial.backend.util.SortWhitelist;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +28,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.nio.file.AccessDeniedException;
+import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller responsible for managing Pokémon teams.
@@ -29,6 +46,12 @@ import java.nio.file.AccessDeniedException;
  *     <li>PUT /teams/{id} - update a team by ID</li>
  *     <li>GET /teams/my - retrieve teams owned by the authenticated user (with pagination)</li>
  *     <li>GET /teams - retrieve all teams (with pagination, visibility depends on role)</li>
+ *     <li>GET /teams/my/scroll, GET /teams/scroll - same listings with cursor pagination</li>
+ *     <li>GET /teams/feed - retrieve the public team feed (with pagination)</li>
+ *     <li>GET /teams/leaderboard - retrieve public teams ranked by fitness (with pagination)</li>
+ *     <li>GET /teams/{id}/rank - retrieve the leaderboard position of a public team</li>
+ *     <li>GET /teams/{id}/similar - retrieve the public teams sharing the most members with a team</li>
+ *     <li>POST /teams/analyze - score saved teams or member lists with the optimizer's fitness model</li>
  * </ul>
  *
  * <p>Authorization rules:</p>
@@ -43,15 +66,29 @@ import java.nio.file.AccessDeniedException;
 @RequestMapping("/teams")
 public class TeamController {
 
+    private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("createdAt", "name", "id");
+
     private final TeamService teamService;
+    private final TeamFeedService teamFeedService;
+    private final TeamAnalysisService teamAnalysisService;
+    private final TeamLeaderboardService teamLeaderboardService;
 
     /**
-     * Constructs a new {@code TeamController} with the given service.
+     * Constructs a new {@code TeamController} with the given services.
      *
-     * @param teamService the service responsible for team-related operations
+     * @param teamService            the service responsible for team-related operations
+     * @param teamFeedService        the service serving the public team feed
+     * @param teamAnalysisService    the service scoring teams with the optimizer's fitness model
+     * @param teamLeaderboardService the service ranking public teams by fitness
      */
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService,
+                          TeamFeedService teamFeedService,
+                          TeamAnalysisService teamAnalysisService,
+                          TeamLeaderboardService teamLeaderboardService) {
         this.teamService = teamService;
+        this.teamFeedService = teamFeedService;
+        this.teamAnalysisService = teamAnalysisService;
+        this.teamLeaderboardService = teamLeaderboardService;
     }
 
     /**
@@ -139,4 +176,126 @@ public class TeamController {
     public ResponseEntity<PagedResponse<TeamDto>> getAllTeams(Pageable pageable) throws AccessDeniedException {
         return ResponseEntity.ok(teamService.getAllTeams(pageable));
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the public team feed, newest first, with pagination support.
+     *
+     * <p>Served from the denormalized feed table, so each page is a single-table read.
+     * Only {@code createdAt} is accepted as sort property.</p>
+     *
+     * @param pageable pagination information (page, size, sort)
+     * @return a {@link ResponseEntity} containing a {@link PagedResponse} of public {@link TeamDto}
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<PagedResponse<TeamDto>> getFeed(
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Sort safeSort = SortWhitelist.filter(pageable.getSort(), Set.of("createdAt"), Sort.by("createdAt").descending());
+        Sort.Direction direction = safeSort.iterator().next().getDirection();
+        Pageable safePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                safeSort.and(Sort.by(direction, "teamId")));
+        return ResponseEntity.ok(teamFeedService.getFeed(safePageable));
+    }
+
+    /**
+     * Retrieves the public teams ranked by fitness, highest first, with pagination support.
+     *
+     * @param pageable pagination information (page, size); sorting is ignored
+     * @return a {@link ResponseEntity} containing a {@link PagedResponse} of {@link LeaderboardEntryDto}
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<PagedResponse<LeaderboardEntryDto>> getLeaderboard(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(teamLeaderboardService.getLeaderboard(pageable));
+    }
+
+    /**
+     * Retrieves the leaderboard position of a public team.
+     *
+     * @param id the ID of the team
+     * @return a {@link ResponseEntity} containing the {@link LeaderboardEntryDto} of the team
+     */
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<LeaderboardEntryDto> getLeaderboardRank(@PathVariable Integer id) {
+        return ResponseEntity.ok(teamLeaderboardService.getRank(id));
+    }
+
+    /**
+     * Retrieves the public teams sharing the most members with a team.
+     *
+     * <p>Results are approximate nearest neighbours by Jaccard similarity of the
+     * member sets; at most {@value TeamSimilarityService#MAX_LIMIT} are returned.</p>
+     *
+     * @param id    the ID of the team
+     * @param limit maximum number of results
+     * @return a {@link ResponseEntity} containing the {@link SimilarTeamDto} list, most similar first
+     * @throws AccessDeniedException if the team is private and the user is not the owner or an admin
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarTeamDto>> getSimilarTeams(@PathVariable Integer id,
+                                                                @RequestParam(defaultValue = "10") int limit)
+            throws AccessDeniedException {
+        return ResponseEntity.ok(teamService.getSimilarTeams(id, limit));
+    }
+
+    /**
+     * Scores one or more teams with the optimizer's fitness model.
+     *
+     * <p>Teams can be given as IDs of saved teams (subject to the usual visibility
+     * rules) and/or as lists of Pokémon IDs; at most
+     * {@value TeamAnalysisRequest#MAX_TEAMS} teams per request.</p>
+     *
+     * @param request the {@link TeamAnalysisRequest} listing the teams to analyze
+     * @return a {@link ResponseEntity} containing one {@link TeamAnalysisDto} per team
+     * @throws AccessDeniedException if a requested team is private and the user is not the owner or an admin
+     */
+    @PostMapping("/analyze")
+    public ResponseEntity<List<TeamAnalysisDto>> analyzeTeams(@Valid @RequestBody TeamAnalysisRequest request)
+            throws AccessDeniedException {
+        return ResponseEntity.ok(teamAnalysisService.analyze(request));
+    }
+
+    /**
+     * Retrieves teams owned by the authenticated user, with cursor (keyset) pagination.
+     *
+     * <p>Allowed sort properties are {@code createdAt}, {@code name} and {@code id};
+     * the default is {@code createdAt} descending. When a cursor is given, its sort
+     * order takes precedence over the {@code sort} parameter.</p>
+     *
+     * @param cursor   the cursor of the previous page, absent for the first page
+     * @param pageable page size and sorting information (the page number is ignored)
+     * @return a {@link ResponseEntity} containing a {@link CursorPagedResponse} of {@link TeamDto}
+     * @throws AccessDeniedException if the user is not authenticated
+     */
+    @GetMapping("/my/scroll")
+    public ResponseEntity<CursorPagedResponse<TeamDto>> scrollMyTeams(@RequestParam(required = false) String cursor,
+                                                                      Pageable pageable) throws AccessDeniedException {
+        Cursor after = Cursor.decode(cursor);
+        return ResponseEntity.ok(teamService.scrollUserTeams(safeOrder(after, pageable), pageable.getPageSize(), after));
+    }
+
+    /**
+     * Retrieves all teams visible to the caller, with cursor (keyset) pagination.
+     *
+     * <p>Visibility rules are the same as {@link #getAllTeams(Pageable)}; sorting
+     * follows {@link #scrollMyTeams(String, Pageable)}.</p>
+     *
+     * @param cursor   the cursor of the previous page, absent for the first page
+     * @param pageable page size and sorting information (the page number is ignored)
+     * @return a {@link ResponseEntity} containing a {@link CursorPagedResponse} of {@link TeamDto}
+     * @throws AccessDeniedException if the user is not authenticated
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPagedResponse<TeamDto>> scrollAllTeams(@RequestParam(required = false) String cursor,
+                                                                       Pageable pageable) throws AccessDeniedException {
+        Cursor after = Cursor.decode(cursor);
+        return ResponseEntity.ok(teamService.scrollAllTeams(safeOrder(after, pageable), pageable.getPageSize(), after));
+    }
+
+    private static Sort.Order safeOrder(Cursor after, Pageable pageable) {
+        Sort safeSort = SortWhitelist.filter(
+                after != null ? Sort.by(after.toOrder()) : pageable.getSort(),
+                SCROLL_SORT_PROPERTIES,
+                Sort.by("createdAt").descending()
+        );
+        return safeSort.iterator().next();
+    }
+}
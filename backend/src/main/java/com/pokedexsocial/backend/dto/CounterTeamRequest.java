@@ -0,0 +1,27 @@
+package com.pokedexsocial.backend.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CounterTeamRequest {
+
+    private Integer teamId; // team avversario salvato
+
+    @Size(min = 1, max = 6, message = "The opponent must contain between 1 and 6 Pokémon")
+    private List<@NotNull(message = "Pokemon ID is required") Integer> members; // oppure ID dei Pokémon avversari
+
+    // --- GETTER & SETTER ---
+    public Integer getTeamId() { return teamId; }
+    public void setTeamId(Integer teamId) { this.teamId = teamId; }
+
+    public List<Integer> getMembers() { return members; }
+    public void setMembers(List<Integer> members) { this.members = members; }
+
+    @AssertTrue(message = "Exactly one of team ID or member list is required")
+    public boolean isSingleOpponent() {
+        return (teamId != null) != (members != null);
+    }
+}
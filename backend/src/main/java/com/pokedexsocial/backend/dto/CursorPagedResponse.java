@@ -0,0 +1,86 @@
+package com.pokedexsocial.backend.dto;
+
+import com.pokedexsocial.backend.util.Cursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor-based pagination response wrapper.
+ * <p>
+ * Unlike {@link PagedResponse} it carries no totals: pages are fetched by seeking
+ * after the cursor of the previous page, so no count query is needed.
+ *
+ * @param <T> the type of items contained in the page
+ */
+public class CursorPagedResponse<T> {
+
+    /** Items in the current page. */
+    private List<T> items;
+
+    /** Maximum number of items per page. */
+    private int pageSize;
+
+    /** Opaque cursor to request the next page, {@code null} on the last page. */
+    private String nextCursor;
+
+    /** Whether this is the last page. */
+    private boolean last;
+
+    /**
+     * Builds a {@code CursorPagedResponse} from rows fetched with a limit of {@code pageSize + 1}.
+     * The extra row, if present, only signals that another page exists and is dropped.
+     *
+     * @param rows     the fetched rows, at most {@code pageSize + 1}
+     * @param pageSize the requested page size
+     * @param mapper   maps a row to the returned item
+     * @param cursorOf builds the cursor pointing at a row
+     * @param <E>      the row type
+     * @param <T>      the item type
+     * @return the corresponding {@code CursorPagedResponse}
+     */
+    public static <E, T> CursorPagedResponse<T> from(List<E> rows, int pageSize,
+                                                     Function<E, T> mapper, Function<E, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        CursorPagedResponse<T> resp = new CursorPagedResponse<>();
+        resp.setItems(pageRows.stream().map(mapper).toList());
+        resp.setPageSize(pageSize);
+        resp.setNextCursor(hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null);
+        resp.setLast(!hasNext);
+        return resp;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+
+    public void setLast(boolean last) {
+        this.last = last;
+    }
+}
@@ -0,0 +1,18 @@
+package com.pokedexsocial.backend.dto;
+
+/**
+ * Position of a public team on the fitness leaderboard.
+ *
+ * @param rank          1-based position, highest fitness first
+ * @param teamId        the ID of the team
+ * @param name          the team name
+ * @param ownerUsername the username of the team owner
+ * @param fitness       the team fitness
+ */
+public record LeaderboardEntryDto(
+        int rank,
+        Integer teamId,
+        String name,
+        String ownerUsername,
+        double fitness
+) {}
@@ -9,12 +9,22 @@ public class OptimizationResultDTO {
     private double bestFitness;
     private int iterations;
     private List<String> log;
+    private String stopReason;
 
     public OptimizationResultDTO(PokemonTeamGA bestTeam, double bestFitness, int iterations, List<String> log) {
+        this(bestTeam, bestFitness, iterations, log, null);
+    }
+
+    /**
+     * @param stopReason why the run was stopped early, or null if it ran to completion
+     */
+    public OptimizationResultDTO(PokemonTeamGA bestTeam, double bestFitness, int iterations, List<String> log,
+                                 String stopReason) {
         this.bestTeam = bestTeam;
         this.bestFitness = bestFitness;
         this.iterations = iterations;
         this.log = log;
+        this.stopReason = stopReason;
     }
 
     public PokemonTeamGA getBestTeam() {
@@ -48,4 +58,17 @@ public class OptimizationResultDTO {
     public void setLog(List<String> log) {
         this.log = log;
     }
+
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    public void setStopReason(String stopReason) {
+        this.stopReason = stopReason;
+    }
+
+    /** Whether the run was stopped early and the team is the best found so far. */
+    public boolean isCancelled() {
+        return stopReason != null;
+    }
 }
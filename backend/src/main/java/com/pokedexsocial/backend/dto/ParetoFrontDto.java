@@ -0,0 +1,45 @@
+package com.pokedexsocial.backend.dto;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pareto front returned by the multi-objective optimizer: teams that no other team found
+ * beats on every fitness component at once.
+ *
+ * @param objectives the objective names, all to be maximized
+ * @param teams      the non-dominated teams, by decreasing weighted fitness
+ * @param iterations the number of generations run
+ * @param stopReason why the run was stopped early, or null if it ran to completion
+ */
+public record ParetoFrontDto(
+        List<String> objectives,
+        List<Team> teams,
+        int iterations,
+        String stopReason
+) {
+
+    public ParetoFrontDto(List<String> objectives, List<Team> teams, int iterations) {
+        this(objectives, teams, iterations, null);
+    }
+
+    /** Whether the run was stopped early and the front is partial. */
+    public boolean isCancelled() {
+        return stopReason != null;
+    }
+
+    /**
+     * Team on the Pareto front.
+     *
+     * @param team       the team
+     * @param objectives the value of every objective, normalized between 0 and 100
+     * @param fitness    the weighted fitness of the single-objective optimizer, for reference
+     */
+    public record Team(
+            PokemonTeamGA team,
+            Map<String, Double> objectives,
+            double fitness
+    ) {}
+}
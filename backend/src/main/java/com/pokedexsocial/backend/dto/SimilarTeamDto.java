@@ -0,0 +1,16 @@
+package com.pokedexsocial.backend.dto;
+
+/**
+ * Public team similar to a given one, by shared members.
+ *
+ * @param teamId        the ID of the team
+ * @param name          the team name
+ * @param ownerUsername the username of the team owner
+ * @param similarity    Jaccard similarity of the two member sets, in (0, 1]
+ */
+public record SimilarTeamDto(
+        Integer teamId,
+        String name,
+        String ownerUsername,
+        double similarity
+) {}
@@ -0,0 +1,31 @@
+package com.pokedexsocial.backend.dto;
+
+import java.util.List;
+
+/**
+ * Fitness of a single team, as computed by the optimizer's scoring model.
+ *
+ * <p>Every component is normalized between 0 and 100; {@code total} is their
+ * weighted sum and is 0 when the team has more than one Mega Evolution.</p>
+ *
+ * @param teamId           the ID of the saved team, {@code null} for a submitted member list
+ * @param pokemonIds       the IDs of the team members, in slot order
+ * @param averageStats     average base stat total
+ * @param typesDiversity   number of distinct types
+ * @param resistances      number of types resisted by at least one member
+ * @param legendaries      legendary/mythical/paradox penalty (100 = none)
+ * @param commonWeaknesses shared weaknesses (100 = none shared)
+ * @param megaEvolutions   number of Mega Evolutions in the team
+ * @param total            the weighted fitness
+ */
+public record TeamAnalysisDto(
+        Integer teamId,
+        List<Integer> pokemonIds,
+        double averageStats,
+        double typesDiversity,
+        double resistances,
+        double legendaries,
+        double commonWeaknesses,
+        int megaEvolutions,
+        double total
+) {}
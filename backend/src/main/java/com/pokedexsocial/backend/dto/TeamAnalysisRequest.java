@@ -0,0 +1,37 @@
+package com.pokedexsocial.backend.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TeamAnalysisRequest {
+
+    public static final int MAX_TEAMS = 20;
+
+    private List<@NotNull(message = "Team ID is required") Integer> teamIds;
+
+    private List<@NotEmpty(message = "A team must contain at least 1 Pokémon")
+                 @Size(max = 6, message = "A team can contain at most 6 Pokémon")
+                 List<@NotNull(message = "Pokemon ID is required") Integer>> teams; // ID dei Pokémon di ogni team
+
+    // --- GETTER & SETTER ---
+    public List<Integer> getTeamIds() { return teamIds; }
+    public void setTeamIds(List<Integer> teamIds) { this.teamIds = teamIds; }
+
+    public List<List<Integer>> getTeams() { return teams; }
+    public void setTeams(List<List<Integer>> teams) { this.teams = teams; }
+
+    @AssertTrue(message = "At least one team ID or member list is required")
+    public boolean isAnyTeamRequested() {
+        return (teamIds != null && !teamIds.isEmpty()) || (teams != null && !teams.isEmpty());
+    }
+
+    @AssertTrue(message = "At most " + MAX_TEAMS + " teams can be analyzed at once")
+    public boolean isWithinBatchLimit() {
+        int count = (teamIds != null ? teamIds.size() : 0) + (teams != null ? teams.size() : 0);
+        return count <= MAX_TEAMS;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pokedexsocial.backend.dto;
+
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Set;
+
+public class TeamCompletionRequest {
+
+    @Size(max = 5, message = "At most 5 Pokémon can be locked")
+    private List<@NotNull(message = "Pokemon ID is required") Integer> lockedPokemonIds = List.of(); // membri da mantenere
+
+    private Set<@NotNull(message = "Pokemon ID is required") Integer> bannedPokemonIds = Set.of(); // Pokémon esclusi
+
+    private Set<@NotNull(message = "Rarity is required") PokemonRarity> bannedRarities = Set.of(); // rarità escluse
+
+    private Set<@NotNull(message = "Pokemon ID is required") Integer> allowedPokemonIds = Set.of(); // se non vuoto, unici candidati ammessi
+
+    private Set<@NotNull(message = "Type is required") PokemonTypeName> allowedTypes = Set.of(); // se non vuoto, i candidati devono avere uno di questi tipi
+
+    private boolean allowMegaEvolutions = true;
+
+    // --- GETTER & SETTER ---
+    public List<Integer> getLockedPokemonIds() { return lockedPokemonIds; }
+    public void setLockedPokemonIds(List<Integer> lockedPokemonIds) {
+        this.lockedPokemonIds = lockedPokemonIds == null ? List.of() : lockedPokemonIds;
+    }
+
+    public Set<Integer> getBannedPokemonIds() { return bannedPokemonIds; }
+    public void setBannedPokemonIds(Set<Integer> bannedPokemonIds) {
+        this.bannedPokemonIds = bannedPokemonIds == null ? Set.of() : bannedPokemonIds;
+    }
+
+    public Set<PokemonRarity> getBannedRarities() { return bannedRarities; }
+    public void setBannedRarities(Set<PokemonRarity> bannedRarities) {
+        this.bannedRarities = bannedRarities == null ? Set.of() : bannedRarities;
+    }
+
+    public Set<Integer> getAllowedPokemonIds() { return allowedPokemonIds; }
+    public void setAllowedPokemonIds(Set<Integer> allowedPokemonIds) {
+        this.allowedPokemonIds = allowedPokemonIds == null ? Set.of() : allowedPokemonIds;
+    }
+
+    public Set<PokemonTypeName> getAllowedTypes() { return allowedTypes; }
+    public void setAllowedTypes(Set<PokemonTypeName> allowedTypes) {
+        this.allowedTypes = allowedTypes == null ? Set.of() : allowedTypes;
+    }
+
+    public boolean isAllowMegaEvolutions() { return allowMegaEvolutions; }
+    public void setAllowMegaEvolutions(boolean allowMegaEvolutions) { this.allowMegaEvolutions = allowMegaEvolutions; }
+}
@@ -1,12 +1,15 @@
 package com.pokedexsocial.backend.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.net.URI;
 import java.nio.file.AccessDeniedException;
@@ -140,6 +143,30 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /** Handles malformed or mismatched pagination cursors (400) */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex, WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.BAD_REQUEST,
+                "Invalid Cursor",
+                ex.getMessage(),
+                "https://example.com/probs/invalid-cursor",
+                request
+        );
+    }
+
+    /** Handles optimizer constraints that no team can satisfy (400) */
+    @ExceptionHandler(InvalidTeamConstraintsException.class)
+    public ProblemDetail handleInvalidTeamConstraints(InvalidTeamConstraintsException ex, WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.BAD_REQUEST,
+                "Invalid Team Constraints",
+                ex.getMessage(),
+                "https://example.com/probs/invalid-team-constraints",
+                request
+        );
+    }
+
     /** Handles errors during the genetic optimization process */
     @ExceptionHandler(CloneNotSupportedException.class)
     public ProblemDetail handleCloneNotSupported(CloneNotSupportedException ex, WebRequest request) {
@@ -151,4 +178,34 @@ public class GlobalExceptionHandler {
                 request
         );
     }
+
+    /** Handles optimizer runs that did not return within the async request timeout (503) */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ProblemDetail handleAsyncTimeout(AsyncRequestTimeoutException ex, WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Optimizer Timeout",
+                "The optimization did not complete in time",
+                "https://example.com/probs/optimizer-timeout",
+                request
+        );
+    }
+
+    /** Handles optimizer runs rejected because every worker is busy (503) */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ProblemDetail handleTaskRejected(TaskRejectedException ex, WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Optimizer Busy",
+                "Too many optimizations in progress, retry later",
+                "https://example.com/probs/optimizer-busy",
+                request
+        );
+    }
+
+    /** Ignores requests whose client has gone away: there is no one left to answer */
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsable(AsyncRequestNotUsableException ex) {
+        // nothing to write
+    }
 }
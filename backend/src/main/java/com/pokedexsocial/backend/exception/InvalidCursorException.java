@@ -0,0 +1,8 @@
+package com.pokedexsocial.backend.exception;
+
+/** Exception thrown when a pagination cursor is malformed or does not match the requested sort. */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pokedexsocial.backend.exception;
+
+/** Exception thrown when team completion constraints cannot be satisfied. */
+public class InvalidTeamConstraintsException extends RuntimeException {
+    public InvalidTeamConstraintsException(String message) {
+        super(message);
+    }
+}
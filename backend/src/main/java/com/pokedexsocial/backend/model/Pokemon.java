@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,7 +20,17 @@ import java.util.Objects;
  * descriptive attributes.
  */
 @Entity
-@Table(name = "pokemon")
+@Table(name = "pokemon",
+        indexes = {
+                @Index(name = "idx_pokemon_type1", columnList = "type1_id"),
+                @Index(name = "idx_pokemon_type2", columnList = "type2_id"),
+                @Index(name = "idx_pokemon_ability1", columnList = "ability1_id"),
+                @Index(name = "idx_pokemon_ability2", columnList = "ability2_id"),
+                @Index(name = "idx_pokemon_hidden_ability", columnList = "hidden_ability_id"),
+                @Index(name = "idx_pokemon_ndex", columnList = "ndex, id"),
+                @Index(name = "idx_pokemon_height", columnList = "height"),
+                @Index(name = "idx_pokemon_weight", columnList = "weight")
+        })
 public class Pokemon {
 
     @Id
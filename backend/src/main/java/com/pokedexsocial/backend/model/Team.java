@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -28,7 +29,11 @@ import java.util.List;
  * Members of the team are managed through the {@link TeamPokemon} entity.
  */
 @Entity
-@Table(name = "team")
+@Table(name = "team",
+        indexes = {
+                // the partial index on public teams (idx_team_public_created) lives in 06-indexes.sql only
+                @Index(name = "idx_team_user_created", columnList = "user_id, created_at DESC, id DESC")
+        })
 public class Team {
 
     @Id
@@ -0,0 +1,96 @@
+package com.pokedexsocial.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Denormalized row of the public team feed.
+ *
+ * <p>Each PUBLIC {@link Team} has exactly one entry holding everything the feed
+ * shows (owner, details and members with species, types and images), so a feed
+ * page is read from this table alone. Entries are written by the backend in
+ * the same transaction as the team they mirror.
+ *
+ * <p>The members are stored as the JSON array served by the API. {@code fitness}
+ * is the score used by the team leaderboard, computed on every write with the
+ * fitness model version stored in {@code fitnessVersion}.
+ */
+@Entity
+@Table(name = "team_feed",
+        indexes = {
+                @Index(name = "idx_team_feed_created", columnList = "created_at DESC, team_id DESC"),
+                @Index(name = "idx_team_feed_fitness_version", columnList = "fitness_version")
+        })
+public class TeamFeedEntry {
+
+    /** ID of the mirrored team. */
+    @Id
+    @Column(name = "team_id")
+    private Integer teamId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "owner_username", nullable = false, length = 50)
+    private String ownerUsername;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    /** JSON array of the team members. */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String members;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /** Leaderboard score, {@code null} until the team has been scored. */
+    @Column
+    private Double fitness;
+
+    /** Fitness model version {@link #fitness} was computed with. */
+    @Column(name = "fitness_version")
+    private Integer fitnessVersion;
+
+    // Getters & Setters
+    public Integer getTeamId() { return teamId; }
+    public void setTeamId(Integer teamId) { this.teamId = teamId; }
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public String getOwnerUsername() { return ownerUsername; }
+    public void setOwnerUsername(String ownerUsername) { this.ownerUsername = ownerUsername; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getMembers() { return members; }
+    public void setMembers(String members) { this.members = members; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Double getFitness() { return fitness; }
+    public void setFitness(Double fitness) { this.fitness = fitness; }
+
+    public Integer getFitnessVersion() { return fitnessVersion; }
+    public void setFitnessVersion(Integer fitnessVersion) { this.fitnessVersion = fitnessVersion; }
+}
@@ -3,6 +3,7 @@ package com.pokedexsocial.backend.model;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -23,7 +24,10 @@ import jakarta.persistence.Table;
  * represented by {@link TeamPokemonId}.
  */
 @Entity
-@Table(name = "team_pokemon")
+@Table(name = "team_pokemon",
+        indexes = {
+                @Index(name = "idx_team_pokemon_pokemon", columnList = "pokemon_id")
+        })
 public class TeamPokemon {
 
     @EmbeddedId
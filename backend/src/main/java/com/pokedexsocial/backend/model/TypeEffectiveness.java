@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -16,7 +17,10 @@ import java.math.BigDecimal;
  * Example: Fire -> Grass = 2.0, Fire -> Water = 0.5.
  */
 @Entity
-@Table(name = "type_effectiveness")
+@Table(name = "type_effectiveness",
+        indexes = {
+                @Index(name = "idx_type_effectiveness_defender", columnList = "defender_type_id")
+        })
 public class TypeEffectiveness {
 
     @EmbeddedId
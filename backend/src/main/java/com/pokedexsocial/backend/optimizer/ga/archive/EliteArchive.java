@@ -0,0 +1,328 @@
+package com.pokedexsocial.backend.optimizer.ga.archive;
+
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.GeneCodec;
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Archivio dei migliori individui trovati dalle esecuzioni precedenti, per chiave (es. un
+ * insieme di vincoli), da cui seminare parte della popolazione iniziale delle esecuzioni
+ * successive invece di ripartire ogni volta da individui casuali.
+ *
+ * <p>Per ogni chiave tiene al più {@code capacity} individui distinti, i migliori per
+ * fitness; due individui con la stessa impronta sono lo stesso e resta quello con la
+ * fitness più alta. Le chiavi sono al più {@code maxKeys}: oltre, si scarta quella usata
+ * (aggiornata o letta) meno di recente, così le chiavi scelte dai client non
+ * fanno crescere l'archivio senza limite. Gli individui sono conservati come geni, così i semi sono sempre
+ * istanze nuove che gli operatori possono modificare. L'archivio è thread-safe e si
+ * salva in un file binario con CRC32, scritto come i checkpoint: file temporaneo e
+ * spostamento atomico.</p>
+ *
+ * @param <T> tipo dell'individuo
+ */
+public class EliteArchive<T extends Individual> {
+
+    private static final int MAGIC = 0x47414541; // "GAEA"
+    private static final short VERSION = 1;
+
+    private record Entry(long fingerprint, double fitness, int[] genes) {
+    }
+
+    private final GeneCodec<T> codec;
+    private final ToLongFunction<T> fingerprint;
+    private final int capacity;
+    private final double seedFraction;
+    private final int maxKeys;
+    //In ordine di accesso: la prima chiave è quella usata meno di recente
+    private final Map<String, List<Entry>> entries;
+
+    /**
+     * @param codec        la codifica degli individui
+     * @param fingerprint  l'impronta con cui riconoscere i duplicati
+     * @param capacity     quanti individui tenere per chiave
+     * @param seedFraction la frazione della popolazione iniziale da seminare, tra 0 e 1
+     * @param maxKeys      quante chiavi tenere al più
+     */
+    public EliteArchive(GeneCodec<T> codec, ToLongFunction<T> fingerprint, int capacity, double seedFraction,
+                        int maxKeys) {
+        this.codec = codec;
+        this.fingerprint = fingerprint;
+        this.capacity = Math.max(capacity, 0);
+        this.seedFraction = Math.min(Math.max(seedFraction, 0.0), 1.0);
+        this.maxKeys = Math.max(maxKeys, 1);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Entry>> eldest) {
+                return size() > EliteArchive.this.maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Propone degli individui già valutati per l'archivio della chiave.
+     *
+     * @return true se l'archivio è cambiato
+     */
+    public synchronized boolean offer(String key, Collection<T> individuals) {
+        List<Entry> archived = entries.computeIfAbsent(key, k -> new ArrayList<>());
+        boolean changed = false;
+        for (T individual : individuals) {
+            changed |= offer(archived, individual);
+        }
+        if (archived.isEmpty()) {
+            entries.remove(key);
+        }
+        return changed;
+    }
+
+    /**
+     * Estrae i semi per una popolazione: {@code seedFraction} della popolazione, senza
+     * ripetizioni e al più quanti individui sono archiviati. Gli individui che non si
+     * possono più decodificare (es. un Pokémon rimosso) sono saltati.
+     *
+     * @param key            la chiave dell'archivio
+     * @param populationSize la dimensione della popolazione da seminare
+     * @param rand           il generatore da usare
+     * @return individui nuovi, da valutare
+     */
+    public List<T> seeds(String key, int populationSize, Random rand) {
+        int wanted = (int) (populationSize * seedFraction);
+        List<Entry> candidates;
+        synchronized (this) {
+            List<Entry> archived = entries.get(key);
+            if (wanted <= 0 || archived == null) {
+                return List.of();
+            }
+            candidates = new ArrayList<>(archived);
+        }
+
+        //Fisher-Yates parziale: i primi "wanted" sono un campione uniforme
+        List<T> seeds = new ArrayList<>(Math.min(wanted, candidates.size()));
+        for (int i = 0; i < candidates.size() && seeds.size() < wanted; i++) {
+            int j = i + rand.nextInt(candidates.size() - i);
+            Entry picked = candidates.get(j);
+            candidates.set(j, candidates.get(i));
+            try {
+                seeds.add(codec.decode(picked.genes().clone()));
+            } catch (IllegalArgumentException e) {
+                // individuo non più valido: si passa al successivo
+                continue;
+            }
+        }
+        return seeds;
+    }
+
+    /** Quanti individui sono archiviati per la chiave. */
+    public synchronized int size(String key) {
+        List<Entry> archived = entries.get(key);
+        return archived == null ? 0 : archived.size();
+    }
+
+    /** La fitness migliore archiviata per la chiave, o {@code NaN} se non ce ne sono. */
+    public synchronized double bestFitness(String key) {
+        List<Entry> archived = entries.get(key);
+        return archived == null ? Double.NaN : archived.get(0).fitness();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getSeedFraction() {
+        return seedFraction;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /** Quante chiavi hanno individui archiviati. */
+    public synchronized int keyCount() {
+        return entries.size();
+    }
+
+    /**
+     * Scrive l'archivio al posto del file precedente, con le chiavi dalla meno alla più
+     * usata di recente.
+     */
+    public void save(Path file) throws IOException {
+        Map<String, List<Entry>> snapshot = new LinkedHashMap<>();
+        synchronized (this) {
+            entries.forEach((key, archived) -> snapshot.put(key, List.copyOf(archived)));
+        }
+
+        Map<String, byte[]> keys = new HashMap<>();
+        int size = Integer.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES;
+        for (Map.Entry<String, List<Entry>> e : snapshot.entrySet()) {
+            byte[] key = e.getKey().getBytes(StandardCharsets.UTF_8);
+            keys.put(e.getKey(), key);
+            size += Integer.BYTES + key.length + Integer.BYTES;
+            for (Entry entry : e.getValue()) {
+                size += Long.BYTES + Double.BYTES + Integer.BYTES + entry.genes().length * Integer.BYTES;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION).putInt(snapshot.size());
+        for (Map.Entry<String, List<Entry>> e : snapshot.entrySet()) {
+            byte[] key = keys.get(e.getKey());
+            buffer.putInt(key.length).put(key).putInt(e.getValue().size());
+            for (Entry entry : e.getValue()) {
+                buffer.putLong(entry.fingerprint()).putDouble(entry.fitness()).putInt(entry.genes().length);
+                for (int gene : entry.genes()) {
+                    buffer.putInt(gene);
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Unisce all'archivio gli individui salvati nel file, se esiste; la capacità e il
+     * numero di chiavi sono quelli di questo archivio, anche se il file ne conteneva di più,
+     * e si tengono le chiavi usate più di recente.
+     *
+     * @return quanti individui sono stati letti
+     * @throws IOException se il file non è leggibile, è corrotto o è di un'altra versione
+     */
+    public int load(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < Integer.BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid archive size " + length + " in " + file);
+            }
+            buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Truncated archive " + file);
+                }
+            }
+            buffer.flip();
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+
+        int payload = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, payload);
+        if ((int) crc.getValue() != buffer.getInt(payload)) {
+            throw new IOException("Corrupt archive " + file);
+        }
+        Map<String, List<Entry>> loaded = new LinkedHashMap<>();
+        int count = 0;
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("Unsupported archive format in " + file);
+            }
+            int keys = buffer.getInt();
+            for (int k = 0; k < keys; k++) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                int size = buffer.getInt();
+                List<Entry> archived = new ArrayList<>(Math.max(size, 0));
+                for (int i = 0; i < size; i++) {
+                    long id = buffer.getLong();
+                    double fitness = buffer.getDouble();
+                    int[] genes = new int[buffer.getInt()];
+                    buffer.asIntBuffer().get(genes);
+                    buffer.position(buffer.position() + genes.length * Integer.BYTES);
+                    archived.add(new Entry(id, fitness, genes));
+                }
+                loaded.put(new String(key, StandardCharsets.UTF_8), archived);
+                count += size;
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Invalid archive " + file + ": " + e.getMessage(), e);
+        }
+
+        synchronized (this) {
+            loaded.forEach((key, archived) -> {
+                List<Entry> current = entries.computeIfAbsent(key, k -> new ArrayList<>());
+                archived.forEach(entry -> insert(current, entry));
+                if (current.isEmpty()) {
+                    entries.remove(key);
+                }
+            });
+        }
+        return count;
+    }
+
+    private boolean offer(List<Entry> archived, T individual) {
+        if (capacity == 0 || Double.isNaN(individual.getFitness())) {
+            return false;
+        }
+        //Scarto rapido: non entra chi non supera il peggiore di un archivio pieno
+        if (archived.size() == capacity && individual.getFitness() <= archived.get(archived.size() - 1).fitness()) {
+            return false;
+        }
+        return insert(archived, new Entry(fingerprint.applyAsLong(individual), individual.getFitness(),
+                codec.encode(individual)));
+    }
+
+    //Inserisce mantenendo l'ordine per fitness decrescente, senza duplicati e nei limiti della capacità
+    private boolean insert(List<Entry> archived, Entry entry) {
+        for (int i = 0; i < archived.size(); i++) {
+            if (archived.get(i).fingerprint() == entry.fingerprint()) {
+                if (archived.get(i).fitness() >= entry.fitness()) {
+                    return false;
+                }
+                archived.remove(i);
+                break;
+            }
+        }
+        if (archived.size() == capacity) {
+            if (capacity == 0 || entry.fitness() <= archived.get(capacity - 1).fitness()) {
+                return false;
+            }
+            archived.remove(capacity - 1);
+        }
+        int position = 0;
+        while (position < archived.size() && archived.get(position).fitness() >= entry.fitness()) {
+            position++;
+        }
+        archived.add(position, entry);
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package com.pokedexsocial.backend.optimizer.ga.archive;
+
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.PokemonTeamGeneCodec;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Archivio dei migliori team delle esecuzioni precedenti, per insieme di vincoli, da cui
+ * {@link com.pokedexsocial.backend.optimizer.ga.initializer.PokemonTeamInitializer} semina
+ * {@code optimizer.archive.seed-fraction} della popolazione iniziale (0 disattiva la semina).
+ * Le chiavi dei vincoli vengono dalle richieste, quindi ne sono tenute al più
+ * {@code optimizer.archive.max-keys}, scartando quelle usate meno di recente.
+ *
+ * <p>I team distinti sono riconosciuti da {@link PokemonTeamGA#canonicalHash()}. L'archivio
+ * vive in memoria; con {@code optimizer.archive.file} impostato viene letto all'avvio e
+ * salvato dopo una registrazione, se dall'ultimo salvataggio è passato almeno
+ * {@code optimizer.archive.persist-interval}, e alla chiusura dell'applicazione. Un file
+ * illeggibile viene ignorato: l'archivio riparte vuoto.</p>
+ */
+@Component
+public class PokemonTeamEliteArchive extends EliteArchive<PokemonTeamGA> {
+
+    /** La chiave delle esecuzioni senza vincoli. */
+    public static final String DEFAULT_KEY = "default";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonTeamEliteArchive.class);
+
+    private final Path file;
+    private final long persistIntervalNanos;
+    private boolean dirty;
+    private long lastSave;
+
+    public PokemonTeamEliteArchive(
+            Pokedex pokedex,
+            @Value("${optimizer.archive.size:50}") int capacity,
+            @Value("${optimizer.archive.seed-fraction:0.2}") double seedFraction,
+            @Value("${optimizer.archive.file:}") String file,
+            @Value("${optimizer.archive.persist-interval:PT5M}") Duration persistInterval,
+            @Value("${optimizer.archive.max-keys:100}") int maxKeys
+    ) {
+        super(new PokemonTeamGeneCodec(pokedex), PokemonTeamGA::canonicalHash, capacity, seedFraction, maxKeys);
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.persistIntervalNanos = persistInterval.toNanos();
+        this.lastSave = System.nanoTime();
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (file == null) {
+            return;
+        }
+        try {
+            int loaded = load(file);
+            LOG.info("Loaded {} elite teams from {}", loaded, file);
+        } catch (IOException e) {
+            LOG.warn("Elite archive ignored: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registra i team di una generazione già valutata e, se è il momento, salva l'archivio.
+     *
+     * @param key   la chiave dei vincoli dell'esecuzione
+     * @param teams i team valutati
+     */
+    public void record(String key, Collection<PokemonTeamGA> teams) {
+        if (!offer(key, teams) || file == null) {
+            return;
+        }
+        boolean save;
+        synchronized (this) {
+            dirty = true;
+            save = System.nanoTime() - lastSave >= persistIntervalNanos;
+        }
+        if (save) {
+            flush();
+        }
+    }
+
+    /** Salva l'archivio se è cambiato dall'ultimo salvataggio. */
+    @PreDestroy
+    public void flush() {
+        if (file == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            lastSave = System.nanoTime();
+        }
+        try {
+            save(file);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            LOG.warn("Elite archive not saved: {}", e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
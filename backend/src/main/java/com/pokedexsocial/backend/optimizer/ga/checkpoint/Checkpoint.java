@@ -0,0 +1,24 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+
+/**
+ * Stato di un'esecuzione dell'algoritmo genetico dopo una generazione, sufficiente a
+ * riprenderla.
+ *
+ * @param generation               le generazioni valutate, compresa quella iniziale
+ * @param iterationsNoImprovements le generazioni consecutive senza miglioramenti
+ * @param randomState              lo stato del {@link RestorableRandom}, o null se l'esecuzione ne usa un altro
+ * @param current                  l'ultima generazione
+ * @param best                     la migliore generazione finora (può coincidere con {@code current})
+ * @param <T>                      tipo dell'individuo
+ */
+public record Checkpoint<T extends Individual>(
+        int generation,
+        int iterationsNoImprovements,
+        Long randomState,
+        Population<T> current,
+        Population<T> best
+) {
+}
@@ -0,0 +1,231 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Salva e rilegge il checkpoint di un'esecuzione in un file binario.
+ *
+ * <p>Il file contiene un'intestazione (magic e versione), i contatori, lo stato del
+ * generatore e le popolazioni, con per ogni individuo la fitness e i geni interi; il
+ * migliore della popolazione è scritto per primo. Chiude il file un CRC32 di tutto il
+ * resto. La scrittura passa da un file temporaneo nella stessa cartella, con un
+ * {@link FileChannel} e un buffer di dimensione esatta, e termina con uno spostamento
+ * atomico: se il processo muore durante il salvataggio resta il checkpoint precedente,
+ * mai uno troncato.</p>
+ *
+ * @param <T> tipo dell'individuo
+ */
+public class CheckpointStore<T extends Individual> {
+
+    private static final int MAGIC = 0x47414350; // "GACP"
+    private static final short VERSION = 1;
+
+    private final Path file;
+    private final GeneCodec<T> codec;
+    private final int interval;
+
+    /**
+     * @param file     il file del checkpoint
+     * @param codec    la codifica degli individui
+     * @param interval ogni quante generazioni salvare (almeno 1)
+     */
+    public CheckpointStore(Path file, GeneCodec<T> codec, int interval) {
+        this.file = file;
+        this.codec = codec;
+        this.interval = Math.max(interval, 1);
+    }
+
+    /**
+     * Scrive il checkpoint al posto del precedente.
+     */
+    public void save(Checkpoint<T> checkpoint) throws IOException {
+        boolean bestIsCurrent = checkpoint.best() == checkpoint.current();
+        List<T> current = ordered(checkpoint.current());
+        List<T> best = bestIsCurrent ? null : ordered(checkpoint.best());
+        int[][] currentGenes = encode(current);
+        int[][] bestGenes = bestIsCurrent ? null : encode(best);
+
+        int size = Integer.BYTES + Short.BYTES + 2 * Integer.BYTES + 1 + Long.BYTES
+                + populationBytes(currentGenes) + 1 + (bestIsCurrent ? 0 : populationBytes(bestGenes)) + Integer.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        buffer.putInt(checkpoint.generation()).putInt(checkpoint.iterationsNoImprovements());
+        buffer.put((byte) (checkpoint.randomState() == null ? 0 : 1));
+        buffer.putLong(checkpoint.randomState() == null ? 0L : checkpoint.randomState());
+        writePopulation(buffer, checkpoint.current(), current, currentGenes);
+        buffer.put((byte) (bestIsCurrent ? 1 : 0));
+        if (!bestIsCurrent) {
+            writePopulation(buffer, checkpoint.best(), best, bestGenes);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            move(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Rilegge l'ultimo checkpoint salvato.
+     *
+     * @return il checkpoint, o vuoto se non c'è
+     * @throws IOException se il file non è leggibile, è corrotto o è di un'altra versione
+     */
+    public Optional<Checkpoint<T>> load() throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < Integer.BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid checkpoint size " + length + " in " + file);
+            }
+            buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Truncated checkpoint " + file);
+                }
+            }
+            buffer.flip();
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+
+        int payload = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, payload);
+        if ((int) crc.getValue() != buffer.getInt(payload)) {
+            throw new IOException("Corrupt checkpoint " + file);
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("Unsupported checkpoint format in " + file);
+            }
+            int generation = buffer.getInt();
+            int iterationsNoImprovements = buffer.getInt();
+            boolean hasRandomState = buffer.get() != 0;
+            long randomState = buffer.getLong();
+            Population<T> current = readPopulation(buffer);
+            Population<T> best = buffer.get() != 0 ? current : readPopulation(buffer);
+            return Optional.of(new Checkpoint<>(generation, iterationsNoImprovements,
+                    hasRandomState ? randomState : null, current, best));
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Invalid checkpoint " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Cancella il checkpoint, se esiste. */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    private void move(Path temp) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private int[][] encode(List<T> ordered) {
+        int[][] genes = new int[ordered.size()][];
+        for (int i = 0; i < genes.length; i++) {
+            genes[i] = codec.encode(ordered.get(i));
+        }
+        return genes;
+    }
+
+    //Individui della popolazione, il migliore per primo
+    private List<T> ordered(Population<T> population) {
+        List<T> ordered = new ArrayList<>(population.size());
+        T best = population.getBestIndividual();
+        if (best != null && population.contains(best)) {
+            ordered.add(best);
+        }
+        for (T individual : population) {
+            if (individual != best) {
+                ordered.add(individual);
+            }
+        }
+        return ordered;
+    }
+
+    private static int populationBytes(int[][] genes) {
+        int size = Long.BYTES + Integer.BYTES + 1;
+        for (int[] individual : genes) {
+            size += Double.BYTES + Integer.BYTES + individual.length * Integer.BYTES;
+        }
+        return size;
+    }
+
+    private void writePopulation(ByteBuffer buffer, Population<T> population, List<T> ordered, int[][] genes) {
+        T best = population.getBestIndividual();
+        buffer.putLong(population.getId()).putInt(genes.length);
+        buffer.put((byte) (!ordered.isEmpty() && ordered.get(0) == best ? 1 : 0));
+        for (int i = 0; i < genes.length; i++) {
+            buffer.putDouble(ordered.get(i).getFitness()).putInt(genes[i].length);
+            for (int gene : genes[i]) {
+                buffer.putInt(gene);
+            }
+        }
+    }
+
+    private Population<T> readPopulation(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        int size = buffer.getInt();
+        boolean hasBest = buffer.get() != 0;
+        if (size < 0) {
+            throw new IllegalArgumentException("negative population size " + size);
+        }
+        Population<T> population = new FixedSizePopulation<>(id, size);
+        for (int i = 0; i < size; i++) {
+            double fitness = buffer.getDouble();
+            int[] genes = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(genes);
+            buffer.position(buffer.position() + genes.length * Integer.BYTES);
+            T individual = codec.decode(genes);
+            individual.setFitness(fitness);
+            population.add(individual);
+            if (i == 0 && hasBest) {
+                population.setBestIndividual(individual);
+            }
+        }
+        return population;
+    }
+}
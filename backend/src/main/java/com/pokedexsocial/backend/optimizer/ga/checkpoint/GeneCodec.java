@@ -0,0 +1,22 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+
+/**
+ * Converte un individuo nei suoi geni interi e viceversa, per salvarlo in un checkpoint.
+ * La fitness non fa parte dei geni: la salva il checkpoint.
+ *
+ * @param <T> tipo dell'individuo
+ */
+public interface GeneCodec<T extends Individual> {
+
+    /** I geni dell'individuo (es. gli ID dei Pokémon del team). */
+    int[] encode(T individual);
+
+    /**
+     * Ricostruisce un individuo dai suoi geni.
+     *
+     * @throws IllegalArgumentException se i geni non corrispondono a un individuo valido
+     */
+    T decode(int[] genes);
+}
@@ -0,0 +1,122 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Checkpoint su disco delle esecuzioni del GA sui team, uno per job, nella cartella
+ * {@code optimizer.checkpoint.dir}; con la cartella vuota (default) sono disattivati.
+ *
+ * <p>Un'esecuzione usa il checkpoint di un job solo dopo averlo riservato con {@link #lock},
+ * che prende un lock sul file {@code <job>.lock} accanto al checkpoint: due esecuzioni dello
+ * stesso job, anche in processi diversi sulla stessa cartella, non si sovrascrivono il
+ * checkpoint a vicenda.</p>
+ */
+@Component
+public class PokemonTeamCheckpoints {
+
+    private final PokemonTeamGeneCodec codec;
+    private final Path directory;
+    private final int interval;
+
+    public PokemonTeamCheckpoints(
+            Pokedex pokedex,
+            @Value("${optimizer.checkpoint.dir:}") String directory,
+            @Value("${optimizer.checkpoint.interval:10}") int interval
+    ) {
+        this.codec = new PokemonTeamGeneCodec(pokedex);
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        this.interval = Math.max(interval, 1);
+    }
+
+    /**
+     * Il checkpoint di un job.
+     *
+     * @param job il nome del job; i caratteri diversi da lettere, cifre, '-' e '_' sono sostituiti
+     * @return lo store del checkpoint, o null se i checkpoint sono disattivati
+     */
+    public CheckpointStore<PokemonTeamGA> forJob(String job) {
+        if (directory == null) {
+            return null;
+        }
+        String name = job.replaceAll("[^A-Za-z0-9_-]", "_");
+        return new CheckpointStore<>(directory.resolve(name + ".ckpt"), codec, interval);
+    }
+
+    /**
+     * Riserva il checkpoint di un job fino alla chiusura del lease.
+     *
+     * @param job il nome del job, come in {@link #forJob}
+     * @return il lease con lo store del checkpoint, o null se i checkpoint sono disattivati,
+     *         il job è già riservato da un'altra esecuzione o il lock non si può creare
+     */
+    public Lease lock(String job) {
+        CheckpointStore<PokemonTeamGA> store = forJob(job);
+        if (store == null) {
+            return null;
+        }
+        Path file = store.getFile();
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            //Se il lock è già di questo processo tryLock lancia OverlappingFileLockException
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return new Lease(store, channel);
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            //Senza lock l'esecuzione procede senza checkpoint
+        }
+        closeQuietly(channel);
+        return null;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            //Il lock è comunque rilasciato con il canale
+        }
+    }
+
+    /**
+     * Il checkpoint di un job riservato a una sola esecuzione; la chiusura rilascia il lock.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final CheckpointStore<PokemonTeamGA> store;
+        private final FileChannel channel;
+
+        private Lease(CheckpointStore<PokemonTeamGA> store, FileChannel channel) {
+            this.store = store;
+            this.channel = channel;
+        }
+
+        public CheckpointStore<PokemonTeamGA> getStore() {
+            return store;
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(channel);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+
+/**
+ * Codifica un team come gli ID dei suoi Pokémon, nell'ordine degli slot; la decodifica
+ * riprende le istanze condivise dal {@link Pokedex}.
+ */
+public class PokemonTeamGeneCodec implements GeneCodec<PokemonTeamGA> {
+
+    private final Pokedex pokedex;
+
+    public PokemonTeamGeneCodec(Pokedex pokedex) {
+        this.pokedex = pokedex;
+    }
+
+    @Override
+    public int[] encode(PokemonTeamGA individual) {
+        PokemonGA[] coding = individual.getCoding();
+        int[] genes = new int[coding.length];
+        for (int i = 0; i < coding.length; i++) {
+            genes[i] = coding[i].getId();
+        }
+        return genes;
+    }
+
+    @Override
+    public PokemonTeamGA decode(int[] genes) {
+        PokemonGA[] coding = new PokemonGA[genes.length];
+        for (int i = 0; i < genes.length; i++) {
+            int id = genes[i];
+            coding[i] = pokedex.getById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("unknown Pokémon ID " + id));
+        }
+        return new PokemonTeamGA(coding);
+    }
+}
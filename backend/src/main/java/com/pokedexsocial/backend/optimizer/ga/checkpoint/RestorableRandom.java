@@ -0,0 +1,52 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import java.util.Random;
+
+/**
+ * Generatore con lo stesso algoritmo di {@link Random} (congruenziale lineare a 48 bit),
+ * ma con lo stato leggibile e ripristinabile, così un'esecuzione ripresa da un checkpoint
+ * continua la stessa sequenza di numeri casuali.
+ *
+ * <p>Con lo stesso seme produce esattamente la sequenza di {@link Random}. Non salva la
+ * seconda gaussiana in cache di {@link #nextGaussian()}, che l'algoritmo genetico non usa.
+ * Come il {@code Random} di un'esecuzione, va usato da un solo thread.</p>
+ */
+public class RestorableRandom extends Random {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    //Inizializzato da setSeed, chiamato dal costruttore di Random
+    private long state;
+
+    public RestorableRandom() {
+        super();
+    }
+
+    public RestorableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /** Lo stato interno, da salvare nel checkpoint. */
+    public long getState() {
+        return state;
+    }
+
+    /** Ripristina uno stato letto con {@link #getState()}. */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,171 @@
+package com.pokedexsocial.backend.optimizer.ga.fitness;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeMultiplier;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fitness di un team costruito per battere uno specifico team avversario.
+ *
+ * <p>Premia la copertura offensiva (avversari colpiti in modo superefficace dai tipi
+ * dei membri, fino a due membri per avversario) e penalizza l'esposizione (membri
+ * colpiti in modo superefficace dai tipi degli avversari), più le statistiche medie.</p>
+ *
+ * <p>Tutte le relazioni tra tipi vengono calcolate una volta nel costruttore, per ogni
+ * coppia di tipi possibile, come maschere di bit sugli avversari: durante il GA la
+ * valutazione di un membro è una lettura da array, senza accessi alle mappe dei tipi.
+ * Una istanza vale per un solo avversario (massimo 64 membri).</p>
+ */
+public class CounterTeamFitnessFunction extends FitnessFunction<PokemonTeamGA> {
+    private static final int TYPES = PokemonTypeName.values().length;
+    private static final int UNDEFINED = PokemonTypeName.UNDEFINED.ordinal();
+
+    private static final double MIN_FITNESS = 0.0;
+    private static final double MAX_FITNESS = 100.0;
+    private static final double NORMAL_WEIGHT = 1.0;
+    private static final double HIGH_WEIGHT = 1.5;
+
+    private final int opponents;
+    //Per coppia di tipi (type1 * TYPES + type2): bit i = l'avversario i è colpito superefficace
+    private final long[] coverage = new long[TYPES * TYPES];
+    //Per coppia di tipi: bit i = l'avversario i colpisce superefficace
+    private final long[] exposure = new long[TYPES * TYPES];
+
+    /**
+     * Precalcola le tabelle per un avversario.
+     *
+     * @param types    tutti i tipi con le loro proprietà offensive (es. {@code PokemonTypePool.getTypes()})
+     * @param opponent i membri del team avversario, da 1 a 64
+     */
+    public CounterTeamFitnessFunction(Collection<PokemonType> types, List<PokemonGA> opponent) {
+        super(true);
+        if (opponent.isEmpty() || opponent.size() > Long.SIZE) {
+            throw new IllegalArgumentException("Opponent team must have between 1 and " + Long.SIZE + " members");
+        }
+        this.opponents = opponent.size();
+
+        //Avversari colpiti superefficace da ogni singolo tipo attaccante
+        long[] hits = new long[TYPES];
+        for (PokemonType attacker : types) {
+            if (attacker.getName() == PokemonTypeName.UNDEFINED) {
+                continue;
+            }
+            for (int i = 0; i < opponents; i++) {
+                PokemonGA target = opponent.get(i);
+                double multiplier = multiplier(attacker.getOffensiveProperties(), target.getType1().getName())
+                        * multiplier(attacker.getOffensiveProperties(), target.getType2().getName());
+                if (multiplier >= PokemonTypeMultiplier.SUPER_EFFECTIVE) {
+                    hits[attacker.getName().ordinal()] |= 1L << i;
+                }
+            }
+        }
+
+        PokemonTypeName[] names = PokemonTypeName.values();
+        for (int t1 = 0; t1 < TYPES; t1++) {
+            for (int t2 = 0; t2 < TYPES; t2++) {
+                int pair = t1 * TYPES + t2;
+                coverage[pair] = hits[t1] | hits[t2];
+                for (int i = 0; i < opponents; i++) {
+                    if (threatens(opponent.get(i), names[t1], names[t2])) {
+                        exposure[pair] |= 1L << i;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void evaluate(PokemonTeamGA individual) {
+        long once = 0;
+        long twice = 0;
+        int exposed = 0;
+        int megaEvolutions = 0;
+        double stats = 0;
+
+        PokemonGA[] coding = individual.getCoding();
+        for (PokemonGA p : coding) {
+            int pair = pairIndex(p);
+            long hit = coverage[pair];
+            twice |= once & hit;
+            once |= hit;
+            exposed += Long.bitCount(exposure[pair]);
+
+            stats += p.getCappedTotal();
+            if (p.isMegaEvolution()) {
+                megaEvolutions++;
+            }
+        }
+
+        //I team con più di una megaevoluzione non sono validi
+        if (megaEvolutions > 1) {
+            individual.setFitness(0);
+            return;
+        }
+
+        double offense = MAX_FITNESS * (Long.bitCount(once) + Long.bitCount(twice)) / (2.0 * opponents);
+        double safety = MAX_FITNESS * (1 - (double) exposed / ((double) coding.length * opponents));
+        double averageStats = normalize(stats / coding.length, PokemonGA.MIN_TOTAL_STATS, PokemonGA.MAX_TOTAL_STATS_STANDARD);
+
+        individual.setFitness(HIGH_WEIGHT * offense + HIGH_WEIGHT * safety + NORMAL_WEIGHT * averageStats);
+    }
+
+    /**
+     * Restituisce la maschera degli avversari colpiti superefficace da un Pokémon.
+     *
+     * @param pokemon il Pokémon attaccante
+     * @return bit i impostato se l'avversario i è colpito superefficace
+     */
+    public long coverageOf(PokemonGA pokemon) {
+        return coverage[pairIndex(pokemon)];
+    }
+
+    /**
+     * Restituisce la maschera degli avversari che colpiscono superefficace un Pokémon.
+     *
+     * @param pokemon il Pokémon in difesa
+     * @return bit i impostato se l'avversario i lo colpisce superefficace
+     */
+    public long exposureOf(PokemonGA pokemon) {
+        return exposure[pairIndex(pokemon)];
+    }
+
+    //L'avversario colpisce superefficace la coppia di tipi con almeno uno dei suoi tipi
+    private static boolean threatens(PokemonGA opponent, PokemonTypeName t1, PokemonTypeName t2) {
+        if (t1 == PokemonTypeName.UNDEFINED && t2 == PokemonTypeName.UNDEFINED) {
+            return false;
+        }
+        for (PokemonType attacker : new PokemonType[]{opponent.getType1(), opponent.getType2()}) {
+            if (attacker.getName() == PokemonTypeName.UNDEFINED) {
+                continue;
+            }
+            Map<PokemonTypeName, Double> offensive = attacker.getOffensiveProperties();
+            if (multiplier(offensive, t1) * multiplier(offensive, t2) >= PokemonTypeMultiplier.SUPER_EFFECTIVE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double multiplier(Map<PokemonTypeName, Double> offensive, PokemonTypeName defender) {
+        if (defender == PokemonTypeName.UNDEFINED) {
+            return PokemonTypeMultiplier.NORMAL_EFFECTIVENESS;
+        }
+        return offensive.getOrDefault(defender, PokemonTypeMultiplier.NORMAL_EFFECTIVENESS);
+    }
+
+    private static int pairIndex(PokemonGA p) {
+        int t2 = p.getType2() == null ? UNDEFINED : p.getType2().getName().ordinal();
+        return p.getType1().getName().ordinal() * TYPES + t2;
+    }
+
+    private static double normalize(double x, double minX, double maxX) {
+        double normalized = (x - minX) / (maxX - minX) * (MAX_FITNESS - MIN_FITNESS) + MIN_FITNESS;
+        return Math.max(MIN_FITNESS, Math.min(MAX_FITNESS, normalized));
+    }
+}
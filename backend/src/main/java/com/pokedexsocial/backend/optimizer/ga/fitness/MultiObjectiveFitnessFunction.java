@@ -0,0 +1,34 @@
+package com.pokedexsocial.backend.optimizer.ga.fitness;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+
+import java.util.List;
+
+/**
+ * Fitness function che, oltre al valore scalare, espone i singoli obiettivi
+ * usati dagli algoritmi multi-obiettivo (es. NSGA-II).
+ *
+ * <p>Tutti gli obiettivi vanno massimizzati; {@link #evaluate(Individual)} continua a
+ * restituire la loro combinazione pesata.</p>
+ *
+ * @param <T> tipo di individuo
+ */
+public abstract class MultiObjectiveFitnessFunction<T extends Individual> extends FitnessFunction<T> {
+
+    public MultiObjectiveFitnessFunction() {
+        super(true);
+    }
+
+    /**
+     * Restituisce i nomi degli obiettivi, nello stesso ordine di {@link #objectives(Individual)}.
+     */
+    public abstract List<String> getObjectiveNames();
+
+    /**
+     * Calcola gli obiettivi di un individuo, senza modificarlo.
+     *
+     * @param individual l'individuo da valutare
+     * @return un valore per obiettivo, più alto è meglio
+     */
+    public abstract double[] objectives(T individual);
+}
@@ -2,16 +2,16 @@ package com.pokedexsocial.backend.optimizer.ga.fitness;
 
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
 import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
-import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
-import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 
 @Component("pokemonTeamFitnessFunction")
-public class PokemonTeamFitnessFunction extends FitnessFunction<PokemonTeamGA> {
+public class PokemonTeamFitnessFunction extends MultiObjectiveFitnessFunction<PokemonTeamGA> {
+    //Versione del modello: va incrementata ad ogni modifica del calcolo,
+    //così i punteggi salvati (leaderboard) vengono ricalcolati all'avvio
+    public static final int MODEL_VERSION = 1;
+
     private static final double MIN_FITNESS = 0.0;
     private static final double MAX_FITNESS = 100.0;
 
@@ -21,36 +21,155 @@ public class PokemonTeamFitnessFunction extends FitnessFunction<PokemonTeamGA> {
 
     private double HIGH_WEIGHT = 1.5;
 
+    private static final List<String> OBJECTIVES = List.of(
+            "averageStats", "typesDiversity", "resistances", "legendaries", "commonWeaknesses");
+
     public PokemonTeamFitnessFunction() {
-        super(true);
+        super();
     }
 
+    /**
+     * Aggrega i membri in un solo passaggio, leggendo i valori precalcolati di
+     * {@link PokemonGA}: nessuna collezione viene allocata durante la valutazione.
+     */
     @Override
     public void evaluate(PokemonTeamGA individual) {
+        PokemonGA[] coding = individual.getCoding();
+        int stats = 0;
+        int legendaries = 0;
+        int megas = 0;
+        long types = 0;
+        long resistances = 0;
+        long weaknessTypes = 0;
+        int weaknesses = 0;
+        for (PokemonGA p : coding) {
+            stats += p.getCappedTotal();
+            legendaries += p.getRarityWeight();
+            megas += p.isMegaEvolution() ? 1 : 0;
+            types |= p.getTypeMask();
+            resistances |= p.getResistanceMask();
+            weaknessTypes |= p.getWeaknessMask();
+            weaknesses += p.getWeaknessCount();
+        }
+
         //I team con più di una megaevoluzione non sono validi
-        if(megaEvolutionCount(individual) > 1){
+        if(megas > 1){
             individual.setFitness(0);
         }
         else{
-            double fitness = HIGH_WEIGHT * averageTeamStats(individual) + NORMAL_WEIGHT * typesDiversity(individual) + NORMAL_WEIGHT * teamResistances(individual)
-                    + NORMAL_WEIGHT * legendaryCount(individual) + HIGH_WEIGHT * commonWeaknesses(individual);
+            individual.setFitness(fitnessOf(coding.length, stats, legendaries, Long.bitCount(types),
+                    Long.bitCount(resistances), weaknesses, Long.bitCount(weaknessTypes)));
+        }
+    }
+
+    /**
+     * Calcola le singole componenti della fitness di un team, senza modificarlo.
+     * Il totale coincide con quello assegnato da {@link #evaluate(PokemonTeamGA)}.
+     *
+     * @param individual il team da analizzare
+     * @return le componenti normalizzate (0-100) e il totale pesato
+     */
+    public Breakdown breakdown(PokemonTeamGA individual) {
+        int megaEvolutions = megaEvolutionCount(individual);
+        double stats = averageTeamStats(individual);
+        double diversity = typesDiversity(individual);
+        double resistances = teamResistances(individual);
+        double legendaries = legendaryCount(individual);
+        double weaknesses = commonWeaknesses(individual);
+
+        double total = megaEvolutions > 1 ? 0 : weightedFitness(stats, diversity, resistances, legendaries, weaknesses);
+        return new Breakdown(stats, diversity, resistances, legendaries, weaknesses, megaEvolutions, total);
+    }
+
+    @Override
+    public List<String> getObjectiveNames() {
+        return OBJECTIVES;
+    }
+
+    /**
+     * Restituisce le componenti della fitness come obiettivi separati, nell'ordine di
+     * {@link #getObjectiveNames()}. Un team non valido vale 0 su tutti gli obiettivi,
+     * così è dominato da qualsiasi team valido.
+     */
+    @Override
+    public double[] objectives(PokemonTeamGA individual) {
+        if (megaEvolutionCount(individual) > 1) {
+            return new double[OBJECTIVES.size()];
+        }
+        return new double[]{averageTeamStats(individual), typesDiversity(individual), teamResistances(individual),
+                legendaryCount(individual), commonWeaknesses(individual)};
+    }
 
-            //fitness = normalizeFitness(fitness, 0, (LOW_WEIGHT*MAX_FITNESS*0)+(NORMAL_WEIGHT*MAX_FITNESS*3)+(HIGH_WEIGHT*MAX_FITNESS*2), MIN_FITNESS, MAX_FITNESS);
-            individual.setFitness(fitness);
+    /**
+     * Prepara la valutazione incrementale di un team in cui cambia un solo slot.
+     *
+     * <p>Le componenti degli altri membri (statistiche, tipi, resistenze, debolezze,
+     * leggendari, megaevoluzioni) vengono aggregate una volta in contatori e maschere di bit;
+     * ogni candidato costa poi poche operazioni su interi, senza allocazioni. Il valore
+     * coincide con quello di {@link #evaluate(PokemonTeamGA)} sul team con il candidato
+     * nello slot. L'oggetto restituito è immutabile e può essere usato da più thread.</p>
+     *
+     * @param coding il team corrente (il membro nello slot indicato viene ignorato)
+     * @param slot   lo slot da sostituire
+     * @return il valutatore per quello slot
+     */
+    public SlotEvaluator slotEvaluator(PokemonGA[] coding, int slot) {
+        return new SlotEvaluator(coding, slot);
+    }
+
+    /**
+     * Calcola la fitness di un team senza megaevoluzioni in eccesso a partire dai suoi
+     * aggregati, come {@link #evaluate(PokemonTeamGA)}. Ogni componente è monotona nel
+     * proprio aggregato, quindi con aggregati ottimistici il risultato è un limite superiore
+     * della fitness dei team che li rispettano.
+     *
+     * @param teamSize        il numero di membri
+     * @param statsTotal      la somma dei totali, con il tetto per i leggendari
+     * @param legendaryPoints i punti rarità (2 leggendari e mitici, 1 sub-leggendari e paradosso)
+     * @param types           il numero di tipi differenti
+     * @param resistances     il numero di tipi a cui almeno un membro resiste
+     * @param weaknessTotal   la somma del numero di debolezze dei membri
+     * @param weaknessTypes   il numero di tipi a cui almeno un membro è debole
+     * @return la fitness pesata
+     * @throws ArithmeticException se nessun membro ha debolezze
+     */
+    public double fitnessOf(int teamSize, int statsTotal, int legendaryPoints, int types, int resistances,
+                            int weaknessTotal, int weaknessTypes) {
+        if (weaknessTypes == 0) {
+            throw new ArithmeticException("No weaknesses to compute average");
         }
+        return weightedFitness(
+                normalizeFitness((double) statsTotal / teamSize, PokemonGA.MIN_TOTAL_STATS,
+                        PokemonGA.MAX_TOTAL_STATS_STANDARD, MIN_FITNESS, MAX_FITNESS),
+                normalizeFitness(types, 1, 12, MIN_FITNESS, MAX_FITNESS),
+                normalizeFitness(resistances, 1, 18, MIN_FITNESS, MAX_FITNESS),
+                normalizeFitness(legendaryPoints, 6, 0, MIN_FITNESS, MAX_FITNESS),
+                normalizeFitness((double) weaknessTotal / weaknessTypes, weaknessTotal, 1, MIN_FITNESS, MAX_FITNESS));
     }
 
-    //Calcola le statistiche medie totali del team
+    /**
+     * Restituisce i contributi di un Pokémon agli aggregati di {@link #fitnessOf}.
+     *
+     * @param pokemon il Pokémon
+     * @return i suoi contributi, con tipi, resistenze e debolezze come maschere di bit per ordinale
+     */
+    public static MemberFeatures features(PokemonGA pokemon) {
+        return new MemberFeatures(pokemon.getCappedTotal(), pokemon.getRarityWeight(), pokemon.getTypeMask(),
+                pokemon.getResistanceMask(), pokemon.getWeaknessMask(), pokemon.getWeaknessCount(),
+                pokemon.isMegaEvolution());
+    }
+
+    private double weightedFitness(double stats, double diversity, double resistances, double legendaries, double weaknesses){
+        return HIGH_WEIGHT * stats + NORMAL_WEIGHT * diversity + NORMAL_WEIGHT * resistances
+                + NORMAL_WEIGHT * legendaries + HIGH_WEIGHT * weaknesses;
+    }
+
+    //Calcola le statistiche medie totali del team (i leggendari contano con il tetto)
     private double averageTeamStats(PokemonTeamGA individual){
         double total = 0;
         int n = 0;
         for(PokemonGA p : individual.getCoding()){
-            if(p.getTotal() > PokemonGA.MAX_TOTAL_STATS_STANDARD){
-                total += 600; //se il pokemon è leggendario gli attribuisce un totale più basso
-            }
-            else{
-                total += p.getTotal();
-            }
+            total += p.getCappedTotal();
             n++;
         }
         return normalizeFitness(total/n, PokemonGA.MIN_TOTAL_STATS, PokemonGA.MAX_TOTAL_STATS_STANDARD, MIN_FITNESS, MAX_FITNESS);
@@ -58,44 +177,32 @@ public class PokemonTeamFitnessFunction extends FitnessFunction<PokemonTeamGA> {
 
     //Calcola il numero di tipi differenti all`interno del team
     private double typesDiversity(PokemonTeamGA individual){
-        HashSet<PokemonTypeName> teamTypes = new HashSet<>();
-
+        long teamTypes = 0;
         for(PokemonGA p : individual.getCoding()){
-
-            teamTypes.add(p.getType1().getName());
-
-            if(p.getType2().getName() != PokemonTypeName.UNDEFINED){
-                teamTypes.add(p.getType2().getName());
-            }
+            teamTypes |= p.getTypeMask();
         }
-
-        return normalizeFitness(teamTypes.size(), 1, 12, MIN_FITNESS, MAX_FITNESS);
+        return normalizeFitness(Long.bitCount(teamTypes), 1, 12, MIN_FITNESS, MAX_FITNESS);
     }
 
 
     //Calcola le resistenze del team
     private double teamResistances(PokemonTeamGA individual){
-        HashSet<PokemonTypeName> teamResistances = new HashSet<>();
+        long teamResistances = 0;
         int minTeamResistances = 1;
         int maxTeamResistances = 18;
 
         for(PokemonGA p : individual.getCoding()){
-            teamResistances.addAll(p.getResistances());
+            teamResistances |= p.getResistanceMask();
         }
 
-        return normalizeFitness(teamResistances.size(), minTeamResistances, maxTeamResistances, MIN_FITNESS, MAX_FITNESS);
+        return normalizeFitness(Long.bitCount(teamResistances), minTeamResistances, maxTeamResistances, MIN_FITNESS, MAX_FITNESS);
     }
 
     //Calcola il numero di pokemon leggendari/mistici/paradoss all`interno del team
     private double legendaryCount(PokemonTeamGA individual){
         double count = 0;
         for(PokemonGA x : individual.getCoding()){
-            PokemonRarity rarity = x.getRarity();
-            if(rarity == PokemonRarity.LEGENDARY || rarity == PokemonRarity.MYTHICAL){
-                count += 2;
-            } else if (rarity == PokemonRarity.SUB_LEGENDARY || rarity == PokemonRarity.PARADOX) {
-                count += 1;
-            }
+            count += x.getRarityWeight();
         }
         return normalizeFitness(count, 6, 0, MIN_FITNESS, MAX_FITNESS);
     }
@@ -111,29 +218,17 @@ public class PokemonTeamFitnessFunction extends FitnessFunction<PokemonTeamGA> {
         return count;
     }
 
-    //Calcola il numero di debolezze in comune dei pokemon all`interno del team
+    //Calcola il numero di debolezze in comune dei pokemon all`interno del team:
+    //debolezze totali diviso il numero di tipi a cui almeno un membro è debole
     private double commonWeaknesses(PokemonTeamGA individual){
-        Map<PokemonTypeName, Integer> weaknessMap = new HashMap<>();
-        for(PokemonTypeName type : PokemonTypeName.values()){
-            weaknessMap.put(type,0);
-        }
-
-        for(PokemonGA p : individual.getCoding()){
-            for(PokemonTypeName weakness : p.getWeaknesses()){
-                weaknessMap.put(weakness, weaknessMap.get(weakness)+1);
-            }
-        }
-
         int total = 0;
-        int num = 0;
-        for(PokemonTypeName key : weaknessMap.keySet()){
-            int value = weaknessMap.get(key);
-            if(value>0){
-                total += value;
-                num++;
-            }
+        long weaknessTypes = 0;
+        for(PokemonGA p : individual.getCoding()){
+            total += p.getWeaknessCount();
+            weaknessTypes |= p.getWeaknessMask();
         }
 
+        int num = Long.bitCount(weaknessTypes);
         if (num == 0) {
             throw new ArithmeticException("No weaknesses to compute average");
         }
@@ -145,4 +240,89 @@ public class PokemonTeamFitnessFunction extends FitnessFunction<PokemonTeamGA> {
         double normalizedFitness = (x - minX) / (maxX - minX) * (maxY - minY) + minY;
         return Math.max(0, Math.min(100, normalizedFitness));
     }
+
+    /**
+     * Valutatore incrementale di uno slot, creato da {@link #slotEvaluator(PokemonGA[], int)}.
+     */
+    public final class SlotEvaluator {
+        private final int teamSize;
+        private final int totalStats;
+        private final int legendaryPoints;
+        private final int megaEvolutions;
+        private final long types;
+        private final long resistances;
+        private final long weaknessTypes;
+        private final int weaknessCount;
+
+        private SlotEvaluator(PokemonGA[] coding, int slot) {
+            int stats = 0;
+            int legendaries = 0;
+            int megas = 0;
+            long typeBits = 0;
+            long resistanceBits = 0;
+            long weaknessBits = 0;
+            int weaknesses = 0;
+            for (int i = 0; i < coding.length; i++) {
+                if (i == slot) {
+                    continue;
+                }
+                PokemonGA p = coding[i];
+                stats += p.getCappedTotal();
+                legendaries += p.getRarityWeight();
+                megas += p.isMegaEvolution() ? 1 : 0;
+                typeBits |= p.getTypeMask();
+                resistanceBits |= p.getResistanceMask();
+                weaknessBits |= p.getWeaknessMask();
+                weaknesses += p.getWeaknessCount();
+            }
+            this.teamSize = coding.length;
+            this.totalStats = stats;
+            this.legendaryPoints = legendaries;
+            this.megaEvolutions = megas;
+            this.types = typeBits;
+            this.resistances = resistanceBits;
+            this.weaknessTypes = weaknessBits;
+            this.weaknessCount = weaknesses;
+        }
+
+        /**
+         * Calcola la fitness del team con il candidato nello slot.
+         *
+         * @param candidate il Pokémon da provare
+         * @return la fitness, 0 se il team risultante ha più di una megaevoluzione
+         */
+        public double evaluate(PokemonGA candidate) {
+            if (megaEvolutions + (candidate.isMegaEvolution() ? 1 : 0) > 1) {
+                return 0;
+            }
+            return fitnessOf(teamSize, totalStats + candidate.getCappedTotal(),
+                    legendaryPoints + candidate.getRarityWeight(),
+                    Long.bitCount(types | candidate.getTypeMask()),
+                    Long.bitCount(resistances | candidate.getResistanceMask()),
+                    weaknessCount + candidate.getWeaknessCount(),
+                    Long.bitCount(weaknessTypes | candidate.getWeaknessMask()));
+        }
+    }
+
+    /**
+     * Contributi di un Pokémon agli aggregati della fitness, creati da {@link #features(PokemonGA)}.
+     */
+    public record MemberFeatures(int cappedTotal, int legendaryPoints, long types, long resistances,
+                                 long weaknesses, int weaknessCount, boolean megaEvolution) {
+    }
+
+    /**
+     * Componenti della fitness di un team.
+     *
+     * @param averageStats     statistiche medie del team
+     * @param typesDiversity   numero di tipi differenti
+     * @param resistances      copertura delle resistenze
+     * @param legendaries      penalità per leggendari/mitici/paradosso (100 = nessuno)
+     * @param commonWeaknesses debolezze in comune (100 = nessuna debolezza condivisa)
+     * @param megaEvolutions   numero di megaevoluzioni; con più di una il team non è valido
+     * @param total            fitness totale pesata, 0 se il team non è valido
+     */
+    public record Breakdown(double averageStats, double typesDiversity, double resistances, double legendaries,
+                            double commonWeaknesses, int megaEvolutions, double total) {
+    }
 }
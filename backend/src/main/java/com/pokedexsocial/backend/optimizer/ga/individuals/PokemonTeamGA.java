@@ -4,7 +4,7 @@ import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
 
 import java.util.Arrays;
 
-public class PokemonTeamGA extends PokemonArrayIndividual {
+public class PokemonTeamGA extends PokemonArrayIndividual implements SlotIndividual<PokemonTeamGA> {
     public static final int MAX_TEAM_MEMBERS = 6;
 
 
@@ -12,6 +12,67 @@ public class PokemonTeamGA extends PokemonArrayIndividual {
         super(coding);
     }
 
+    @Override
+    public PokemonTeamGA copy() {
+        PokemonTeamGA copy = new PokemonTeamGA(coding.clone());
+        copy.setFitness(fitness);
+        return copy;
+    }
+
+    /**
+     * Copia membri e fitness di un altro team nell'array di questo, che deve avere la stessa lunghezza.
+     */
+    @Override
+    public void copyFrom(PokemonTeamGA other) {
+        System.arraycopy(other.coding, 0, coding, 0, coding.length);
+        fitness = other.fitness;
+    }
+
+    /**
+     * Hash canonico del team: dipende solo dai membri (per ID) e non dal loro ordine, quindi
+     * due team con gli stessi membri in slot diversi hanno lo stesso hash. È la somma di un
+     * mix a 64 bit di ogni ID, così anche i membri ripetuti contano; le collisioni tra team
+     * diversi sono trascurabili per le dimensioni di popolazione del GA.
+     *
+     * @return l'hash dei membri
+     */
+    public long canonicalHash() {
+        long hash = 0;
+        for (PokemonGA member : coding) {
+            hash += mix(member.getId());
+        }
+        return hash;
+    }
+
+    /**
+     * Confronto esatto dei membri, per ID e senza tenere conto dell'ordine. Due team con lo
+     * stesso {@link #canonicalHash()} possono comunque essere diversi: chi deduplica usa
+     * l'hash per raggruppare e questo metodo per decidere.
+     *
+     * @param other il team da confrontare
+     * @return {@code true} se i due team hanno gli stessi membri, ripetizioni comprese
+     */
+    public boolean hasSameMembers(PokemonTeamGA other) {
+        return Arrays.equals(sortedMemberIds(), other.sortedMemberIds());
+    }
+
+    private int[] sortedMemberIds() {
+        int[] ids = new int[coding.length];
+        for (int i = 0; i < coding.length; i++) {
+            ids[i] = coding[i].getId();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    //Finalizzatore di SplitMix64: distribuisce anche ID consecutivi su tutti i 64 bit
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     @Override
     public String toString() {
         return "PokemonTeam=" + Arrays.toString(coding) + " Fitness=" + fitness;
@@ -0,0 +1,16 @@
+package com.pokedexsocial.backend.optimizer.ga.individuals;
+
+/**
+ * Individuo che può fare da slot riutilizzabile in un buffer di popolazione: invece di
+ * creare un individuo nuovo per ogni figlio, gli operatori sul posto ne sovrascrivono i geni.
+ *
+ * @param <T> tipo dell'individuo stesso
+ */
+public interface SlotIndividual<T> {
+
+    /** Un nuovo individuo con geni propri, uguale a questo. */
+    T copy();
+
+    /** Sovrascrive geni e fitness con quelli di un altro individuo, senza allocare. */
+    void copyFrom(T other);
+}
@@ -1,23 +1,96 @@
 package com.pokedexsocial.backend.optimizer.ga.initializer;
 
+import com.pokedexsocial.backend.optimizer.ga.archive.EliteArchive;
+import com.pokedexsocial.backend.optimizer.ga.archive.PokemonTeamEliteArchive;
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
 import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 import com.pokedexsocial.backend.optimizer.pokemon.team.PokemonTeamGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Genera la popolazione iniziale di team casuali. Con un archivio dei migliori team
+ * (warm start), una parte della popolazione è presa dall'archivio della chiave indicata
+ * e il resto è generato come al solito.
+ */
 @Component
 public class PokemonTeamInitializer extends Initializer<PokemonTeamGA>{
     private final PokemonTeamGenerator pokemonTeamGenerator;
+    private final TeamConstraints constraints;
+    private final EliteArchive<PokemonTeamGA> archive;
+    private final String archiveKey;
 
     public PokemonTeamInitializer(PokemonTeamGenerator pokemonTeamGenerator) {
+        this(pokemonTeamGenerator, null, null, null);
+    }
+
+    @Autowired
+    public PokemonTeamInitializer(PokemonTeamGenerator pokemonTeamGenerator, PokemonTeamEliteArchive archive) {
+        this(pokemonTeamGenerator, null, archive, PokemonTeamEliteArchive.DEFAULT_KEY);
+    }
+
+    public PokemonTeamInitializer(PokemonTeamGenerator pokemonTeamGenerator, TeamConstraints constraints) {
+        this(pokemonTeamGenerator, constraints, null, null);
+    }
+
+    /**
+     * @param archive    l'archivio da cui seminare la popolazione, o null per partire solo da team casuali
+     * @param archiveKey la chiave dell'archivio, che deve identificare gli stessi vincoli
+     */
+    public PokemonTeamInitializer(PokemonTeamGenerator pokemonTeamGenerator, TeamConstraints constraints,
+                                  EliteArchive<PokemonTeamGA> archive, String archiveKey) {
         this.pokemonTeamGenerator = pokemonTeamGenerator;
+        this.constraints = constraints;
+        this.archive = archive;
+        this.archiveKey = archiveKey;
+    }
+
+    /**
+     * Restituisce un initializer che genera solo team conformi ai vincoli
+     * (l'istanza corrente, condivisa, non viene modificata). Non usa l'archivio:
+     * i team archiviati senza vincoli potrebbero non rispettarli.
+     */
+    public PokemonTeamInitializer withConstraints(TeamConstraints constraints) {
+        return new PokemonTeamInitializer(pokemonTeamGenerator, constraints, null, null);
+    }
+
+    /**
+     * Come {@link #withConstraints(TeamConstraints)}, seminando dall'archivio della chiave
+     * indicata, che deve identificare esattamente questi vincoli.
+     */
+    public PokemonTeamInitializer withConstraints(TeamConstraints constraints, String archiveKey) {
+        return new PokemonTeamInitializer(pokemonTeamGenerator, constraints, archive, archiveKey);
+    }
+
+    /**
+     * Restituisce un initializer che parte solo da team casuali, per le ricerche con una
+     * fitness diversa da quella con cui sono stati archiviati i team.
+     */
+    public PokemonTeamInitializer withoutArchive() {
+        return archive == null ? this : new PokemonTeamInitializer(pokemonTeamGenerator, constraints, null, null);
     }
 
     public Population<PokemonTeamGA> initialize(int numberOfIndividuals) {
         FixedSizePopulation<PokemonTeamGA> population = new FixedSizePopulation<>(0, numberOfIndividuals);
-        for(int i = 0; i < numberOfIndividuals; i++){
-            PokemonTeamGA individual = pokemonTeamGenerator.generatePokemonTeam(PokemonTeamGA.MAX_TEAM_MEMBERS);
+        Random rand = ThreadLocalRandom.current();
+        List<PokemonTeamGA> seeds = archive == null ? List.of() : archive.seeds(archiveKey, numberOfIndividuals, rand);
+        for (PokemonTeamGA seed : seeds) {
+            //I semi vengono dagli stessi vincoli: la riparazione copre solo un Pokedex cambiato nel frattempo
+            if (constraints != null) {
+                constraints.repair(seed.getCoding(), rand);
+            }
+            population.add(seed);
+        }
+        for(int i = seeds.size(); i < numberOfIndividuals; i++){
+            PokemonTeamGA individual = constraints == null
+                    ? pokemonTeamGenerator.generatePokemonTeam(PokemonTeamGA.MAX_TEAM_MEMBERS)
+                    : pokemonTeamGenerator.generatePokemonTeam(constraints, rand);
             population.add(individual);
         }
 
@@ -28,4 +101,12 @@ public class PokemonTeamInitializer extends Initializer<PokemonTeamGA>{
     public Population<PokemonTeamGA> initialize() {
         return initialize(100);
     }
+
+    public EliteArchive<PokemonTeamGA> getArchive() {
+        return archive;
+    }
+
+    public String getArchiveKey() {
+        return archiveKey;
+    }
 }
@@ -0,0 +1,79 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Richiesta cooperativa di interruzione di un'esecuzione dell'algoritmo genetico.
+ *
+ * <p>L'algoritmo controlla il token tra una generazione e l'altra e gli operatori lunghi
+ * (la ricerca locale) dentro i propri cicli; quando il token è annullato l'esecuzione
+ * termina alla prima occasione e restituisce i risultati parziali, con il miglior
+ * individuo trovato fin lì. Il token è annullato esplicitamente con
+ * {@link #cancel(Reason)} (da un altro thread), alla scadenza opzionale o quando il
+ * thread che lo controlla viene interrotto.</p>
+ *
+ * <p>Vale il primo motivo registrato; il token è thread-safe.</p>
+ */
+public final class CancellationToken {
+
+    /** Motivo dell'interruzione. */
+    public enum Reason {
+        /** Scaduto il tempo massimo dell'esecuzione. */
+        DEADLINE,
+        /** Scaduto il timeout asincrono della richiesta HTTP. */
+        ASYNC_TIMEOUT,
+        /** Il client ha chiuso la connessione. */
+        CLIENT_ABORT,
+        /** Il thread dell'esecuzione è stato interrotto. */
+        INTERRUPTED
+    }
+
+    private final AtomicReference<Reason> reason = new AtomicReference<>();
+    //System.nanoTime() della scadenza, o Long.MAX_VALUE se non c'è
+    private final long deadline;
+
+    private CancellationToken(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /** Un token senza scadenza, annullabile solo esplicitamente o con un'interruzione. */
+    public static CancellationToken none() {
+        return new CancellationToken(Long.MAX_VALUE);
+    }
+
+    /** Un token che si annulla da solo dopo {@code timeout}. */
+    public static CancellationToken withTimeout(Duration timeout) {
+        long now = System.nanoTime();
+        //Oltre ~292 anni in nanosecondi equivale a nessuna scadenza
+        long nanos = timeout.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : timeout.toNanos();
+        return new CancellationToken(nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos);
+    }
+
+    /**
+     * Annulla il token.
+     *
+     * @return true se questa chiamata lo ha annullato, false se era già annullato
+     */
+    public boolean cancel(Reason reason) {
+        return this.reason.compareAndSet(null, reason);
+    }
+
+    /** Vero se l'esecuzione deve fermarsi: annullato, scaduto o thread interrotto. */
+    public boolean isCancelled() {
+        if (reason.get() != null) {
+            return true;
+        }
+        if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+            cancel(Reason.DEADLINE);
+        } else if (Thread.currentThread().isInterrupted()) {
+            cancel(Reason.INTERRUPTED);
+        }
+        return reason.get() != null;
+    }
+
+    /** Il motivo dell'interruzione, o null se il token non è annullato. */
+    public Reason getReason() {
+        return reason.get();
+    }
+}
@@ -0,0 +1,297 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.RestorableRandom;
+import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.individuals.SlotIndividual;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.InPlaceCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.InPlaceMutation;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.InPlaceSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.results.Results;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Algoritmo genetico classico con popolazioni a doppio buffer.
+ *
+ * <p>Ogni generazione è scritta negli slot della generazione successiva, preallocati una
+ * volta sola, e poi i due buffer si scambiano: selezione, crossover e mutazione lavorano
+ * sul posto ({@link InPlaceSelection}, {@link InPlaceCrossover}, {@link InPlaceMutation}),
+ * per cui a regime il ciclo non alloca individui, codifiche né popolazioni. La migliore
+ * generazione è copiata in un terzo buffer quando migliora.</p>
+ *
+ * <p>Rispetto a {@link SimpleGeneticAlgorithm} la dimensione della popolazione resta
+ * costante (con un numero dispari di individui l'ultimo genitore passa invariato), non
+ * sono conservate le generazioni intermedie e non sono supportati ricerca locale,
+ * diversità, controllo adattivo e checkpoint.</p>
+ *
+ * <p>Il servizio di ottimizzazione lo usa per le esecuzioni con e senza vincoli quando
+ * {@code optimizer.pipeline=double-buffered}; con ricerca locale, sostituzione dei
+ * duplicati, controllo adattivo o checkpoint attivi il servizio non si avvia.</p>
+ *
+ * @param <T> tipo dell'individuo (es. PokemonTeamGA)
+ */
+public class DoubleBufferedGeneticAlgorithm<T extends Individual & SlotIndividual<T>> extends GeneticAlgorithm<T> {
+    private final double mutationProbability;
+    private final int maxIterations;
+    private final int maxIterationsNoImprovements;
+
+    private final InPlaceSelection<T> selection;
+    private final InPlaceCrossover<T> crossover;
+    private final InPlaceMutation<T> mutation;
+
+    /**
+     * @throws IllegalArgumentException se un operatore non supporta il funzionamento sul posto
+     */
+    public DoubleBufferedGeneticAlgorithm(
+            FitnessFunction<T> fitnessFunction,
+            Initializer<T> initializer,
+            SelectionOperator<T> selectionOperator,
+            CrossoverOperator<T> crossoverOperator,
+            MutationOperator<T> mutationOperator,
+            double mutationProbability,
+            int maxIterations,
+            int maxIterationsNoImprovements
+    ) {
+        super(fitnessFunction, initializer, selectionOperator, crossoverOperator, mutationOperator);
+        this.selection = inPlace(selectionOperator, InPlaceSelection.class);
+        this.crossover = inPlace(crossoverOperator, InPlaceCrossover.class);
+        this.mutation = inPlace(mutationOperator, InPlaceMutation.class);
+
+        // Stessi fallback di SimpleGeneticAlgorithm
+        this.mutationProbability = (mutationProbability < 0.0 || mutationProbability > 1.0) ? 1.0 : mutationProbability;
+        this.maxIterations = Math.max(maxIterations, 1);
+        this.maxIterationsNoImprovements = Math.max(maxIterationsNoImprovements, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <O> O inPlace(Object operator, Class<?> type) {
+        if (!type.isInstance(operator)) {
+            throw new IllegalArgumentException(
+                    operator.getClass().getSimpleName() + " does not implement " + type.getSimpleName());
+        }
+        return (O) operator;
+    }
+
+    //Nessun operatore sul posto clona: l'eccezione di GeneticAlgorithm non può verificarsi
+    @Override
+    public Results<T> run() {
+        return run(CancellationToken.none());
+    }
+
+    @Override
+    public Results<T> run(CancellationToken token) {
+        Random rand = newRandom();
+        List<String> logEntries = new ArrayList<>();
+        Buffers<T> buffers = allocate(getInitializer().initialize());
+
+        int iterations = 1;
+        int iterationsNoImprovements = 0;
+        boolean stopEarly = false;
+        CancellationToken.Reason cancellation = null;
+
+        while (iterations < maxIterations && !stopEarly) {
+            // Interruzione cooperativa: si tiene l'ultima generazione valutata
+            if (token.isCancelled()) {
+                cancellation = token.getReason();
+                logEntries.add("Cancelled after " + iterations + " generations: " + cancellation);
+                break;
+            }
+
+            boolean improved = step(buffers, rand);
+            iterations++;
+
+            if (improved) {
+                iterationsNoImprovements = 0;
+            } else {
+                iterationsNoImprovements++;
+                stopEarly = (maxIterationsNoImprovements > 0 && iterationsNoImprovements >= maxIterationsNoImprovements);
+            }
+        }
+
+        // Solo qui gli slot diventano popolazioni: il ciclo non le crea
+        Stack<Population<T>> generations = new Stack<>();
+        Population<T> last = toPopulation(buffers.current, iterations - 1L);
+        Population<T> best = toPopulation(buffers.best, buffers.bestGeneration);
+        generations.push(last);
+        return new Results<>(this, generations, best, logEntries, cancellation, iterations - 1);
+    }
+
+    /**
+     * Prepara i buffer a partire dalla popolazione iniziale, che viene valutata. Gli
+     * individui iniziali diventano gli slot della generazione corrente; quelli della
+     * successiva e della migliore sono copie.
+     *
+     * @param initial la popolazione iniziale, non vuota
+     * @return i buffer, da passare a {@link #step}
+     */
+    public Buffers<T> allocate(Population<T> initial) {
+        List<T> current = new ArrayList<>(initial);
+        List<T> next = new ArrayList<>(current.size());
+        List<T> best = new ArrayList<>(current.size());
+        for (T individual : current) {
+            next.add(individual.copy());
+            best.add(individual.copy());
+        }
+        Buffers<T> buffers = new Buffers<>(current, next, best);
+        buffers.currentAverage = evaluate(current);
+        buffers.bestAverage = buffers.currentAverage;
+        copy(current, best);
+        return buffers;
+    }
+
+    /**
+     * Esegue una generazione: selezione, crossover e mutazione negli slot del buffer
+     * successivo, valutazione, scambio dei buffer e aggiornamento della migliore generazione.
+     *
+     * @param buffers i buffer preparati da {@link #allocate}
+     * @param rand    il generatore da usare
+     * @return true se la nuova generazione migliora la migliore finora
+     */
+    public boolean step(Buffers<T> buffers, Random rand) {
+        List<T> current = buffers.current;
+        List<T> next = buffers.next;
+        int[] parents = buffers.parents;
+        int size = current.size();
+
+        // Selezione: indici dei genitori, nessun clone
+        selection.selectInto(current, parents, buffers.scratch, rand);
+
+        // Crossover a coppie consecutive, direttamente negli slot successivi
+        int pairs = size / 2;
+        for (int p = 0; p < pairs; p++) {
+            int i = 2 * p;
+            crossover.crossoverInto(current.get(parents[i]), current.get(parents[i + 1]),
+                    next.get(i), next.get(i + 1), rand);
+        }
+        if (size % 2 == 1) {
+            next.get(size - 1).copyFrom(current.get(parents[size - 1]));
+        }
+
+        // Mutazione con probabilità
+        if (rand.nextDouble() <= mutationProbability) {
+            mutation.mutateInPlace(next, rand);
+        }
+
+        double average = evaluate(next);
+
+        // Scambio dei buffer: la generazione appena valutata diventa la corrente
+        buffers.next = current;
+        buffers.current = next;
+        buffers.currentAverage = average;
+        buffers.generation++;
+
+        boolean improved = getFitnessFunction().isMaximum()
+                ? average > buffers.bestAverage
+                : average < buffers.bestAverage;
+        if (improved) {
+            copy(next, buffers.best);
+            buffers.bestAverage = average;
+            buffers.bestGeneration = buffers.generation;
+        }
+        return improved;
+    }
+
+    //Valuta ogni slot e restituisce la fitness media, come Population.getAverageFitness
+    private double evaluate(List<T> slots) {
+        double sum = 0.0;
+        for (int i = 0; i < slots.size(); i++) {
+            T individual = slots.get(i);
+            getFitnessFunction().evaluate(individual);
+            sum += individual.getFitness();
+        }
+        return slots.isEmpty() ? 0.0 : sum / slots.size();
+    }
+
+    private static <T extends SlotIndividual<T>> void copy(List<T> from, List<T> to) {
+        for (int i = 0; i < from.size(); i++) {
+            to.get(i).copyFrom(from.get(i));
+        }
+    }
+
+    private Population<T> toPopulation(List<T> slots, long id) {
+        Population<T> population = new FixedSizePopulation<>(id, slots.size());
+        T bestIndividual = null;
+        for (T individual : slots) {
+            population.add(individual);
+            boolean better = bestIndividual == null || (getFitnessFunction().isMaximum()
+                    ? individual.compareTo(bestIndividual) > 0
+                    : individual.compareTo(bestIndividual) < 0);
+            if (better) {
+                bestIndividual = individual;
+            }
+        }
+        population.setBestIndividual(bestIndividual);
+        return population;
+    }
+
+    // Allows deterministic testing without altering production behavior
+    protected Random newRandom() {
+        return new RestorableRandom();
+    }
+
+    public double getMutationProbability() {
+        return mutationProbability;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public int getMaxIterationsNoImprovements() {
+        return maxIterationsNoImprovements;
+    }
+
+    /**
+     * I buffer di un'esecuzione: generazione corrente, successiva e migliore, più gli
+     * array di lavoro della selezione. Vanno usati da un solo thread alla volta.
+     *
+     * @param <T> tipo dell'individuo
+     */
+    public static final class Buffers<T> {
+        private List<T> current;
+        private List<T> next;
+        private final List<T> best;
+        private final int[] parents;
+        private final int[] scratch;
+        private double currentAverage;
+        private double bestAverage;
+        private long generation;
+        private long bestGeneration;
+
+        private Buffers(List<T> current, List<T> next, List<T> best) {
+            this.current = current;
+            this.next = next;
+            this.best = best;
+            this.parents = new int[current.size()];
+            this.scratch = new int[2 * current.size()];
+        }
+
+        /** Gli slot della generazione corrente, riusati dalle generazioni successive. */
+        public List<T> getCurrent() {
+            return current;
+        }
+
+        public double getCurrentAverage() {
+            return currentAverage;
+        }
+
+        public double getBestAverage() {
+            return bestAverage;
+        }
+
+        /** Il numero della generazione corrente, a partire da 0 per quella iniziale. */
+        public long getGeneration() {
+            return generation;
+        }
+    }
+}
@@ -66,7 +66,18 @@ public abstract class GeneticAlgorithm<T extends Individual> {
       @ ensures \result != null;
       @ signals (CloneNotSupportedException e) true;
       @*/
-    public abstract Results<T> run() throws CloneNotSupportedException;
+    public Results<T> run() throws CloneNotSupportedException {
+        return run(CancellationToken.none());
+    }
+
+    /*@
+      @ // Effetto: esegue l'algoritmo genetico finché il token non viene annullato;
+      @ // in quel caso restituisce i risultati parziali
+      @ requires token != null;
+      @ ensures \result != null;
+      @ signals (CloneNotSupportedException e) true;
+      @*/
+    public abstract Results<T> run(CancellationToken token) throws CloneNotSupportedException;
 
     /*@ public normal_behavior
       @ ensures \result == fitnessFunction;
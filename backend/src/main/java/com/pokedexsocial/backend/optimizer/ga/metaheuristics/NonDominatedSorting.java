@@ -0,0 +1,210 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Ordinamento non dominato veloce (Deb et al., NSGA-II) e crowding distance.
+ *
+ * <p>Gli obiettivi sono in un unico array piatto, riga per individuo, e vanno tutti
+ * massimizzati. Gli individui vengono prima ordinati per somma degli obiettivi
+ * decrescente (a parità, in ordine lessicografico decrescente): chi domina ha somma
+ * maggiore o, a parità, precede lessicograficamente, quindi un individuo può dominare solo
+ * quelli che lo seguono. Basta un confronto in una sola direzione per coppia, con uscita
+ * anticipata al primo obiettivo peggiore.</p>
+ *
+ * <p>Gli individui dominati da ognuno sono una riga di una matrice di bit
+ * ({@code n * n / 8} byte: 12,5 MB con 10.000 individui) invece di una lista di interi.
+ * Le righe sono calcolate in parallelo sui core disponibili: ogni riga è scritta da un
+ * solo thread, quindi non serve sincronizzazione. Conteggi ed estrazione dei fronti
+ * scorrono solo le parole dei bit.</p>
+ */
+public final class NonDominatedSorting {
+
+    //Sotto questa soglia il costo dei thread supera il guadagno
+    static final int PARALLEL_THRESHOLD = 512;
+
+    private NonDominatedSorting() {
+    }
+
+    /**
+     * Divide gli individui in fronti di Pareto.
+     *
+     * @param objectives     gli obiettivi, {@code objectiveCount} valori consecutivi per individuo
+     * @param objectiveCount il numero di obiettivi
+     * @return i fronti, dal migliore (non dominato) al peggiore, come indici degli individui
+     */
+    public static List<int[]> sort(double[] objectives, int objectiveCount) {
+        int n = objectives.length / objectiveCount;
+        int[] order = presort(objectives, objectiveCount, n);
+        int words = (n + Long.SIZE - 1) / Long.SIZE;
+        //Riga a, bit b: l'individuo in posizione a domina quello in posizione b (sempre b > a)
+        long[] dominates = new long[n * words];
+
+        IntStream rows = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(a -> {
+            int first = order[a] * objectiveCount;
+            int row = a * words;
+            for (int b = a + 1; b < n; b++) {
+                if (dominates(objectives, first, order[b] * objectiveCount, objectiveCount)) {
+                    dominates[row + (b >>> 6)] |= 1L << b;
+                }
+            }
+        });
+
+        int[] dominatedBy = new int[n];
+        for (int a = 0; a < n; a++) {
+            forEachBit(dominates, a * words, words, b -> dominatedBy[b]++);
+        }
+
+        List<int[]> fronts = new ArrayList<>();
+        int[] current = IntStream.range(0, n).filter(a -> dominatedBy[a] == 0).toArray();
+        int[] next = new int[n];
+        while (current.length > 0) {
+            int size = 0;
+            for (int a : current) {
+                int row = a * words;
+                for (int w = 0; w < words; w++) {
+                    long bits = dominates[row + w];
+                    while (bits != 0) {
+                        int b = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        if (--dominatedBy[b] == 0) {
+                            next[size++] = b;
+                        }
+                    }
+                }
+            }
+            int[] front = new int[current.length];
+            for (int i = 0; i < front.length; i++) {
+                front[i] = order[current[i]];
+            }
+            fronts.add(front);
+            current = Arrays.copyOf(next, size);
+        }
+        return fronts;
+    }
+
+    /**
+     * Calcola la crowding distance degli individui di un fronte: la somma, per obiettivo,
+     * della distanza normalizzata tra i due vicini. Gli estremi valgono infinito.
+     *
+     * @param objectives     gli obiettivi, come in {@link #sort(double[], int)}
+     * @param objectiveCount il numero di obiettivi
+     * @param front          gli indici degli individui del fronte
+     * @return la distanza di ogni individuo, nello stesso ordine di {@code front}
+     */
+    public static double[] crowdingDistance(double[] objectives, int objectiveCount, int[] front) {
+        int size = front.length;
+        double[] distance = new double[size];
+        if (size <= 2) {
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            return distance;
+        }
+
+        Integer[] order = new Integer[size];
+        for (int k = 0; k < objectiveCount; k++) {
+            int objective = k;
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(
+                    objectives[front[a] * objectiveCount + objective], objectives[front[b] * objectiveCount + objective]));
+
+            double min = objectives[front[order[0]] * objectiveCount + objective];
+            double max = objectives[front[order[size - 1]] * objectiveCount + objective];
+            distance[order[0]] = Double.POSITIVE_INFINITY;
+            distance[order[size - 1]] = Double.POSITIVE_INFINITY;
+            if (max == min) {
+                continue;
+            }
+            for (int i = 1; i < size - 1; i++) {
+                double gap = objectives[front[order[i + 1]] * objectiveCount + objective]
+                        - objectives[front[order[i - 1]] * objectiveCount + objective];
+                distance[order[i]] += gap / (max - min);
+            }
+        }
+        return distance;
+    }
+
+    //Ordine in cui nessun individuo è preceduto da uno che domina
+    private static int[] presort(double[] objectives, int objectiveCount, int n) {
+        double[] sums = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            for (int k = 0; k < objectiveCount; k++) {
+                sums[i] += objectives[i * objectiveCount + k];
+            }
+        }
+        Arrays.sort(order, (a, b) -> {
+            int bySum = Double.compare(sums[b], sums[a]);
+            if (bySum != 0) {
+                return bySum;
+            }
+            for (int k = 0; k < objectiveCount; k++) {
+                int byObjective = Double.compare(objectives[b * objectiveCount + k], objectives[a * objectiveCount + k]);
+                if (byObjective != 0) {
+                    return byObjective;
+                }
+            }
+            return 0;
+        });
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void forEachBit(long[] bits, int from, int words, IntConsumer action) {
+        for (int w = 0; w < words; w++) {
+            long word = bits[from + w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    //Vero se il primo individuo non è peggiore su nessun obiettivo ed è migliore su almeno uno
+    private static boolean dominates(double[] objectives, int first, int second, int objectiveCount) {
+        boolean better = false;
+        for (int k = 0; k < objectiveCount; k++) {
+            double a = objectives[first + k];
+            double b = objectives[second + k];
+            if (a < b) {
+                return false;
+            }
+            if (a > b) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    /**
+     * Confronta due individui per dominanza.
+     *
+     * @return 1 se il primo domina il secondo, -1 se è dominato, 0 se nessuno domina l'altro
+     */
+    static int compare(double[] objectives, int first, int second, int objectiveCount) {
+        boolean better = false;
+        boolean worse = false;
+        for (int k = 0; k < objectiveCount; k++) {
+            double a = objectives[first + k];
+            double b = objectives[second + k];
+            if (a > b) {
+                better = true;
+            } else if (a < b) {
+                worse = true;
+            }
+            if (better && worse) {
+                return 0;
+            }
+        }
+        return better ? 1 : (worse ? -1 : 0);
+    }
+}
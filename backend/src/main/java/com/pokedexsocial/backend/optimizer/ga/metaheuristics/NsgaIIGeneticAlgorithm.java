@@ -0,0 +1,182 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.MultiObjectiveFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.BinaryTournamentSelection;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.results.ParetoResults;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Algoritmo genetico multi-obiettivo NSGA-II (Deb et al., 2002).
+ *
+ * <p>A ogni generazione i figli vengono uniti ai genitori; l'unione è divisa in fronti
+ * di Pareto con {@link NonDominatedSorting} e la nuova popolazione è riempita fronte per
+ * fronte, scegliendo nell'ultimo fronte gli individui con crowding distance maggiore.
+ * Gli obiettivi sono le componenti della {@link MultiObjectiveFitnessFunction}.</p>
+ *
+ * <p>Durante l'esecuzione la fitness di ogni individuo è la chiave del crowded comparison
+ * (prima il fronte, poi la crowding distance), così gli operatori di selezione esistenti
+ * funzionano senza modifiche; alla fine la popolazione viene rivalutata con la fitness
+ * scalare, e il risultato contiene il primo fronte.</p>
+ *
+ * @param <T> tipo dell'individuo (es. PokemonTeamGA)
+ */
+public class NsgaIIGeneticAlgorithm<T extends Individual> extends GeneticAlgorithm<T> {
+    //Peso della crowding distance nella chiave: resta sotto la distanza tra due fronti
+    private static final double CROWDING_WEIGHT = 0.5;
+
+    private final MultiObjectiveFitnessFunction<T> objectiveFunction;
+    private final double mutationProbability;
+    private final int maxIterations;
+
+    public NsgaIIGeneticAlgorithm(
+            MultiObjectiveFitnessFunction<T> fitnessFunction,
+            Initializer<T> initializer,
+            CrossoverOperator<T> crossoverOperator,
+            MutationOperator<T> mutationOperator,
+            double mutationProbability,
+            int maxIterations
+    ) {
+        super(fitnessFunction, initializer, new BinaryTournamentSelection<>(), crossoverOperator, mutationOperator);
+        this.objectiveFunction = fitnessFunction;
+        this.mutationProbability = (mutationProbability < 0.0 || mutationProbability > 1.0) ? 1.0 : mutationProbability;
+        this.maxIterations = Math.max(maxIterations, 1);
+    }
+
+    @Override
+    public ParetoResults<T> run() throws CloneNotSupportedException {
+        return run(CancellationToken.none());
+    }
+
+    @Override
+    public ParetoResults<T> run(CancellationToken token) throws CloneNotSupportedException {
+        Random rand = newRandom();
+        List<String> logEntries = new ArrayList<>();
+        Stack<Population<T>> generations = new Stack<>();
+        //Gli obiettivi dei sopravvissuti non cambiano: si calcolano una volta per individuo
+        Map<T, double[]> objectives = new IdentityHashMap<>();
+
+        Population<T> initial = getInitializer().initialize();
+        int populationSize = initial.size();
+        Population<T> population = new FixedSizePopulation<>(initial.getId(), populationSize);
+        List<T> firstFront = survivors(new ArrayList<>(initial), populationSize, population, objectives);
+        generations.push(population);
+
+        for (int iteration = 1; iteration < maxIterations; iteration++) {
+            if (token.isCancelled()) {
+                logEntries.add("Cancelled after " + iteration + " generations: " + token.getReason());
+                break;
+            }
+            Population<T> matingPool = getSelectionOperator().apply(population, rand);
+            Population<T> offsprings = getCrossoverOperator().apply(matingPool, rand);
+            if (rand.nextDouble() <= mutationProbability) {
+                offsprings = getMutationOperator().apply(offsprings, rand);
+            }
+
+            List<T> combined = new ArrayList<>(population.size() + offsprings.size());
+            combined.addAll(population);
+            combined.addAll(offsprings);
+
+            Population<T> next = new FixedSizePopulation<>(population.getId() + 1, populationSize);
+            firstFront = survivors(combined, populationSize, next, objectives);
+            objectives = retain(objectives, next);
+
+            population = next;
+            generations.push(population);
+            logEntries.add("Generation " + iteration + ": first front size " + firstFront.size());
+        }
+
+        //Fitness scalare per la presentazione; il migliore pesato è sempre nel primo fronte
+        getFitnessFunction().evaluate(population);
+        List<ParetoResults.Solution<T>> front = new ArrayList<>(firstFront.size());
+        for (T individual : firstFront) {
+            front.add(new ParetoResults.Solution<>(individual, objectives.get(individual)));
+        }
+        return new ParetoResults<>(this, generations, population, logEntries,
+                objectiveFunction.getObjectiveNames(), front, token.getReason());
+    }
+
+    /**
+     * Sceglie {@code size} sopravvissuti, li aggiunge a {@code target} e assegna la chiave
+     * del crowded comparison come fitness.
+     *
+     * @return gli individui del primo fronte tra i sopravvissuti
+     */
+    private List<T> survivors(List<T> candidates, int size, Population<T> target, Map<T, double[]> objectives) {
+        int m = objectiveFunction.getObjectiveNames().size();
+        double[] values = new double[candidates.size() * m];
+        for (int i = 0; i < candidates.size(); i++) {
+            double[] vector = objectives.computeIfAbsent(candidates.get(i), objectiveFunction::objectives);
+            System.arraycopy(vector, 0, values, i * m, m);
+        }
+
+        List<int[]> fronts = NonDominatedSorting.sort(values, m);
+        List<T> firstFront = new ArrayList<>();
+        T best = null;
+        double bestKey = -1;
+        for (int rank = 0; rank < fronts.size() && target.size() < size; rank++) {
+            int[] front = fronts.get(rank);
+            double[] crowding = NonDominatedSorting.crowdingDistance(values, m, front);
+            Integer[] order = new Integer[front.length];
+            for (int i = 0; i < front.length; i++) {
+                order[i] = i;
+            }
+            //L'ultimo fronte ammesso viene troncato tenendo i più isolati
+            if (target.size() + front.length > size) {
+                Arrays.sort(order, (a, b) -> Double.compare(crowding[b], crowding[a]));
+            }
+
+            for (int i = 0; i < front.length && target.size() < size; i++) {
+                T individual = candidates.get(front[order[i]]);
+                double distance = crowding[order[i]];
+                double key = (fronts.size() - rank)
+                        + CROWDING_WEIGHT * (Double.isInfinite(distance) ? 1.0 : distance / (1.0 + distance));
+                individual.setFitness(key);
+                target.add(individual);
+                if (rank == 0) {
+                    firstFront.add(individual);
+                }
+                if (key > bestKey) {
+                    best = individual;
+                    bestKey = key;
+                }
+            }
+        }
+        target.setBestIndividual(best);
+        return firstFront;
+    }
+
+    //Tiene in cache solo gli obiettivi dei sopravvissuti
+    private static <T extends Individual> Map<T, double[]> retain(Map<T, double[]> objectives, Population<T> survivors) {
+        Map<T, double[]> retained = new IdentityHashMap<>();
+        for (T individual : survivors) {
+            retained.put(individual, objectives.get(individual));
+        }
+        return retained;
+    }
+
+    // Allows deterministic testing without altering production behavior
+    protected Random newRandom() {
+        return new Random();
+    }
+
+    public double getMutationProbability() {
+        return mutationProbability;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+}
@@ -3,7 +3,10 @@ package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
 import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
 import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.adaptive.PokemonAdaptiveOperatorControl;
 import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.diversity.PokemonTeamDiversityOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.localsearch.PokemonTeamHillClimbing;
 import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
 import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -21,9 +24,16 @@ public class PokemonGeneticAlgorithm extends SimpleGeneticAlgorithm<PokemonTeamG
             MutationOperator<PokemonTeamGA> mutationOperator,
             @Value("${optimizer.mutation-probability:1.0}") double mutationProbability,
             @Value("${optimizer.max-iterations:40}") int maxIterations,
-            @Value("${optimizer.max-no-improvements:20}") int maxIterationsNoImprovements
+            @Value("${optimizer.max-no-improvements:20}") int maxIterationsNoImprovements,
+            PokemonTeamHillClimbing localSearch,
+            @Value("${optimizer.local-search.enabled:true}") boolean localSearchEnabled,
+            PokemonTeamDiversityOperator diversityOperator,
+            PokemonAdaptiveOperatorControl adaptiveControl,
+            @Value("${optimizer.adaptive.enabled:false}") boolean adaptiveEnabled
     ) {
         super(fitnessFunction, initializer, selectionOperator, crossoverOperator, mutationOperator,
-                mutationProbability, maxIterations, maxIterationsNoImprovements);
+                mutationProbability, maxIterations, maxIterationsNoImprovements,
+                localSearchEnabled ? localSearch : null, diversityOperator,
+                adaptiveEnabled ? adaptiveControl : null);
     }
 }
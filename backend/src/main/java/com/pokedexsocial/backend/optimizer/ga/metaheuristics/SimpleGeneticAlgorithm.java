@@ -1,16 +1,25 @@
 package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
 
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.Checkpoint;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.CheckpointStore;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.RestorableRandom;
 import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
 import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
 import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.adaptive.AdaptiveOperatorControl;
 import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.diversity.DiversityOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.localsearch.LocalSearchOperator;
 import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
 import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.population.PopulationDiversity;
 import com.pokedexsocial.backend.optimizer.ga.results.Results;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 import java.util.Stack;
 
@@ -18,6 +27,16 @@ import java.util.Stack;
  * Implementazione di un algoritmo genetico semplice (GA classico).
  * Esegue selezione, crossover e mutazione fino al raggiungimento
  * di un numero massimo di iterazioni o finché non ci sono più miglioramenti.
+ * Se è presente un {@link LocalSearchOperator}, ogni generazione valutata viene
+ * raffinata con la ricerca locale (algoritmo memetico). Se è presente un
+ * {@link DiversityOperator}, la diversità di ogni generazione viene registrata nel log
+ * (con l'eventuale convergenza prematura) e i duplicati vengono gestiti prima della
+ * valutazione. Se è presente un {@link AdaptiveOperatorControl}, crossover e mutazione di
+ * ogni generazione sono scelti da un multi-armed bandit in base al successo ottenuto
+ * dalla stessa combinazione nelle generazioni precedenti, al posto degli operatori fissi.
+ * L'esecuzione si interrompe tra due generazioni quando il {@link CancellationToken} viene
+ * annullato, restituendo le generazioni già valutate. Con un {@link CheckpointStore}
+ * l'esecuzione viene salvata periodicamente su disco e può riprendere dall'ultimo checkpoint.
  *
  * @param <T> tipo dell'individuo (es. PokemonTeamGA)
  */
@@ -28,6 +47,12 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
     private final int maxIterations;
     //@ spec_public
     private final int maxIterationsNoImprovements;
+    //@ spec_public nullable
+    private final LocalSearchOperator<T> localSearchOperator;
+    //@ spec_public nullable
+    private final DiversityOperator<T> diversityOperator;
+    //@ spec_public nullable
+    private final AdaptiveOperatorControl<T> adaptiveControl;
 
     /*@
       @ public invariant 0.0 <= mutationProbability && mutationProbability <= 1.0;
@@ -63,6 +88,67 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
             double mutationProbability,
             int maxIterations,
             int maxIterationsNoImprovements
+    ) {
+        this(fitnessFunction, initializer, selectionOperator, crossoverOperator, mutationOperator,
+                mutationProbability, maxIterations, maxIterationsNoImprovements, null);
+    }
+
+    /*@
+      @ ensures this.getLocalSearchOperator() == localSearchOperator;
+      @*/
+    public SimpleGeneticAlgorithm(
+            FitnessFunction<T> fitnessFunction,
+            Initializer<T> initializer,
+            SelectionOperator<T> selectionOperator,
+            CrossoverOperator<T> crossoverOperator,
+            MutationOperator<T> mutationOperator,
+            double mutationProbability,
+            int maxIterations,
+            int maxIterationsNoImprovements,
+            LocalSearchOperator<T> localSearchOperator
+    ) {
+        this(fitnessFunction, initializer, selectionOperator, crossoverOperator, mutationOperator,
+                mutationProbability, maxIterations, maxIterationsNoImprovements, localSearchOperator, null);
+    }
+
+    /*@
+      @ ensures this.getLocalSearchOperator() == localSearchOperator;
+      @ ensures this.getDiversityOperator() == diversityOperator;
+      @*/
+    public SimpleGeneticAlgorithm(
+            FitnessFunction<T> fitnessFunction,
+            Initializer<T> initializer,
+            SelectionOperator<T> selectionOperator,
+            CrossoverOperator<T> crossoverOperator,
+            MutationOperator<T> mutationOperator,
+            double mutationProbability,
+            int maxIterations,
+            int maxIterationsNoImprovements,
+            LocalSearchOperator<T> localSearchOperator,
+            DiversityOperator<T> diversityOperator
+    ) {
+        this(fitnessFunction, initializer, selectionOperator, crossoverOperator, mutationOperator,
+                mutationProbability, maxIterations, maxIterationsNoImprovements, localSearchOperator,
+                diversityOperator, null);
+    }
+
+    /*@
+      @ ensures this.getLocalSearchOperator() == localSearchOperator;
+      @ ensures this.getDiversityOperator() == diversityOperator;
+      @ ensures this.getAdaptiveControl() == adaptiveControl;
+      @*/
+    public SimpleGeneticAlgorithm(
+            FitnessFunction<T> fitnessFunction,
+            Initializer<T> initializer,
+            SelectionOperator<T> selectionOperator,
+            CrossoverOperator<T> crossoverOperator,
+            MutationOperator<T> mutationOperator,
+            double mutationProbability,
+            int maxIterations,
+            int maxIterationsNoImprovements,
+            LocalSearchOperator<T> localSearchOperator,
+            DiversityOperator<T> diversityOperator,
+            AdaptiveOperatorControl<T> adaptiveControl
     ) {
         super(fitnessFunction, initializer, selectionOperator, crossoverOperator, mutationOperator);
 
@@ -75,6 +161,9 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
 
         this.maxIterations = Math.max(maxIterations, 1);
         this.maxIterationsNoImprovements = Math.max(maxIterationsNoImprovements, 0);
+        this.localSearchOperator = localSearchOperator;
+        this.diversityOperator = diversityOperator;
+        this.adaptiveControl = adaptiveControl;
     }
 
     /*@ also
@@ -93,22 +182,61 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
       @ signals (CloneNotSupportedException e) true;
       @*/
     @Override
-    public Results<T> run() throws CloneNotSupportedException {
+    public Results<T> run(CancellationToken token) throws CloneNotSupportedException {
+        return run(token, null);
+    }
+
+    /**
+     * Esegue l'algoritmo salvando un checkpoint ogni {@link CheckpointStore#getInterval()}
+     * generazioni e all'interruzione. Se lo store contiene già un checkpoint l'esecuzione
+     * riprende da lì, con popolazione, contatori, generatore casuale e migliore generazione
+     * ripristinati, invece di partire dall'inizializzazione; le statistiche del controllo
+     * adattivo ripartono da zero. Un checkpoint illeggibile viene ignorato. Al termine
+     * normale il checkpoint viene cancellato.
+     *
+     * @param token       il token di annullamento
+     * @param checkpoints lo store del checkpoint, o null per non salvarne
+     * @return i risultati; le generazioni precedenti la ripresa sono contate ma non conservate
+     */
+    public Results<T> run(CancellationToken token, CheckpointStore<T> checkpoints)
+            throws CloneNotSupportedException {
 
         Random rand = newRandom();
         List<String> logEntries = new ArrayList<>();
         Stack<Population<T>> generations = new Stack<>();
+        AdaptiveOperatorControl.Session<T> adaptive = adaptiveControl == null ? null : adaptiveControl.start();
 
-        // 1️⃣ Inizializzazione popolazione
-        Population<T> firstGeneration = getInitializer().initialize();
-        getFitnessFunction().evaluate(firstGeneration);
-        generations.push(firstGeneration);
+        Checkpoint<T> checkpoint = loadCheckpoint(checkpoints, logEntries);
+        Population<T> bestGeneration;
+        int iterations;
+        int iterationsNoImprovements;
+        if (checkpoint == null) {
+            // 1️⃣ Inizializzazione popolazione
+            Population<T> firstGeneration = getInitializer().initialize();
+            track(firstGeneration, 1, logEntries);
+            getFitnessFunction().evaluate(firstGeneration);
+            firstGeneration = refine(firstGeneration, rand, token);
+            generations.push(firstGeneration);
 
-        Population<T> bestGeneration = firstGeneration;
+            bestGeneration = firstGeneration;
+            iterations = 1;
+            iterationsNoImprovements = 0;
+        } else {
+            // 1️⃣ Ripresa dall'ultimo checkpoint
+            if (checkpoint.randomState() != null && rand instanceof RestorableRandom restorable) {
+                restorable.setState(checkpoint.randomState());
+            }
+            generations.push(checkpoint.current());
+            bestGeneration = checkpoint.best();
+            iterations = checkpoint.generation();
+            iterationsNoImprovements = checkpoint.iterationsNoImprovements();
+            logEntries.add("Resumed from checkpoint at generation " + iterations);
+        }
+        int resumedGenerations = iterations - 1;
 
-        int iterations = 1;
-        int iterationsNoImprovements = 0;
         boolean stopEarly = false;
+        CancellationToken.Reason cancellation = null;
+        boolean convergenceLogged = false;
 
         // 2️⃣ Ciclo principale
         /*@
@@ -121,21 +249,62 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
           @ decreasing maxIterations - iterations;
           @*/
         do {
+            // Checkpoint già oltre il budget attuale di generazioni
+            if (checkpoint != null && iterations >= maxIterations) {
+                break;
+            }
+
+            // Interruzione cooperativa: si tengono le generazioni già valutate
+            if (token.isCancelled()) {
+                cancellation = token.getReason();
+                logEntries.add("Cancelled after " + iterations + " generations: " + cancellation);
+                break;
+            }
+
             Population<T> currentGeneration = generations.peek();
 
             // Selezione
             Population<T> matingPool = getSelectionOperator().apply(currentGeneration, rand);
 
+            // Operatori della generazione: fissi o scelti dal controllo adattivo
+            AdaptiveOperatorControl.Arm<T> arm = adaptive == null ? null : adaptive.select(rand);
+            CrossoverOperator<T> crossoverOperator = arm == null ? getCrossoverOperator() : arm.crossover();
+            MutationOperator<T> mutationOperator = arm == null ? getMutationOperator() : arm.mutation();
+
             // Crossover
-            Population<T> offsprings = getCrossoverOperator().apply(matingPool, rand);
+            Population<T> offsprings = crossoverOperator.apply(matingPool, rand);
 
             // Mutazione con probabilità
             Population<T> newGeneration = (rand.nextDouble() <= mutationProbability)
-                    ? getMutationOperator().apply(offsprings, rand)
+                    ? mutationOperator.apply(offsprings, rand)
                     : offsprings;
 
-            // Valutazione fitness
-            getFitnessFunction().evaluate(newGeneration);
+            // Premio dei bandit sui figli degli operatori scelti, prima che la gestione dei
+            // duplicati inserisca team casuali e prima della ricerca locale
+            Population<T> rewarded = null;
+            if (adaptive != null) {
+                getFitnessFunction().evaluate(newGeneration);
+                adaptive.reward(matingPool.getAverageFitness(), newGeneration, getFitnessFunction().isMaximum());
+                rewarded = newGeneration;
+            }
+
+            // Diversità e gestione dei duplicati (opzionale)
+            if (diversityOperator != null) {
+                PopulationDiversity diversity = track(newGeneration, iterations + 1, logEntries);
+                if (!convergenceLogged && diversityOperator.isConverged(diversity)) {
+                    logEntries.add("Generation " + (iterations + 1) + ": premature convergence detected");
+                    convergenceLogged = true;
+                }
+                newGeneration = diversityOperator.apply(newGeneration, rand);
+            }
+
+            // Valutazione fitness, se non già fatta per il premio sulla stessa popolazione
+            if (newGeneration != rewarded) {
+                getFitnessFunction().evaluate(newGeneration);
+            }
+
+            // Ricerca locale sui migliori individui (opzionale)
+            newGeneration = refine(newGeneration, rand, token);
             generations.push(newGeneration);
             iterations++;
 
@@ -152,14 +321,90 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
                 stopEarly = (maxIterationsNoImprovements > 0 && iterationsNoImprovements >= maxIterationsNoImprovements);
             }
 
+            if (checkpoints != null && iterations % checkpoints.getInterval() == 0) {
+                saveCheckpoint(checkpoints, new Checkpoint<>(iterations, iterationsNoImprovements,
+                        randomState(rand), newGeneration, bestGeneration), logEntries);
+            }
+
         } while (iterations < maxIterations && !stopEarly);
 
-        return new Results<>(this, generations, bestGeneration, logEntries);
+        if (checkpoints != null) {
+            if (cancellation != null) {
+                // Si riprenderà dall'ultima generazione valutata
+                saveCheckpoint(checkpoints, new Checkpoint<>(iterations, iterationsNoImprovements,
+                        randomState(rand), generations.peek(), bestGeneration), logEntries);
+            } else {
+                deleteCheckpoint(checkpoints, logEntries);
+            }
+        }
+
+        if (adaptive != null) {
+            logEntries.addAll(adaptive.summary());
+        }
+
+        return new Results<>(this, generations, bestGeneration, logEntries, cancellation, resumedGenerations);
+    }
+
+    //Un checkpoint illeggibile non blocca l'esecuzione, che riparte da capo
+    private Checkpoint<T> loadCheckpoint(CheckpointStore<T> checkpoints, List<String> logEntries) {
+        if (checkpoints == null) {
+            return null;
+        }
+        try {
+            return checkpoints.load().orElse(null);
+        } catch (IOException e) {
+            logEntries.add("Checkpoint ignored: " + e.getMessage());
+            return null;
+        }
+    }
+
+    //Un salvataggio fallito non interrompe l'esecuzione. Il flag di interruzione viene tolto
+    //durante la scrittura, altrimenti FileChannel la chiude con ClosedByInterruptException
+    //proprio quando il checkpoint serve, e poi ripristinato
+    private void saveCheckpoint(CheckpointStore<T> checkpoints, Checkpoint<T> checkpoint, List<String> logEntries) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            checkpoints.save(checkpoint);
+        } catch (IOException e) {
+            logEntries.add("Checkpoint not saved at generation " + checkpoint.generation() + ": " + e.getMessage());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deleteCheckpoint(CheckpointStore<T> checkpoints, List<String> logEntries) {
+        try {
+            checkpoints.delete();
+        } catch (IOException e) {
+            logEntries.add("Checkpoint not deleted: " + e.getMessage());
+        }
+    }
+
+    private static Long randomState(Random rand) {
+        return rand instanceof RestorableRandom restorable ? restorable.getState() : null;
+    }
+
+    //Registra la diversità della generazione prima della gestione dei duplicati
+    private PopulationDiversity track(Population<T> generation, int number, List<String> logEntries) {
+        if (diversityOperator == null) {
+            return null;
+        }
+        PopulationDiversity diversity = diversityOperator.measure(generation);
+        logEntries.add(String.format(Locale.ROOT, "Generation %d: %d/%d distinct, gene entropy %.2f bits",
+                number, diversity.distinct(), diversity.size(), diversity.geneEntropy()));
+        return diversity;
+    }
+
+    private Population<T> refine(Population<T> generation, Random rand, CancellationToken token)
+            throws CloneNotSupportedException {
+        return localSearchOperator == null ? generation : localSearchOperator.apply(generation, rand, token);
     }
 
     // Allows deterministic testing without altering production behavior
     protected Random newRandom() {
-        return new Random();
+        return new RestorableRandom();
     }
 
     /*@ public normal_behavior
@@ -182,4 +427,25 @@ public class SimpleGeneticAlgorithm<T extends Individual> extends GeneticAlgorit
     public /*@ pure @*/ int getMaxIterationsNoImprovements() {
         return maxIterationsNoImprovements;
     }
+
+    /*@ public normal_behavior
+      @ ensures \result == localSearchOperator;
+      @*/
+    public /*@ pure nullable @*/ LocalSearchOperator<T> getLocalSearchOperator() {
+        return localSearchOperator;
+    }
+
+    /*@ public normal_behavior
+      @ ensures \result == diversityOperator;
+      @*/
+    public /*@ pure nullable @*/ DiversityOperator<T> getDiversityOperator() {
+        return diversityOperator;
+    }
+
+    /*@ public normal_behavior
+      @ ensures \result == adaptiveControl;
+      @*/
+    public /*@ pure nullable @*/ AdaptiveOperatorControl<T> getAdaptiveControl() {
+        return adaptiveControl;
+    }
 }
@@ -0,0 +1,138 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.adaptive;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Controllo adattivo degli operatori durante un'esecuzione dell'algoritmo genetico.
+ *
+ * <p>A ogni generazione un {@link OperatorBandit} sceglie una combinazione di crossover
+ * e mutazione; quando le mutazioni sono la stessa mutazione con probabilità diverse, la
+ * scelta adatta il tasso di mutazione. Dopo la valutazione la combinazione riceve come
+ * ricompensa la frazione di figli migliori della fitness media dei genitori. Un solo
+ * bandit sulle combinazioni, invece di uno per tipo di operatore: i due bandit
+ * riceverebbero la stessa ricompensa e finirebbero per scegliere sempre le stesse coppie.</p>
+ *
+ * <p>La configurazione è immutabile e condivisibile; lo stato dei bandit vive in una
+ * {@link Session}, creata a ogni esecuzione.</p>
+ *
+ * @param <T> tipo dell'individuo (es. PokemonTeamGA)
+ */
+public class AdaptiveOperatorControl<T extends Individual> {
+    private final Map<String, CrossoverOperator<T>> crossoverOperators;
+    private final Map<String, MutationOperator<T>> mutationOperators;
+    private final double exploration;
+
+    /**
+     * @param crossoverOperators i crossover tra cui scegliere, per nome (almeno uno)
+     * @param mutationOperators  le mutazioni tra cui scegliere, per nome (almeno una)
+     * @param exploration        il peso del bonus di esplorazione dei bandit
+     */
+    public AdaptiveOperatorControl(Map<String, ? extends CrossoverOperator<T>> crossoverOperators,
+                                   Map<String, ? extends MutationOperator<T>> mutationOperators,
+                                   double exploration) {
+        if (crossoverOperators.isEmpty() || mutationOperators.isEmpty()) {
+            throw new IllegalArgumentException("Adaptive control needs at least one crossover and one mutation");
+        }
+        this.crossoverOperators = new LinkedHashMap<>(crossoverOperators);
+        this.mutationOperators = new LinkedHashMap<>(mutationOperators);
+        this.exploration = exploration;
+    }
+
+    /** Crea lo stato dei bandit per una nuova esecuzione. */
+    public Session<T> start() {
+        return new Session<>(this);
+    }
+
+    public Map<String, CrossoverOperator<T>> getCrossoverOperators() {
+        return crossoverOperators;
+    }
+
+    public Map<String, MutationOperator<T>> getMutationOperators() {
+        return mutationOperators;
+    }
+
+    public double getExploration() {
+        return exploration;
+    }
+
+    /**
+     * Un braccio del bandit: una combinazione di crossover e mutazione.
+     */
+    public record Arm<T extends Individual>(String name, CrossoverOperator<T> crossover, MutationOperator<T> mutation) {
+    }
+
+    /**
+     * Stato di un'esecuzione: la combinazione scelta per la generazione corrente e le
+     * statistiche di successo di ogni combinazione.
+     */
+    public static final class Session<T extends Individual> {
+        private final List<Arm<T>> arms;
+        private final OperatorBandit bandit;
+        private int current = -1;
+
+        private Session(AdaptiveOperatorControl<T> control) {
+            this.arms = new ArrayList<>();
+            control.crossoverOperators.forEach((crossoverName, crossover) ->
+                    control.mutationOperators.forEach((mutationName, mutation) ->
+                            arms.add(new Arm<>(crossoverName + " + " + mutationName, crossover, mutation))));
+            this.bandit = new OperatorBandit(arms.size(), control.exploration);
+        }
+
+        /** Sceglie crossover e mutazione della generazione corrente. */
+        public Arm<T> select(Random rand) {
+            current = bandit.select(rand);
+            return arms.get(current);
+        }
+
+        /**
+         * Premia la combinazione scelta con la frazione di figli (già valutati) migliori
+         * della fitness media dei genitori.
+         *
+         * @return la ricompensa assegnata
+         */
+        public double reward(double parentsAverage, Population<T> offsprings, boolean maximum) {
+            int improved = 0;
+            for (T offspring : offsprings) {
+                double fitness = offspring.getFitness();
+                if (maximum ? fitness > parentsAverage : fitness < parentsAverage) {
+                    improved++;
+                }
+            }
+            double reward = offsprings.isEmpty() ? 0.0 : (double) improved / offsprings.size();
+            if (current >= 0) {
+                bandit.reward(current, reward);
+            }
+            return reward;
+        }
+
+        /** Una riga per combinazione usata: quante generazioni l'hanno usata e la ricompensa media. */
+        public List<String> summary() {
+            List<String> lines = new ArrayList<>();
+            for (int arm = 0; arm < arms.size(); arm++) {
+                if (bandit.getPulls(arm) > 0) {
+                    lines.add(String.format(Locale.ROOT, "Operators %s: %d generations, mean reward %.3f",
+                            arms.get(arm).name(), bandit.getPulls(arm), bandit.mean(arm)));
+                }
+            }
+            return lines;
+        }
+
+        public List<Arm<T>> getArms() {
+            return arms;
+        }
+
+        public OperatorBandit getBandit() {
+            return bandit;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.adaptive;
+
+import java.util.Random;
+
+/**
+ * Multi-armed bandit UCB1 (Auer et al., 2002) per la scelta adattiva di un operatore.
+ *
+ * <p>Ogni braccio è un operatore; la ricompensa, in [0, 1], è il successo dell'operatore
+ * nella generazione in cui è stato usato. Ogni braccio viene provato una volta, poi si
+ * sceglie quello con media delle ricompense più bonus di esplorazione
+ * {@code c * sqrt(ln N / n)} maggiore, a parità a caso.</p>
+ *
+ * <p>Lo stato appartiene a una sola esecuzione e non è thread-safe.</p>
+ */
+public final class OperatorBandit {
+    private final double exploration;
+    private final int[] pulls;
+    private final double[] rewards;
+    private int totalPulls;
+
+    /**
+     * @param arms        il numero di bracci
+     * @param exploration il peso del bonus di esplorazione ({@code sqrt(2)} nella formulazione originale)
+     */
+    public OperatorBandit(int arms, double exploration) {
+        if (arms < 1) {
+            throw new IllegalArgumentException("A bandit needs at least one arm");
+        }
+        this.exploration = Math.max(exploration, 0.0);
+        this.pulls = new int[arms];
+        this.rewards = new double[arms];
+    }
+
+    /** Sceglie il prossimo braccio da usare. */
+    public int select(Random rand) {
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int ties = 0;
+        for (int arm = 0; arm < pulls.length; arm++) {
+            double score = pulls[arm] == 0
+                    ? Double.POSITIVE_INFINITY
+                    : mean(arm) + exploration * Math.sqrt(Math.log(totalPulls) / pulls[arm]);
+            if (score > bestScore) {
+                best = arm;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && rand.nextInt(++ties) == 0) {
+                //Campionamento uniforme tra i pari merito, in una sola passata
+                best = arm;
+            }
+        }
+        return best;
+    }
+
+    /** Registra la ricompensa, limitata a [0, 1], del braccio usato. */
+    public void reward(int arm, double reward) {
+        pulls[arm]++;
+        rewards[arm] += Math.min(Math.max(reward, 0.0), 1.0);
+        totalPulls++;
+    }
+
+    public int getPulls(int arm) {
+        return pulls[arm];
+    }
+
+    /** La ricompensa media del braccio, 0 se non è mai stato usato. */
+    public double mean(int arm) {
+        return pulls[arm] == 0 ? 0.0 : rewards[arm] / pulls[arm];
+    }
+
+    public int getArms() {
+        return pulls.length;
+    }
+}
@@ -0,0 +1,78 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.adaptive;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.ConstrainedPokemonTeamCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.PokemonSwapMutation;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Controllo adattivo per i team Pokémon: sceglie tra crossover uniforme, a un punto e a
+ * due punti e tra i tassi di {@link PokemonSwapMutation} configurati in
+ * {@code optimizer.adaptive.mutation-rates}.
+ */
+@Component
+public class PokemonAdaptiveOperatorControl extends AdaptiveOperatorControl<PokemonTeamGA> {
+
+    @Autowired
+    public PokemonAdaptiveOperatorControl(
+            @Qualifier("Uniform") CrossoverOperator<PokemonTeamGA> uniform,
+            @Qualifier("SinglePoint") CrossoverOperator<PokemonTeamGA> singlePoint,
+            @Qualifier("TwoPoint") CrossoverOperator<PokemonTeamGA> twoPoint,
+            PokemonSwapMutation mutation,
+            @Value("${optimizer.adaptive.mutation-rates:0.1,0.3,0.6}") double[] mutationRates,
+            @Value("${optimizer.adaptive.exploration:0.5}") double exploration
+    ) {
+        this(crossovers(uniform, singlePoint, twoPoint), mutations(mutation, mutationRates), exploration);
+    }
+
+    private PokemonAdaptiveOperatorControl(Map<String, CrossoverOperator<PokemonTeamGA>> crossoverOperators,
+                                           Map<String, MutationOperator<PokemonTeamGA>> mutationOperators,
+                                           double exploration) {
+        super(crossoverOperators, mutationOperators, exploration);
+    }
+
+    /**
+     * Restituisce un controllo con gli stessi operatori resi ammissibili: i crossover
+     * correggono i figli, le mutazioni cambiano solo gli slot liberi
+     * (l'istanza corrente, condivisa, non viene modificata).
+     */
+    public PokemonAdaptiveOperatorControl withConstraints(TeamConstraints constraints) {
+        Map<String, CrossoverOperator<PokemonTeamGA>> crossovers = new LinkedHashMap<>();
+        getCrossoverOperators().forEach((name, crossover) ->
+                crossovers.put(name, ConstrainedPokemonTeamCrossover.of(crossover, constraints)));
+        Map<String, MutationOperator<PokemonTeamGA>> mutations = new LinkedHashMap<>();
+        getMutationOperators().forEach((name, mutation) ->
+                mutations.put(name, ((PokemonSwapMutation) mutation).withConstraints(constraints)));
+        return new PokemonAdaptiveOperatorControl(crossovers, mutations, getExploration());
+    }
+
+    private static Map<String, CrossoverOperator<PokemonTeamGA>> crossovers(
+            CrossoverOperator<PokemonTeamGA> uniform,
+            CrossoverOperator<PokemonTeamGA> singlePoint,
+            CrossoverOperator<PokemonTeamGA> twoPoint) {
+        Map<String, CrossoverOperator<PokemonTeamGA>> crossovers = new LinkedHashMap<>();
+        crossovers.put("Uniform", uniform);
+        crossovers.put("SinglePoint", singlePoint);
+        crossovers.put("TwoPoint", twoPoint);
+        return crossovers;
+    }
+
+    private static Map<String, MutationOperator<PokemonTeamGA>> mutations(PokemonSwapMutation mutation,
+                                                                          double[] mutationRates) {
+        Map<String, MutationOperator<PokemonTeamGA>> mutations = new LinkedHashMap<>();
+        for (double rate : mutationRates) {
+            mutations.put(String.format(Locale.ROOT, "mutation %.2f", rate), mutation.withMutationProbability(rate));
+        }
+        return mutations;
+    }
+}
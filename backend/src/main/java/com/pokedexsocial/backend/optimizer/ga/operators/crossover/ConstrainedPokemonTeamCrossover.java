@@ -0,0 +1,76 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.crossover;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+
+import java.util.Random;
+
+/**
+ * Crossover che mantiene i figli nello spazio dei team ammissibili.
+ *
+ * <p>Delega a un crossover esistente e poi corregge ogni figlio con
+ * {@link TeamConstraints#repair}. I crossover posizionali (uniforme, a uno o due punti)
+ * lasciano già intatti gli slot bloccati, comuni a tutti i genitori; la correzione serve
+ * soprattutto a eliminare la seconda megaevoluzione che due genitori validi possono
+ * produrre combinandosi.</p>
+ *
+ * <p>Il crossover sul posto è disponibile solo se lo è quello del delegato: {@link #of}
+ * restituisce allora un {@link InPlace}, così chi controlla {@link InPlaceCrossover} (es.
+ * {@link com.pokedexsocial.backend.optimizer.ga.metaheuristics.DoubleBufferedGeneticAlgorithm})
+ * rifiuta subito un delegato che non lo supporta.</p>
+ */
+public class ConstrainedPokemonTeamCrossover extends CrossoverOperator<PokemonTeamGA> {
+    private final CrossoverOperator<PokemonTeamGA> delegate;
+    final TeamConstraints constraints;
+
+    public ConstrainedPokemonTeamCrossover(CrossoverOperator<PokemonTeamGA> delegate, TeamConstraints constraints) {
+        this.delegate = delegate;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Crea il crossover vincolato, sul posto se il delegato lo supporta.
+     */
+    @SuppressWarnings("unchecked")
+    public static ConstrainedPokemonTeamCrossover of(CrossoverOperator<PokemonTeamGA> delegate,
+                                                     TeamConstraints constraints) {
+        return delegate instanceof InPlaceCrossover<?>
+                ? new InPlace(delegate, (InPlaceCrossover<PokemonTeamGA>) delegate, constraints)
+                : new ConstrainedPokemonTeamCrossover(delegate, constraints);
+    }
+
+    @Override
+    public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand) throws CloneNotSupportedException {
+        Population<PokemonTeamGA> offsprings = delegate.apply(population, rand);
+        for (PokemonTeamGA offspring : offsprings) {
+            //I figli sono istanze nuove: la correzione sul posto non tocca i genitori
+            constraints.repair(offspring.getCoding(), rand);
+        }
+        return offsprings;
+    }
+
+    /**
+     * Crossover vincolato con un delegato che supporta il crossover sul posto.
+     */
+    public static final class InPlace extends ConstrainedPokemonTeamCrossover implements InPlaceCrossover<PokemonTeamGA> {
+        private final InPlaceCrossover<PokemonTeamGA> inPlaceDelegate;
+
+        private InPlace(CrossoverOperator<PokemonTeamGA> delegate, InPlaceCrossover<PokemonTeamGA> inPlaceDelegate,
+                        TeamConstraints constraints) {
+            super(delegate, constraints);
+            this.inPlaceDelegate = inPlaceDelegate;
+        }
+
+        /**
+         * Come {@link #apply}, sugli slot dei figli.
+         */
+        @Override
+        public void crossoverInto(PokemonTeamGA firstParent, PokemonTeamGA secondParent,
+                                  PokemonTeamGA firstChild, PokemonTeamGA secondChild, Random rand) {
+            inPlaceDelegate.crossoverInto(firstParent, secondParent, firstChild, secondChild, rand);
+            constraints.repair(firstChild.getCoding(), rand);
+            constraints.repair(secondChild.getCoding(), rand);
+        }
+    }
+}
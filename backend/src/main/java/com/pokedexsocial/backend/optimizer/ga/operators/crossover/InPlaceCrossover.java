@@ -0,0 +1,20 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.crossover;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+
+import java.util.Random;
+
+/**
+ * Crossover senza allocazioni: scrive i due figli in individui esistenti (gli slot del
+ * buffer della generazione successiva) invece di crearne di nuovi.
+ *
+ * @param <T> tipo dell'individuo
+ */
+public interface InPlaceCrossover<T extends Individual> {
+
+    /**
+     * Combina due genitori sovrascrivendo i geni dei figli; i genitori non vengono modificati
+     * e non devono coincidere con i figli.
+     */
+    void crossoverInto(T firstParent, T secondParent, T firstChild, T secondChild, Random rand);
+}
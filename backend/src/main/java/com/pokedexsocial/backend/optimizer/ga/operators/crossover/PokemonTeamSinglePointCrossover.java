@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Random;
 
 @Component("SinglePoint")
-public class PokemonTeamSinglePointCrossover extends CrossoverOperator<PokemonTeamGA>{
+public class PokemonTeamSinglePointCrossover extends CrossoverOperator<PokemonTeamGA> implements InPlaceCrossover<PokemonTeamGA> {
 
     @Override
     public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand) throws CloneNotSupportedException {
@@ -47,4 +47,18 @@ public class PokemonTeamSinglePointCrossover extends CrossoverOperator<PokemonTe
         }
         return offsprings;
     }
+
+    @Override
+    public void crossoverInto(PokemonTeamGA firstParent, PokemonTeamGA secondParent,
+                              PokemonTeamGA firstChild, PokemonTeamGA secondChild, Random rand) {
+        PokemonGA[] firstCoding = firstParent.getCoding();
+        PokemonGA[] secondCoding = secondParent.getCoding();
+        int minLength = Math.min(firstCoding.length, secondCoding.length);
+        int cutPoint = rand.nextInt(minLength-1) + 1;
+
+        System.arraycopy(firstCoding, 0, firstChild.getCoding(), 0, cutPoint);
+        System.arraycopy(secondCoding, cutPoint, firstChild.getCoding(), cutPoint, minLength - cutPoint);
+        System.arraycopy(secondCoding, 0, secondChild.getCoding(), 0, cutPoint);
+        System.arraycopy(firstCoding, cutPoint, secondChild.getCoding(), cutPoint, minLength - cutPoint);
+    }
 }
@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.Random;
 
 @Component("TwoPoint")
-public class PokemonTeamTwoPointCrossover extends CrossoverOperator<PokemonTeamGA> {
+public class PokemonTeamTwoPointCrossover extends CrossoverOperator<PokemonTeamGA> implements InPlaceCrossover<PokemonTeamGA> {
     @Override
     public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand) throws CloneNotSupportedException {
         Population<PokemonTeamGA> offsprings = population.clone();
@@ -55,4 +55,28 @@ public class PokemonTeamTwoPointCrossover extends CrossoverOperator<PokemonTeamG
 
         return offsprings;
     }
+
+    @Override
+    public void crossoverInto(PokemonTeamGA firstParent, PokemonTeamGA secondParent,
+                              PokemonTeamGA firstChild, PokemonTeamGA secondChild, Random rand) {
+        PokemonGA[] firstCoding = firstParent.getCoding();
+        PokemonGA[] secondCoding = secondParent.getCoding();
+        PokemonGA[] offspring1 = firstChild.getCoding();
+        PokemonGA[] offspring2 = secondChild.getCoding();
+        int minLength = Math.min(firstCoding.length, secondCoding.length);
+
+        int cutPoint1 = rand.nextInt(minLength);
+        int cutPoint2 = rand.nextInt(minLength);
+        while (cutPoint1 == cutPoint2) {
+            cutPoint2 = rand.nextInt(minLength);
+        }
+        int start = Math.min(cutPoint1, cutPoint2);
+        int end = Math.max(cutPoint1, cutPoint2);
+
+        // Parti esterne dal genitore dello stesso lato, parte centrale scambiata
+        System.arraycopy(firstCoding, 0, offspring1, 0, minLength);
+        System.arraycopy(secondCoding, 0, offspring2, 0, minLength);
+        System.arraycopy(secondCoding, start, offspring1, start, end - start);
+        System.arraycopy(firstCoding, start, offspring2, start, end - start);
+    }
 }
@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.Random;
 
 @Component("Uniform")
-public class PokemonTeamUniformCrossover extends CrossoverOperator<PokemonTeamGA>{
+public class PokemonTeamUniformCrossover extends CrossoverOperator<PokemonTeamGA> implements InPlaceCrossover<PokemonTeamGA> {
 
     @Override
     public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand) throws CloneNotSupportedException {
@@ -28,6 +28,20 @@ public class PokemonTeamUniformCrossover extends CrossoverOperator<PokemonTeamGA
         return offsprings;
     }
 
+    @Override
+    public void crossoverInto(PokemonTeamGA firstParent, PokemonTeamGA secondParent,
+                              PokemonTeamGA firstChild, PokemonTeamGA secondChild, Random rand) {
+        //Stesso ordine di estrazione di apply: prima tutti i geni del primo figlio
+        fill(firstParent.getCoding(), secondParent.getCoding(), firstChild.getCoding(), rand);
+        fill(secondParent.getCoding(), firstParent.getCoding(), secondChild.getCoding(), rand);
+    }
+
+    private static void fill(PokemonGA[] genes1, PokemonGA[] genes2, PokemonGA[] offspringGene, Random rand) {
+        for (int i = 0; i < offspringGene.length; i++) {
+            offspringGene[i] = rand.nextBoolean() ? genes1[i] : genes2[i];
+        }
+    }
+
     private PokemonTeamGA crossover(PokemonTeamGA parent1, PokemonTeamGA parent2, Random rand){
         PokemonGA[] genes1 = parent1.getCoding();
         PokemonGA[] genes2 = parent2.getCoding();
@@ -0,0 +1,44 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.diversity;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.operators.GeneticOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.population.PopulationDiversity;
+
+/**
+ * Controllo della diversità della popolazione.
+ *
+ * <p>{@link #measure} calcola la diversità di una generazione; {@link #apply} applica la
+ * politica sui duplicati, ad esempio sostituendo le copie con individui nuovi, e può
+ * restituire la popolazione invariata se la politica è disattivata. Gli individui
+ * introdotti non sono valutati: l'operatore va applicato prima della valutazione.</p>
+ *
+ * @param <T> tipo dell'individuo (es. PokemonTeamGA)
+ */
+public abstract class DiversityOperator<T extends Individual> extends GeneticOperator<T> {
+    //Sotto questa frazione di individui distinti la popolazione è considerata convergente
+    private final double minDistinctRatio;
+
+    protected DiversityOperator(double minDistinctRatio) {
+        this.minDistinctRatio = minDistinctRatio;
+    }
+
+    /**
+     * Misura la diversità di una generazione.
+     *
+     * @param population la generazione
+     * @return individui distinti ed entropia dei geni
+     */
+    public abstract PopulationDiversity measure(Population<T> population);
+
+    /**
+     * Indica se la diversità misurata segnala una convergenza prematura.
+     */
+    public boolean isConverged(PopulationDiversity diversity) {
+        return diversity.distinctRatio() < minDistinctRatio;
+    }
+
+    public double getMinDistinctRatio() {
+        return minDistinctRatio;
+    }
+}
@@ -0,0 +1,107 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.diversity;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.population.PopulationDiversity;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.team.PokemonTeamGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Diversità dei team per {@link PokemonTeamGA#canonicalHash()}: due team con gli stessi
+ * membri, anche in ordine diverso, sono lo stesso team. L'entropia è calcolata sugli ID
+ * dei membri di tutti i team.
+ *
+ * <p>Con la soppressione attiva, ogni team che ripete uno già visto nella generazione
+ * viene sostituito da un team casuale nuovo di {@link PokemonTeamGenerator} (ammissibile,
+ * se ci sono vincoli), così crossover, mutazione e valutazione lavorano su team distinti.</p>
+ */
+@Component
+public class PokemonTeamDiversityOperator extends DiversityOperator<PokemonTeamGA> {
+    //Tentativi per estrarre un team nuovo che non sia a sua volta un duplicato
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final PokemonTeamGenerator teamGenerator;
+    private final boolean suppressDuplicates;
+    private final TeamConstraints constraints;
+
+    @Autowired
+    public PokemonTeamDiversityOperator(
+            PokemonTeamGenerator teamGenerator,
+            @Value("${optimizer.diversity.suppress-duplicates:false}") boolean suppressDuplicates,
+            @Value("${optimizer.diversity.min-distinct-ratio:0.2}") double minDistinctRatio
+    ) {
+        this(teamGenerator, suppressDuplicates, minDistinctRatio, null);
+    }
+
+    public PokemonTeamDiversityOperator(PokemonTeamGenerator teamGenerator, boolean suppressDuplicates,
+                                        double minDistinctRatio, TeamConstraints constraints) {
+        super(minDistinctRatio);
+        this.teamGenerator = teamGenerator;
+        this.suppressDuplicates = suppressDuplicates;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Restituisce un operatore che sostituisce i duplicati con team ammissibili
+     * (l'istanza corrente, condivisa, non viene modificata).
+     */
+    public PokemonTeamDiversityOperator withConstraints(TeamConstraints constraints) {
+        return new PokemonTeamDiversityOperator(teamGenerator, suppressDuplicates, getMinDistinctRatio(), constraints);
+    }
+
+    public boolean isSuppressDuplicates() {
+        return suppressDuplicates;
+    }
+
+    @Override
+    public PopulationDiversity measure(Population<PokemonTeamGA> population) {
+        Set<Long> teams = new HashSet<>();
+        Map<Integer, Integer> genes = new HashMap<>();
+        int geneCount = 0;
+        for (PokemonTeamGA team : population) {
+            teams.add(team.canonicalHash());
+            for (PokemonGA member : team.getCoding()) {
+                genes.merge(member.getId(), 1, Integer::sum);
+                geneCount++;
+            }
+        }
+
+        double entropy = 0;
+        for (int count : genes.values()) {
+            double p = (double) count / geneCount;
+            entropy -= p * Math.log(p);
+        }
+        return new PopulationDiversity(population.size(), teams.size(), entropy / Math.log(2));
+    }
+
+    @Override
+    public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand) {
+        if (!suppressDuplicates) {
+            return population;
+        }
+        Population<PokemonTeamGA> distinct = population.clone();
+        distinct.clear();
+
+        Set<Long> seen = new HashSet<>();
+        for (PokemonTeamGA team : population) {
+            PokemonTeamGA kept = team;
+            for (int attempt = 0; !seen.add(kept.canonicalHash()) && attempt < MAX_ATTEMPTS; attempt++) {
+                kept = constraints == null
+                        ? teamGenerator.generatePokemonTeam(PokemonTeamGA.MAX_TEAM_MEMBERS)
+                        : teamGenerator.generatePokemonTeam(constraints, rand);
+            }
+            distinct.add(kept);
+        }
+        return distinct;
+    }
+}
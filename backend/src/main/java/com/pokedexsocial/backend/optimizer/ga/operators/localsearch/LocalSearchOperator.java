@@ -0,0 +1,33 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.localsearch;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.ga.operators.GeneticOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+
+import java.util.Random;
+
+/**
+ * Fase di ricerca locale (algoritmo memetico), eseguita su una generazione già valutata.
+ *
+ * <p>Un'implementazione può sostituire alcuni individui con versioni migliorate, con la
+ * fitness già assegnata: la popolazione restituita deve avere il miglior individuo
+ * aggiornato, come dopo {@code FitnessFunction.evaluate}.</p>
+ *
+ * <p>La ricerca locale è la fase più lunga di una generazione: le implementazioni
+ * dovrebbero controllare il {@link CancellationToken} nei propri cicli e, se annullato,
+ * restituire subito la popolazione con i miglioramenti trovati fino a quel punto.</p>
+ *
+ * @param <T> tipo dell'individuo (es. PokemonTeamGA)
+ */
+public abstract class LocalSearchOperator<T extends Individual> extends GeneticOperator<T> {
+
+    /**
+     * Come {@link #apply(Population, Random)}, ma si ferma appena il token viene annullato.
+     * L'implementazione di base non controlla il token.
+     */
+    public Population<T> apply(Population<T> population, Random rand, CancellationToken token)
+            throws CloneNotSupportedException {
+        return apply(population, rand);
+    }
+}
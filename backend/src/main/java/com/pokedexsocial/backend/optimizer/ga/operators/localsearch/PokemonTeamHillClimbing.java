@@ -0,0 +1,177 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.localsearch;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.PokemonCandidatePool;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Hill climbing first-improvement sui migliori {@code topK} team di ogni generazione.
+ *
+ * <p>Il vicinato di un team sono tutti i team che differiscono in un solo slot. Gli slot
+ * vengono visitati in ordine casuale; per ogni slot i candidati sono valutati in parallelo
+ * con {@link PokemonTeamFitnessFunction#slotEvaluator}, che aggrega una volta gli altri
+ * cinque membri. Il primo scambio che migliora la fitness viene applicato e la ricerca
+ * riparte, fino a un ottimo locale o a {@code maxSteps} scambi.</p>
+ *
+ * <p>Il token di annullamento è controllato prima di ogni team e di ogni scambio.</p>
+ *
+ * <p>I team migliorati sono nuove istanze: quelli originali, che possono appartenere
+ * anche a generazioni precedenti, non vengono modificati.</p>
+ */
+@Component
+public class PokemonTeamHillClimbing extends LocalSearchOperator<PokemonTeamGA> {
+    //Sotto questa soglia di miglioramento lo scambio non viene considerato
+    private static final double EPSILON = 1e-9;
+
+    private final PokemonTeamFitnessFunction fitnessFunction;
+    private final PokemonGA[] candidates;
+    private final TeamConstraints constraints;
+    private final int topK;
+    private final int maxSteps;
+
+    @Autowired
+    public PokemonTeamHillClimbing(
+            PokemonTeamFitnessFunction fitnessFunction,
+            Pokedex pokedex,
+            @Value("${optimizer.local-search.top-k:2}") int topK,
+            @Value("${optimizer.local-search.max-steps:6}") int maxSteps
+    ) {
+        this(fitnessFunction, pokedex.getCandidates(), topK, maxSteps);
+    }
+
+    public PokemonTeamHillClimbing(PokemonTeamFitnessFunction fitnessFunction, PokemonCandidatePool candidates,
+                                   int topK, int maxSteps) {
+        this(fitnessFunction, candidates.toArray(), null, topK, maxSteps);
+    }
+
+    private PokemonTeamHillClimbing(PokemonTeamFitnessFunction fitnessFunction, PokemonGA[] candidates,
+                                    TeamConstraints constraints, int topK, int maxSteps) {
+        this.fitnessFunction = fitnessFunction;
+        this.candidates = candidates;
+        this.constraints = constraints;
+        this.topK = Math.max(topK, 0);
+        this.maxSteps = Math.max(maxSteps, 0);
+    }
+
+    /**
+     * Restituisce una ricerca locale che cambia solo gli slot liberi, con i soli candidati
+     * ammissibili (l'istanza corrente, condivisa, non viene modificata).
+     */
+    public PokemonTeamHillClimbing withConstraints(TeamConstraints constraints) {
+        return new PokemonTeamHillClimbing(fitnessFunction, constraints.getCandidates().toArray(),
+                constraints, topK, maxSteps);
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    @Override
+    public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand) {
+        return apply(population, rand, CancellationToken.none());
+    }
+
+    @Override
+    public Population<PokemonTeamGA> apply(Population<PokemonTeamGA> population, Random rand,
+                                           CancellationToken token) {
+        if (topK == 0 || maxSteps == 0 || population.isEmpty()) {
+            return population;
+        }
+        List<PokemonTeamGA> ranked = new ArrayList<>(population);
+        ranked.sort(Comparator.reverseOrder());
+
+        Population<PokemonTeamGA> improved = population.clone();
+        PokemonTeamGA best = population.getBestIndividual();
+        for (PokemonTeamGA individual : ranked.subList(0, Math.min(topK, ranked.size()))) {
+            if (token.isCancelled()) {
+                break;
+            }
+            PokemonTeamGA climbed = climb(individual, rand, token);
+            if (climbed != individual) {
+                improved.remove(individual);
+                improved.add(climbed);
+                if (best == null || climbed.compareTo(best) > 0) {
+                    best = climbed;
+                }
+            }
+        }
+        improved.setBestIndividual(best);
+        return improved;
+    }
+
+    /**
+     * Migliora un team con scambi di un solo slot.
+     *
+     * @return un nuovo team con la fitness assegnata, o lo stesso team se nessuno scambio migliora
+     */
+    PokemonTeamGA climb(PokemonTeamGA individual, Random rand) {
+        return climb(individual, rand, CancellationToken.none());
+    }
+
+    private PokemonTeamGA climb(PokemonTeamGA individual, Random rand, CancellationToken token) {
+        PokemonGA[] coding = null;
+        double fitness = individual.getFitness();
+        List<Integer> slots = freeSlots(individual.getCoding().length);
+
+        int steps = 0;
+        boolean moved = true;
+        while (moved && steps < maxSteps && !token.isCancelled()) {
+            moved = false;
+            Collections.shuffle(slots, rand);
+            for (int slot : slots) {
+                PokemonGA[] current = coding != null ? coding : individual.getCoding();
+                PokemonTeamFitnessFunction.SlotEvaluator evaluator = fitnessFunction.slotEvaluator(current, slot);
+                double threshold = fitness + EPSILON;
+                //Prima il miglioramento trovato da un thread qualsiasi: basta per il first-improvement
+                int found = IntStream.range(0, candidates.length).parallel()
+                        .filter(i -> candidates[i] != current[slot] && evaluator.evaluate(candidates[i]) > threshold)
+                        .findAny()
+                        .orElse(-1);
+                if (found >= 0) {
+                    coding = current.clone();
+                    coding[slot] = candidates[found];
+                    fitness = evaluator.evaluate(candidates[found]);
+                    steps++;
+                    moved = true;
+                    break;
+                }
+            }
+        }
+
+        if (coding == null) {
+            return individual;
+        }
+        PokemonTeamGA climbed = new PokemonTeamGA(coding);
+        climbed.setFitness(fitness);
+        return climbed;
+    }
+
+    private List<Integer> freeSlots(int teamSize) {
+        List<Integer> slots = new ArrayList<>(teamSize);
+        for (int slot = 0; slot < teamSize; slot++) {
+            if (constraints == null || !constraints.isLocked(slot)) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,19 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.mutation;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mutazione senza allocazioni: modifica sul posto i geni degli individui.
+ *
+ * @param <T> tipo dell'individuo
+ */
+public interface InPlaceMutation<T extends Individual> {
+
+    /**
+     * Muta gli individui della popolazione, ognuno con la probabilità dell'operatore.
+     */
+    void mutateInPlace(List<T> population, Random rand);
+}
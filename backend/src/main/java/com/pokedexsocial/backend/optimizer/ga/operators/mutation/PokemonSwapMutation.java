@@ -4,23 +4,50 @@ import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
 import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Random;
 
 @Component
-public class PokemonSwapMutation extends MutationOperator<PokemonTeamGA> {
+public class PokemonSwapMutation extends MutationOperator<PokemonTeamGA> implements InPlaceMutation<PokemonTeamGA> {
 
     private final double mutationProbability;
     private final PokemonGenerator pokemonGenerator;
+    private final TeamConstraints constraints;
 
+    @Autowired
     public PokemonSwapMutation(
             PokemonGenerator pokemonGenerator,
             @Value("${optimizer.mutation.probability:0.3}") double mutationProbability
     ) {
+        this(pokemonGenerator, mutationProbability, null);
+    }
+
+    public PokemonSwapMutation(PokemonGenerator pokemonGenerator, double mutationProbability,
+                               TeamConstraints constraints) {
         this.pokemonGenerator = pokemonGenerator;
         this.mutationProbability = mutationProbability;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Restituisce una mutazione che cambia solo gli slot liberi, con candidati ammissibili
+     * (l'istanza corrente, condivisa, non viene modificata).
+     */
+    public PokemonSwapMutation withConstraints(TeamConstraints constraints) {
+        return new PokemonSwapMutation(pokemonGenerator, mutationProbability, constraints);
+    }
+
+    /**
+     * Restituisce la stessa mutazione con un'altra probabilità per individuo
+     * (l'istanza corrente, condivisa, non viene modificata).
+     */
+    public PokemonSwapMutation withMutationProbability(double mutationProbability) {
+        return new PokemonSwapMutation(pokemonGenerator, mutationProbability, constraints);
     }
 
     public double getMutationProbability() {
@@ -47,14 +74,34 @@ public class PokemonSwapMutation extends MutationOperator<PokemonTeamGA> {
         return newPopulation;
     }
 
+    /**
+     * Come {@link #apply}, ma sostituisce il membro direttamente nella codifica degli
+     * individui invece di clonarla.
+     */
+    @Override
+    public void mutateInPlace(List<PokemonTeamGA> population, Random rand) {
+        for (int i = 0; i < population.size(); i++) {
+            if (rand.nextDouble() <= mutationProbability) {
+                swap(population.get(i).getCoding(), rand);
+            }
+        }
+    }
+
     private PokemonTeamGA mutate(PokemonTeamGA individual, Random rand) {
         // Clona la codifica per evitare di modificare l'originale
-        PokemonGA[] originalCoding = individual.getCoding();
-        PokemonGA[] newCoding = originalCoding.clone();
-
-        int position = rand.nextInt(newCoding.length);
-        newCoding[position] = pokemonGenerator.generatePokemon();
-
+        PokemonGA[] newCoding = individual.getCoding().clone();
+        swap(newCoding, rand);
         return new PokemonTeamGA(newCoding);
     }
+
+    private void swap(PokemonGA[] coding, Random rand) {
+        if (constraints == null) {
+            int position = rand.nextInt(coding.length);
+            coding[position] = pokemonGenerator.generatePokemon();
+        } else {
+            //Gli slot bloccati non vengono mai scelti
+            int position = constraints.randomFreeSlot(rand);
+            coding[position] = constraints.randomMember(coding, position, rand);
+        }
+    }
 }
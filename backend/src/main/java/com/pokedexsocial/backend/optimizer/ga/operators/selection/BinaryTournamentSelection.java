@@ -0,0 +1,38 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.selection;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Torneo binario deterministico: per ogni posto della nuova popolazione estrae due
+ * individui e copia quello con fitness maggiore. Con NSGA-II la fitness è la chiave del
+ * crowded comparison (fronte, poi crowding distance).
+ */
+@Component("BinaryTournament")
+public class BinaryTournamentSelection<T extends Individual> extends SelectionOperator<T> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Population<T> apply(Population<T> population, Random rand) throws CloneNotSupportedException {
+        Population<T> newPopulation = population.clone();
+        newPopulation.setId(population.getId() + 1);
+        newPopulation.clear();
+
+        List<T> populationList = new ArrayList<>(population);
+        if (populationList.isEmpty()) {
+            return newPopulation;
+        }
+        for (int i = 0; i < populationList.size(); i++) {
+            T first = populationList.get(rand.nextInt(populationList.size()));
+            T second = populationList.get(rand.nextInt(populationList.size()));
+            T winner = first.compareTo(second) >= 0 ? first : second;
+            newPopulation.add((T) winner.clone());
+        }
+        return newPopulation;
+    }
+}
@@ -0,0 +1,25 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.selection;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selezione senza allocazioni: invece di costruire una nuova popolazione di cloni,
+ * scrive gli indici dei genitori scelti in un array preallocato.
+ *
+ * @param <T> tipo dell'individuo
+ */
+public interface InPlaceSelection<T extends Individual> {
+
+    /**
+     * Sceglie {@code parents.length} genitori dalla popolazione.
+     *
+     * @param population la popolazione valutata
+     * @param parents    riceve gli indici dei genitori scelti
+     * @param scratch    array di lavoro, lungo almeno il doppio della popolazione
+     * @param rand       il generatore da usare
+     */
+    void selectInto(List<T> population, int[] parents, int[] scratch, Random rand);
+}
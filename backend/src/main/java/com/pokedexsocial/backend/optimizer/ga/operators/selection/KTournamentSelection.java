@@ -1,6 +1,7 @@
 package com.pokedexsocial.backend.optimizer.ga.operators.selection;
 
 import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 import org.springframework.stereotype.Component;
 
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Random;
 
 @Component("KTournament")
-public class KTournamentSelection <T extends Individual> extends SelectionOperator<T>{
+public class KTournamentSelection <T extends Individual> extends SelectionOperator<T> implements InPlaceSelection<T> {
 
     private final int tournamentSize = 5;
     private final int selectionSize = 100;
@@ -25,7 +26,13 @@ public class KTournamentSelection <T extends Individual> extends SelectionOperat
         List<T> populationList = new ArrayList<>();
         populationList.addAll(population);
 
-        while(newPopulation.size() < selectionSize){
+        //Una FixedSizePopulation più piccola rifiuterebbe i vincitori oltre maxSize: il ciclo non terminerebbe
+        int targetSize = selectionSize;
+        if (newPopulation instanceof FixedSizePopulation<T> fixed && fixed.getMaxSize() > 0) {
+            targetSize = Math.min(selectionSize, fixed.getMaxSize());
+        }
+
+        while(newPopulation.size() < targetSize){
             List<T> tournament = new ArrayList<>();
             for(int i = 0; i< tournamentSize; i++){
                 int randomIndex = rand.nextInt(populationList.size());
@@ -47,6 +54,52 @@ public class KTournamentSelection <T extends Individual> extends SelectionOperat
     }
 
 
+    /**
+     * Come {@link #apply}, ma scrive gli indici dei vincitori invece di clonarli; i
+     * partecipanti di ogni torneo sono tenuti nell'array di lavoro.
+     */
+    @Override
+    public void selectInto(List<T> population, int[] parents, int[] scratch, Random rand) {
+        int[] tournament = scratch.length >= tournamentSize ? scratch : new int[tournamentSize];
+        for (int p = 0; p < parents.length; p++) {
+            for (int i = 0; i < tournamentSize; i++) {
+                tournament[i] = rand.nextInt(population.size());
+            }
+            parents[p] = proportional ? proportionalWinner(population, tournament, rand) : fittest(population, tournament);
+        }
+    }
+
+    //Stessa ruota di getProportionalWinner, sugli indici dei partecipanti
+    private int proportionalWinner(List<T> population, int[] tournament, Random rand) {
+        double totalFitness = 0.0;
+        for (int i = 0; i < tournamentSize; i++) {
+            totalFitness += population.get(tournament[i]).getFitness();
+        }
+        if (totalFitness <= 0) {
+            return fittest(population, tournament);
+        }
+
+        double pointer = rand.nextDouble();
+        double currentPosition = 0.0;
+        for (int i = 0; i < tournamentSize; i++) {
+            currentPosition += population.get(tournament[i]).getFitness() / totalFitness;
+            if (pointer < currentPosition) {
+                return tournament[i];
+            }
+        }
+        return tournament[tournamentSize - 1];
+    }
+
+    private int fittest(List<T> population, int[] tournament) {
+        int best = tournament[0];
+        for (int i = 1; i < tournamentSize; i++) {
+            if (population.get(tournament[i]).compareTo(population.get(best)) > 0) {
+                best = tournament[i];
+            }
+        }
+        return best;
+    }
+
     private T getProportionalWinner(List<T> tournament, Random rand) {
         double totalFitness = tournament.stream()
                 .mapToDouble(T::getFitness)
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Random;
 
 @Component("RankSelection")
-public class RankSelection<T extends Individual> extends SelectionOperator<T> {
+public class RankSelection<T extends Individual> extends SelectionOperator<T> implements InPlaceSelection<T> {
 
     @Override
     public Population<T> apply(Population<T> population, Random rand) throws CloneNotSupportedException {
@@ -55,6 +55,69 @@ public class RankSelection<T extends Individual> extends SelectionOperator<T> {
         return newPopulation;
     }
 
+    /**
+     * Come {@link #apply}, ma scrive gli indici dei genitori invece di clonarli.
+     * L'ordinamento per fitness è un merge sort stabile sugli indici, con la seconda metà
+     * dell'array di lavoro come appoggio; il rank estratto si trova con una ricerca binaria
+     * sulla ruota invece che scorrendola.
+     */
+    @Override
+    public void selectInto(List<T> population, int[] parents, int[] scratch, Random rand) {
+        int n = population.size();
+        if (n == 0) return;
+
+        // Indici ordinati per fitness crescente in scratch[0, n): peggiori → migliori
+        sortByFitness(population, scratch, n);
+
+        // Il rank i + 1 ha probabilità (i + 1) / totalRankSum, come nella ruota di apply:
+        // si cerca il primo rank la cui somma cumulata supera il puntatore
+        double totalRankSum = (n * (n + 1)) / 2.0;
+        for (int p = 0; p < parents.length; p++) {
+            double target = rand.nextDouble() * totalRankSum;
+            int low = 0;
+            int high = n - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                double cumulative = (mid + 1.0) * (mid + 2.0) / 2.0;
+                if (target < cumulative) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            parents[p] = scratch[low];
+        }
+    }
+
+    //Merge sort bottom-up: scratch[0, n) e scratch[n, 2n) si alternano come sorgente e destinazione
+    private void sortByFitness(List<T> population, int[] scratch, int n) {
+        for (int i = 0; i < n; i++) {
+            scratch[i] = i;
+        }
+        int source = 0;
+        int target = n;
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    boolean takeLeft = right >= high || (left < mid
+                            && population.get(scratch[source + left]).getFitness()
+                            <= population.get(scratch[source + right]).getFitness());
+                    scratch[target + k] = takeLeft ? scratch[source + left++] : scratch[source + right++];
+                }
+            }
+            int swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != 0) {
+            System.arraycopy(scratch, source, scratch, 0, n);
+        }
+    }
+
     private static class RankElement<T extends Individual> {
         T individual;
         double start;
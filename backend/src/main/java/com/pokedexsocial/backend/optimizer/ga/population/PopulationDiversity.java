@@ -0,0 +1,23 @@
+package com.pokedexsocial.backend.optimizer.ga.population;
+
+/**
+ * Misura della diversità di una generazione.
+ *
+ * @param size        il numero di individui
+ * @param distinct    il numero di individui distinti (a meno dell'ordine dei geni)
+ * @param geneEntropy l'entropia di Shannon, in bit, della distribuzione dei valori dei geni
+ *                    su tutta la popolazione: 0 se tutti i geni sono uguali
+ */
+public record PopulationDiversity(int size, int distinct, double geneEntropy) {
+
+    /**
+     * Restituisce la frazione di individui distinti, 1 per una popolazione vuota.
+     */
+    public double distinctRatio() {
+        return size == 0 ? 1.0 : (double) distinct / size;
+    }
+
+    public int duplicates() {
+        return size - distinct;
+    }
+}
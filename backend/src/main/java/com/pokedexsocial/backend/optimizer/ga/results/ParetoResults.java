@@ -0,0 +1,49 @@
+package com.pokedexsocial.backend.optimizer.ga.results;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.GeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+
+import java.util.List;
+import java.util.Stack;
+
+/**
+ * Risultati di un algoritmo multi-obiettivo: oltre alla generazione finale contiene
+ * il fronte di Pareto, cioè gli individui che nessun altro supera su tutti gli obiettivi.
+ */
+public class ParetoResults<T extends Individual> extends Results<T> {
+
+    private final List<String> objectiveNames;
+    private final List<Solution<T>> paretoFront;
+
+    public ParetoResults(GeneticAlgorithm<T> geneticAlgorithm, Stack<Population<T>> generations, Population<T> bestGeneration,
+                         List<String> log, List<String> objectiveNames, List<Solution<T>> paretoFront) {
+        this(geneticAlgorithm, generations, bestGeneration, log, objectiveNames, paretoFront, null);
+    }
+
+    public ParetoResults(GeneticAlgorithm<T> geneticAlgorithm, Stack<Population<T>> generations, Population<T> bestGeneration,
+                         List<String> log, List<String> objectiveNames, List<Solution<T>> paretoFront,
+                         CancellationToken.Reason cancellation) {
+        super(geneticAlgorithm, generations, bestGeneration, log, cancellation);
+        this.objectiveNames = objectiveNames;
+        this.paretoFront = paretoFront;
+    }
+
+    public List<String> getObjectiveNames() {
+        return objectiveNames;
+    }
+
+    public List<Solution<T>> getParetoFront() {
+        return paretoFront;
+    }
+
+    /**
+     * Individuo del fronte di Pareto con i suoi obiettivi.
+     *
+     * @param individual il team (la fitness è quella scalare pesata)
+     * @param objectives i valori degli obiettivi, nell'ordine di {@link #getObjectiveNames()}
+     */
+    public record Solution<T extends Individual>(T individual, double[] objectives) {
+    }
+}
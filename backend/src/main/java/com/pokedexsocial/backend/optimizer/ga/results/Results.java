@@ -1,6 +1,7 @@
 package com.pokedexsocial.backend.optimizer.ga.results;
 
 import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
 import com.pokedexsocial.backend.optimizer.ga.metaheuristics.GeneticAlgorithm;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 
@@ -13,12 +14,30 @@ public class Results<T extends Individual> {
     private final Stack<Population<T>> generations;
     private final Population<T> bestGeneration;
     private final List<String> log;
+    private final CancellationToken.Reason cancellation;
+    private final int resumedGenerations;
 
     public Results(GeneticAlgorithm<T> geneticAlgorithm, Stack<Population<T>> generations, Population<T> bestGeneration, List<String> log) {
+        this(geneticAlgorithm, generations, bestGeneration, log, null);
+    }
+
+    public Results(GeneticAlgorithm<T> geneticAlgorithm, Stack<Population<T>> generations, Population<T> bestGeneration,
+                   List<String> log, CancellationToken.Reason cancellation) {
+        this(geneticAlgorithm, generations, bestGeneration, log, cancellation, 0);
+    }
+
+    /**
+     * @param resumedGenerations le generazioni eseguite prima della ripresa da un checkpoint,
+     *                           contate in {@link #getNumberOfIterations()} ma non presenti in {@code generations}
+     */
+    public Results(GeneticAlgorithm<T> geneticAlgorithm, Stack<Population<T>> generations, Population<T> bestGeneration,
+                   List<String> log, CancellationToken.Reason cancellation, int resumedGenerations) {
         this.geneticAlgorithm = geneticAlgorithm;
         this.generations = generations;
         this.bestGeneration = bestGeneration;
         this.log = log;
+        this.cancellation = cancellation;
+        this.resumedGenerations = resumedGenerations;
     }
 
     public GeneticAlgorithm<T> getGeneticAlgorithm() {
@@ -38,7 +57,17 @@ public class Results<T extends Individual> {
     }
 
     public int getNumberOfIterations() {
-        return generations.size();
+        return resumedGenerations + generations.size();
+    }
+
+    /** Vero se l'esecuzione è stata interrotta e i risultati sono parziali. */
+    public boolean isCancelled() {
+        return cancellation != null;
+    }
+
+    /** Il motivo dell'interruzione, o null se l'esecuzione è terminata normalmente. */
+    public CancellationToken.Reason getCancellation() {
+        return cancellation;
     }
 
     public T getBestIndividual() {
@@ -4,41 +4,78 @@ import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
 import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeMultiplier;
 import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
 
+import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
 /**
- * Classe utilizzata per rappresentare un pokemon con tutte le sue caratteristiche
+ * Classe utilizzata per rappresentare un pokemon con tutte le sue caratteristiche.
+ *
+ * <p>Le istanze sono immutabili e condivise (flyweight): il {@code Pokedex} ne crea una
+ * per forma all'avvio e tutti i team del GA puntano alle stesse. Uguaglianza e hash
+ * dipendono solo dall'ID; i valori derivati usati dalla fitness (megaevoluzione, totale
+ * con tetto, peso della rarità, maschere di bit di tipi, resistenze e debolezze) sono
+ * calcolati una volta nel costruttore, così la valutazione legge solo campi.</p>
  */
-public class PokemonGA {
+public final class PokemonGA {
     public static final int MIN_TOTAL_STATS = 175;
     public static final int MAX_TOTAL_STATS_STANDARD = 600;
     public static final int MAX_TOTAL_STATS_LEGENDARY = 780;
 
-
-    private int number; //numero del pokedex nazionale
-    private String name; //nome del Pokemon
-    private PokemonType type1; //Primo Tipo del Pokemon
-    private PokemonType type2; //Secondo Tipo del Pokemon (non tutti hanno un secondo tipo)
-    private int total; //somma di tutte le statistiche
-    private int hp; //Vita
-    private int attack; //Attacco
-    private int defense; //Difesa
-    private int specialAttack; //Attacco Speciale
-    private int specialDefense; //Difesa Speciale
-    private int speed; //Velocità
-    private PokemonRarity rarity; //Rarità
-
-
-    private Set<PokemonTypeName> resistances; //Resistenze
-    private Set<PokemonTypeName> weaknesses; //Debolezze
-
+    //Tipo condiviso per i Pokémon con un solo tipo
+    private static final PokemonType UNDEFINED_TYPE = new PokemonType(PokemonTypeName.UNDEFINED);
+
+
+    private final int id; //ID del Pokemon nel database (distingue le forme con lo stesso numero)
+    private final int number; //numero del pokedex nazionale
+    private final String name; //nome del Pokemon
+    private final PokemonType type1; //Primo Tipo del Pokemon
+    private final PokemonType type2; //Secondo Tipo del Pokemon (non tutti hanno un secondo tipo)
+    private final int total; //somma di tutte le statistiche
+    private final int hp; //Vita
+    private final int attack; //Attacco
+    private final int defense; //Difesa
+    private final int specialAttack; //Attacco Speciale
+    private final int specialDefense; //Difesa Speciale
+    private final int speed; //Velocità
+    private final PokemonRarity rarity; //Rarità
+
+    private final Set<PokemonTypeName> resistances; //Resistenze
+    private final Set<PokemonTypeName> weaknesses; //Debolezze
+
+    // --- Valori derivati, precalcolati per la fitness ---
+    private final boolean megaEvolution;
+    private final int cappedTotal; //totale con il tetto dei non leggendari
+    private final int rarityWeight; //2 leggendari e mitici, 1 sub-leggendari e paradosso, 0 gli altri
+    private final long typeMask; //tipi definiti, un bit per ordinale
+    private final long resistanceMask;
+    private final long weaknessMask;
+
+
+    /**
+     * Crea un Pokémon il cui ID coincide con il numero del Pokedex, per chi non ha l'ID
+     * del database (forme alternative escluse).
+     */
+    public PokemonGA(
+            int number,
+            String name,
+            PokemonType type1,
+            PokemonType type2,
+            int hp,
+            int attack,
+            int defense,
+            int specialAttack,
+            int specialDefense,
+            int speed,
+            PokemonRarity rarity
+    ) {
+        this(number, number, name, type1, type2, hp, attack, defense, specialAttack, specialDefense, speed, rarity);
+    }
 
     // Costruttore
     public PokemonGA(
+            int id,
             int number,
             String name,
             PokemonType type1,
@@ -51,25 +88,27 @@ public class PokemonGA {
             int speed,
             PokemonRarity rarity
     ) {
+        this.id = id;
         this.number = number;
         this.name = name;
 
         // --- Gestione null ---
-        this.type1 = (type1 == null) ? new PokemonType(PokemonTypeName.UNDEFINED) : type1;
-        this.type2 = (type2 == null) ? new PokemonType(PokemonTypeName.UNDEFINED) : type2;
+        PokemonType first = (type1 == null) ? UNDEFINED_TYPE : type1;
+        PokemonType second = (type2 == null) ? UNDEFINED_TYPE : type2;
 
         // --- Regola 1: Entrambi i tipi non possono essere UNDEFINED ---
-        if (this.type1.getName() == PokemonTypeName.UNDEFINED &&
-                this.type2.getName() == PokemonTypeName.UNDEFINED) {
+        if (first.getName() == PokemonTypeName.UNDEFINED &&
+                second.getName() == PokemonTypeName.UNDEFINED) {
             throw new IllegalArgumentException("A Pokemon must have at least one defined type");
         }
 
         // --- Regola 2: Se type1 è UNDEFINED ma type2 no, scambiali ---
-        if (this.type1.getName() == PokemonTypeName.UNDEFINED &&
-                this.type2.getName() != PokemonTypeName.UNDEFINED) {
-            PokemonType temp = this.type1;
-            this.type1 = this.type2;
-            this.type2 = temp;
+        if (first.getName() == PokemonTypeName.UNDEFINED) {
+            this.type1 = second;
+            this.type2 = first;
+        } else {
+            this.type1 = first;
+            this.type2 = second;
         }
 
         // --- Statistiche ---
@@ -86,23 +125,68 @@ public class PokemonGA {
         this.rarity = rarity;
 
         // --- Calcolo resistenze e debolezze ---
-        this.resistances = new HashSet<>();
-        this.weaknesses = new HashSet<>();
-        calculateResistances();
-        calculateWeaknesses();
-    }
-
-    //Calcola automaticamente tutte le resistenze in base ai due Type del pokemon
-    private void calculateResistances() {
-        Set<PokemonTypeName> allTypes = EnumSet.allOf(PokemonTypeName.class);
-        allTypes.remove(PokemonTypeName.UNDEFINED);
-
+        EnumSet<PokemonTypeName> resistanceSet = EnumSet.noneOf(PokemonTypeName.class);
+        EnumSet<PokemonTypeName> weaknessSet = EnumSet.noneOf(PokemonTypeName.class);
+        calculateDefenses(resistanceSet, weaknessSet);
+        this.resistances = Collections.unmodifiableSet(resistanceSet);
+        this.weaknesses = Collections.unmodifiableSet(weaknessSet);
+
+        this.megaEvolution = isMegaEvolutionName(name);
+        this.cappedTotal = Math.min(total, MAX_TOTAL_STATS_STANDARD);
+        this.rarityWeight = rarityWeight(rarity);
+        long types = 1L << this.type1.getName().ordinal();
+        if (this.type2.getName() != PokemonTypeName.UNDEFINED) {
+            types |= 1L << this.type2.getName().ordinal();
+        }
+        this.typeMask = types;
+        this.resistanceMask = mask(resistances);
+        this.weaknessMask = mask(weaknesses);
+    }
+
+    //Copia con resistenze e debolezze date, gli altri valori restano quelli dell'originale
+    private PokemonGA(PokemonGA original, Set<PokemonTypeName> resistances, Set<PokemonTypeName> weaknesses) {
+        this.id = original.id;
+        this.number = original.number;
+        this.name = original.name;
+        this.type1 = original.type1;
+        this.type2 = original.type2;
+        this.total = original.total;
+        this.hp = original.hp;
+        this.attack = original.attack;
+        this.defense = original.defense;
+        this.specialAttack = original.specialAttack;
+        this.specialDefense = original.specialDefense;
+        this.speed = original.speed;
+        this.rarity = original.rarity;
+        this.resistances = Collections.unmodifiableSet(copyOf(resistances));
+        this.weaknesses = Collections.unmodifiableSet(copyOf(weaknesses));
+        this.megaEvolution = original.megaEvolution;
+        this.cappedTotal = original.cappedTotal;
+        this.rarityWeight = original.rarityWeight;
+        this.typeMask = original.typeMask;
+        this.resistanceMask = mask(this.resistances);
+        this.weaknessMask = mask(this.weaknesses);
+    }
+
+    /**
+     * Restituisce una copia con resistenze e debolezze indicate al posto di quelle calcolate
+     * dai tipi (es. per correggere dati incompleti); l'istanza corrente non cambia.
+     */
+    public PokemonGA withDefenses(Set<PokemonTypeName> resistances, Set<PokemonTypeName> weaknesses) {
+        return new PokemonGA(this, resistances, weaknesses);
+    }
+
+    //Calcola in un solo passaggio resistenze e debolezze in base ai due Type del pokemon
+    private void calculateDefenses(Set<PokemonTypeName> resistanceSet, Set<PokemonTypeName> weaknessSet) {
         Map<PokemonTypeName, Double> def1 = type1.getDefensiveProperties();
         Map<PokemonTypeName, Double> def2 = type2.getDefensiveProperties();
 
         boolean monotype = (type2.getName() == PokemonTypeName.UNDEFINED);
 
-        for (PokemonTypeName attackType : allTypes) {
+        for (PokemonTypeName attackType : PokemonTypeName.values()) {
+            if (attackType == PokemonTypeName.UNDEFINED) {
+                continue;
+            }
             double multiplier1 = def1.getOrDefault(attackType, PokemonTypeMultiplier.NORMAL_EFFECTIVENESS);
             double multiplier2 = monotype
                     ? 1.0
@@ -110,172 +194,147 @@ public class PokemonGA {
 
             double finalMultiplier = multiplier1 * multiplier2;
 
+            // Qualsiasi moltiplicatore > 1.0 è una debolezza (es. 2x, 4x)
             if (finalMultiplier < PokemonTypeMultiplier.NORMAL_EFFECTIVENESS) {
-                resistances.add(attackType);
+                resistanceSet.add(attackType);
+            } else if (finalMultiplier > PokemonTypeMultiplier.NORMAL_EFFECTIVENESS) {
+                weaknessSet.add(attackType);
             }
         }
     }
 
-    private void calculateWeaknesses() {
-        Set<PokemonTypeName> allTypes = EnumSet.allOf(PokemonTypeName.class);
-        allTypes.remove(PokemonTypeName.UNDEFINED);
+    //Meganium è l`unico pokemon che contiene Mega nel nome ma non è una Megaevoluzione
+    private static boolean isMegaEvolutionName(String name) {
+        return name != null && name.contains("Mega") && !name.equals("Meganium");
+    }
 
-        Map<PokemonTypeName, Double> def1 = type1.getDefensiveProperties();
-        Map<PokemonTypeName, Double> def2 = type2.getDefensiveProperties();
+    private static int rarityWeight(PokemonRarity rarity) {
+        if (rarity == PokemonRarity.LEGENDARY || rarity == PokemonRarity.MYTHICAL) {
+            return 2;
+        }
+        return (rarity == PokemonRarity.SUB_LEGENDARY || rarity == PokemonRarity.PARADOX) ? 1 : 0;
+    }
 
-        boolean monotype = (type2.getName() == PokemonTypeName.UNDEFINED);
+    private static long mask(Set<PokemonTypeName> types) {
+        long mask = 0;
+        for (PokemonTypeName type : types) {
+            mask |= 1L << type.ordinal();
+        }
+        return mask;
+    }
 
-        for (PokemonTypeName attackType : allTypes) {
-            double m1 = def1.getOrDefault(attackType, PokemonTypeMultiplier.NORMAL_EFFECTIVENESS);
-            double m2 = monotype
-                    ? 1.0
-                    : def2.getOrDefault(attackType, PokemonTypeMultiplier.NORMAL_EFFECTIVENESS);
+    private static EnumSet<PokemonTypeName> copyOf(Set<PokemonTypeName> types) {
+        return types.isEmpty() ? EnumSet.noneOf(PokemonTypeName.class) : EnumSet.copyOf(types);
+    }
 
-            double finalMultiplier = m1 * m2;
 
-            // Qualsiasi moltiplicatore > 1.0 è una debolezza (es. 2x, 4x)
-            if (finalMultiplier > PokemonTypeMultiplier.NORMAL_EFFECTIVENESS) {
-                weaknesses.add(attackType);
-            }
-        }
+    //Getters
+    public int getId() {
+        return id;
     }
 
-
-    //Getter and Setters
     public int getNumber() {
         return number;
     }
 
-    public void setNumber(int number) {
-        this.number = number;
-    }
-
     public String getName() {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
-    }
-
     public PokemonType getType1() {
         return type1;
     }
 
-    public void setType1(PokemonType type1) {
-        this.type1 = type1;
-    }
-
     public PokemonType getType2() {
         return type2;
     }
 
-    public void setType2(PokemonType type2) {
-        this.type2 = type2;
-    }
-
-    public void setResistances(Set<PokemonTypeName> resistances) {
-        this.resistances = resistances;
-    }
-
-    public void setWeaknesses(Set<PokemonTypeName> weaknesses) {
-        this.weaknesses = weaknesses;
-    }
-
     public int getTotal() {
         return total;
     }
 
-    public void setTotal(int total) {
-        this.total = total;
-    }
-
     public int getHp() {
         return hp;
     }
 
-    public void setHp(int hp) {
-        this.hp = hp;
-    }
-
     public int getAttack() {
         return attack;
     }
 
-    public void setAttack(int attack) {
-        this.attack = attack;
-    }
-
     public int getDefense() {
         return defense;
     }
 
-    public void setDefense(int defense) {
-        this.defense = defense;
-    }
-
     public int getSpecialAttack() {
         return specialAttack;
     }
 
-    public void setSpecialAttack(int specialAttack) {
-        this.specialAttack = specialAttack;
-    }
-
     public int getSpecialDefense() {
         return specialDefense;
     }
 
-    public void setSpecialDefense(int specialDefense) {
-        this.specialDefense = specialDefense;
-    }
-
     public int getSpeed() {
         return speed;
     }
 
-    public void setSpeed(int speed) {
-        this.speed = speed;
-    }
-
     public PokemonRarity getRarity() {
         return rarity;
     }
 
-    public void setRarity(PokemonRarity rarity) {
-        this.rarity = rarity;
-    }
-
+    /** Le resistenze, non modificabili. */
     public Set<PokemonTypeName> getResistances() {
         return resistances;
     }
 
+    /** Le debolezze, non modificabili. */
     public Set<PokemonTypeName> getWeaknesses() {
         return weaknesses;
     }
 
-    public boolean isMegaEvolution(){
-        //Meganium è l`unico pokemon che contiene Mega nel nome ma non è una Megaevoluzione
-        if(name.contains("Mega") && !name.equals("Meganium")){
-            return true;
-        }
-        else{
-            return false;
-        }
+    public boolean isMegaEvolution() {
+        return megaEvolution;
+    }
+
+    /** Il totale delle statistiche, con il tetto di {@link #MAX_TOTAL_STATS_STANDARD} per i leggendari. */
+    public int getCappedTotal() {
+        return cappedTotal;
+    }
+
+    /** Il peso della rarità nella fitness: 2 leggendari e mitici, 1 sub-leggendari e paradosso, 0 gli altri. */
+    public int getRarityWeight() {
+        return rarityWeight;
+    }
+
+    /** I tipi definiti come maschera di bit, un bit per {@link PokemonTypeName#ordinal()}. */
+    public long getTypeMask() {
+        return typeMask;
+    }
+
+    /** Le resistenze come maschera di bit, un bit per {@link PokemonTypeName#ordinal()}. */
+    public long getResistanceMask() {
+        return resistanceMask;
+    }
+
+    /** Le debolezze come maschera di bit, un bit per {@link PokemonTypeName#ordinal()}. */
+    public long getWeaknessMask() {
+        return weaknessMask;
+    }
+
+    /** Il numero di debolezze. */
+    public int getWeaknessCount() {
+        return Long.bitCount(weaknessMask);
     }
 
     //Utility
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        PokemonGA pokemon = (PokemonGA) o;
-        return number == pokemon.number && Objects.equals(name, pokemon.name);
+        return o instanceof PokemonGA pokemon && id == pokemon.id;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(number, name);
+        return Integer.hashCode(id);
     }
 
     @Override
@@ -283,4 +342,3 @@ public class PokemonGA {
         return "#" + number + " " + name;
     }
 }
-
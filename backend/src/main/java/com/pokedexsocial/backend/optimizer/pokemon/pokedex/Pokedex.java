@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Predicate;
 
 @Component
 public class Pokedex {
@@ -26,8 +27,13 @@ public class Pokedex {
     private final Random random = new Random();
 
     private HashMap<Integer, List<PokemonGA>> pokemons;
+    private HashMap<Integer, PokemonGA> pokemonsById;
+    private PokemonCandidatePool candidatePool;
     private int maxNumber;
 
+    //Unico tipo UNDEFINED, condiviso da tutti i Pokémon con un solo tipo
+    private static final PokemonType UNDEFINED_TYPE = new PokemonType(PokemonTypeName.UNDEFINED);
+
     private static final Set<Integer> LEGENDARY_NDEX = Set.of(
             150, 249, 250, 382, 383, 384, 483, 484, 487,
             643, 644, 646, 716, 717, 718, 789, 790, 791, 792, 800
@@ -61,6 +67,7 @@ public class Pokedex {
     @PostConstruct
     public void init() {
         pokemons = new HashMap<>();
+        pokemonsById = new HashMap<>();
 
         List<Pokemon> allPokemons = pokemonRepository.findAllWithTypes();
         maxNumber = allPokemons.size();
@@ -68,7 +75,9 @@ public class Pokedex {
         for (Pokemon dbPokemon : allPokemons) {
             PokemonGA pokemonGA = convertToPokemonGA(dbPokemon);
             pokemons.computeIfAbsent(dbPokemon.getNdex(), k -> new ArrayList<>()).add(pokemonGA);
+            pokemonsById.put(dbPokemon.getId(), pokemonGA);
         }
+        candidatePool = new PokemonCandidatePool(pokemons.values());
 
         System.out.printf("✅ Pokedex caricato con %d Pokémon (fino a N° %d)%n", maxNumber, pokemons.size());
     }
@@ -82,6 +91,7 @@ public class Pokedex {
         PokemonRarity rarity = determineRarity(dbPokemon);
 
         return new PokemonGA(
+                dbPokemon.getId(),
                 dbPokemon.getNdex(),
                 dbPokemon.getSpecies(),
                 type1,
@@ -97,16 +107,16 @@ public class Pokedex {
     }
 
     /**
-     * Converte un Type del DB in un PokemonType del pool.
+     * Converte un Type del DB in un PokemonType del pool, condiviso da tutti i Pokémon di
+     * quel tipo; se manca restituisce l'unico tipo UNDEFINED del Pokedex.
      */
     private PokemonType convertType(Type dbType) {
         if (dbType == null) {
-            return new PokemonType(PokemonTypeName.UNDEFINED);
+            return UNDEFINED_TYPE;
         }
 
         PokemonTypeName name = PokemonTypeName.valueOf(dbType.getName().toUpperCase());
-        return pokemonTypePool.getTypeByName(name)
-                .orElse(new PokemonType(PokemonTypeName.UNDEFINED));
+        return pokemonTypePool.getTypeByName(name).orElse(UNDEFINED_TYPE);
     }
 
     /**
@@ -125,13 +135,23 @@ public class Pokedex {
      * Restituisce un Pokémon casuale dal Pokedex (versione già convertita)
      */
     public PokemonGA getRandomPokemon() {
-        // Estrai un ndex casuale
-        List<Integer> ndexList = new ArrayList<>(pokemons.keySet());
-        int randomNdex = ndexList.get(random.nextInt(ndexList.size()));
+        // Estrae un ndex casuale e poi una delle sue forme, senza copiare le chiavi a ogni chiamata
+        return candidatePool.random(random);
+    }
+
+    /**
+     * Restituisce il pool di tutti i Pokémon caricati
+     */
+    public PokemonCandidatePool getCandidates() {
+        return candidatePool;
+    }
 
-        // Estrai una forma casuale (se più Pokémon condividono lo stesso ndex)
-        List<PokemonGA> forms = pokemons.get(randomNdex);
-        return forms.get(random.nextInt(forms.size()));
+    /**
+     * Costruisce un pool con i soli Pokémon che soddisfano il filtro (es. esclusi, rarità vietate),
+     * da cui il GA può estrarre in tempo costante.
+     */
+    public PokemonCandidatePool getCandidates(Predicate<PokemonGA> filter) {
+        return candidatePool.filter(filter);
     }
 
     /**
@@ -153,4 +173,11 @@ public class Pokedex {
         }
         return Optional.of(forms.get(0));
     }
+
+    /**
+     * Restituisce un Pokémon specifico per ID del database (quindi una forma precisa)
+     */
+    public Optional<PokemonGA> getById(int id) {
+        return Optional.ofNullable(pokemonsById.get(id));
+    }
 }
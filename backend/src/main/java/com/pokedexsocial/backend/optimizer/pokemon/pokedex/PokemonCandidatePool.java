@@ -0,0 +1,103 @@
+package com.pokedexsocial.backend.optimizer.pokemon.pokedex;
+
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Insieme immutabile di Pokémon candidati per il GA, raggruppati per numero del Pokedex.
+ *
+ * <p>L'estrazione casuale segue la stessa distribuzione di {@link Pokedex#getRandomPokemon()}:
+ * prima un numero del Pokedex, poi una delle sue forme. Gli array sono costruiti una volta,
+ * quindi ogni estrazione costa due {@code nextInt} e nessuna allocazione.</p>
+ */
+public final class PokemonCandidatePool {
+    private final PokemonGA[][] forms;
+    private final int size;
+
+    public PokemonCandidatePool(Collection<List<PokemonGA>> byNdex) {
+        List<PokemonGA[]> groups = new ArrayList<>(byNdex.size());
+        int count = 0;
+        for (List<PokemonGA> group : byNdex) {
+            if (!group.isEmpty()) {
+                groups.add(group.toArray(new PokemonGA[0]));
+                count += group.size();
+            }
+        }
+        this.forms = groups.toArray(new PokemonGA[0][]);
+        this.size = count;
+    }
+
+    /**
+     * Restituisce un Pokémon casuale del pool.
+     *
+     * @param rand il generatore da usare
+     * @return un candidato
+     * @throws IllegalStateException se il pool è vuoto
+     */
+    public PokemonGA random(Random rand) {
+        if (forms.length == 0) {
+            throw new IllegalStateException("No candidate Pokémon available");
+        }
+        PokemonGA[] group = forms[rand.nextInt(forms.length)];
+        return group[rand.nextInt(group.length)];
+    }
+
+    /**
+     * Crea un nuovo pool con i soli candidati che soddisfano il filtro.
+     *
+     * @param filter il filtro sui candidati
+     * @return il pool filtrato
+     */
+    public PokemonCandidatePool filter(Predicate<PokemonGA> filter) {
+        List<List<PokemonGA>> groups = new ArrayList<>(forms.length);
+        for (PokemonGA[] group : forms) {
+            List<PokemonGA> kept = new ArrayList<>(group.length);
+            for (PokemonGA pokemon : group) {
+                if (filter.test(pokemon)) {
+                    kept.add(pokemon);
+                }
+            }
+            groups.add(kept);
+        }
+        return new PokemonCandidatePool(groups);
+    }
+
+    /**
+     * Restituisce tutti i candidati in un nuovo array, raggruppati per numero del Pokedex.
+     *
+     * @return i candidati del pool
+     */
+    public PokemonGA[] toArray() {
+        PokemonGA[] all = new PokemonGA[size];
+        int i = 0;
+        for (PokemonGA[] group : forms) {
+            System.arraycopy(group, 0, all, i, group.length);
+            i += group.length;
+        }
+        return all;
+    }
+
+    public boolean contains(PokemonGA pokemon) {
+        for (PokemonGA[] group : forms) {
+            for (PokemonGA candidate : group) {
+                if (candidate.equals(pokemon)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
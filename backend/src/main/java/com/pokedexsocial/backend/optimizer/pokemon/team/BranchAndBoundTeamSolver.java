@@ -0,0 +1,397 @@
+package com.pokedexsocial.backend.optimizer.pokemon.team;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction.MemberFeatures;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Risolutore esatto per il completamento di un team su pool di candidati ridotti.
+ *
+ * <p>Enumera le combinazioni di Pokémon distinti per gli slot liberi con branch-and-bound:
+ * per ogni team parziale calcola con {@link PokemonTeamFitnessFunction#fitnessOf} un limite
+ * superiore della fitness di tutti i suoi completamenti, usando aggregati ottimistici
+ * (i totali migliori ancora disponibili, l'unione di tipi, resistenze e debolezze dei
+ * candidati rimasti, il minimo di leggendari e debolezze), e scarta il sottoalbero se il
+ * limite non supera il miglior team trovato. I candidati sono ordinati per totale
+ * decrescente, così il limite sulle statistiche è la somma dei successivi e i primi team
+ * visitati sono già buoni.</p>
+ *
+ * <p>I primi livelli dell'albero sono divisi in task fork-join; il miglior valore è
+ * condiviso tra i task per potare anche i sottoalberi degli altri thread.</p>
+ *
+ * <p>Con un {@link CancellationToken} annullato la ricerca si ferma al nodo successivo e
+ * restituisce il miglior team trovato fino a quel momento, che quindi non è garantito ottimo.</p>
+ */
+@Component
+public class BranchAndBoundTeamSolver {
+    //Profondità fino a cui i sottoalberi diventano task separati
+    private static final int FORK_DEPTH = 2;
+    //Margine per gli arrotondamenti: si pota solo quando il limite è sicuramente inferiore
+    private static final double EPSILON = 1e-9;
+
+    private final PokemonTeamFitnessFunction fitnessFunction;
+    private final long maxSearchSize;
+
+    public BranchAndBoundTeamSolver(
+            PokemonTeamFitnessFunction fitnessFunction,
+            @Value("${optimizer.exact.max-search-size:10000000000}") long maxSearchSize
+    ) {
+        this.fitnessFunction = fitnessFunction;
+        this.maxSearchSize = maxSearchSize;
+    }
+
+    /**
+     * Stima la dimensione dello spazio di ricerca: il numero di combinazioni dei candidati
+     * negli slot liberi, saturato a {@link Long#MAX_VALUE}.
+     */
+    public static long searchSize(int candidates, int freeSlots) {
+        if (freeSlots < 0 || freeSlots > candidates) {
+            return 0;
+        }
+        long size = 1;
+        for (int i = 1; i <= freeSlots; i++) {
+            //C(n, i) = C(n, i - 1) * (n - i + 1) / i, sempre intero
+            long factor = candidates - i + 1;
+            if (size > Long.MAX_VALUE / factor) {
+                return Long.MAX_VALUE;
+            }
+            size = size * factor / i;
+        }
+        return size;
+    }
+
+    /**
+     * Indica se lo spazio di ricerca dei vincoli è abbastanza piccolo per la ricerca esatta.
+     */
+    public boolean isTractable(TeamConstraints constraints) {
+        long size = searchSize(constraints.getCandidates().size(), constraints.getFreeSlotCount());
+        return size > 0 && size <= maxSearchSize;
+    }
+
+    public long getMaxSearchSize() {
+        return maxSearchSize;
+    }
+
+    /**
+     * Trova il team di fitness massima che rispetta i vincoli, con membri distinti.
+     *
+     * @param constraints i membri bloccati e il pool dei candidati
+     * @return il team migliore, con la fitness assegnata, e le statistiche della ricerca
+     * @throws IllegalArgumentException se i candidati non bastano a riempire gli slot liberi
+     *                                  (anche per il limite di una megaevoluzione)
+     */
+    public Solution solve(TeamConstraints constraints) {
+        return solve(constraints, CancellationToken.none());
+    }
+
+    /**
+     * Come {@link #solve(TeamConstraints)}, fermandosi quando il token viene annullato. La
+     * ricerca prosegue comunque fino al primo team completo, così c'è sempre un risultato.
+     *
+     * @param constraints i membri bloccati e il pool dei candidati
+     * @param token       il token controllato a ogni nodo interno dell'albero
+     * @return il team migliore trovato e, se la ricerca è stata interrotta, il motivo
+     * @throws IllegalArgumentException se i candidati non bastano a riempire gli slot liberi
+     */
+    public Solution solve(TeamConstraints constraints, CancellationToken token) {
+        List<PokemonGA> locked = constraints.getLockedMembers();
+        PokemonGA[] candidates = constraints.getCandidates().toArray();
+        int freeSlots = constraints.getFreeSlotCount();
+        if (candidates.length < freeSlots) {
+            throw new IllegalArgumentException("Not enough candidates to fill " + freeSlots + " slots");
+        }
+
+        Search search = new Search(locked, candidates, freeSlots, token);
+        ForkJoinPool.commonPool().invoke(search.root());
+        if (search.bestMembers == null) {
+            throw new IllegalArgumentException("No team satisfies the given constraints");
+        }
+
+        PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+        for (int i = 0; i < locked.size(); i++) {
+            coding[i] = locked.get(i);
+        }
+        int[] best = search.bestMembers;
+        for (int i = 0; i < freeSlots; i++) {
+            coding[locked.size() + i] = search.candidates[best[i]];
+        }
+        PokemonTeamGA team = new PokemonTeamGA(coding);
+        fitnessFunction.evaluate(team);
+        return new Solution(team, search.evaluated.sum(), search.pruned.sum(),
+                searchSize(candidates.length, freeSlots), search.stopped ? token.getReason() : null);
+    }
+
+    /**
+     * Risultato della ricerca esatta.
+     *
+     * @param team       il team ottimo, con la fitness assegnata
+     * @param evaluated  i team completi valutati
+     * @param pruned     i sottoalberi scartati dal limite superiore
+     * @param searchSize il numero di team dello spazio di ricerca
+     * @param stopReason il motivo dell'interruzione, o null se la ricerca è completa e il team è ottimo
+     */
+    public record Solution(PokemonTeamGA team, long evaluated, long pruned, long searchSize,
+                           CancellationToken.Reason stopReason) {
+
+        public Solution(PokemonTeamGA team, long evaluated, long pruned, long searchSize) {
+            this(team, evaluated, pruned, searchSize, null);
+        }
+
+        /** Vero se la ricerca è stata interrotta prima di visitare tutto l'albero. */
+        public boolean isCancelled() {
+            return stopReason != null;
+        }
+    }
+
+    /**
+     * Stato di una ricerca: candidati ordinati, contributi precalcolati e miglior team trovato.
+     */
+    private final class Search {
+        private final int teamSize = PokemonTeamGA.MAX_TEAM_MEMBERS;
+        private final int freeSlots;
+        private final PokemonGA[] candidates;
+        private final int[] totals;
+        private final int[] legendaries;
+        private final long[] types;
+        private final long[] resistances;
+        private final long[] weaknesses;
+        private final int[] weaknessCounts;
+        private final boolean[] megas;
+        //Aggregati ottimistici dei candidati da i in poi
+        private final long[] suffixTypes;
+        private final long[] suffixResistances;
+        private final long[] suffixWeaknesses;
+        private final int[] suffixMinLegendary;
+        private final int[] suffixMinWeaknessCount;
+        //prefixTotals[i] = somma dei totali dei candidati prima di i
+        private final long[] prefixTotals;
+        private final MemberFeatures lockedFeatures;
+        private final CancellationToken token;
+
+        private final LongAdder evaluated = new LongAdder();
+        private final LongAdder pruned = new LongAdder();
+        private volatile double bestFitness = -1;
+        private int[] bestMembers;
+        private volatile boolean found;
+        private volatile boolean stopped;
+
+        private Search(List<PokemonGA> locked, PokemonGA[] pool, int freeSlots, CancellationToken token) {
+            this.freeSlots = freeSlots;
+            this.token = token;
+            this.candidates = pool.clone();
+            Arrays.sort(candidates, Comparator.comparingInt(
+                    (PokemonGA p) -> PokemonTeamFitnessFunction.features(p).cappedTotal()).reversed());
+
+            int n = candidates.length;
+            totals = new int[n];
+            legendaries = new int[n];
+            types = new long[n];
+            resistances = new long[n];
+            weaknesses = new long[n];
+            weaknessCounts = new int[n];
+            megas = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                MemberFeatures f = PokemonTeamFitnessFunction.features(candidates[i]);
+                totals[i] = f.cappedTotal();
+                legendaries[i] = f.legendaryPoints();
+                types[i] = f.types();
+                resistances[i] = f.resistances();
+                weaknesses[i] = f.weaknesses();
+                weaknessCounts[i] = f.weaknessCount();
+                megas[i] = f.megaEvolution();
+            }
+
+            suffixTypes = new long[n + 1];
+            suffixResistances = new long[n + 1];
+            suffixWeaknesses = new long[n + 1];
+            suffixMinLegendary = new int[n + 1];
+            suffixMinWeaknessCount = new int[n + 1];
+            suffixMinLegendary[n] = Integer.MAX_VALUE;
+            suffixMinWeaknessCount[n] = Integer.MAX_VALUE;
+            for (int i = n - 1; i >= 0; i--) {
+                suffixTypes[i] = suffixTypes[i + 1] | types[i];
+                suffixResistances[i] = suffixResistances[i + 1] | resistances[i];
+                suffixWeaknesses[i] = suffixWeaknesses[i + 1] | weaknesses[i];
+                suffixMinLegendary[i] = Math.min(suffixMinLegendary[i + 1], legendaries[i]);
+                suffixMinWeaknessCount[i] = Math.min(suffixMinWeaknessCount[i + 1], weaknessCounts[i]);
+            }
+            prefixTotals = new long[n + 1];
+            for (int i = 0; i < n; i++) {
+                prefixTotals[i + 1] = prefixTotals[i] + totals[i];
+            }
+
+            int total = 0;
+            int legendary = 0;
+            long typeBits = 0;
+            long resistanceBits = 0;
+            long weaknessBits = 0;
+            int weaknessCount = 0;
+            boolean mega = false;
+            for (PokemonGA member : locked) {
+                MemberFeatures f = PokemonTeamFitnessFunction.features(member);
+                total += f.cappedTotal();
+                legendary += f.legendaryPoints();
+                typeBits |= f.types();
+                resistanceBits |= f.resistances();
+                weaknessBits |= f.weaknesses();
+                weaknessCount += f.weaknessCount();
+                mega |= f.megaEvolution();
+            }
+            lockedFeatures = new MemberFeatures(total, legendary, typeBits, resistanceBits, weaknessBits,
+                    weaknessCount, mega);
+        }
+
+        private Node root() {
+            MemberFeatures l = lockedFeatures;
+            return new Node(new int[freeSlots], 0, 0, l.cappedTotal(), l.legendaryPoints(), l.types(),
+                    l.resistances(), l.weaknesses(), l.weaknessCount(), l.megaEvolution());
+        }
+
+        //Limite superiore della fitness dei team che completano il nodo con 'remaining' candidati da 'start' in poi
+        private double upperBound(int start, int remaining, int total, int legendary, long typeBits,
+                                  long resistanceBits, long weaknessBits, int weaknessCount) {
+            long bestTotals = prefixTotals[start + remaining] - prefixTotals[start];
+            int typeCount = Math.min(Long.bitCount(typeBits) + 2 * remaining,
+                    Long.bitCount(typeBits | suffixTypes[start]));
+            int weaknessTypes = Math.max(Long.bitCount(weaknessBits | suffixWeaknesses[start]), 1);
+            int minWeaknesses = weaknessCount + remaining * suffixMinWeaknessCount[start];
+            return fitnessFunction.fitnessOf(teamSize, (int) (total + bestTotals),
+                    legendary + remaining * suffixMinLegendary[start], typeCount,
+                    Long.bitCount(resistanceBits | suffixResistances[start]),
+                    Math.max(minWeaknesses, weaknessTypes), weaknessTypes);
+        }
+
+        //Vero se il token è annullato e c'è già un team completo da restituire
+        private boolean shouldStop() {
+            if (stopped) {
+                return true;
+            }
+            if (found && token.isCancelled()) {
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        private synchronized void offer(double fitness, int[] members) {
+            if (fitness > bestFitness) {
+                bestFitness = fitness;
+                bestMembers = members.clone();
+                found = true;
+            }
+        }
+
+        /**
+         * Sottoalbero dei team che estendono i membri già scelti con candidati da {@code start} in poi.
+         */
+        private final class Node extends RecursiveAction {
+            private final int[] members;
+            private final int depth;
+            private final int start;
+            private final int total;
+            private final int legendary;
+            private final long typeBits;
+            private final long resistanceBits;
+            private final long weaknessBits;
+            private final int weaknessCount;
+            private final boolean mega;
+
+            private Node(int[] members, int depth, int start, int total, int legendary, long typeBits,
+                         long resistanceBits, long weaknessBits, int weaknessCount, boolean mega) {
+                this.members = members;
+                this.depth = depth;
+                this.start = start;
+                this.total = total;
+                this.legendary = legendary;
+                this.typeBits = typeBits;
+                this.resistanceBits = resistanceBits;
+                this.weaknessBits = weaknessBits;
+                this.weaknessCount = weaknessCount;
+                this.mega = mega;
+            }
+
+            @Override
+            protected void compute() {
+                if (shouldStop()) {
+                    return;
+                }
+                if (depth >= FORK_DEPTH || depth == freeSlots - 1) {
+                    search(members, depth, start, total, legendary, typeBits, resistanceBits, weaknessBits,
+                            weaknessCount, mega);
+                    return;
+                }
+                List<Node> children = new ArrayList<>();
+                int remaining = freeSlots - depth;
+                for (int i = start; i <= candidates.length - remaining; i++) {
+                    if (mega && megas[i]) {
+                        continue;
+                    }
+                    int[] childMembers = members.clone();
+                    childMembers[depth] = i;
+                    children.add(new Node(childMembers, depth + 1, i + 1, total + totals[i],
+                            legendary + legendaries[i], typeBits | types[i], resistanceBits | resistances[i],
+                            weaknessBits | weaknesses[i], weaknessCount + weaknessCounts[i], mega || megas[i]));
+                }
+                invokeAll(children);
+            }
+        }
+
+        //Visita in profondità sequenziale; members è di proprietà del task chiamante
+        private void search(int[] members, int depth, int start, int total, int legendary, long typeBits,
+                            long resistanceBits, long weaknessBits, int weaknessCount, boolean mega) {
+            int remaining = freeSlots - depth;
+            if (upperBound(start, remaining, total, legendary, typeBits, resistanceBits, weaknessBits,
+                    weaknessCount) <= bestFitness - EPSILON) {
+                pruned.increment();
+                return;
+            }
+
+            if (remaining == 1) {
+                double localBest = bestFitness;
+                int localIndex = -1;
+                for (int i = start; i < candidates.length; i++) {
+                    if (mega && megas[i]) {
+                        continue;
+                    }
+                    double fitness = fitnessFunction.fitnessOf(teamSize, total + totals[i], legendary + legendaries[i],
+                            Long.bitCount(typeBits | types[i]), Long.bitCount(resistanceBits | resistances[i]),
+                            weaknessCount + weaknessCounts[i], Long.bitCount(weaknessBits | weaknesses[i]));
+                    if (fitness > localBest) {
+                        localBest = fitness;
+                        localIndex = i;
+                    }
+                }
+                evaluated.add(candidates.length - start);
+                if (localIndex >= 0) {
+                    members[depth] = localIndex;
+                    offer(localBest, members);
+                }
+                return;
+            }
+
+            for (int i = start; i <= candidates.length - remaining; i++) {
+                if (shouldStop()) {
+                    return;
+                }
+                if (mega && megas[i]) {
+                    continue;
+                }
+                members[depth] = i;
+                search(members, depth + 1, i + 1, total + totals[i], legendary + legendaries[i],
+                        typeBits | types[i], resistanceBits | resistances[i], weaknessBits | weaknesses[i],
+                        weaknessCount + weaknessCounts[i], mega || megas[i]);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 @Component
 public class PokemonTeamGenerator {
@@ -23,4 +24,12 @@ public class PokemonTeamGenerator {
         }
         return new PokemonTeamGA(team.toArray(new PokemonGA[0]));
     }
+
+    /**
+     * Genera un team che rispetta i vincoli: membri bloccati nei primi slot,
+     * candidati ammissibili negli altri.
+     */
+    public PokemonTeamGA generatePokemonTeam(TeamConstraints constraints, Random rand) {
+        return new PokemonTeamGA(constraints.newTeam(rand));
+    }
 }
@@ -0,0 +1,198 @@
+package com.pokedexsocial.backend.optimizer.pokemon.team;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.PokemonCandidatePool;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Vincoli di una ricerca di completamento del team.
+ *
+ * <p>I membri bloccati occupano i primi slot del team e non vengono mai cambiati dagli
+ * operatori; gli slot liberi sono riempiti solo con Pokémon del pool dei candidati,
+ * già privato dei Pokémon esclusi, delle rarità vietate e dei membri bloccati. Così il
+ * GA esplora solo team ammissibili invece di generare e scartare team non validi.
+ * Anche il limite di una megaevoluzione per team è rispettato in fase di generazione:
+ * uno slot libero riceve una megaevoluzione solo se il resto del team non ne ha.</p>
+ */
+public final class TeamConstraints {
+    private final PokemonGA[] locked;
+    private final int[] freeSlots;
+    private final PokemonCandidatePool candidates;
+    private final PokemonCandidatePool nonMegaCandidates;
+
+    private TeamConstraints(PokemonGA[] locked, int[] freeSlots,
+                            PokemonCandidatePool candidates, PokemonCandidatePool nonMegaCandidates) {
+        this.locked = locked;
+        this.freeSlots = freeSlots;
+        this.candidates = candidates;
+        this.nonMegaCandidates = nonMegaCandidates;
+    }
+
+    /**
+     * Costruisce i vincoli e il relativo pool di candidati dal Pokedex.
+     *
+     * @param pokedex              il Pokedex da cui estrarre i candidati
+     * @param lockedMembers        i membri da mantenere, al massimo {@code MAX_TEAM_MEMBERS - 1}
+     * @param bannedPokemonIds     gli ID dei Pokémon da escludere
+     * @param bannedRarities       le rarità da escludere
+     * @param allowMegaEvolutions  se le megaevoluzioni possono essere scelte per gli slot liberi
+     * @return i vincoli
+     * @throws IllegalArgumentException se i membri bloccati sono troppi o hanno più di una
+     *                                  megaevoluzione, o se nessun candidato soddisfa i vincoli
+     */
+    public static TeamConstraints of(Pokedex pokedex, List<PokemonGA> lockedMembers, Set<Integer> bannedPokemonIds,
+                                     Set<PokemonRarity> bannedRarities, boolean allowMegaEvolutions) {
+        return of(pokedex, lockedMembers, bannedPokemonIds, bannedRarities, allowMegaEvolutions, p -> true);
+    }
+
+    /**
+     * Come {@link #of(Pokedex, List, Set, Set, boolean)}, limitando in più i candidati a quelli
+     * ammessi dal filtro (es. una lista di Pokémon o di tipi scelta dall'utente).
+     *
+     * @param allowed il filtro dei candidati ammessi; i membri bloccati non vi sono soggetti
+     */
+    public static TeamConstraints of(Pokedex pokedex, List<PokemonGA> lockedMembers, Set<Integer> bannedPokemonIds,
+                                     Set<PokemonRarity> bannedRarities, boolean allowMegaEvolutions,
+                                     Predicate<PokemonGA> allowed) {
+        if (lockedMembers.size() >= PokemonTeamGA.MAX_TEAM_MEMBERS) {
+            throw new IllegalArgumentException("At most " + (PokemonTeamGA.MAX_TEAM_MEMBERS - 1)
+                    + " members can be locked");
+        }
+        long lockedMegas = lockedMembers.stream().filter(PokemonGA::isMegaEvolution).count();
+        if (lockedMegas > 1) {
+            throw new IllegalArgumentException("A team can contain at most one Mega Evolution");
+        }
+
+        PokemonGA[] locked = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+        int[] freeSlots = new int[PokemonTeamGA.MAX_TEAM_MEMBERS - lockedMembers.size()];
+        for (int i = 0; i < locked.length; i++) {
+            if (i < lockedMembers.size()) {
+                locked[i] = lockedMembers.get(i);
+            } else {
+                freeSlots[i - lockedMembers.size()] = i;
+            }
+        }
+
+        //Con una megaevoluzione già bloccata le altre non sono mai ammissibili
+        boolean megasAllowed = allowMegaEvolutions && lockedMegas == 0;
+        PokemonCandidatePool candidates = pokedex.getCandidates(p ->
+                !bannedPokemonIds.contains(p.getId())
+                        && !bannedRarities.contains(p.getRarity())
+                        && (megasAllowed || !p.isMegaEvolution())
+                        && !lockedMembers.contains(p)
+                        && allowed.test(p));
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No Pokémon satisfies the given constraints");
+        }
+        PokemonCandidatePool nonMegaCandidates = megasAllowed
+                ? candidates.filter(p -> !p.isMegaEvolution())
+                : candidates;
+
+        return new TeamConstraints(locked, freeSlots, candidates, nonMegaCandidates);
+    }
+
+    public boolean isLocked(int slot) {
+        return slot < locked.length && locked[slot] != null;
+    }
+
+    public int getLockedCount() {
+        return locked.length - freeSlots.length;
+    }
+
+    /**
+     * Restituisce i membri bloccati, nell'ordine dei loro slot.
+     */
+    public List<PokemonGA> getLockedMembers() {
+        return Arrays.stream(locked).filter(Objects::nonNull).toList();
+    }
+
+    public int getFreeSlotCount() {
+        return freeSlots.length;
+    }
+
+    public PokemonCandidatePool getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Genera un team ammissibile: membri bloccati più candidati casuali negli slot liberi.
+     *
+     * @param rand il generatore da usare
+     * @return la codifica del team
+     */
+    public PokemonGA[] newTeam(Random rand) {
+        PokemonGA[] coding = locked.clone();
+        for (int slot : freeSlots) {
+            coding[slot] = randomMember(coding, slot, rand);
+        }
+        return coding;
+    }
+
+    /**
+     * Restituisce uno slot libero casuale.
+     *
+     * @param rand il generatore da usare
+     * @return l'indice dello slot
+     */
+    public int randomFreeSlot(Random rand) {
+        return freeSlots[rand.nextInt(freeSlots.length)];
+    }
+
+    /**
+     * Estrae un candidato per uno slot libero, senza megaevoluzioni se il resto del team
+     * ne contiene già una.
+     *
+     * @param coding il team corrente (lo slot indicato viene ignorato)
+     * @param slot   lo slot da riempire
+     * @param rand   il generatore da usare
+     * @return il candidato
+     */
+    public PokemonGA randomMember(PokemonGA[] coding, int slot, Random rand) {
+        if (nonMegaCandidates != candidates && hasMegaEvolution(coding, slot) && !nonMegaCandidates.isEmpty()) {
+            return nonMegaCandidates.random(rand);
+        }
+        return candidates.random(rand);
+    }
+
+    /**
+     * Riporta un team nello spazio ammissibile: ripristina i membri bloccati e sostituisce
+     * le megaevoluzioni in eccesso negli slot liberi.
+     *
+     * @param coding il team da correggere, modificato sul posto
+     * @param rand   il generatore da usare
+     */
+    public void repair(PokemonGA[] coding, Random rand) {
+        for (int slot = 0; slot < coding.length && slot < locked.length; slot++) {
+            if (locked[slot] != null) {
+                coding[slot] = locked[slot];
+            }
+        }
+        boolean megaFound = false;
+        for (int slot = 0; slot < coding.length; slot++) {
+            if (coding[slot] != null && coding[slot].isMegaEvolution()) {
+                if (megaFound && !isLocked(slot)) {
+                    coding[slot] = randomMember(coding, slot, rand);
+                }
+                megaFound = true;
+            }
+        }
+    }
+
+    private static boolean hasMegaEvolution(PokemonGA[] coding, int excludedSlot) {
+        for (int i = 0; i < coding.length; i++) {
+            if (i != excludedSlot && coding[i] != null && coding[i].isMegaEvolution()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,9 +4,11 @@ import com.pokedexsocial.backend.model.Pokemon;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,26 +19,51 @@ import java.util.List;
 @Repository
 public interface PokemonRepository extends JpaRepository<Pokemon, Integer>, JpaSpecificationExecutor<Pokemon> {
 
-    @Query("SELECT MIN(p.ndex) FROM Pokemon p")
-    Integer findMinNdex();
+    /**
+     * Computes every numeric range used by the catalogue filters in a single
+     * aggregate statement, instead of one MIN/MAX round trip per bound.
+     *
+     * @return the ndex, height and weight bounds of the whole catalogue
+     */
+    @Query("SELECT MIN(p.ndex) AS minNdex, MAX(p.ndex) AS maxNdex, " +
+            "MIN(p.height) AS minHeight, MAX(p.height) AS maxHeight, " +
+            "MIN(p.weight) AS minWeight, MAX(p.weight) AS maxWeight " +
+            "FROM Pokemon p")
+    FilterRanges findFilterRanges();
 
-    @Query("SELECT MAX(p.ndex) FROM Pokemon p")
-    Integer findMaxNdex();
+    @Query("SELECT p FROM Pokemon p " +
+            "JOIN FETCH p.type1 " +
+            "LEFT JOIN FETCH p.type2")
+    List<Pokemon> findAllWithTypes();
 
-    @Query("SELECT MIN(p.weight) FROM Pokemon p")
-    BigDecimal findMinWeight();
+    /**
+     * Loads the given Pokémon with their types and abilities in a single statement,
+     * so building their detail DTOs triggers no lazy loading.
+     *
+     * @param ids the Pokémon IDs
+     * @return the Pokémon found, in no particular order
+     */
+    @Query("SELECT p FROM Pokemon p " +
+            "LEFT JOIN FETCH p.type1 " +
+            "LEFT JOIN FETCH p.type2 " +
+            "LEFT JOIN FETCH p.ability1 " +
+            "LEFT JOIN FETCH p.ability2 " +
+            "LEFT JOIN FETCH p.hiddenAbility " +
+            "WHERE p.id IN :ids")
+    List<Pokemon> findAllDetailedByIdIn(@Param("ids") Collection<Integer> ids);
 
-    @Query("SELECT MAX(p.weight) FROM Pokemon p")
-    BigDecimal findMaxWeight();
+    /** Projection holding the bounds returned by {@link #findFilterRanges()}. */
+    interface FilterRanges {
+        Integer getMinNdex();
 
-    @Query("SELECT MIN(p.height) FROM Pokemon p")
-    BigDecimal findMinHeight();
+        Integer getMaxNdex();
 
-    @Query("SELECT MAX(p.height) FROM Pokemon p")
-    BigDecimal findMaxHeight();
+        BigDecimal getMinHeight();
 
-    @Query("SELECT p FROM Pokemon p " +
-            "JOIN FETCH p.type1 " +
-            "LEFT JOIN FETCH p.type2")
-    List<Pokemon> findAllWithTypes();
+        BigDecimal getMaxHeight();
+
+        BigDecimal getMinWeight();
+
+        BigDecimal getMaxWeight();
+    }
 }
@@ -0,0 +1,90 @@
+package com.pokedexsocial.backend.repository;
+
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the denormalized public team feed ({@link TeamFeedEntry}).
+ */
+@Repository
+public interface TeamFeedRepository extends JpaRepository<TeamFeedEntry, Integer> {
+
+    /**
+     * Reads the stored leaderboard scores, in team ID order, starting after a given team.
+     * Used to page through the whole feed when the leaderboard index is built.
+     *
+     * @param afterTeamId the last team ID of the previous chunk, 0 for the first one
+     * @param pageable    the chunk size (the page number must be 0)
+     * @return the scored teams of the chunk
+     */
+    @Query("SELECT e.teamId AS teamId, e.fitness AS fitness FROM TeamFeedEntry e " +
+            "WHERE e.fitness IS NOT NULL AND e.teamId > :after " +
+            "ORDER BY e.teamId")
+    List<ScoreRow> findScoresAfter(@Param("after") Integer afterTeamId, Pageable pageable);
+
+    /**
+     * Reads the entries whose score is missing or was computed with another model version,
+     * in team ID order, starting after a given team.
+     *
+     * @param version     the current fitness model version
+     * @param afterTeamId the last team ID of the previous chunk, 0 for the first one
+     * @param pageable    the chunk size (the page number must be 0)
+     * @return the entries to re-score
+     */
+    @Query("SELECT e FROM TeamFeedEntry e " +
+            "WHERE (e.fitnessVersion IS NULL OR e.fitnessVersion <> :version) AND e.teamId > :after " +
+            "ORDER BY e.teamId")
+    List<TeamFeedEntry> findStaleAfter(@Param("version") int version,
+                                       @Param("after") Integer afterTeamId,
+                                       Pageable pageable);
+
+    /**
+     * Stores a re-computed score, unless the entry was re-published with the current
+     * model version in the meantime.
+     *
+     * @param teamId  the ID of the team
+     * @param fitness the new score
+     * @param version the current fitness model version
+     * @return 1 if the score was stored, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE TeamFeedEntry e SET e.fitness = :fitness, e.fitnessVersion = :version " +
+            "WHERE e.teamId = :teamId AND (e.fitnessVersion IS NULL OR e.fitnessVersion <> :version)")
+    int updateStaleFitness(@Param("teamId") Integer teamId,
+                           @Param("fitness") double fitness,
+                           @Param("version") int version);
+
+    /**
+     * Reads the stored members, in team ID order, starting after a given team.
+     * Used to page through the whole feed when the similar-team index is built.
+     *
+     * @param afterTeamId the last team ID of the previous chunk, 0 for the first one
+     * @param pageable    the chunk size (the page number must be 0)
+     * @return the teams of the chunk with their members JSON
+     */
+    @Query("SELECT e.teamId AS teamId, e.members AS members FROM TeamFeedEntry e " +
+            "WHERE e.teamId > :after " +
+            "ORDER BY e.teamId")
+    List<MembersRow> findMembersAfter(@Param("after") Integer afterTeamId, Pageable pageable);
+
+    /** Projection returned by {@link #findScoresAfter}. */
+    interface ScoreRow {
+        Integer getTeamId();
+
+        Double getFitness();
+    }
+
+    /** Projection returned by {@link #findMembersAfter}. */
+    interface MembersRow {
+        Integer getTeamId();
+
+        String getMembers();
+    }
+}
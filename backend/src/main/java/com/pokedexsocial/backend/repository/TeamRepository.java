@@ -5,18 +5,91 @@ import com.pokedexsocial.backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TeamRepository extends JpaRepository<Team, Integer> {
+public interface TeamRepository extends JpaRepository<Team, Integer>, JpaSpecificationExecutor<Team> {
 
-    Page<Team> findByUser(User user, Pageable pageable);
+    /**
+     * Pages the IDs of the teams owned by a user. Used as the first phase of a
+     * listing, followed by {@link #findAllWithMembersByIdIn}.
+     *
+     * @param user     the owner
+     * @param pageable pagination info (page, size, sort)
+     * @return a page of team IDs
+     */
+    @Query(value = "SELECT t.id FROM Team t WHERE t.user = :user",
+            countQuery = "SELECT COUNT(t) FROM Team t WHERE t.user = :user")
+    Page<Integer> findIdsByUser(@Param("user") User user, Pageable pageable);
 
-    List<Team> findByVisibility(String visibility);
+    /**
+     * Pages the IDs of the teams visible to a user: public teams and the user's own.
+     *
+     * @param userId   the ID of the current user
+     * @param pageable pagination info (page, size, sort)
+     * @return a page of team IDs
+     */
+    @Query(value = "SELECT t.id FROM Team t WHERE t.visibility = 'PUBLIC' OR t.user.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Team t WHERE t.visibility = 'PUBLIC' OR t.user.id = :userId")
+    Page<Integer> findIdsVisibleForUser(@Param("userId") Integer userId, Pageable pageable);
 
-    @Query("SELECT t FROM Team t WHERE t.visibility = 'PUBLIC' OR t.user.id = :userId")
-    Page<Team> findAllVisibleForUser(Integer userId, Pageable pageable);
+    /**
+     * Pages the IDs of all teams.
+     *
+     * @param pageable pagination info (page, size, sort)
+     * @return a page of team IDs
+     */
+    @Query(value = "SELECT t.id FROM Team t",
+            countQuery = "SELECT COUNT(t) FROM Team t")
+    Page<Integer> findAllIds(Pageable pageable);
+
+    /**
+     * Loads the given teams together with everything {@code TeamDto} needs (owner,
+     * members, their Pokémon and types) in a single statement.
+     *
+     * @param ids the team IDs
+     * @return the teams found, in no particular order
+     */
+    @Query("SELECT DISTINCT t FROM Team t " +
+            "JOIN FETCH t.user " +
+            "LEFT JOIN FETCH t.pokemons tp " +
+            "LEFT JOIN FETCH tp.pokemon p " +
+            "LEFT JOIN FETCH p.type1 " +
+            "LEFT JOIN FETCH p.type2 " +
+            "WHERE t.id IN :ids")
+    List<Team> findAllWithMembersByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Loads only what is needed to score the given teams: owner, visibility and the
+     * Pokémon ID of every slot, one row per member, in a single statement. Teams
+     * without members appear once, with null slot and Pokémon ID.
+     *
+     * @param ids the team IDs
+     * @return the member rows, ordered by team and slot
+     */
+    @Query("SELECT t.id AS teamId, t.user.id AS ownerId, t.visibility AS visibility, " +
+            "tp.id.slot AS slot, tp.pokemon.id AS pokemonId " +
+            "FROM Team t LEFT JOIN t.pokemons tp " +
+            "WHERE t.id IN :ids " +
+            "ORDER BY t.id, tp.id.slot")
+    List<TeamMemberRow> findMemberRowsByTeamIdIn(@Param("ids") Collection<Integer> ids);
+
+    /** Projection returned by {@link #findMemberRowsByTeamIdIn}. */
+    interface TeamMemberRow {
+        Integer getTeamId();
+
+        Integer getOwnerId();
+
+        String getVisibility();
+
+        Integer getSlot();
+
+        Integer getPokemonId();
+    }
 }
@@ -4,6 +4,7 @@ import com.pokedexsocial.backend.model.Type;
 import com.pokedexsocial.backend.model.TypeEffectiveness;
 import com.pokedexsocial.backend.model.TypeEffectivenessId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +21,10 @@ public interface TypeEffectivenessRepository extends JpaRepository<TypeEffective
 
     // Trova il moltiplicatore specifico tra attaccante e difensore
     TypeEffectiveness findByAttackerTypeAndDefenderType(Type attackerType, Type defenderType);
+
+    // Carica l'intera tabella dei tipi con attaccante e difensore in una sola query
+    @Query("SELECT te FROM TypeEffectiveness te " +
+            "JOIN FETCH te.attackerType " +
+            "JOIN FETCH te.defenderType")
+    List<TypeEffectiveness> findAllWithTypes();
 }
@@ -0,0 +1,240 @@
+package com.pokedexsocial.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of teams by fitness, highest first (ties broken by lower team ID).
+ *
+ * <p>Implemented as an indexable skip list: every forward link stores how many
+ * entries it skips, so inserts, removals, rank-of-team and the lookup of the
+ * n-th entry all run in expected {@code O(log n)}. Reads share a read lock,
+ * writes take the write lock.</p>
+ */
+public final class LeaderboardIndex {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final Node head = new Node(0, Double.NaN, MAX_LEVEL);
+    private final Map<Integer, Double> scores = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int level = 1;
+
+    /**
+     * Entry of the leaderboard.
+     *
+     * @param rank    1-based position
+     * @param teamId  the ID of the team
+     * @param fitness the team fitness
+     */
+    public record Entry(int rank, int teamId, double fitness) {
+    }
+
+    /**
+     * Inserts a team or moves it to its new score.
+     *
+     * @param teamId  the ID of the team
+     * @param fitness the team fitness
+     */
+    public void put(int teamId, double fitness) {
+        lock.writeLock().lock();
+        try {
+            Double previous = scores.put(teamId, fitness);
+            if (previous != null) {
+                delete(teamId, previous);
+            }
+            insert(teamId, fitness);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a team, if present.
+     *
+     * @param teamId the ID of the team
+     */
+    public void remove(int teamId) {
+        lock.writeLock().lock();
+        try {
+            Double previous = scores.remove(teamId);
+            if (previous != null) {
+                delete(teamId, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ranked teams.
+     *
+     * @return the leaderboard size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the rank of a team.
+     *
+     * @param teamId the ID of the team
+     * @return the entry of the team, or {@code null} if it is not ranked
+     */
+    public Entry rankOf(int teamId) {
+        lock.readLock().lock();
+        try {
+            Double fitness = scores.get(teamId);
+            if (fitness == null) {
+                return null;
+            }
+            int rank = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && !after(x.next[i], fitness, teamId)) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            return new Entry(rank, teamId, fitness);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a slice of the leaderboard.
+     *
+     * @param fromRank the 1-based rank of the first entry
+     * @param count    maximum number of entries
+     * @return the entries from {@code fromRank} on, at most {@code count}
+     */
+    public List<Entry> range(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            if (fromRank < 1 || fromRank > scores.size() || count <= 0) {
+                return List.of();
+            }
+            List<Entry> entries = new ArrayList<>(Math.min(count, scores.size() - fromRank + 1));
+            // scende fino al nodo che precede fromRank, usando gli span
+            int traversed = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && traversed + x.span[i] < fromRank) {
+                    traversed += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            Node n = x.next[0];
+            for (int rank = fromRank; n != null && entries.size() < count; rank++, n = n.next[0]) {
+                entries.add(new Entry(rank, n.teamId, n.fitness));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(int teamId, double fitness) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], fitness, teamId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = scores.size() - 1;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(teamId, fitness, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void delete(int teamId, double fitness) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], fitness, teamId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node node = x.next[0];
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    /** True if {@code node} comes strictly before the position of (fitness, teamId). */
+    private static boolean before(Node node, double fitness, int teamId) {
+        return node.fitness > fitness || (node.fitness == fitness && node.teamId < teamId);
+    }
+
+    /** True if {@code node} comes strictly after the position of (fitness, teamId). */
+    private static boolean after(Node node, double fitness, int teamId) {
+        return node.fitness < fitness || (node.fitness == fitness && node.teamId > teamId);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        private final int teamId;
+        private final double fitness;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(int teamId, double fitness, int level) {
+            this.teamId = teamId;
+            this.fitness = fitness;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.pokedexsocial.backend.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures of sets of integers (here: the Pokémon IDs of a team).
+ *
+ * <p>Each of the {@code numHashes} functions is a universal hash
+ * {@code (a * x + b) mod (2^31 - 1)} of the element, scrambled first so that small
+ * consecutive IDs do not produce correlated minima; the signature holds, for every function, the
+ * minimum over the set. The fraction of equal positions between two signatures
+ * estimates the Jaccard similarity of the sets. Functions are derived from a
+ * fixed seed, so equal seeds give comparable signatures.</p>
+ */
+public final class MinHasher {
+
+    private static final long PRIME = (1L << 31) - 1;
+
+    private final long[] a;
+    private final long[] b;
+
+    public MinHasher(int numHashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.a = new long[numHashes];
+        this.b = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            a[i] = 1 + random.nextLong(PRIME - 1);
+            b[i] = random.nextLong(PRIME);
+        }
+    }
+
+    /**
+     * Returns the number of hash functions, i.e. the signature length.
+     *
+     * @return the signature length
+     */
+    public int size() {
+        return a.length;
+    }
+
+    /**
+     * Computes the signature of a set.
+     *
+     * @param members the set elements
+     * @return the MinHash signature
+     */
+    public int[] signature(int[] members) {
+        int[] signature = new int[a.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int member : members) {
+            long x = scramble(member);
+            for (int i = 0; i < a.length; i++) {
+                int hash = (int) ((a[i] * x + b[i]) % PRIME);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Murmur3 finalizer, masked to 31 bits so that {@code a * x} fits in a long. */
+    private static long scramble(int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & 0x7FFFFFFFL;
+    }
+
+    /**
+     * Converts a collection of IDs to the sorted, duplicate-free array used by
+     * {@link #signature(int[])} and {@link #jaccard(int[], int[])}.
+     *
+     * @param ids the IDs
+     * @return the sorted distinct IDs
+     */
+    public static int[] toSet(Collection<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    }
+
+    /**
+     * Computes the exact Jaccard similarity of two sorted, duplicate-free sets.
+     *
+     * @param x the first set
+     * @param y the second set
+     * @return {@code |x ∩ y| / |x ∪ y|}, 0 if both are empty
+     */
+    public static double jaccard(int[] x, int[] y) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < x.length && j < y.length) {
+            if (x[i] == y[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (x[i] < y[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = x.length + y.length - common;
+        return union == 0 ? 0 : (double) common / union;
+    }
+}
@@ -0,0 +1,204 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.security.AuthContext;
+import com.pokedexsocial.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs optimizer requests on a bounded pool of worker threads, as servlet async tasks.
+ *
+ * <p>Every run gets a {@link CancellationToken} that expires after
+ * {@code optimizer.run.timeout}: the genetic algorithm then stops between generations and
+ * returns the best team found so far. The token is also cancelled when the servlet async
+ * timeout (the run timeout plus {@code optimizer.run.async-grace}) elapses or the
+ * connection fails, typically because the client went away, so that abandoned requests
+ * free their worker instead of running to {@code maxIterations}. Spring cancels the
+ * worker's future, with an interrupt, before it runs these callbacks; the futures of this
+ * service ignore that interrupt, so the run is stopped by the callback with its
+ * request-side reason ({@code ASYNC_TIMEOUT} or {@code CLIENT_ABORT}) and only a shutdown
+ * of the pool stops runs as {@code INTERRUPTED}. When every worker is busy
+ * and the queue ({@code optimizer.run.queue-capacity}) is full, requests are rejected.</p>
+ *
+ * <p>The authenticated user of the request is carried over to the worker thread. Run
+ * counters are kept in memory and exposed by {@link #getMetrics()}.</p>
+ */
+@Service
+public class OptimizationRunService {
+
+    private final Duration runTimeout;
+    private final Duration asyncGrace;
+    private final ThreadPoolExecutor executor;
+    private final TaskExecutorAdapter taskExecutor;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder asyncTimeouts = new LongAdder();
+    private final LongAdder asyncErrors = new LongAdder();
+    private final LongAdder runMillis = new LongAdder();
+    private final Map<String, LongAdder> cancelled = new ConcurrentHashMap<>();
+
+    /**
+     * A run of the optimizer that checks the given token.
+     *
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Run<R> {
+        R execute(CancellationToken token) throws Exception;
+    }
+
+    public OptimizationRunService(
+            @Value("${optimizer.run.timeout:30s}") Duration runTimeout,
+            @Value("${optimizer.run.async-grace:5s}") Duration asyncGrace,
+            @Value("${optimizer.run.threads:0}") int threads,
+            @Value("${optimizer.run.queue-capacity:16}") int queueCapacity) {
+        this.runTimeout = runTimeout;
+        this.asyncGrace = asyncGrace;
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), r -> {
+                    Thread thread = new Thread(r, "optimizer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.taskExecutor = new NonInterruptingTaskExecutor(executor);
+    }
+
+    /**
+     * Wraps an optimizer run in a servlet async task with cancellation and metrics.
+     *
+     * @param run        the run, which must stop early once its token is cancelled
+     * @param stopReason extracts from the result why the run stopped early, null if it completed
+     * @return the async task to return from the controller
+     */
+    public <R> WebAsyncTask<R> submit(Run<R> run, Function<R, String> stopReason) {
+        CancellationToken token = CancellationToken.withTimeout(runTimeout);
+        AuthenticatedUser user = AuthContext.getCurrentUser();
+
+        WebAsyncTask<R> task = new WebAsyncTask<>(runTimeout.plus(asyncGrace).toMillis(), taskExecutor, () -> {
+            AuthContext.setCurrentUser(user);
+            active.incrementAndGet();
+            started.increment();
+            long start = System.nanoTime();
+            try {
+                R result = run.execute(token);
+                String reason = stopReason.apply(result);
+                if (reason == null) {
+                    completed.increment();
+                } else {
+                    cancelled.computeIfAbsent(reason, key -> new LongAdder()).increment();
+                }
+                return result;
+            } catch (Exception | Error e) {
+                failed.increment();
+                throw e;
+            } finally {
+                runMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                active.decrementAndGet();
+                AuthContext.clear();
+            }
+        });
+        task.onTimeout(() -> {
+            token.cancel(CancellationToken.Reason.ASYNC_TIMEOUT);
+            asyncTimeouts.increment();
+            throw new AsyncRequestTimeoutException();
+        });
+        task.onError(() -> {
+            //Di solito il client ha chiuso la connessione: il risultato non serve più
+            token.cancel(CancellationToken.Reason.CLIENT_ABORT);
+            asyncErrors.increment();
+            throw new AsyncRequestNotUsableException("Optimizer request is no longer usable");
+        });
+        return task;
+    }
+
+    /**
+     * Snapshot of the run counters: runs started, completed, failed and active; runs
+     * stopped early, by reason; async timeouts and errors; queued runs and total run time.
+     */
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("started", started.sum());
+        metrics.put("completed", completed.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("active", (long) active.get());
+        metrics.put("queued", (long) executor.getQueue().size());
+        for (CancellationToken.Reason reason : CancellationToken.Reason.values()) {
+            LongAdder count = cancelled.get(reason.name());
+            metrics.put("cancelled." + reason.name().toLowerCase(Locale.ROOT), count == null ? 0L : count.sum());
+        }
+        metrics.put("asyncTimeouts", asyncTimeouts.sum());
+        metrics.put("asyncErrors", asyncErrors.sum());
+        metrics.put("runMillis", runMillis.sum());
+        return metrics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        //L'interruzione ferma i run in corso alla generazione successiva
+        executor.shutdownNow();
+    }
+
+    //Spring annulla il Future del worker prima di chiamare i callback di timeout ed errore: se
+    //interrompesse il thread, il run si fermerebbe come INTERRUPTED prima che il callback
+    //registri il motivo lato richiesta. Il run si ferma comunque, col token annullato dal callback
+    private static final class NonInterruptingTaskExecutor extends TaskExecutorAdapter {
+
+        NonInterruptingTaskExecutor(Executor executor) {
+            super(executor);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            FutureTask<Object> future = new NonInterruptingFutureTask<>(Executors.callable(task));
+            execute(future);
+            return future;
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            FutureTask<T> future = new NonInterruptingFutureTask<>(task);
+            execute(future);
+            return future;
+        }
+    }
+
+    private static final class NonInterruptingFutureTask<T> extends FutureTask<T> {
+
+        NonInterruptingFutureTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return super.cancel(false);
+        }
+    }
+}
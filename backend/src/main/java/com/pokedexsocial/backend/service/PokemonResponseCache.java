@@ -0,0 +1,146 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.PokemonDto;
+import com.pokedexsocial.backend.util.ETags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the already-encoded JSON bodies served by {@code GET /pokemon/{id}}.
+ * <p>
+ * A Pokémon detail only changes with the catalogue, so the DTO is built and
+ * serialized once per id; later hits hand back the stored bytes (optionally
+ * gzip-compressed as well) together with their ETag and Last-Modified date,
+ * without touching the database or Jackson.
+ * <p>
+ * The catalogue is only changed outside the application (migrations or direct
+ * database edits), so the whole cache is dropped once
+ * {@code pokemon.catalogue-cache.ttl} has elapsed; responses encoded afterwards
+ * carry a newer Last-Modified date.
+ */
+@Component
+public class PokemonResponseCache {
+
+    private final PokemonService pokemonService;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private volatile Generation generation;
+
+    @Autowired
+    public PokemonResponseCache(PokemonService pokemonService,
+                                ObjectMapper objectMapper,
+                                @Value("${pokemon.detail-cache.gzip:true}") boolean gzip,
+                                @Value("${pokemon.catalogue-cache.ttl:PT1H}") Duration ttl) {
+        this(pokemonService, objectMapper, gzip, ttl, Clock.systemUTC());
+    }
+
+    PokemonResponseCache(PokemonService pokemonService,
+                         ObjectMapper objectMapper,
+                         boolean gzip,
+                         Duration ttl,
+                         Clock clock) {
+        this.pokemonService = pokemonService;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.generation = newGeneration();
+    }
+
+    /**
+     * Returns the encoded detail of a Pokémon, building it on the first request.
+     *
+     * @param id the ID of the Pokémon
+     * @return the encoded response body and its validators
+     * @throws RuntimeException if the Pokémon is not found (nothing is cached)
+     */
+    public EncodedPokemon get(Integer id) {
+        Generation current = currentGeneration();
+        EncodedPokemon cached = current.entries().get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return current.entries().computeIfAbsent(id,
+                key -> encode(pokemonService.getPokemonById(key), current.loadedAt()));
+    }
+
+    // a load still running on an expired generation fills its map, which is discarded
+    private Generation currentGeneration() {
+        Generation current = generation;
+        if (clock.instant().isBefore(current.expiresAt())) {
+            return current;
+        }
+        synchronized (this) {
+            if (!clock.instant().isBefore(generation.expiresAt())) {
+                generation = newGeneration();
+            }
+            return generation;
+        }
+    }
+
+    private Generation newGeneration() {
+        // HTTP dates have a resolution of one second
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        return new Generation(new ConcurrentHashMap<>(), now, clock.instant().plus(ttl));
+    }
+
+    private EncodedPokemon encode(PokemonDto dto, Instant loadedAt) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize Pokemon " + dto.getId(), e);
+        }
+        byte[] gzipped = gzip ? compress(json) : null;
+        // keep the compressed body only when it actually saves bytes
+        if (gzipped != null && gzipped.length >= json.length) {
+            gzipped = null;
+        }
+        String etag = ETags.strong(json);
+        // a compressed body is a different representation, so it needs its own strong ETag
+        String gzipEtag = gzipped != null ? etag.substring(0, etag.length() - 1) + "-gzip\"" : null;
+        return new EncodedPokemon(json, etag, gzipped, gzipEtag, loadedAt);
+    }
+
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Generation(Map<Integer, EncodedPokemon> entries, Instant loadedAt, Instant expiresAt) {
+    }
+
+    /**
+     * A serialized Pokémon detail.
+     *
+     * @param json         the JSON body
+     * @param etag         strong ETag of the JSON body
+     * @param gzip         the gzip-compressed JSON body, {@code null} if not available
+     * @param gzipEtag     strong ETag of the compressed body, {@code null} if not available
+     * @param lastModified when the catalogue the body was built from was loaded
+     */
+    public record EncodedPokemon(byte[] json, String etag, byte[] gzip, String gzipEtag, Instant lastModified) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.pokedexsocial.backend.service;
 
+import com.pokedexsocial.backend.dto.CursorPagedResponse;
+import com.pokedexsocial.backend.exception.InvalidCursorException;
 import com.pokedexsocial.backend.exception.PokemonNotFoundException;
 import com.pokedexsocial.backend.model.Type;
 import com.pokedexsocial.backend.model.TypeEffectiveness;
 import com.pokedexsocial.backend.repository.TypeEffectivenessRepository;
+import com.pokedexsocial.backend.specification.KeysetSpecification;
 import com.pokedexsocial.backend.specification.PokemonSearchCriteria;
 import com.pokedexsocial.backend.dto.AbilityDto;
 import com.pokedexsocial.backend.dto.AbilityListDto;
@@ -17,16 +20,27 @@ import com.pokedexsocial.backend.repository.PokemonRepository;
 import com.pokedexsocial.backend.repository.TypeRepository;
 import com.pokedexsocial.backend.specification.PokemonSpecification;
 
+import com.pokedexsocial.backend.util.Cursor;
+import com.pokedexsocial.backend.util.ETags;
 import com.pokedexsocial.backend.util.Range;
+import com.pokedexsocial.backend.util.Versioned;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -41,14 +55,34 @@ public class PokemonService {
     private final AbilityRepository abilityRepository;
     private final TypeEffectivenessRepository effectivenessRepository;
 
+    private final Duration catalogueTtl;
+    private final Clock clock;
+
+    private volatile Cached<Versioned<PokemonFiltersDto>> filtersCache;
+    private volatile Cached<Map<Integer, List<TypeEffectiveness>>> typeChart;
+
+    @Autowired
     public PokemonService(PokemonRepository pokemonRepository,
                           TypeRepository typeRepository,
                           AbilityRepository abilityRepository,
-                          TypeEffectivenessRepository effectivenessRepository) {
+                          TypeEffectivenessRepository effectivenessRepository,
+                          @Value("${pokemon.catalogue-cache.ttl:PT1H}") Duration catalogueTtl) {
+        this(pokemonRepository, typeRepository, abilityRepository, effectivenessRepository,
+                catalogueTtl, Clock.systemUTC());
+    }
+
+    PokemonService(PokemonRepository pokemonRepository,
+                   TypeRepository typeRepository,
+                   AbilityRepository abilityRepository,
+                   TypeEffectivenessRepository effectivenessRepository,
+                   Duration catalogueTtl,
+                   Clock clock) {
         this.pokemonRepository = pokemonRepository;
         this.typeRepository = typeRepository;
         this.abilityRepository = abilityRepository;
         this.effectivenessRepository = effectivenessRepository;
+        this.catalogueTtl = catalogueTtl;
+        this.clock = clock;
     }
 
     /**
@@ -62,6 +96,68 @@ public class PokemonService {
         Pokemon pokemon = pokemonRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Pokemon not found with id " + id));
 
+        List<TypeEffectiveness> allAttacks = new ArrayList<>();
+        allAttacks.addAll(effectivenessRepository.findByDefenderType(pokemon.getType1()));
+        if (pokemon.getType2() != null) {
+            allAttacks.addAll(effectivenessRepository.findByDefenderType(pokemon.getType2()));
+        }
+
+        return toDetailDto(pokemon, allAttacks);
+    }
+
+    /**
+     * Retrieves several Pokémon by ID in a single round trip.
+     * <p>
+     * The Pokémon are loaded by one query with types and abilities fetch-joined, and
+     * their multipliers come from the cached type chart, so a whole team renders with
+     * at most two statements (one more on the first call, to load the chart).
+     *
+     * @param ids - the IDs of the Pokémon; duplicates are ignored
+     * @return the Pokémon DTOs, in the order the IDs were first given
+     * @throws PokemonNotFoundException if any of the IDs does not exist
+     */
+    public List<PokemonDto> getPokemonByIds(List<Integer> ids) {
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        Map<Integer, Pokemon> found = pokemonRepository.findAllDetailedByIdIn(requested).stream()
+                .collect(Collectors.toMap(Pokemon::getId, p -> p));
+
+        List<Integer> missing = requested.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new PokemonNotFoundException("Pokemon not found with ids " + missing);
+        }
+
+        Map<Integer, List<TypeEffectiveness>> chart = getTypeChart();
+        List<PokemonDto> result = new ArrayList<>(requested.size());
+        for (Integer id : requested) {
+            Pokemon pokemon = found.get(id);
+            List<TypeEffectiveness> allAttacks = new ArrayList<>(attacksAgainst(chart, pokemon.getType1()));
+            allAttacks.addAll(attacksAgainst(chart, pokemon.getType2()));
+            result.add(toDetailDto(pokemon, allAttacks));
+        }
+        return result;
+    }
+
+    // reloaded once catalogueTtl has elapsed, so changes made directly in the database show up
+    private Map<Integer, List<TypeEffectiveness>> getTypeChart() {
+        Cached<Map<Integer, List<TypeEffectiveness>>> cached = typeChart;
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        synchronized (this) {
+            if (!isFresh(typeChart)) {
+                typeChart = new Cached<>(effectivenessRepository.findAllWithTypes().stream()
+                        .collect(Collectors.groupingBy(te -> te.getDefenderType().getId())),
+                        clock.instant().plus(catalogueTtl));
+            }
+            return typeChart.value();
+        }
+    }
+
+    private static List<TypeEffectiveness> attacksAgainst(Map<Integer, List<TypeEffectiveness>> chart, Type defender) {
+        return defender == null ? List.of() : chart.getOrDefault(defender.getId(), List.of());
+    }
+
+    private PokemonDto toDetailDto(Pokemon pokemon, List<TypeEffectiveness> allAttacks) {
         PokemonDto dto = new PokemonDto();
         dto.setId(pokemon.getId());
         dto.setNdex(pokemon.getNdex());
@@ -122,12 +218,6 @@ public class PokemonService {
 
         // Calcolo moltiplicatori (come prima)
         Map<String, Double> multipliers = new HashMap<>();
-        List<TypeEffectiveness> allAttacks = new ArrayList<>();
-        allAttacks.addAll(effectivenessRepository.findByDefenderType(pokemon.getType1()));
-        if (pokemon.getType2() != null) {
-            allAttacks.addAll(effectivenessRepository.findByDefenderType(pokemon.getType2()));
-        }
-
         for (TypeEffectiveness te : allAttacks) {
             String attackerName = te.getAttackerType().getName();
             multipliers.merge(attackerName, te.getMultiplier().doubleValue(), (oldVal, newVal) -> oldVal * newVal);
@@ -163,24 +253,117 @@ public class PokemonService {
         var spec = PokemonSpecification.fromCriteria(criteria);
         Page<Pokemon> page = pokemonRepository.findAll(spec, pageable);
 
-        return page.map(p -> {
-            List<TypeDto> types = new ArrayList<>();
-            if (p.getType1() != null) types.add(new TypeDto(p.getType1().getId(), p.getType1().getName()));
-            if (p.getType2() != null) types.add(new TypeDto(p.getType2().getId(), p.getType2().getName()));
+        return page.map(this::toListDto);
+    }
+
+    /**
+     * Searches Pokémon with keyset (cursor) pagination.
+     * <p>
+     * Rows are ordered by {@code order} and then by id. The next page is located by
+     * seeking after the cursor position, so deep pages cost the same as the first
+     * one and no count query is run.
+     *
+     * @param criteria - the search criteria
+     * @param order    - the (already whitelisted) sort order
+     * @param size     - maximum number of items in the page
+     * @param after    - cursor of the previous page, {@code null} for the first page
+     * @return a cursor page of Pokémon DTOs
+     * @throws InvalidCursorException if the cursor does not match {@code order}
+     */
+    public CursorPagedResponse<PokemonListDto> scroll(PokemonSearchCriteria criteria, Sort.Order order,
+                                                      int size, Cursor after) {
+        Specification<Pokemon> spec = PokemonSpecification.fromCriteria(criteria);
+        if (after != null) {
+            if (!after.property().equals(order.getProperty()) || after.direction() != order.getDirection()) {
+                throw new InvalidCursorException("Cursor does not match the requested sort");
+            }
+            spec = spec.and(keysetAfter(after));
+        }
+
+        Sort sort = KeysetSpecification.sortFor(order);
+        List<Pokemon> rows = pokemonRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+
+        return CursorPagedResponse.from(rows, size, this::toListDto, p -> new Cursor(
+                order.getProperty(), order.getDirection(), sortValueOf(p, order.getProperty()), p.getId()));
+    }
 
-            return new PokemonListDto(
-                    p.getId(),
-                    p.getNdex(),
-                    p.getSpecies(),
-                    p.getForme(),
-                    p.getPokemonClass(),
-                    types,
-                    p.getImageUrl()
-            );
-        });
+    private Specification<Pokemon> keysetAfter(Cursor after) {
+        try {
+            return switch (after.property()) {
+                case "ndex" -> KeysetSpecification.after("ndex", after.direction(), Integer.valueOf(after.value()), after.id());
+                case "species" -> KeysetSpecification.after("species", after.direction(), after.value(), after.id());
+                case KeysetSpecification.ID -> KeysetSpecification.<Pokemon, Integer>after(
+                        KeysetSpecification.ID, after.direction(), null, after.id());
+                default -> throw new InvalidCursorException("Unsupported cursor sort " + after.property());
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
     }
 
+    private static String sortValueOf(Pokemon p, String property) {
+        return switch (property) {
+            case "ndex" -> String.valueOf(p.getNdex());
+            case "species" -> p.getSpecies();
+            default -> null;
+        };
+    }
+
+    private PokemonListDto toListDto(Pokemon p) {
+        List<TypeDto> types = new ArrayList<>();
+        if (p.getType1() != null) types.add(new TypeDto(p.getType1().getId(), p.getType1().getName()));
+        if (p.getType2() != null) types.add(new TypeDto(p.getType2().getId(), p.getType2().getName()));
+
+        return new PokemonListDto(
+                p.getId(),
+                p.getNdex(),
+                p.getSpecies(),
+                p.getForme(),
+                p.getPokemonClass(),
+                types,
+                p.getImageUrl()
+        );
+    }
+
+    /**
+     * Returns the metadata used to populate the catalogue filters.
+     * <p>
+     * The metadata is effectively static, so it is loaded once and then served
+     * from memory until the catalogue cache TTL ({@code pokemon.catalogue-cache.ttl})
+     * elapses.
+     *
+     * @return the filters DTO
+     */
     public PokemonFiltersDto getFilters() {
+        return getVersionedFilters().value();
+    }
+
+    /**
+     * Returns the cached filters metadata together with its strong ETag.
+     * <p>
+     * On a cache miss the types, the abilities and a single aggregate query for
+     * all numeric ranges are loaded; until the entry expires no further query is issued.
+     *
+     * @return the cached filters and their ETag
+     */
+    public Versioned<PokemonFiltersDto> getVersionedFilters() {
+        Cached<Versioned<PokemonFiltersDto>> cached = filtersCache;
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        synchronized (this) {
+            if (!isFresh(filtersCache)) {
+                filtersCache = new Cached<>(loadFilters(), clock.instant().plus(catalogueTtl));
+            }
+            return filtersCache.value();
+        }
+    }
+
+    private boolean isFresh(Cached<?> cached) {
+        return cached != null && clock.instant().isBefore(cached.expiresAt());
+    }
+
+    private Versioned<PokemonFiltersDto> loadFilters() {
         // Retrieves all types
         List<TypeDto> types = typeRepository.findAll().stream()
                 .map(t -> new TypeDto(t.getId(), t.getName()))
@@ -191,30 +374,30 @@ public class PokemonService {
                 .map(a -> new AbilityListDto(a.getId(), a.getName()))
                 .toList();
 
-        // ndex
-        Range<Integer> ndexRange = new Range<>(
-                pokemonRepository.findMinNdex(),
-                pokemonRepository.findMaxNdex()
-        );
-
-        // height
-        Range<BigDecimal> heightRange = new Range<>(
-                pokemonRepository.findMinHeight(),
-                pokemonRepository.findMaxHeight()
-        );
-
-        // width
-        Range<BigDecimal> widthRange = new Range<>(
-                pokemonRepository.findMinWeight(),
-                pokemonRepository.findMaxWeight()
-        );
+        // ndex, height and weight bounds in one round trip
+        PokemonRepository.FilterRanges ranges = pokemonRepository.findFilterRanges();
 
-        return new  PokemonFiltersDto(
+        PokemonFiltersDto filters = new PokemonFiltersDto(
                 types,
                 abilities,
-                ndexRange,
-                widthRange,
-                heightRange
+                new Range<>(ranges.getMinNdex(), ranges.getMaxNdex()),
+                new Range<>(ranges.getMinWeight(), ranges.getMaxWeight()),
+                new Range<>(ranges.getMinHeight(), ranges.getMaxHeight())
         );
+        return new Versioned<>(filters, ETags.strong(canonicalForm(filters)));
+    }
+
+    // Stable textual form of the filters, used only to derive the ETag
+    private static String canonicalForm(PokemonFiltersDto filters) {
+        StringBuilder sb = new StringBuilder();
+        filters.types().forEach(t -> sb.append("t:").append(t.id()).append('=').append(t.name()).append('\n'));
+        filters.abilities().forEach(a -> sb.append("a:").append(a.id()).append('=').append(a.name()).append('\n'));
+        sb.append("n:").append(filters.ndexRange().getMin()).append(',').append(filters.ndexRange().getMax()).append('\n');
+        sb.append("w:").append(filters.weightRange().getMin()).append(',').append(filters.weightRange().getMax()).append('\n');
+        sb.append("h:").append(filters.heightRange().getMin()).append(',').append(filters.heightRange().getMax());
+        return sb.toString();
+    }
+
+    private record Cached<T>(T value, Instant expiresAt) {
     }
 }
@@ -0,0 +1,185 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.dto.TeamAnalysisDto;
+import com.pokedexsocial.backend.dto.TeamAnalysisRequest;
+import com.pokedexsocial.backend.exception.InvalidTeamOperationException;
+import com.pokedexsocial.backend.exception.PokemonNotFoundException;
+import com.pokedexsocial.backend.exception.TeamNotFoundException;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.repository.TeamRepository;
+import com.pokedexsocial.backend.security.AuthContext;
+import com.pokedexsocial.backend.security.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Service scoring teams with the optimizer's fitness model.
+ *
+ * <p>Teams can be given as IDs of saved teams or as plain lists of Pokémon IDs.
+ * Saved teams are read with a single projection query; every Pokémon is then
+ * resolved from the in-memory {@link Pokedex}, so no other database access happens.
+ * Batches are scored in parallel.</p>
+ *
+ * <p>Private teams can be analyzed only by their owner or an ADMIN.</p>
+ */
+@Service
+public class TeamAnalysisService {
+
+    private final TeamRepository teamRepository;
+    private final Pokedex pokedex;
+    private final PokemonTeamFitnessFunction fitnessFunction;
+
+    public TeamAnalysisService(TeamRepository teamRepository,
+                               Pokedex pokedex,
+                               PokemonTeamFitnessFunction fitnessFunction) {
+        this.teamRepository = teamRepository;
+        this.pokedex = pokedex;
+        this.fitnessFunction = fitnessFunction;
+    }
+
+    /**
+     * Computes the fitness components of every requested team.
+     *
+     * @param request the saved team IDs and/or member lists to analyze
+     * @return one analysis per team: saved teams first, in request order, then member lists
+     * @throws AccessDeniedException if the user is not authenticated or may not see a requested team
+     * @throws TeamNotFoundException if a requested team does not exist
+     * @throws PokemonNotFoundException if a member list contains an unknown Pokémon ID
+     * @throws InvalidTeamOperationException if a saved team has no members
+     */
+    public List<TeamAnalysisDto> analyze(TeamAnalysisRequest request) throws AccessDeniedException {
+        AuthenticatedUser current = AuthContext.getCurrentUser();
+        if (current == null) {
+            throw new AccessDeniedException("You must be logged in");
+        }
+
+        List<Integer> teamIds = new ArrayList<>();
+        List<List<Integer>> members = new ArrayList<>();
+        if (request.getTeamIds() != null && !request.getTeamIds().isEmpty()) {
+            loadSavedTeams(request.getTeamIds(), current).forEach((id, pokemonIds) -> {
+                teamIds.add(id);
+                members.add(pokemonIds);
+            });
+        }
+        if (request.getTeams() != null) {
+            for (List<Integer> pokemonIds : request.getTeams()) {
+                teamIds.add(null);
+                members.add(pokemonIds);
+            }
+        }
+
+        // risolti sul thread della richiesta: un ID sconosciuto fallisce prima di valutare
+        List<PokemonTeamGA> individuals = members.stream().map(this::toIndividual).toList();
+
+        return IntStream.range(0, individuals.size())
+                .parallel()
+                .mapToObj(i -> toDto(teamIds.get(i), members.get(i), fitnessFunction.breakdown(individuals.get(i))))
+                .toList();
+    }
+
+    /**
+     * Computes the total fitness of a list of Pokémon, resolved from the {@link Pokedex}.
+     *
+     * @param pokemonIds the IDs of the team members
+     * @return the weighted fitness, as assigned by the optimizer
+     * @throws PokemonNotFoundException if a Pokémon ID is unknown
+     */
+    public double score(List<Integer> pokemonIds) {
+        return fitnessFunction.breakdown(toIndividual(pokemonIds)).total();
+    }
+
+    /**
+     * Resolves a single team, given either as a saved team or as a list of Pokémon IDs,
+     * to the optimizer's Pokémon.
+     *
+     * @param teamId     the ID of a saved team, or {@code null}
+     * @param pokemonIds the IDs of the team members, used when {@code teamId} is {@code null}
+     * @return the team members, in slot order
+     * @throws AccessDeniedException if the user is not authenticated or may not see the team
+     * @throws TeamNotFoundException if the saved team does not exist
+     * @throws PokemonNotFoundException if a Pokémon ID is unknown
+     * @throws InvalidTeamOperationException if the saved team has no members
+     */
+    public List<PokemonGA> resolveTeam(Integer teamId, List<Integer> pokemonIds) throws AccessDeniedException {
+        AuthenticatedUser current = AuthContext.getCurrentUser();
+        if (current == null) {
+            throw new AccessDeniedException("You must be logged in");
+        }
+        List<Integer> members = teamId != null
+                ? loadSavedTeams(List.of(teamId), current).get(teamId)
+                : pokemonIds;
+        return List.of(toIndividual(members).getCoding());
+    }
+
+    /**
+     * Reads the member lists of the given saved teams with one query and checks that
+     * the current user can see them.
+     */
+    private Map<Integer, List<Integer>> loadSavedTeams(List<Integer> ids, AuthenticatedUser current)
+            throws AccessDeniedException {
+        Set<Integer> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Integer, List<Integer>> membersByTeam = new LinkedHashMap<>();
+        uniqueIds.forEach(id -> membersByTeam.put(id, null));
+
+        boolean isAdmin = "ADMIN".equalsIgnoreCase(current.role());
+        for (TeamRepository.TeamMemberRow row : teamRepository.findMemberRowsByTeamIdIn(uniqueIds)) {
+            // Se privato → accesso solo all'owner o admin
+            if ("PRIVATE".equalsIgnoreCase(row.getVisibility())
+                    && !row.getOwnerId().equals(current.id())
+                    && !isAdmin) {
+                throw new AccessDeniedException("You are not allowed to access this team");
+            }
+            List<Integer> teamMembers = membersByTeam.get(row.getTeamId());
+            if (teamMembers == null) {
+                teamMembers = new ArrayList<>();
+                membersByTeam.put(row.getTeamId(), teamMembers);
+            }
+            if (row.getPokemonId() != null) {
+                teamMembers.add(row.getPokemonId());
+            }
+        }
+
+        for (Map.Entry<Integer, List<Integer>> entry : membersByTeam.entrySet()) {
+            if (entry.getValue() == null) {
+                throw new TeamNotFoundException("Team with id " + entry.getKey() + " not found");
+            }
+            if (entry.getValue().isEmpty()) {
+                throw new InvalidTeamOperationException("Team with id " + entry.getKey() + " has no members");
+            }
+        }
+        return membersByTeam;
+    }
+
+    private PokemonTeamGA toIndividual(List<Integer> pokemonIds) {
+        PokemonGA[] coding = pokemonIds.stream()
+                .map(id -> pokedex.getById(id)
+                        .orElseThrow(() -> new PokemonNotFoundException("Pokemon not found with id " + id)))
+                .toArray(PokemonGA[]::new);
+        return new PokemonTeamGA(coding);
+    }
+
+    private static TeamAnalysisDto toDto(Integer teamId, List<Integer> pokemonIds, PokemonTeamFitnessFunction.Breakdown b) {
+        return new TeamAnalysisDto(
+                teamId,
+                List.copyOf(pokemonIds),
+                b.averageStats(),
+                b.typesDiversity(),
+                b.resistances(),
+                b.legendaries(),
+                b.commonWeaknesses(),
+                b.megaEvolutions(),
+                b.total()
+        );
+    }
+}
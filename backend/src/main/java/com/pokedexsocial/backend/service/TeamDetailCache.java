@@ -0,0 +1,194 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.dto.TeamDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of team details, keyed by team ID.
+ *
+ * <p>Entries are immutable {@link TeamSnapshot}s filled on read, evicted in LRU
+ * order once {@code maxSize} is reached and expired after {@code ttl}. They carry
+ * the owner ID and visibility, so authorization is still checked on every request.</p>
+ *
+ * <p>Every {@link #invalidate(Integer)} bumps a cache-wide counter. While a team is
+ * being loaded the cache remembers when it was last invalidated, and the snapshot
+ * is only stored if that did not happen after the load started, so a read racing
+ * with an update can never leave a stale entry behind. Nothing is kept per team
+ * once its loads are over, so the bookkeeping is bounded like the entries. Inside
+ * a transaction the invalidation is repeated after completion, which also covers
+ * reads that load the old row between the write and its commit.</p>
+ */
+@Component
+public class TeamDetailCache {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // guarded by this
+    private final Map<Integer, Entry> entries;
+    private final Map<Integer, Loading> loading = new HashMap<>();
+    private long invalidations;
+
+    @Autowired
+    public TeamDetailCache(@Value("${team.detail-cache.max-size:1000}") int maxSize,
+                           @Value("${team.detail-cache.ttl:PT10M}") Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    TeamDetailCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > TeamDetailCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the snapshot of a team, loading it on a miss or after expiry.
+     *
+     * @param teamId the ID of the team
+     * @param loader builds the team detail from the database; may throw if the team does not exist
+     * @return the cached or freshly loaded snapshot
+     */
+    public TeamSnapshot get(Integer teamId, Function<Integer, TeamDto> loader) {
+        long version;
+        Loading load;
+        synchronized (this) {
+            Entry cached = entries.get(teamId);
+            if (cached != null && clock.instant().isBefore(cached.expiresAt())) {
+                return cached.snapshot();
+            }
+            entries.remove(teamId);
+            version = invalidations;
+            load = loading.computeIfAbsent(teamId, id -> new Loading());
+            load.loaders++;
+        }
+
+        TeamSnapshot loaded = null;
+        try {
+            loaded = TeamSnapshot.of(loader.apply(teamId), version);
+            return loaded;
+        } finally {
+            synchronized (this) {
+                // an invalidation happened meanwhile: the loaded data may already be stale
+                if (loaded != null && load.invalidatedAt <= version) {
+                    entries.put(teamId, new Entry(loaded, clock.instant().plus(ttl)));
+                }
+                if (--load.loaders == 0) {
+                    loading.remove(teamId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the cached snapshot of a team and bumps its version. When called inside a
+     * transaction, the invalidation is repeated once the transaction completes.
+     *
+     * @param teamId the ID of the team that is being changed or deleted
+     */
+    public void invalidate(Integer teamId) {
+        evict(teamId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(teamId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the number of cached snapshots.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of teams currently being loaded.
+     *
+     * @return the number of teams with a load in flight
+     */
+    synchronized int loadingCount() {
+        return loading.size();
+    }
+
+    private synchronized void evict(Integer teamId) {
+        invalidations++;
+        Loading load = loading.get(teamId);
+        if (load != null) {
+            load.invalidatedAt = invalidations;
+        }
+        entries.remove(teamId);
+    }
+
+    private record Entry(TeamSnapshot snapshot, Instant expiresAt) {
+    }
+
+    // guarded by the cache: loads in flight for a team and its last invalidation during them
+    private static final class Loading {
+        int loaders;
+        long invalidatedAt;
+    }
+
+    /**
+     * Immutable snapshot of a team detail.
+     *
+     * @param ownerId    the ID of the team owner, for authorization checks
+     * @param visibility the team visibility, for authorization checks
+     * @param version    the invalidation count when the snapshot was loaded; a team
+     *                   invalidated since then is reloaded with a greater version
+     * @param team       the team detail; never handed out directly, see {@link #toDto()}
+     */
+    public record TeamSnapshot(Integer ownerId, String visibility, long version, TeamDto team) {
+
+        static TeamSnapshot of(TeamDto team, long version) {
+            return new TeamSnapshot(team.getUser().getId(), team.getVisibility(), version, copy(team));
+        }
+
+        /**
+         * Returns a copy of the team detail that the caller is free to modify.
+         *
+         * @return the team detail
+         */
+        public TeamDto toDto() {
+            return copy(team);
+        }
+
+        // members, user summaries and Pokémon DTOs are immutable, a shallow copy is enough
+        private static TeamDto copy(TeamDto source) {
+            TeamDto dto = new TeamDto();
+            dto.setId(source.getId());
+            dto.setName(source.getName());
+            dto.setDescription(source.getDescription());
+            dto.setVisibility(source.getVisibility());
+            dto.setCreatedAt(source.getCreatedAt());
+            dto.setUpdatedAt(source.getUpdatedAt());
+            dto.setUser(source.getUser());
+            dto.setMembers(List.copyOf(source.getMembers()));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.PagedResponse;
+import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.dto.TeamDto;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.repository.TeamFeedRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service maintaining and serving the public team feed.
+ *
+ * <p>The feed is a read model: {@link TeamService} calls {@link #publish(TeamDto)}
+ * or {@link #remove(Integer)} inside the transaction of every team write, and
+ * {@link #getFeed(Pageable)} serves pages from the {@code team_feed} table only,
+ * without joining teams, users, members, Pokémon or types.</p>
+ *
+ * <p>Every published team is also scored for the fitness leaderboard
+ * ({@link TeamLeaderboardService}); the score is stored in the same row.</p>
+ */
+@Service
+public class TeamFeedService {
+
+    private static final String PUBLIC = "PUBLIC";
+    private static final TypeReference<List<FeedMember>> MEMBERS_TYPE = new TypeReference<>() {};
+
+    private final TeamFeedRepository feedRepository;
+    private final ObjectMapper objectMapper;
+    private final TeamLeaderboardService leaderboardService;
+
+    public TeamFeedService(TeamFeedRepository feedRepository,
+                           ObjectMapper objectMapper,
+                           TeamLeaderboardService leaderboardService) {
+        this.feedRepository = feedRepository;
+        this.objectMapper = objectMapper;
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Mirrors a team that was just created or updated: public teams are inserted or
+     * refreshed in the feed, private ones are removed from it.
+     *
+     * @param team the team as returned to the client
+     */
+    @Transactional
+    public void publish(TeamDto team) {
+        if (!PUBLIC.equalsIgnoreCase(team.getVisibility())) {
+            remove(team.getId());
+            return;
+        }
+
+        TeamFeedEntry entry = new TeamFeedEntry();
+        entry.setTeamId(team.getId());
+        entry.setUserId(team.getUser().getId());
+        entry.setOwnerUsername(team.getUser().getUsername());
+        entry.setName(team.getName());
+        entry.setDescription(team.getDescription());
+        entry.setMembers(writeMembers(team.getMembers()));
+        entry.setCreatedAt(team.getCreatedAt());
+        entry.setUpdatedAt(team.getUpdatedAt());
+
+        double fitness = leaderboardService.score(team.getMembers().stream()
+                .map(m -> m.getPokemon().id())
+                .toList());
+        entry.setFitness(fitness);
+        entry.setFitnessVersion(PokemonTeamFitnessFunction.MODEL_VERSION);
+        feedRepository.save(entry);
+        leaderboardService.update(team.getId(), fitness);
+    }
+
+    /**
+     * Removes a team from the feed, if present.
+     *
+     * @param teamId the ID of the team
+     */
+    @Transactional
+    public void remove(Integer teamId) {
+        feedRepository.deleteById(teamId);
+        leaderboardService.remove(teamId);
+    }
+
+    /**
+     * Retrieves a page of the public team feed.
+     *
+     * @param pageable pagination info (page, size, sort)
+     * @return a {@link PagedResponse} of public {@link TeamDto}
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<TeamDto> getFeed(Pageable pageable) {
+        Page<TeamFeedEntry> page = feedRepository.findAll(pageable);
+        return PagedResponse.from(page.map(this::toDto));
+    }
+
+    private TeamDto toDto(TeamFeedEntry entry) {
+        TeamDto dto = new TeamDto();
+        dto.setId(entry.getTeamId());
+        dto.setName(entry.getName());
+        dto.setDescription(entry.getDescription());
+        dto.setVisibility(PUBLIC);
+        dto.setCreatedAt(entry.getCreatedAt());
+        dto.setUpdatedAt(entry.getUpdatedAt());
+        dto.setUser(new TeamDto.UserSummaryDto(entry.getUserId(), entry.getOwnerUsername()));
+        dto.setMembers(readMembers(entry.getMembers()).stream()
+                .map(m -> new TeamDto.MemberDto(m.slot(), m.pokemon()))
+                .toList());
+        return dto;
+    }
+
+    private String writeMembers(List<TeamDto.MemberDto> members) {
+        try {
+            return objectMapper.writeValueAsString(members.stream()
+                    .map(m -> new FeedMember(m.getSlot(), m.getPokemon()))
+                    .toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize team members", e);
+        }
+    }
+
+    private List<FeedMember> readMembers(String json) {
+        return readMembers(objectMapper, json);
+    }
+
+    private static List<FeedMember> readMembers(ObjectMapper objectMapper, String json) {
+        try {
+            return objectMapper.readValue(json, MEMBERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted team feed entry", e);
+        }
+    }
+
+    /**
+     * Extracts the Pokémon IDs, in slot order, from the stored members of a feed entry.
+     *
+     * @param objectMapper the mapper used to read the JSON
+     * @param json         the {@code members} column of a {@link TeamFeedEntry}
+     * @return the Pokémon IDs
+     */
+    static List<Integer> pokemonIds(ObjectMapper objectMapper, String json) {
+        return readMembers(objectMapper, json).stream()
+                .map(m -> m.pokemon().id())
+                .toList();
+    }
+
+    /** Stored shape of a member, same JSON as {@link TeamDto.MemberDto}. */
+    private record FeedMember(Integer slot, PokemonListDto pokemon) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.LeaderboardEntryDto;
+import com.pokedexsocial.backend.dto.PagedResponse;
+import com.pokedexsocial.backend.exception.TeamNotFoundException;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.repository.TeamFeedRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining the fitness leaderboard of public teams.
+ *
+ * <p>Scores are stored in the {@code team_feed} table: {@link TeamFeedService} computes
+ * them with {@link #score(List)} on every team write and reports them through
+ * {@link #update(Integer, double)} and {@link #remove(Integer)}. The ranking itself is
+ * kept in memory in a {@link LeaderboardIndex}, so top-K and rank queries never sort
+ * or scan the table.</p>
+ *
+ * <p>At startup the index is loaded from the stored scores. Entries scored with an
+ * older {@link PokemonTeamFitnessFunction#MODEL_VERSION} (or never scored) are then
+ * re-scored by a background job, chunk by chunk, each chunk evaluated in parallel.</p>
+ */
+@Service
+public class TeamLeaderboardService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TeamLeaderboardService.class);
+
+    private final TeamFeedRepository feedRepository;
+    private final TeamAnalysisService analysisService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardIndex index = new LeaderboardIndex();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "leaderboard-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TeamLeaderboardService(TeamFeedRepository feedRepository,
+                                  TeamAnalysisService analysisService,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.feedRepository = feedRepository;
+        this.analysisService = analysisService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Retrieves a page of the leaderboard, highest fitness first.
+     *
+     * <p>Ranks come from the in-memory index; names and owners of the page are then
+     * read from the feed with a single query. The requested sort is ignored.</p>
+     *
+     * @param pageable pagination info (page, size)
+     * @return a {@link PagedResponse} of {@link LeaderboardEntryDto}
+     */
+    public PagedResponse<LeaderboardEntryDto> getLeaderboard(Pageable pageable) {
+        List<LeaderboardIndex.Entry> entries = index.range((int) pageable.getOffset() + 1, pageable.getPageSize());
+
+        Map<Integer, TeamFeedEntry> teams = entries.isEmpty() ? Map.of()
+                : feedRepository.findAllById(entries.stream().map(LeaderboardIndex.Entry::teamId).toList()).stream()
+                        .collect(Collectors.toMap(TeamFeedEntry::getTeamId, Function.identity()));
+
+        List<LeaderboardEntryDto> content = entries.stream()
+                .filter(e -> teams.containsKey(e.teamId()))
+                .map(e -> toDto(e, teams.get(e.teamId())))
+                .toList();
+        return PagedResponse.from(new PageImpl<>(content, pageable, index.size()));
+    }
+
+    /**
+     * Retrieves the leaderboard position of a public team.
+     *
+     * @param teamId the ID of the team
+     * @return the leaderboard entry of the team
+     * @throws TeamNotFoundException if the team is not on the leaderboard (missing or private)
+     */
+    public LeaderboardEntryDto getRank(Integer teamId) {
+        LeaderboardIndex.Entry entry = index.rankOf(teamId);
+        TeamFeedEntry team = entry == null ? null : feedRepository.findById(teamId).orElse(null);
+        if (team == null) {
+            throw new TeamNotFoundException("Team with id " + teamId + " is not on the leaderboard");
+        }
+        return toDto(entry, team);
+    }
+
+    /**
+     * Computes the leaderboard score of a team.
+     *
+     * @param pokemonIds the IDs of the team members
+     * @return the team fitness
+     */
+    public double score(List<Integer> pokemonIds) {
+        return analysisService.score(pokemonIds);
+    }
+
+    /**
+     * Moves a team to its new score once the current transaction commits.
+     *
+     * @param teamId  the ID of the team
+     * @param fitness the stored score
+     */
+    public void update(Integer teamId, double fitness) {
+        afterCommit(() -> index.put(teamId, fitness));
+    }
+
+    /**
+     * Removes a team from the leaderboard once the current transaction commits.
+     *
+     * @param teamId the ID of the team
+     */
+    public void remove(Integer teamId) {
+        afterCommit(() -> index.remove(teamId));
+    }
+
+    /**
+     * Loads the index from the stored scores and starts re-scoring outdated entries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loadIndex();
+        rebuild();
+    }
+
+    /**
+     * Re-scores, in background, every entry whose score is missing or outdated.
+     *
+     * @return a future completed with the number of re-scored teams
+     */
+    public CompletableFuture<Integer> rebuild() {
+        return CompletableFuture.supplyAsync(this::rescoreStaleEntries, rebuildExecutor)
+                .whenComplete((count, error) -> {
+                    if (error != null) {
+                        LOG.error("Leaderboard rebuild failed", error);
+                    } else if (count > 0) {
+                        LOG.info("Leaderboard rebuild re-scored {} teams", count);
+                    }
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    void loadIndex() {
+        int after = 0;
+        List<TeamFeedRepository.ScoreRow> chunk;
+        do {
+            chunk = feedRepository.findScoresAfter(after, PageRequest.of(0, CHUNK_SIZE));
+            for (TeamFeedRepository.ScoreRow row : chunk) {
+                index.put(row.getTeamId(), row.getFitness());
+                after = row.getTeamId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+
+    int rescoreStaleEntries() {
+        int version = PokemonTeamFitnessFunction.MODEL_VERSION;
+        int rescored = 0;
+        int after = 0;
+        List<TeamFeedEntry> chunk;
+        do {
+            chunk = feedRepository.findStaleAfter(version, after, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            after = chunk.get(chunk.size() - 1).getTeamId();
+
+            List<ScoredTeam> scored = chunk.parallelStream()
+                    .map(e -> new ScoredTeam(e.getTeamId(), score(TeamFeedService.pokemonIds(objectMapper, e.getMembers()))))
+                    .toList();
+
+            // se il team è stato ripubblicato nel frattempo il punteggio salvato è già aggiornato
+            List<ScoredTeam> stored = transactionTemplate.execute(status -> {
+                List<ScoredTeam> updated = new ArrayList<>();
+                for (ScoredTeam team : scored) {
+                    if (feedRepository.updateStaleFitness(team.teamId(), team.fitness(), version) == 1) {
+                        updated.add(team);
+                    }
+                }
+                return updated;
+            });
+            stored.forEach(team -> index.put(team.teamId(), team.fitness()));
+            rescored += stored.size();
+        } while (chunk.size() == CHUNK_SIZE);
+        return rescored;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static LeaderboardEntryDto toDto(LeaderboardIndex.Entry entry, TeamFeedEntry team) {
+        return new LeaderboardEntryDto(entry.rank(), team.getTeamId(), team.getName(),
+                team.getOwnerUsername(), entry.fitness());
+    }
+
+    private record ScoredTeam(int teamId, double fitness) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.pokedexsocial.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory locality-sensitive-hashing index of teams by member set.
+ *
+ * <p>Every team is hashed with a {@link MinHasher} signature of {@code bands * rows}
+ * values, split into {@code bands} bands of {@code rows} values each; a band is a
+ * bucket key. Teams sharing at least one bucket with the query are candidates, and
+ * only candidates are ranked, by exact Jaccard similarity. Two teams with
+ * similarity {@code s} become candidates with probability
+ * {@code 1 - (1 - s^rows)^bands}.</p>
+ *
+ * <p>Reads share a read lock, writes take the write lock.</p>
+ */
+public final class TeamLshIndex {
+
+    /** Default number of bands: with 3 rows, teams sharing 4 of 6 members are candidates ~96% of the time. */
+    public static final int DEFAULT_BANDS = 24;
+    /** Default number of rows per band: fewer rows mean more random collisions with unrelated teams. */
+    public static final int DEFAULT_ROWS = 3;
+
+    private final MinHasher hasher;
+    private final int bands;
+    private final int rows;
+    private final List<Map<Long, IntBag>> buckets;
+    private final Map<Integer, int[]> members = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Similar team found by a query.
+     *
+     * @param teamId     the ID of the team
+     * @param similarity the exact Jaccard similarity of the member sets
+     */
+    public record Match(int teamId, double similarity) {
+    }
+
+    public TeamLshIndex() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS, 0x5EED_7EA5L);
+    }
+
+    public TeamLshIndex(int bands, int rows, long seed) {
+        this.hasher = new MinHasher(bands * rows, seed);
+        this.bands = bands;
+        this.rows = rows;
+        this.buckets = new ArrayList<>(bands);
+        for (int i = 0; i < bands; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Inserts a team or replaces its members.
+     *
+     * @param teamId     the ID of the team
+     * @param pokemonIds the Pokémon IDs of the team
+     */
+    public void put(int teamId, Collection<Integer> pokemonIds) {
+        int[] set = MinHasher.toSet(pokemonIds);
+        int[] signature = hasher.signature(set);
+        lock.writeLock().lock();
+        try {
+            int[] previous = members.put(teamId, set);
+            if (previous != null) {
+                unlink(teamId, hasher.signature(previous));
+            }
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfAbsent(bandKey(signature, band), k -> new IntBag()).add(teamId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a team, if present.
+     *
+     * @param teamId the ID of the team
+     */
+    public void remove(int teamId) {
+        lock.writeLock().lock();
+        try {
+            int[] previous = members.remove(teamId);
+            if (previous != null) {
+                unlink(teamId, hasher.signature(previous));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed teams.
+     *
+     * @return the index size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return members.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the teams most similar to a member set among the LSH candidates.
+     *
+     * @param pokemonIds    the Pokémon IDs to compare with
+     * @param limit         maximum number of results
+     * @param excludeTeamId a team to leave out (the query team itself), or {@code -1}
+     * @return the matches with similarity above 0, most similar first (ties by team ID)
+     */
+    public List<Match> query(Collection<Integer> pokemonIds, int limit, int excludeTeamId) {
+        int[] set = MinHasher.toSet(pokemonIds);
+        int[] signature = hasher.signature(set);
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                IntBag bucket = buckets.get(band).get(bandKey(signature, band));
+                if (bucket != null) {
+                    bucket.addTo(candidates);
+                }
+            }
+            return topMatches(set, candidates, limit, excludeTeamId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact top-k search comparing the member set with every indexed team. Linear
+     * in the index size; meant as reference when measuring the recall of {@link #query}.
+     *
+     * @param pokemonIds    the Pokémon IDs to compare with
+     * @param limit         maximum number of results
+     * @param excludeTeamId a team to leave out, or {@code -1}
+     * @return the matches with similarity above 0, most similar first (ties by team ID)
+     */
+    public List<Match> bruteForce(Collection<Integer> pokemonIds, int limit, int excludeTeamId) {
+        int[] set = MinHasher.toSet(pokemonIds);
+        lock.readLock().lock();
+        try {
+            return topMatches(set, members.keySet(), limit, excludeTeamId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Match> topMatches(int[] set, Collection<Integer> teamIds, int limit, int excludeTeamId) {
+        Comparator<Match> order = Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparingInt(Match::teamId);
+        // min-heap sui migliori: in testa il peggiore dei k tenuti
+        PriorityQueue<Match> best = new PriorityQueue<>(order.reversed());
+        for (Integer teamId : teamIds) {
+            if (teamId == excludeTeamId) {
+                continue;
+            }
+            double similarity = MinHasher.jaccard(set, members.get(teamId));
+            if (similarity <= 0) {
+                continue;
+            }
+            Match match = new Match(teamId, similarity);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (limit > 0 && order.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+        List<Match> result = new ArrayList<>(best);
+        result.sort(order);
+        return result;
+    }
+
+    private void unlink(int teamId, int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            Map<Long, IntBag> bandBuckets = buckets.get(band);
+            long key = bandKey(signature, band);
+            IntBag bucket = bandBuckets.get(key);
+            if (bucket != null && bucket.remove(teamId) && bucket.isEmpty()) {
+                bandBuckets.remove(key);
+            }
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return key ^ (key >>> 31);
+    }
+
+    /** Unordered growable bag of ints, cheaper than a list of boxed IDs. */
+    private static final class IntBag {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(Set<Integer> target) {
+            for (int i = 0; i < size; i++) {
+                target.add(values[i]);
+            }
+        }
+    }
+}
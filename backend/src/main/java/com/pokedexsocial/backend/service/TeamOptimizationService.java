@@ -1,28 +1,420 @@
 package com.pokedexsocial.backend.service;
 
+import com.pokedexsocial.backend.dto.CounterTeamRequest;
 import com.pokedexsocial.backend.dto.OptimizationResultDTO;
+import com.pokedexsocial.backend.dto.ParetoFrontDto;
+import com.pokedexsocial.backend.dto.TeamCompletionRequest;
+import com.pokedexsocial.backend.exception.InvalidTeamConstraintsException;
+import com.pokedexsocial.backend.exception.PokemonNotFoundException;
+import com.pokedexsocial.backend.optimizer.ga.archive.PokemonTeamEliteArchive;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.PokemonTeamCheckpoints;
+import com.pokedexsocial.backend.optimizer.ga.fitness.CounterTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.fitness.MultiObjectiveFitnessFunction;
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.initializer.PokemonTeamInitializer;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.DoubleBufferedGeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.GeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.NsgaIIGeneticAlgorithm;
 import com.pokedexsocial.backend.optimizer.ga.metaheuristics.PokemonGeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.SimpleGeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.operators.adaptive.PokemonAdaptiveOperatorControl;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.ConstrainedPokemonTeamCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.diversity.PokemonTeamDiversityOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.localsearch.PokemonTeamHillClimbing;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.PokemonSwapMutation;
+import com.pokedexsocial.backend.optimizer.ga.results.ParetoResults;
 import com.pokedexsocial.backend.optimizer.ga.results.Results;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.team.BranchAndBoundTeamSolver;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypePool;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the team optimizers behind the {@code /optimizer} endpoints.
+ *
+ * <p>With {@code optimizer.pipeline=double-buffered} the unconstrained and constrained runs
+ * use {@link DoubleBufferedGeneticAlgorithm}, which evolves the population in preallocated
+ * slots instead of copying it every generation. That engine has no local search, duplicate
+ * replacement, adaptive control or checkpoints, so the service refuses to start when the
+ * switch is combined with any of them. The default, {@code simple}, uses the
+ * {@link PokemonGeneticAlgorithm} as configured. Counter and Pareto runs always use their
+ * own engines.</p>
+ */
 @Service
 public class TeamOptimizationService {
 
+    static final String DEFAULT_JOB = "default";
+    static final String SIMPLE_PIPELINE = "simple";
+    static final String DOUBLE_BUFFERED_PIPELINE = "double-buffered";
+
     private final PokemonGeneticAlgorithm pokemonGeneticAlgorithm;
+    private final PokemonTypePool pokemonTypePool;
+    private final TeamAnalysisService teamAnalysisService;
+    private final Pokedex pokedex;
+    private final BranchAndBoundTeamSolver exactSolver;
+    private final PokemonTeamCheckpoints checkpoints;
+    private final PokemonTeamEliteArchive eliteArchive;
+    private final boolean doubleBuffered;
+    //Null con la pipeline semplice
+    private final DoubleBufferedGeneticAlgorithm<PokemonTeamGA> bufferedAlgorithm;
 
-    public TeamOptimizationService(PokemonGeneticAlgorithm pokemonGeneticAlgorithm) {
+    /**
+     * @param pipeline {@code simple} or {@code double-buffered}
+     * @throws IllegalStateException if the pipeline is unknown, or double-buffered while local
+     *                               search, duplicate replacement, adaptive control or
+     *                               checkpoints are enabled
+     */
+    public TeamOptimizationService(PokemonGeneticAlgorithm pokemonGeneticAlgorithm,
+                                   PokemonTypePool pokemonTypePool,
+                                   TeamAnalysisService teamAnalysisService,
+                                   Pokedex pokedex,
+                                   BranchAndBoundTeamSolver exactSolver,
+                                   PokemonTeamCheckpoints checkpoints,
+                                   PokemonTeamEliteArchive eliteArchive,
+                                   @Value("${optimizer.pipeline:simple}") String pipeline) {
         this.pokemonGeneticAlgorithm = pokemonGeneticAlgorithm;
+        this.pokemonTypePool = pokemonTypePool;
+        this.teamAnalysisService = teamAnalysisService;
+        this.pokedex = pokedex;
+        this.exactSolver = exactSolver;
+        this.checkpoints = checkpoints;
+        this.eliteArchive = eliteArchive;
+        this.doubleBuffered = switch (pipeline) {
+            case SIMPLE_PIPELINE -> false;
+            case DOUBLE_BUFFERED_PIPELINE -> true;
+            default -> throw new IllegalStateException("Unknown optimizer.pipeline: " + pipeline
+                    + " (expected " + SIMPLE_PIPELINE + " or " + DOUBLE_BUFFERED_PIPELINE + ")");
+        };
+        if (doubleBuffered) {
+            List<String> conflicts = doubleBufferedConflicts();
+            if (!conflicts.isEmpty()) {
+                throw new IllegalStateException("optimizer.pipeline=" + DOUBLE_BUFFERED_PIPELINE
+                        + " cannot be combined with " + String.join(", ", conflicts));
+            }
+            this.bufferedAlgorithm = doubleBuffered(pokemonGeneticAlgorithm.getInitializer(),
+                    pokemonGeneticAlgorithm.getCrossoverOperator(), pokemonGeneticAlgorithm.getMutationOperator());
+        } else {
+            this.bufferedAlgorithm = null;
+        }
+    }
+
+    //Le impostazioni che il motore a doppio buffer non supporta, con la proprietà che le attiva
+    private List<String> doubleBufferedConflicts() {
+        List<String> conflicts = new ArrayList<>();
+        if (pokemonGeneticAlgorithm.getLocalSearchOperator() != null) {
+            conflicts.add("local search (optimizer.local-search.enabled)");
+        }
+        //L'operatore di diversità c'è sempre; conta solo se sostituisce i duplicati
+        boolean replacesDuplicates = pokemonGeneticAlgorithm.getDiversityOperator() instanceof PokemonTeamDiversityOperator diversity
+                ? diversity.isSuppressDuplicates()
+                : pokemonGeneticAlgorithm.getDiversityOperator() != null;
+        if (replacesDuplicates) {
+            conflicts.add("duplicate replacement (optimizer.diversity.suppress-duplicates)");
+        }
+        if (pokemonGeneticAlgorithm.getAdaptiveControl() != null) {
+            conflicts.add("adaptive control (optimizer.adaptive.enabled)");
+        }
+        if (checkpoints.isEnabled()) {
+            conflicts.add("checkpoints (optimizer.checkpoint.dir)");
+        }
+        return conflicts;
+    }
+
+    //Stessi parametri del GA di base; gli operatori devono lavorare sul posto
+    private DoubleBufferedGeneticAlgorithm<PokemonTeamGA> doubleBuffered(Initializer<PokemonTeamGA> initializer,
+                                                                         CrossoverOperator<PokemonTeamGA> crossover,
+                                                                         MutationOperator<PokemonTeamGA> mutation) {
+        return new DoubleBufferedGeneticAlgorithm<>(
+                pokemonGeneticAlgorithm.getFitnessFunction(),
+                initializer,
+                pokemonGeneticAlgorithm.getSelectionOperator(),
+                crossover,
+                mutation,
+                pokemonGeneticAlgorithm.getMutationProbability(),
+                pokemonGeneticAlgorithm.getMaxIterations(),
+                pokemonGeneticAlgorithm.getMaxIterationsNoImprovements());
     }
 
+    /**
+     * Runs the optimizer. Part of the initial population is seeded from the elite archive
+     * of previous unconstrained runs ({@code optimizer.archive.seed-fraction}), and the
+     * final teams of this run are added to it.
+     */
     public OptimizationResultDTO optimize() throws CloneNotSupportedException {
-        Results<PokemonTeamGA> results = pokemonGeneticAlgorithm.run();
+        if (doubleBuffered) {
+            return toDto(archive(PokemonTeamEliteArchive.DEFAULT_KEY, bufferedAlgorithm.run()));
+        }
+        return toDto(archive(PokemonTeamEliteArchive.DEFAULT_KEY, pokemonGeneticAlgorithm.run()));
+    }
+
+    /**
+     * Runs the optimizer until it converges or the token is cancelled; a cancelled run
+     * returns the best team of the generations evaluated so far.
+     *
+     * <p>When checkpoints are enabled ({@code optimizer.checkpoint.dir}), the run is saved
+     * to disk periodically and when cancelled, and resumes from the last checkpoint left
+     * by a run that was cancelled or killed, e.g. by a restart. Only one run at a time holds
+     * the checkpoint; runs started while it is held run without checkpoints.</p>
+     *
+     * @param token the cancellation token checked between generations
+     * @return the best team found, flagged as cancelled when the run was stopped early
+     */
+    public OptimizationResultDTO optimize(CancellationToken token) throws CloneNotSupportedException {
+        if (doubleBuffered) {
+            return toDto(archive(PokemonTeamEliteArchive.DEFAULT_KEY, bufferedAlgorithm.run(token)));
+        }
+        try (PokemonTeamCheckpoints.Lease lease = checkpoints.lock(DEFAULT_JOB)) {
+            return toDto(archive(PokemonTeamEliteArchive.DEFAULT_KEY,
+                    pokemonGeneticAlgorithm.run(token, lease == null ? null : lease.getStore())));
+        }
+    }
+
+    /**
+     * Completes a team under the given constraints: locked members stay in the team,
+     * banned Pokémon and rarities are never proposed and, when allow-lists are given,
+     * only the allowed Pokémon or types are. The initializer, crossover and
+     * mutation of the base algorithm are rebuilt for this request so that they sample
+     * only from the filtered candidate pool and never touch locked slots; fitness and
+     * stopping criteria are those of {@link #optimize()}. The elite archive is kept
+     * per constraint set, so seeds always come from runs with the same constraints.
+     *
+     * <p>When the filtered pool is small enough ({@link BranchAndBoundTeamSolver#isTractable}),
+     * the team is found exactly by branch-and-bound instead, among teams of distinct
+     * Pokémon; the result then reports 0 iterations.</p>
+     *
+     * @param request the locked members and the bans
+     * @return the best team found, including the locked members
+     * @throws PokemonNotFoundException        if a locked Pokémon does not exist
+     * @throws InvalidTeamConstraintsException if no team can satisfy the constraints
+     */
+    public OptimizationResultDTO optimize(TeamCompletionRequest request) throws CloneNotSupportedException {
+        return optimize(request, CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #optimize(TeamCompletionRequest)}, stopping early when the token is cancelled.
+     */
+    public OptimizationResultDTO optimize(TeamCompletionRequest request, CancellationToken token)
+            throws CloneNotSupportedException {
+        List<PokemonGA> locked = request.getLockedPokemonIds().stream()
+                .map(id -> pokedex.getById(id)
+                        .orElseThrow(() -> new PokemonNotFoundException("Pokemon not found with id " + id)))
+                .toList();
+
+        TeamConstraints constraints;
+        try {
+            constraints = TeamConstraints.of(pokedex, locked, request.getBannedPokemonIds(),
+                    request.getBannedRarities(), request.isAllowMegaEvolutions(), allowed(request));
+            if (exactSolver.isTractable(constraints)) {
+                BranchAndBoundTeamSolver.Solution solution = exactSolver.solve(constraints, token);
+                return new OptimizationResultDTO(solution.team(), solution.team().getFitness(), 0, List.of(
+                        "Exact search: " + solution.searchSize() + " teams, " + solution.evaluated()
+                                + " evaluated, " + solution.pruned() + " subtrees pruned"),
+                        solution.isCancelled() ? solution.stopReason().name() : null);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTeamConstraintsException(e.getMessage());
+        }
+
+        if (!(pokemonGeneticAlgorithm.getInitializer() instanceof PokemonTeamInitializer initializer)
+                || !(pokemonGeneticAlgorithm.getMutationOperator() instanceof PokemonSwapMutation mutation)) {
+            throw new IllegalStateException("The optimizer does not support team constraints");
+        }
+
+        String archiveKey = archiveKey(request);
+        if (doubleBuffered) {
+            GeneticAlgorithm<PokemonTeamGA> constrainedAlgorithm = doubleBuffered(
+                    initializer.withConstraints(constraints, archiveKey),
+                    ConstrainedPokemonTeamCrossover.of(pokemonGeneticAlgorithm.getCrossoverOperator(), constraints),
+                    mutation.withConstraints(constraints));
+            return toDto(archive(archiveKey, constrainedAlgorithm.run(token)));
+        }
+        SimpleGeneticAlgorithm<PokemonTeamGA> constrainedAlgorithm = new SimpleGeneticAlgorithm<>(
+                pokemonGeneticAlgorithm.getFitnessFunction(),
+                initializer.withConstraints(constraints, archiveKey),
+                pokemonGeneticAlgorithm.getSelectionOperator(),
+                ConstrainedPokemonTeamCrossover.of(pokemonGeneticAlgorithm.getCrossoverOperator(), constraints),
+                mutation.withConstraints(constraints),
+                pokemonGeneticAlgorithm.getMutationProbability(),
+                pokemonGeneticAlgorithm.getMaxIterations(),
+                pokemonGeneticAlgorithm.getMaxIterationsNoImprovements(),
+                pokemonGeneticAlgorithm.getLocalSearchOperator() instanceof PokemonTeamHillClimbing localSearch
+                        ? localSearch.withConstraints(constraints)
+                        : null,
+                pokemonGeneticAlgorithm.getDiversityOperator() instanceof PokemonTeamDiversityOperator diversity
+                        ? diversity.withConstraints(constraints)
+                        : null,
+                pokemonGeneticAlgorithm.getAdaptiveControl() instanceof PokemonAdaptiveOperatorControl adaptive
+                        ? adaptive.withConstraints(constraints)
+                        : null);
+        return toDto(archive(archiveKey, constrainedAlgorithm.run(token)));
+    }
+
+    //Chiave dell'archivio: la stessa per richieste con gli stessi vincoli. Gli insiemi sono
+    //ordinati, i membri bloccati no: occupano gli slot nell'ordine dato, quindi lo stesso
+    //gruppo in un altro ordine è un altro vincolo
+    static String archiveKey(TeamCompletionRequest request) {
+        return "locked=" + request.getLockedPokemonIds().stream().map(String::valueOf).collect(Collectors.joining(","))
+                + ";banned=" + sorted(request.getBannedPokemonIds())
+                + ";rarities=" + sorted(request.getBannedRarities())
+                + ";allowed=" + sorted(request.getAllowedPokemonIds())
+                + ";types=" + sorted(request.getAllowedTypes())
+                + ";mega=" + request.isAllowMegaEvolutions();
+    }
+
+    private static <E extends Comparable<E>> String sorted(Collection<E> values) {
+        return values.stream().sorted().map(String::valueOf).collect(Collectors.joining(","));
+    }
 
+    private Results<PokemonTeamGA> archive(String key, Results<PokemonTeamGA> results) {
+        eliteArchive.record(key, results.getBestGeneration());
+        return results;
+    }
+
+    //Filtro delle liste di ammissione: una lista vuota ammette tutti
+    private static Predicate<PokemonGA> allowed(TeamCompletionRequest request) {
+        Set<Integer> ids = request.getAllowedPokemonIds();
+        Set<PokemonTypeName> types = request.getAllowedTypes();
+        return p -> (ids.isEmpty() || ids.contains(p.getId()))
+                && (types.isEmpty() || types.contains(p.getType1().getName()) || types.contains(p.getType2().getName()));
+    }
+
+    /**
+     * Evolves a team that counters the given opponent, scored by
+     * {@link CounterTeamFitnessFunction}. Operators and stopping criteria are the same
+     * as {@link #optimize()}; only the fitness function, built for this opponent, changes.
+     * The local search stage and the elite archive are not used, since both rely on the
+     * standard team fitness.
+     *
+     * @param request the opponent, as a saved team or a list of Pokémon IDs
+     * @return the best team found
+     * @throws AccessDeniedException if the user is not authenticated or may not see the opponent team
+     */
+    public OptimizationResultDTO optimizeCounter(CounterTeamRequest request)
+            throws AccessDeniedException, CloneNotSupportedException {
+        return optimizeCounter(request, CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #optimizeCounter(CounterTeamRequest)}, stopping early when the token is cancelled.
+     */
+    public OptimizationResultDTO optimizeCounter(CounterTeamRequest request, CancellationToken token)
+            throws AccessDeniedException, CloneNotSupportedException {
+        List<PokemonGA> opponent = teamAnalysisService.resolveTeam(request.getTeamId(), request.getMembers());
+
+        SimpleGeneticAlgorithm<PokemonTeamGA> counterAlgorithm = new SimpleGeneticAlgorithm<>(
+                new CounterTeamFitnessFunction(pokemonTypePool.getTypes(), opponent),
+                unseededInitializer(),
+                pokemonGeneticAlgorithm.getSelectionOperator(),
+                pokemonGeneticAlgorithm.getCrossoverOperator(),
+                pokemonGeneticAlgorithm.getMutationOperator(),
+                pokemonGeneticAlgorithm.getMutationProbability(),
+                pokemonGeneticAlgorithm.getMaxIterations(),
+                pokemonGeneticAlgorithm.getMaxIterationsNoImprovements(),
+                null,
+                pokemonGeneticAlgorithm.getDiversityOperator(),
+                pokemonGeneticAlgorithm.getAdaptiveControl());
+        return toDto(counterAlgorithm.run(token));
+    }
+
+    //Il GA di base senza semina dall'archivio, i cui team sono i migliori per un'altra fitness
+    private Initializer<PokemonTeamGA> unseededInitializer() {
+        return pokemonGeneticAlgorithm.getInitializer() instanceof PokemonTeamInitializer initializer
+                ? initializer.withoutArchive()
+                : pokemonGeneticAlgorithm.getInitializer();
+    }
+
+    /**
+     * Evolves teams with NSGA-II on the separate components of the team fitness,
+     * instead of their weighted sum, and returns the Pareto front: the trade-offs
+     * between raw stats, type coverage and the other components. Initializer,
+     * crossover, mutation and iteration budget are those of {@link #optimize()}, but the
+     * initial population is not seeded from the elite archive: its teams are the best
+     * for the weighted sum, not a spread along the front.
+     *
+     * @return the non-dominated teams, duplicates removed
+     */
+    public ParetoFrontDto optimizePareto() throws CloneNotSupportedException {
+        return optimizePareto(CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #optimizePareto()}, stopping early when the token is cancelled; the
+     * front is then the first front of the last generation evaluated.
+     */
+    public ParetoFrontDto optimizePareto(CancellationToken token) throws CloneNotSupportedException {
+        if (!(pokemonGeneticAlgorithm.getFitnessFunction() instanceof MultiObjectiveFitnessFunction<PokemonTeamGA> objectives)) {
+            throw new IllegalStateException("The optimizer fitness function does not expose its objectives");
+        }
+        NsgaIIGeneticAlgorithm<PokemonTeamGA> nsga = new NsgaIIGeneticAlgorithm<>(
+                objectives,
+                unseededInitializer(),
+                pokemonGeneticAlgorithm.getCrossoverOperator(),
+                pokemonGeneticAlgorithm.getMutationOperator(),
+                pokemonGeneticAlgorithm.getMutationProbability(),
+                pokemonGeneticAlgorithm.getMaxIterations());
+        ParetoResults<PokemonTeamGA> results = nsga.run(token);
+
+        List<String> names = results.getObjectiveNames();
+        //Lo stesso team può comparire più volte nel fronte, anche con i membri in ordine diverso;
+        //l'hash raggruppa soltanto, perché una collisione non deve scartare un team diverso
+        Map<Long, List<PokemonTeamGA>> seen = new HashMap<>();
+        List<ParetoFrontDto.Team> teams = results.getParetoFront().stream()
+                .sorted(Comparator.comparingDouble((ParetoResults.Solution<PokemonTeamGA> s) -> s.individual().getFitness())
+                        .reversed())
+                .filter(s -> firstWithMembers(seen, s.individual()))
+                .map(s -> {
+                    Map<String, Double> values = new LinkedHashMap<>();
+                    for (int i = 0; i < names.size(); i++) {
+                        values.put(names.get(i), s.objectives()[i]);
+                    }
+                    return new ParetoFrontDto.Team(s.individual(), values, s.individual().getFitness());
+                })
+                .toList();
+        return new ParetoFrontDto(names, teams, results.getNumberOfIterations(), stopReason(results));
+    }
+
+    private static boolean firstWithMembers(Map<Long, List<PokemonTeamGA>> seen, PokemonTeamGA team) {
+        List<PokemonTeamGA> bucket = seen.computeIfAbsent(team.canonicalHash(), hash -> new ArrayList<>(1));
+        for (PokemonTeamGA other : bucket) {
+            if (other.hasSameMembers(team)) {
+                return false;
+            }
+        }
+        bucket.add(team);
+        return true;
+    }
+
+    private static OptimizationResultDTO toDto(Results<PokemonTeamGA> results) {
         PokemonTeamGA bestTeam = results.getBestIndividual();
         double bestFitness = bestTeam.getFitness();
         int iterations = results.getNumberOfIterations();
         var log = results.getLog();
 
-        return new OptimizationResultDTO(bestTeam, bestFitness, iterations, log);
+        return new OptimizationResultDTO(bestTeam, bestFitness, iterations, log, stopReason(results));
+    }
+
+    private static String stopReason(Results<PokemonTeamGA> results) {
+        return results.isCancelled() ? results.getCancellation().name() : null;
     }
 }
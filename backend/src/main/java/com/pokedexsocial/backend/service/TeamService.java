@@ -1,10 +1,13 @@
 package com.pokedexsocial.backend.service;
 
 import com.pokedexsocial.backend.dto.CreateTeamRequest;
+import com.pokedexsocial.backend.dto.CursorPagedResponse;
 import com.pokedexsocial.backend.dto.PagedResponse;
 import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.dto.SimilarTeamDto;
 import com.pokedexsocial.backend.dto.TeamDto;
 import com.pokedexsocial.backend.dto.TypeDto;
+import com.pokedexsocial.backend.exception.InvalidCursorException;
 import com.pokedexsocial.backend.exception.InvalidTeamOperationException;
 import com.pokedexsocial.backend.exception.TeamNotFoundException;
 import com.pokedexsocial.backend.model.Pokemon;
@@ -16,16 +19,26 @@ import com.pokedexsocial.backend.repository.TeamRepository;
 import com.pokedexsocial.backend.repository.UserRepository;
 import com.pokedexsocial.backend.security.AuthContext;
 import com.pokedexsocial.backend.security.AuthenticatedUser;
+import com.pokedexsocial.backend.specification.KeysetSpecification;
+import com.pokedexsocial.backend.specification.TeamSpecification;
+import com.pokedexsocial.backend.util.Cursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,8 +48,12 @@ import java.util.stream.Collectors;
  * <p>This layer handles operations such as:</p>
  * <ul>
  *   <li>Creating, updating and deleting teams.</li>
- *   <li>Fetching teams by ID with visibility and authorization checks.</li>
- *   <li>Listing teams with pagination (user-specific or global view).</li>
+ *   <li>Fetching teams by ID with visibility and authorization checks, served from
+ *       {@link TeamDetailCache} and invalidated on every update or delete.</li>
+ *   <li>Listing teams with offset or cursor pagination (user-specific or global view).</li>
+ *   <li>Keeping the public team feed ({@link TeamFeedService}) and the similar-team
+ *       index ({@link TeamSimilarityService}) in sync with every write.</li>
+ *   <li>Finding public teams similar to a visible team.</li>
  * </ul>
  *
  * <p>Authorization rules:</p>
@@ -54,13 +71,22 @@ public class TeamService {
     private final TeamRepository teamRepository;
     private final PokemonRepository pokemonRepository;
     private final UserRepository userRepository;
+    private final TeamFeedService teamFeedService;
+    private final TeamDetailCache teamDetailCache;
+    private final TeamSimilarityService teamSimilarityService;
 
     public TeamService(TeamRepository teamRepository,
                        PokemonRepository pokemonRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       TeamFeedService teamFeedService,
+                       TeamDetailCache teamDetailCache,
+                       TeamSimilarityService teamSimilarityService) {
         this.teamRepository = teamRepository;
         this.pokemonRepository = pokemonRepository;
         this.userRepository = userRepository;
+        this.teamFeedService = teamFeedService;
+        this.teamDetailCache = teamDetailCache;
+        this.teamSimilarityService = teamSimilarityService;
     }
 
     /**
@@ -87,14 +113,15 @@ public class TeamService {
         team.setVisibility(request.getVisibility().toUpperCase());
 
         // aggiungi membri
-        request.getMembers().forEach(member -> {
-            Pokemon pokemon = pokemonRepository.findById(member.getPokemonId())
-                    .orElseThrow(() -> new InvalidTeamOperationException("Pokemon not found with id " + member.getPokemonId()));
-            team.getPokemons().add(new TeamPokemon(team, pokemon, member.getSlot()));
-        });
+        Map<Integer, Pokemon> pokemons = resolveMembers(request.getMembers());
+        request.getMembers().forEach(member ->
+                team.getPokemons().add(new TeamPokemon(team, pokemons.get(member.getPokemonId()), member.getSlot())));
 
         Team saved = teamRepository.save(team);
-        return mapToDto(saved);
+        TeamDto dto = mapToDto(saved);
+        teamFeedService.publish(dto);
+        teamSimilarityService.index(dto);
+        return dto;
     }
 
     /**
@@ -103,26 +130,31 @@ public class TeamService {
      * <p>Public teams are always visible. Private teams can be accessed only
      * by their owner or an ADMIN.</p>
      *
+     * <p>The team is read from {@link TeamDetailCache}; on a miss it is loaded with a
+     * single fetch-joined query. The visibility check runs on every request.</p>
+     *
      * @param teamId the ID of the team
      * @return the {@link TeamDto}
      * @throws AccessDeniedException if the user is not authorized
      * @throws TeamNotFoundException if no team with the given ID exists
      */
-    @Transactional(readOnly = true)
     public TeamDto getTeamById(Integer teamId) throws AccessDeniedException {
         AuthenticatedUser current = getAuthenticatedUser();
 
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new TeamNotFoundException("Team with id " + teamId + " not found"));
+        TeamDetailCache.TeamSnapshot team = teamDetailCache.get(teamId, id ->
+                teamRepository.findAllWithMembersByIdIn(List.of(id)).stream()
+                        .findFirst()
+                        .map(this::mapToDto)
+                        .orElseThrow(() -> new TeamNotFoundException("Team with id " + id + " not found")));
 
         // Se privato → accesso solo all'owner o admin
-        if ("PRIVATE".equalsIgnoreCase(team.getVisibility())
-                && !team.getUser().getId().equals(current.id())
+        if ("PRIVATE".equalsIgnoreCase(team.visibility())
+                && !team.ownerId().equals(current.id())
                 && !"ADMIN".equalsIgnoreCase(current.role())) {
             throw new AccessDeniedException("You are not allowed to access this team");
         }
 
-        return mapToDto(team);
+        return team.toDto();
     }
 
     /**
@@ -149,9 +181,29 @@ public class TeamService {
             throw new AccessDeniedException("You are not allowed to delete this team");
         }
 
+        teamDetailCache.invalidate(teamId);
+        teamFeedService.remove(teamId);
+        teamSimilarityService.remove(teamId);
         teamRepository.delete(team);
     }
 
+    /**
+     * Finds the public teams sharing the most members with a team.
+     *
+     * <p>The team itself is subject to the same visibility rules as
+     * {@link #getTeamById(Integer)}; results are approximate nearest neighbours
+     * from the MinHash/LSH index of {@link TeamSimilarityService}.</p>
+     *
+     * @param teamId the ID of the team
+     * @param limit  maximum number of results
+     * @return the similar public teams, most similar first
+     * @throws AccessDeniedException if the user is not authorized
+     * @throws TeamNotFoundException if no team with the given ID exists
+     */
+    public List<SimilarTeamDto> getSimilarTeams(Integer teamId, int limit) throws AccessDeniedException {
+        return teamSimilarityService.findSimilar(getTeamById(teamId), limit);
+    }
+
     /**
      * Updates an existing team.
      *
@@ -178,6 +230,7 @@ public class TeamService {
 
         validateVisibility(request.getVisibility());
         validateSlots(request.getMembers());
+        teamDetailCache.invalidate(teamId);
 
         // Aggiorna dati base
         team.setName(request.getName());
@@ -194,10 +247,10 @@ public class TeamService {
                 .collect(Collectors.toSet());
 
         // Aggiorna o aggiungi membri
+        Map<Integer, Pokemon> pokemons = resolveMembers(request.getMembers());
         for (CreateTeamRequest.MemberDto member : request.getMembers()) {
             TeamPokemon existing = currentMembers.get(member.getSlot());
-            Pokemon pokemon = pokemonRepository.findById(member.getPokemonId())
-                    .orElseThrow(() -> new InvalidTeamOperationException("Pokemon not found with id " + member.getPokemonId()));
+            Pokemon pokemon = pokemons.get(member.getPokemonId());
 
             if (existing != null) {
                 // aggiorna solo se il Pokémon è cambiato
@@ -214,7 +267,10 @@ public class TeamService {
         team.getPokemons().removeIf(tp -> !requestedSlots.contains(tp.getSlot()));
 
         Team saved = teamRepository.save(team);
-        return mapToDto(saved);
+        TeamDto dto = mapToDto(saved);
+        teamFeedService.publish(dto);
+        teamSimilarityService.index(dto);
+        return dto;
     }
 
     /**
@@ -231,11 +287,9 @@ public class TeamService {
         User user = userRepository.findById(current.id())
                 .orElseThrow(() -> new InvalidTeamOperationException("Authenticated user not found"));
 
-        Page<Team> teams = teamRepository.findByUser(user, pageable);
-
-        Page<TeamDto> dtoPage = teams.map(this::mapToDto);
+        Page<Integer> ids = teamRepository.findIdsByUser(user, pageable);
 
-        return PagedResponse.from(dtoPage);
+        return PagedResponse.from(toDtoPage(ids));
     }
 
     /**
@@ -251,22 +305,126 @@ public class TeamService {
     public PagedResponse<TeamDto> getAllTeams(Pageable pageable) throws AccessDeniedException {
         AuthenticatedUser current = getAuthenticatedUser();
 
-        Page<Team> teams;
+        Page<Integer> ids;
         if ("ADMIN".equalsIgnoreCase(current.role())) {
             // Admin: tutti i team
-            teams = teamRepository.findAll(pageable);
+            ids = teamRepository.findAllIds(pageable);
         } else {
             // User: team pubblici + propri
             User user = userRepository.findById(current.id())
                     .orElseThrow(() -> new InvalidTeamOperationException("Authenticated user not found"));
-            teams = teamRepository.findAllVisibleForUser(user.getId(), pageable);
+            ids = teamRepository.findIdsVisibleForUser(user.getId(), pageable);
+        }
+
+        return PagedResponse.from(toDtoPage(ids));
+    }
+
+
+    /**
+     * Retrieves the teams owned by the authenticated user with keyset (cursor) pagination.
+     *
+     * @param order the (already whitelisted) sort order
+     * @param size  maximum number of items in the page
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @return a {@link CursorPagedResponse} of {@link TeamDto}
+     * @throws AccessDeniedException if the user is not authenticated
+     * @throws InvalidCursorException if the cursor does not match {@code order}
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<TeamDto> scrollUserTeams(Sort.Order order, int size, Cursor after) throws AccessDeniedException {
+        AuthenticatedUser current = getAuthenticatedUser();
+        return scroll(TeamSpecification.ownedBy(current.id()), order, size, after);
+    }
+
+    /**
+     * Retrieves all teams with keyset (cursor) pagination.
+     *
+     * <p>Users see their own and public teams, ADMINs see all teams.</p>
+     *
+     * @param order the (already whitelisted) sort order
+     * @param size  maximum number of items in the page
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @return a {@link CursorPagedResponse} of {@link TeamDto}
+     * @throws AccessDeniedException if the user is not authenticated
+     * @throws InvalidCursorException if the cursor does not match {@code order}
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<TeamDto> scrollAllTeams(Sort.Order order, int size, Cursor after) throws AccessDeniedException {
+        AuthenticatedUser current = getAuthenticatedUser();
+
+        Specification<Team> spec = "ADMIN".equalsIgnoreCase(current.role())
+                ? Specification.unrestricted()
+                : TeamSpecification.visibleFor(current.id());
+        return scroll(spec, order, size, after);
+    }
+
+    private CursorPagedResponse<TeamDto> scroll(Specification<Team> spec, Sort.Order order, int size, Cursor after) {
+        if (after != null) {
+            if (!after.property().equals(order.getProperty()) || after.direction() != order.getDirection()) {
+                throw new InvalidCursorException("Cursor does not match the requested sort");
+            }
+            spec = spec.and(keysetAfter(after));
+        }
+
+        Sort sort = KeysetSpecification.sortFor(order);
+        List<Team> rows = teamRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+        // the rows are managed entities: this one query initialises their owners and members
+        if (!rows.isEmpty()) {
+            teamRepository.findAllWithMembersByIdIn(rows.stream().limit(size).map(Team::getId).toList());
+        }
+
+        return CursorPagedResponse.from(rows, size, this::mapToDto, t -> new Cursor(
+                order.getProperty(), order.getDirection(), sortValueOf(t, order.getProperty()), t.getId()));
+    }
+
+    private Specification<Team> keysetAfter(Cursor after) {
+        try {
+            return switch (after.property()) {
+                case "createdAt" -> KeysetSpecification.after("createdAt", after.direction(), Instant.parse(valueOf(after)), after.id());
+                case "name" -> KeysetSpecification.after("name", after.direction(), valueOf(after), after.id());
+                case KeysetSpecification.ID -> KeysetSpecification.<Team, Integer>after(
+                        KeysetSpecification.ID, after.direction(), null, after.id());
+                default -> throw new InvalidCursorException("Unsupported cursor sort " + after.property());
+            };
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    // only id cursors may omit the value
+    private static String valueOf(Cursor after) {
+        if (after.value() == null || after.value().isBlank()) {
+            throw new InvalidCursorException("Malformed cursor");
         }
+        return after.value();
+    }
 
-        Page<TeamDto> dtoPage = teams.map(this::mapToDto);
-        return PagedResponse.from(dtoPage);
+    private static String sortValueOf(Team team, String property) {
+        return switch (property) {
+            case "createdAt" -> team.getCreatedAt().toString();
+            case "name" -> team.getName();
+            default -> null;
+        };
     }
 
 
+    /**
+     * Second phase of a paged listing: loads the teams of an ID page with one
+     * fetch-joined query and maps them in page order.
+     */
+    private Page<TeamDto> toDtoPage(Page<Integer> ids) {
+        Map<Integer, Team> teams = ids.isEmpty() ? Map.of()
+                : teamRepository.findAllWithMembersByIdIn(ids.getContent()).stream()
+                        .collect(Collectors.toMap(Team::getId, t -> t));
+
+        List<TeamDto> content = ids.getContent().stream()
+                .map(teams::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToDto)
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
     private AuthenticatedUser getAuthenticatedUser() throws AccessDeniedException {
         AuthenticatedUser current = AuthContext.getCurrentUser();
         if (current == null) {
@@ -294,6 +452,29 @@ public class TeamService {
         }
     }
 
+    /**
+     * Loads every Pokémon referenced by the members with a single query.
+     *
+     * @param members the requested members
+     * @return the referenced Pokémon, keyed by ID
+     * @throws InvalidTeamOperationException if a referenced Pokémon does not exist
+     */
+    private Map<Integer, Pokemon> resolveMembers(List<CreateTeamRequest.MemberDto> members) {
+        Set<Integer> ids = members.stream()
+                .map(CreateTeamRequest.MemberDto::getPokemonId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Integer, Pokemon> found = pokemonRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Pokemon::getId, p -> p));
+
+        for (Integer id : ids) {
+            if (!found.containsKey(id)) {
+                throw new InvalidTeamOperationException("Pokemon not found with id " + id);
+            }
+        }
+        return found;
+    }
+
     private TeamDto mapToDto(Team team) {
         TeamDto dto = new TeamDto();
         dto.setId(team.getId());
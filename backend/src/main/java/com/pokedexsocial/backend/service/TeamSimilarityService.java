@@ -0,0 +1,142 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.SimilarTeamDto;
+import com.pokedexsocial.backend.dto.TeamDto;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.repository.TeamFeedRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service finding public teams similar to a given team, by shared members.
+ *
+ * <p>Public teams are kept in an in-memory {@link TeamLshIndex}: {@link TeamService}
+ * reports every saved or deleted team through {@link #index(TeamDto)} and
+ * {@link #remove(Integer)}, which compute the MinHash signature of the member set and
+ * update the index once the transaction commits. A query only ranks the teams sharing
+ * an LSH bucket with the given one, so its cost does not grow with the number of
+ * teams. At startup the index is loaded from the public team feed.</p>
+ */
+@Service
+public class TeamSimilarityService {
+
+    /** Maximum number of similar teams returned by a query. */
+    public static final int MAX_LIMIT = 50;
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TeamSimilarityService.class);
+
+    private final TeamFeedRepository feedRepository;
+    private final ObjectMapper objectMapper;
+    private final TeamLshIndex index = new TeamLshIndex();
+
+    public TeamSimilarityService(TeamFeedRepository feedRepository, ObjectMapper objectMapper) {
+        this.feedRepository = feedRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Finds the public teams most similar to a team.
+     *
+     * @param team  the team to compare with (its visibility was already checked)
+     * @param limit maximum number of results, capped to {@value #MAX_LIMIT}
+     * @return the similar teams, most similar first; the team itself is excluded
+     */
+    public List<SimilarTeamDto> findSimilar(TeamDto team, int limit) {
+        List<TeamLshIndex.Match> matches = index.query(pokemonIds(team),
+                Math.max(1, Math.min(limit, MAX_LIMIT)), team.getId());
+
+        Map<Integer, TeamFeedEntry> teams = matches.isEmpty() ? Map.of()
+                : feedRepository.findAllById(matches.stream().map(TeamLshIndex.Match::teamId).toList()).stream()
+                        .collect(Collectors.toMap(TeamFeedEntry::getTeamId, Function.identity()));
+
+        return matches.stream()
+                .filter(m -> teams.containsKey(m.teamId()))
+                .map(m -> {
+                    TeamFeedEntry entry = teams.get(m.teamId());
+                    return new SimilarTeamDto(entry.getTeamId(), entry.getName(), entry.getOwnerUsername(), m.similarity());
+                })
+                .toList();
+    }
+
+    /**
+     * Indexes a team that was just created or updated once the current transaction
+     * commits: public teams are inserted or refreshed, private ones are removed.
+     *
+     * @param team the team as returned to the client
+     */
+    public void index(TeamDto team) {
+        if (!"PUBLIC".equalsIgnoreCase(team.getVisibility())) {
+            remove(team.getId());
+            return;
+        }
+        List<Integer> pokemonIds = pokemonIds(team);
+        afterCommit(() -> index.put(team.getId(), pokemonIds));
+    }
+
+    /**
+     * Removes a team from the index once the current transaction commits.
+     *
+     * @param teamId the ID of the team
+     */
+    public void remove(Integer teamId) {
+        afterCommit(() -> index.remove(teamId));
+    }
+
+    /**
+     * Loads the index from the public team feed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loadIndex();
+        LOG.info("Similar-team index loaded with {} teams", index.size());
+    }
+
+    void loadIndex() {
+        int after = 0;
+        List<TeamFeedRepository.MembersRow> chunk;
+        do {
+            chunk = feedRepository.findMembersAfter(after, PageRequest.of(0, CHUNK_SIZE));
+            for (TeamFeedRepository.MembersRow row : chunk) {
+                index.put(row.getTeamId(), TeamFeedService.pokemonIds(objectMapper, row.getMembers()));
+                after = row.getTeamId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    private static List<Integer> pokemonIds(TeamDto team) {
+        return team.getMembers().stream()
+                .map(m -> m.getPokemon().id())
+                .toList();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pokedexsocial.backend.specification;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility class to build keyset (seek) predicates for cursor pagination.
+ * <p>
+ * Rows are ordered by a sort property and then by {@code id}; the predicate
+ * selects the rows strictly after a given (value, id) position, so the database
+ * can seek directly to the next page instead of scanning and discarding an offset.
+ */
+public final class KeysetSpecification {
+
+    /** Name of the unique tie-breaker property shared by all paged entities. */
+    public static final String ID = "id";
+
+    private KeysetSpecification() {}
+
+    /**
+     * Builds the ordering matching {@link #after}: the given order followed by id
+     * in the same direction.
+     *
+     * @param order the requested sort order
+     * @return the total ordering to use for the keyset query
+     */
+    public static Sort sortFor(Sort.Order order) {
+        if (ID.equals(order.getProperty())) {
+            return Sort.by(order.getDirection(), ID);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID));
+    }
+
+    /**
+     * Builds a predicate selecting the rows located after the given position.
+     *
+     * @param property  the sort property
+     * @param direction the sort direction
+     * @param value     the last row's value for {@code property} (ignored when sorting by id)
+     * @param lastId    the last row's id
+     * @param <T>       entity type
+     * @param <V>       type of the sort property
+     * @return a {@link Specification} for the rows following the position
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> after(
+            String property, Sort.Direction direction, V value, Integer lastId) {
+        boolean asc = direction.isAscending();
+        return (root, query, cb) -> {
+            Path<Integer> id = root.get(ID);
+            if (ID.equals(property)) {
+                return asc ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            }
+            Path<V> path = root.get(property);
+            return cb.or(
+                    asc ? cb.greaterThan(path, value) : cb.lessThan(path, value),
+                    cb.and(
+                            cb.equal(path, value),
+                            asc ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId)
+                    )
+            );
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.pokedexsocial.backend.specification;
+
+import com.pokedexsocial.backend.model.Team;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility class to build {@link Specification} objects for {@link Team}.
+ */
+public final class TeamSpecification {
+
+    private TeamSpecification() {}
+
+    /**
+     * Teams a regular user may list: every public team plus the user's own teams.
+     *
+     * @param userId the id of the current user
+     * @return a JPA {@link Specification} for the visible teams
+     */
+    public static Specification<Team> visibleFor(Integer userId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("visibility"), "PUBLIC"),
+                cb.equal(root.get("user").get("id"), userId)
+        );
+    }
+
+    /**
+     * Teams owned by the given user.
+     *
+     * @param userId the id of the owner
+     * @return a JPA {@link Specification} for the owned teams
+     */
+    public static Specification<Team> ownedBy(Integer userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+}
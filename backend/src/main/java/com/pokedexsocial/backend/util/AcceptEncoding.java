@@ -0,0 +1,60 @@
+package com.pokedexsocial.backend.util;
+
+import java.util.Locale;
+
+/**
+ * Utility class for reading the HTTP {@code Accept-Encoding} request header.
+ * <p>
+ * The header is a comma-separated list of content codings, each optionally
+ * followed by a quality value ({@code gzip;q=0.5}). A coding with {@code q=0}
+ * is explicitly refused; {@code *} stands for every coding not listed.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {}
+
+    /**
+     * Tells whether the client accepts gzip-compressed responses.
+     *
+     * @param header the {@code Accept-Encoding} header value, may be {@code null}
+     * @return {@code true} if {@code gzip} (or its alias {@code x-gzip}) is listed,
+     *         or covered by {@code *}, with a non-zero quality
+     */
+    public static boolean acceptsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    // a malformed quality value is treated as a refusal
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
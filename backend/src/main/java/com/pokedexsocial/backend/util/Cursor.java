@@ -0,0 +1,71 @@
+package com.pokedexsocial.backend.util;
+
+import com.pokedexsocial.backend.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position used by keyset (cursor) pagination.
+ * <p>
+ * A cursor remembers the sort key and the values of the last row of a page:
+ * the sort property, its direction, the row's value for that property and the
+ * row's id, used as a tie-breaker. The next page starts strictly after that
+ * (value, id) pair, so rows inserted concurrently never shift the pages.
+ *
+ * @param property  the sort property the cursor was produced for
+ * @param direction the sort direction the cursor was produced for
+ * @param value     string form of the last row's sort value ({@code null} when sorting by id)
+ * @param id        the id of the last row
+ */
+public record Cursor(String property, Sort.Direction direction, String value, Integer id) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = id + SEPARATOR + property + SEPARATOR + direction.name() + SEPARATOR
+                + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort order this cursor belongs to.
+     *
+     * @return the sort order encoded in the cursor
+     */
+    public Sort.Order toOrder() {
+        return new Sort.Order(direction, property);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor, may be {@code null} or blank
+     * @return the decoded cursor, or {@code null} when no token was given
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4 || parts[1].isEmpty()) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            Integer id = Integer.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            String value = parts[3].isEmpty() ? null : parts[3];
+            return new Cursor(parts[1], direction, value, id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
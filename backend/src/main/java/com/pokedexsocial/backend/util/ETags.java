@@ -0,0 +1,44 @@
+package com.pokedexsocial.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for building strong HTTP entity tags.
+ * <p>
+ * Tags are derived from a SHA-256 digest of the representation, so two
+ * representations share a tag only if their content is byte-for-byte identical.
+ */
+public final class ETags {
+
+    private static final int TAG_BYTES = 16;
+
+    private ETags() {}
+
+    /**
+     * Builds a quoted strong ETag for the given content.
+     *
+     * @param content the exact bytes of the representation
+     * @return the ETag, including the surrounding double quotes
+     */
+    public static String strong(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, TAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Builds a quoted strong ETag for the given textual content.
+     *
+     * @param content a canonical textual form of the representation
+     * @return the ETag, including the surrounding double quotes
+     */
+    public static String strong(String content) {
+        return strong(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
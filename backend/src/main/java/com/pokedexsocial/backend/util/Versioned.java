@@ -0,0 +1,11 @@
+package com.pokedexsocial.backend.util;
+
+/**
+ * Immutable pairing of a cached value with the strong ETag that identifies it.
+ *
+ * @param value the cached value
+ * @param etag  the quoted strong ETag of the value
+ * @param <T>   type of the cached value
+ */
+public record Versioned<T>(T value, String etag) {
+}
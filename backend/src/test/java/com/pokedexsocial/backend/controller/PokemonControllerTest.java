@@ -1,12 +1,16 @@
 package com.pokedexsocial.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.CursorPagedResponse;
 import com.pokedexsocial.backend.dto.PokemonDto;
 import com.pokedexsocial.backend.dto.PokemonFiltersDto;
 import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.service.PokemonResponseCache;
 import com.pokedexsocial.backend.service.PokemonService;
 import com.pokedexsocial.backend.specification.PokemonSearchCriteria;
+import com.pokedexsocial.backend.util.Cursor;
 import com.pokedexsocial.backend.util.Range;
+import com.pokedexsocial.backend.util.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -16,18 +20,26 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import org.springframework.data.domain.*;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// the response cache keeps encoded bodies for an hour: every test needs a fresh one
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @WebMvcTest(controllers = PokemonController.class)
 @ContextConfiguration(classes = {PokemonController.class, PokemonControllerTest.TestConfig.class})
 class PokemonControllerTest {
@@ -38,6 +50,11 @@ class PokemonControllerTest {
         PokemonService pokemonService() {
             return Mockito.mock(PokemonService.class);
         }
+
+        @Bean
+        PokemonResponseCache pokemonResponseCache(PokemonService pokemonService, ObjectMapper objectMapper) {
+            return new PokemonResponseCache(pokemonService, objectMapper, true, Duration.ofHours(1));
+        }
     }
 
     @Autowired
@@ -54,6 +71,8 @@ class PokemonControllerTest {
 
     @BeforeEach
     void setup() {
+        Mockito.clearInvocations(pokemonService);
+
         samplePokemon = new PokemonDto();
         samplePokemon.setId(1);
         samplePokemon.setSpecies("Bulbasaur");
@@ -84,6 +103,88 @@ class PokemonControllerTest {
         verify(pokemonService).getPokemonById(1);
     }
 
+    @Test
+    void getPokemonById_ShouldServeCachedBytes_OnSubsequentRequests() throws Exception {
+        when(pokemonService.getPokemonById(1)).thenReturn(samplePokemon);
+
+        String first = mockMvc.perform(get("/pokemon/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/pokemon/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(second).isEqualTo(first);
+        verify(pokemonService, times(1)).getPokemonById(1);
+    }
+
+    @Test
+    void getPokemonById_ShouldReturnGzip_WhenClientAcceptsIt() throws Exception {
+        when(pokemonService.getPokemonById(1)).thenReturn(samplePokemon);
+
+        byte[] body = mockMvc.perform(get("/pokemon/1").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            PokemonDto decoded = objectMapper.readValue(in, PokemonDto.class);
+            assertThat(decoded.getSpecies()).isEqualTo("Bulbasaur");
+        }
+    }
+
+    @Test
+    void getPokemonById_ShouldReturnIdentity_WhenClientRefusesGzip() throws Exception {
+        when(pokemonService.getPokemonById(1)).thenReturn(samplePokemon);
+
+        mockMvc.perform(get("/pokemon/1").header("Accept-Encoding", "gzip;q=0, x-gzip-foo"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.species").value("Bulbasaur"));
+    }
+
+    @Test
+    void getPokemonById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(pokemonService.getPokemonById(1)).thenReturn(samplePokemon);
+
+        String etag = mockMvc.perform(get("/pokemon/1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/pokemon/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getPokemonById_ShouldReturnNotModified_WhenNotModifiedSince() throws Exception {
+        when(pokemonService.getPokemonById(1)).thenReturn(samplePokemon);
+
+        String lastModified = mockMvc.perform(get("/pokemon/1"))
+                .andReturn().getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/pokemon/1").header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+
+    // --------------------------------------------------------------------
+    // GET /pokemon/batch
+    // --------------------------------------------------------------------
+
+    @Test
+    void getPokemonByIds_ShouldReturnOkAndList() throws Exception {
+        when(pokemonService.getPokemonByIds(List.of(1, 4))).thenReturn(List.of(samplePokemon));
+
+        mockMvc.perform(get("/pokemon/batch").param("ids", "1,4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].species").value("Bulbasaur"));
+
+        verify(pokemonService).getPokemonByIds(List.of(1, 4));
+    }
 
     // --------------------------------------------------------------------
     // GET /pokemon (search)
@@ -145,20 +246,65 @@ class PokemonControllerTest {
         );
     }
 
+    // --------------------------------------------------------------------
+    // GET /pokemon/scroll
+    // --------------------------------------------------------------------
+
+    @Test
+    void scroll_ShouldUseWhitelistedSort_WhenNoCursor() throws Exception {
+        CursorPagedResponse<PokemonListDto> page = new CursorPagedResponse<>();
+        page.setItems(List.of());
+        page.setPageSize(5);
+        page.setNextCursor("abc");
+        when(pokemonService.scroll(any(PokemonSearchCriteria.class), any(Sort.Order.class), anyInt(), isNull()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/pokemon/scroll").param("size", "5").param("sort", "weight,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageSize").value(5))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+
+        verify(pokemonService).scroll(any(PokemonSearchCriteria.class), eq(Sort.Order.asc("ndex")), eq(5), isNull());
+    }
+
+    @Test
+    void scroll_ShouldTakeSortFromCursor_WhenCursorGiven() throws Exception {
+        Cursor cursor = new Cursor("species", Sort.Direction.DESC, "Pikachu", 25);
+        when(pokemonService.scroll(any(PokemonSearchCriteria.class), any(Sort.Order.class), anyInt(), any(Cursor.class)))
+                .thenReturn(new CursorPagedResponse<>());
+
+        mockMvc.perform(get("/pokemon/scroll").param("cursor", cursor.encode()).param("sort", "ndex,asc"))
+                .andExpect(status().isOk());
+
+        verify(pokemonService).scroll(any(PokemonSearchCriteria.class), eq(Sort.Order.desc("species")), eq(20), eq(cursor));
+    }
+
     // --------------------------------------------------------------------
     // GET /pokemon/filters
     // --------------------------------------------------------------------
 
     @Test
     void getFilters_ShouldReturnFiltersDto() throws Exception {
-        when(pokemonService.getFilters()).thenReturn(filtersDto);
+        when(pokemonService.getVersionedFilters()).thenReturn(new Versioned<>(filtersDto, "\"abc123\""));
 
         mockMvc.perform(get("/pokemon/filters"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
                 .andExpect(jsonPath("$.ndexRange.min").value(1))
                 .andExpect(jsonPath("$.ndexRange.max").value(1025));
 
-        verify(pokemonService).getFilters();
+        verify(pokemonService, Mockito.atLeastOnce()).getVersionedFilters();
+    }
+
+    @Test
+    void getFilters_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(pokemonService.getVersionedFilters()).thenReturn(new Versioned<>(filtersDto, "\"abc123\""));
+
+        mockMvc.perform(get("/pokemon/filters").header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(content().string(""));
     }
 }
 
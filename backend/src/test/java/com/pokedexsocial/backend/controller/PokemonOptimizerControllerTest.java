@@ -0,0 +1,191 @@
+package com.pokedexsocial.backend.controller;
+
+import com.pokedexsocial.backend.dto.OptimizationResultDTO;
+import com.pokedexsocial.backend.exception.GlobalExceptionHandler;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.service.OptimizationRunService;
+import com.pokedexsocial.backend.service.TeamOptimizationService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PokemonOptimizerController.class)
+@ContextConfiguration(classes = {PokemonOptimizerController.class, GlobalExceptionHandler.class,
+        PokemonOptimizerControllerTest.TestConfig.class})
+class PokemonOptimizerControllerTest {
+
+    @Configuration
+    static class TestConfig {
+        @Bean
+        TeamOptimizationService teamOptimizationService() {
+            return Mockito.mock(TeamOptimizationService.class);
+        }
+
+        @Bean
+        OptimizationRunService optimizationRunService() {
+            return new OptimizationRunService(Duration.ofSeconds(30), Duration.ofSeconds(5), 1, 4);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamOptimizationService optimizationService;
+
+    @Autowired
+    private OptimizationRunService runService;
+
+    private CompletableFuture<CancellationToken> runToken;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Mockito.reset(optimizationService);
+        runToken = new CompletableFuture<>();
+        release = new CountDownLatch(1);
+        // Un run che gira finché il suo token non viene annullato e poi restituisce il
+        // risultato parziale solo quando il test lo rilascia, così l'ordine è deterministico
+        when(optimizationService.optimize(any(CancellationToken.class))).thenAnswer(inv -> {
+            CancellationToken token = inv.getArgument(0);
+            runToken.complete(token);
+            while (!token.isCancelled()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return new OptimizationResultDTO(null, 1.0, 3, List.of(), token.getReason().name());
+        });
+    }
+
+    @Test
+    void runOptimization_ShouldReturnPartialResult_WhenRunIsCancelled() throws Exception {
+        MvcResult result = mockMvc.perform(get("/optimizer/run"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        runToken.get(5, TimeUnit.SECONDS).cancel(CancellationToken.Reason.DEADLINE);
+        release.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.iterations").value(3))
+                .andExpect(jsonPath("$.cancelled").value(true))
+                .andExpect(jsonPath("$.stopReason").value("DEADLINE"));
+    }
+
+    @Test
+    void runOptimization_ShouldCancelRun_WhenAsyncRequestTimesOut() throws Exception {
+        Map<String, Long> before = runService.getMetrics();
+        MvcResult result = mockMvc.perform(get("/optimizer/run"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        CancellationToken token = runToken.get(5, TimeUnit.SECONDS);
+
+        // Simula il timeout asincrono del container
+        MockAsyncContext context = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+
+        // Il worker non viene interrotto: il motivo è quello del callback
+        assertThat(token.getReason()).isEqualTo(CancellationToken.Reason.ASYNC_TIMEOUT);
+        // Il callback ha già fissato la risposta (503) prima che il worker restituisca il parziale
+        release.countDown();
+        awaitAsyncResult(result);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(containsString("Optimizer Timeout")));
+
+        awaitMetric("cancelled.async_timeout", before.get("cancelled.async_timeout") + 1);
+        Map<String, Long> after = runService.getMetrics();
+        assertThat(after.get("cancelled.interrupted")).isEqualTo(before.get("cancelled.interrupted"));
+        assertThat(after.get("asyncTimeouts")).isEqualTo(before.get("asyncTimeouts") + 1);
+    }
+
+    @Test
+    void runOptimization_ShouldCancelRun_WhenClientDisconnects() throws Exception {
+        Map<String, Long> before = runService.getMetrics();
+        MvcResult result = mockMvc.perform(get("/optimizer/run"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        CancellationToken token = runToken.get(5, TimeUnit.SECONDS);
+
+        // Simula l'errore di I/O del container quando il client chiude la connessione
+        MockAsyncContext context = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IOException("Broken pipe")));
+        }
+
+        assertThat(token.getReason()).isEqualTo(CancellationToken.Reason.CLIENT_ABORT);
+        release.countDown();
+
+        awaitMetric("cancelled.client_abort", before.get("cancelled.client_abort") + 1);
+        Map<String, Long> after = runService.getMetrics();
+        assertThat(after.get("cancelled.interrupted")).isEqualTo(before.get("cancelled.interrupted"));
+        assertThat(after.get("asyncErrors")).isEqualTo(before.get("asyncErrors") + 1);
+    }
+
+    @Test
+    void getRunMetrics_ShouldReturnCounters() throws Exception {
+        mockMvc.perform(get("/optimizer/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.started").isNumber())
+                .andExpect(jsonPath("$['cancelled.deadline']").isNumber())
+                .andExpect(jsonPath("$.asyncTimeouts").isNumber());
+    }
+
+    //MockMvc registra il risultato solo quando il worker termina, anche se il callback di timeout
+    //ha già fatto il dispatch: senza attesa asyncDispatch fallisce se il callback vince la corsa
+    private void awaitAsyncResult(MvcResult result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                result.getAsyncResult(100);
+                return;
+            } catch (IllegalStateException notYetSet) {
+                if (System.nanoTime() >= deadline) {
+                    throw notYetSet;
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    //Il contatore del motivo è aggiornato dal worker, dopo che ha restituito il risultato
+    private void awaitMetric(String name, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (runService.getMetrics().get(name) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(runService.getMetrics().get(name)).isEqualTo(expected);
+    }
+}
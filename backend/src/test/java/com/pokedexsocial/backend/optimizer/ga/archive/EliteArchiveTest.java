@@ -0,0 +1,157 @@
+package com.pokedexsocial.backend.optimizer.ga.archive;
+
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.PokemonTeamGeneCodec;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for {@link EliteArchive}, with teams encoded by {@link PokemonTeamGeneCodec}.
+ */
+@ExtendWith(MockitoExtension.class)
+class EliteArchiveTest {
+
+    @Mock
+    private Pokedex pokedex;
+
+    @TempDir
+    private Path directory;
+
+    private final Map<Integer, PokemonGA> pokemons = new HashMap<>();
+    private EliteArchive<PokemonTeamGA> archive;
+
+    @BeforeEach
+    void setUp() {
+        for (int id = 1; id <= 12; id++) {
+            PokemonGA p = new PokemonGA(id, "P" + id, new PokemonType(PokemonTypeName.NORMAL), null,
+                    80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+            pokemons.put(id, p);
+        }
+        lenient().when(pokedex.getById(anyInt()))
+                .thenAnswer(inv -> Optional.ofNullable(pokemons.get(inv.<Integer>getArgument(0))));
+        archive = new EliteArchive<>(new PokemonTeamGeneCodec(pokedex), PokemonTeamGA::canonicalHash, 3, 0.5, 10);
+    }
+
+    /** Only the best distinct teams are kept; a reordered team is the same team. */
+    @Test
+    void offer_ShouldKeepBestDistinctTeamsUpToCapacity() {
+        archive.offer("default", List.of(team(10.0, 1, 2), team(20.0, 3), team(30.0, 4)));
+
+        assertThat(archive.offer("default", List.of(team(5.0, 5)))).isFalse();
+        assertThat(archive.offer("default", List.of(team(25.0, 4)))).isFalse();
+        assertThat(archive.offer("default", List.of(team(40.0, 2, 1), team(35.0, 5)))).isTrue();
+
+        assertThat(archive.size("default")).isEqualTo(3);
+        assertThat(archive.bestFitness("default")).isEqualTo(40.0);
+        assertThat(archive.seeds("default", 6, new Random(1))).extracting(PokemonTeamGA::canonicalHash)
+                .containsExactlyInAnyOrder(team(0, 1, 2).canonicalHash(), team(0, 5).canonicalHash(),
+                        team(0, 4).canonicalHash());
+        assertThat(archive.size("other")).isZero();
+    }
+
+    /** Seeds are a fraction of the population, fresh instances, and skip teams that no longer decode. */
+    @Test
+    void seeds_ShouldReturnFractionOfPopulationAsNewTeams() {
+        PokemonTeamGA archived = team(30.0, 1);
+        archive.offer("default", List.of(archived, team(20.0, 2), team(10.0, 12)));
+        pokemons.remove(12);
+
+        List<PokemonTeamGA> seeds = archive.seeds("default", 4, new Random(2));
+        List<PokemonTeamGA> all = archive.seeds("default", 100, new Random(3));
+
+        assertThat(seeds).hasSize(2).doesNotContain(archived);
+        assertThat(all).hasSize(2);
+        assertThat(all).allSatisfy(seed -> assertThat(seed.getFitness()).isZero());
+        assertThat(archive.seeds("default", 1, new Random(4))).isEmpty();
+        assertThat(archive.seeds("missing", 100, new Random(5))).isEmpty();
+    }
+
+    /** The archive survives a save and load; a corrupt file is rejected. */
+    @Test
+    void load_ShouldRestoreSavedArchive_AndRejectCorruptFile() throws IOException {
+        Path file = directory.resolve("archive/elite.bin");
+        archive.offer("default", List.of(team(10.0, 1), team(20.0, 2)));
+        archive.offer("locked=6", List.of(team(15.0, 6)));
+        archive.save(file);
+
+        EliteArchive<PokemonTeamGA> restored =
+                new EliteArchive<>(new PokemonTeamGeneCodec(pokedex), PokemonTeamGA::canonicalHash, 3, 0.5, 10);
+        assertThat(restored.load(file)).isEqualTo(3);
+        assertThat(restored.load(directory.resolve("missing.bin"))).isZero();
+
+        assertThat(restored.size("default")).isEqualTo(2);
+        assertThat(restored.bestFitness("default")).isEqualTo(20.0);
+        assertThat(restored.bestFitness("locked=6")).isEqualTo(15.0);
+        assertThat(restored.seeds("locked=6", 2, new Random(1))).singleElement()
+                .satisfies(seed -> assertThat(seed.getCoding()).containsOnly(pokemons.get(6)));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[10] ^= 1;
+        Files.write(file, bytes);
+        assertThatThrownBy(() -> restored.load(file)).isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Corrupt archive");
+    }
+
+    /** Past the key limit the least recently used key is dropped, also when loading a larger file. */
+    @Test
+    void offer_ShouldEvictLeastRecentlyUsedKey_WhenKeyLimitIsReached() throws IOException {
+        EliteArchive<PokemonTeamGA> bounded =
+                new EliteArchive<>(new PokemonTeamGeneCodec(pokedex), PokemonTeamGA::canonicalHash, 3, 0.5, 2);
+        bounded.offer("a", List.of(team(10.0, 1)));
+        bounded.offer("b", List.of(team(10.0, 2)));
+        // "a" torna la più recente, quindi esce "b"
+        bounded.seeds("a", 2, new Random(1));
+        bounded.offer("c", List.of(team(10.0, 3)));
+
+        assertThat(bounded.keyCount()).isEqualTo(2);
+        assertThat(bounded.size("b")).isZero();
+        assertThat(bounded.size("a")).isEqualTo(1);
+        assertThat(bounded.size("c")).isEqualTo(1);
+
+        Path file = directory.resolve("elite.bin");
+        archive.offer("x", List.of(team(10.0, 4)));
+        archive.offer("y", List.of(team(10.0, 5)));
+        archive.offer("z", List.of(team(10.0, 6)));
+        archive.save(file);
+        EliteArchive<PokemonTeamGA> restored =
+                new EliteArchive<>(new PokemonTeamGeneCodec(pokedex), PokemonTeamGA::canonicalHash, 3, 0.5, 2);
+        restored.load(file);
+
+        assertThat(restored.keyCount()).isEqualTo(2);
+        assertThat(restored.size("x")).isZero();
+        assertThat(restored.size("z")).isEqualTo(1);
+    }
+
+    private PokemonTeamGA team(double fitness, int... ids) {
+        PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+        for (int i = 0; i < coding.length; i++) {
+            coding[i] = pokemons.get(ids[i % ids.length]);
+        }
+        PokemonTeamGA team = new PokemonTeamGA(coding);
+        team.setFitness(fitness);
+        return team;
+    }
+}
@@ -0,0 +1,133 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for {@link CheckpointStore}, with teams encoded by {@link PokemonTeamGeneCodec}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckpointStoreTest {
+
+    @Mock
+    private Pokedex pokedex;
+
+    @TempDir
+    private Path directory;
+
+    private final Map<Integer, PokemonGA> pokemons = new HashMap<>();
+    private CheckpointStore<PokemonTeamGA> store;
+
+    @BeforeEach
+    void setUp() {
+        for (int id = 1; id <= 12; id++) {
+            PokemonGA p = new PokemonGA(id, "P" + id, new PokemonType(PokemonTypeName.NORMAL), null,
+                    80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+            pokemons.put(id, p);
+        }
+        lenient().when(pokedex.getById(anyInt()))
+                .thenAnswer(inv -> Optional.ofNullable(pokemons.get(inv.<Integer>getArgument(0))));
+        store = new CheckpointStore<>(directory.resolve("jobs/default.ckpt"), new PokemonTeamGeneCodec(pokedex), 5);
+    }
+
+    /** Populations, counters and RNG state survive a save and load; the best individual is kept. */
+    @Test
+    void load_ShouldRestoreSavedCheckpoint() throws IOException {
+        Population<PokemonTeamGA> current = population(8L, 10.0, 30.0, 20.0);
+        Population<PokemonTeamGA> best = population(5L, 40.0);
+
+        store.save(new Checkpoint<>(8, 3, 123456789L, current, best));
+        Checkpoint<PokemonTeamGA> loaded = store.load().orElseThrow();
+
+        assertThat(loaded.generation()).isEqualTo(8);
+        assertThat(loaded.iterationsNoImprovements()).isEqualTo(3);
+        assertThat(loaded.randomState()).isEqualTo(123456789L);
+        assertThat(loaded.current().getId()).isEqualTo(8L);
+        assertThat(new ArrayList<>(loaded.current())).extracting(PokemonTeamGA::getFitness)
+                .containsExactlyInAnyOrder(10.0, 30.0, 20.0);
+        assertThat(loaded.current().getBestIndividual().getFitness()).isEqualTo(30.0);
+        assertThat(loaded.current().getBestIndividual().getCoding()).containsExactly(
+                current.getBestIndividual().getCoding());
+        assertThat(loaded.best().getId()).isEqualTo(5L);
+        assertThat(loaded.best().getBestIndividual().getFitness()).isEqualTo(40.0);
+    }
+
+    /** When the best generation is the current one it is stored once and restored as the same object. */
+    @Test
+    void load_ShouldShareCurrentAndBest_WhenTheyAreTheSamePopulation() throws IOException {
+        Population<PokemonTeamGA> current = population(2L, 10.0, 11.0);
+
+        store.save(new Checkpoint<>(2, 0, null, current, current));
+        Checkpoint<PokemonTeamGA> loaded = store.load().orElseThrow();
+
+        assertThat(loaded.best() == loaded.current()).isTrue();
+        assertThat(loaded.randomState()).isNull();
+    }
+
+    /** A missing file is no checkpoint; a damaged one or one from another Pokédex is rejected. */
+    @Test
+    void load_ShouldRejectCorruptCheckpoints() throws IOException {
+        assertThat(store.load()).isEmpty();
+
+        store.save(new Checkpoint<>(3, 0, 1L, population(3L, 10.0), population(1L, 12.0)));
+        byte[] bytes = Files.readAllBytes(store.getFile());
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(store.getFile(), bytes);
+        assertThatThrownBy(store::load).isInstanceOf(IOException.class).hasMessageContaining("Corrupt");
+
+        store.save(new Checkpoint<>(3, 0, 1L, population(3L, 10.0), population(1L, 12.0)));
+        pokemons.remove(1);
+        assertThatThrownBy(store::load).isInstanceOf(IOException.class).hasMessageContaining("unknown Pokémon ID 1");
+
+        store.delete();
+        assertThat(Files.exists(store.getFile())).isFalse();
+        try (var files = Files.list(store.getFile().getParent())) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Population<PokemonTeamGA> population(long id, double... fitness) {
+        Population<PokemonTeamGA> population = new FixedSizePopulation<>(id, fitness.length);
+        PokemonTeamGA best = null;
+        for (int i = 0; i < fitness.length; i++) {
+            PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+            for (int slot = 0; slot < coding.length; slot++) {
+                coding[slot] = pokemons.get(1 + (i + slot) % pokemons.size());
+            }
+            PokemonTeamGA team = new PokemonTeamGA(coding);
+            team.setFitness(fitness[i]);
+            population.add(team);
+            if (best == null || team.getFitness() > best.getFitness()) {
+                best = team;
+            }
+        }
+        population.setBestIndividual(best);
+        return population;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-job locking of {@link PokemonTeamCheckpoints}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PokemonTeamCheckpointsTest {
+
+    @Mock
+    private Pokedex pokedex;
+
+    @TempDir
+    private Path directory;
+
+    /** A job held by one run cannot be locked by another until the lease is closed. */
+    @Test
+    void lock_ShouldRefuseSecondRun_WhileJobIsHeld() {
+        PokemonTeamCheckpoints checkpoints = new PokemonTeamCheckpoints(pokedex, directory.toString(), 10);
+
+        try (PokemonTeamCheckpoints.Lease first = checkpoints.lock("default")) {
+            assertThat(first).isNotNull();
+            assertThat(first.getStore().getFile()).isEqualTo(directory.resolve("default.ckpt"));
+            assertThat(checkpoints.lock("default")).isNull();
+
+            // Job diversi hanno lock indipendenti
+            try (PokemonTeamCheckpoints.Lease other = checkpoints.lock("other")) {
+                assertThat(other).isNotNull();
+            }
+        }
+
+        try (PokemonTeamCheckpoints.Lease again = checkpoints.lock("default")) {
+            assertThat(again).isNotNull();
+        }
+    }
+
+    /** With no checkpoint directory there is nothing to lock. */
+    @Test
+    void lock_ShouldReturnNull_WhenCheckpointsAreDisabled() {
+        PokemonTeamCheckpoints checkpoints = new PokemonTeamCheckpoints(pokedex, "", 10);
+
+        assertThat(checkpoints.lock("default")).isNull();
+    }
+}
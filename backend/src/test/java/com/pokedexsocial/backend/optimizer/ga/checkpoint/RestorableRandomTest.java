@@ -0,0 +1,41 @@
+package com.pokedexsocial.backend.optimizer.ga.checkpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RestorableRandom}.
+ */
+class RestorableRandomTest {
+
+    /** With the same seed the sequence is that of {@link Random}. */
+    @Test
+    void next_ShouldMatchJavaUtilRandom() {
+        Random expected = new Random(42);
+        RestorableRandom actual = new RestorableRandom(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(actual.nextInt(1000)).isEqualTo(expected.nextInt(1000));
+            assertThat(actual.nextDouble()).isEqualTo(expected.nextDouble());
+            assertThat(actual.nextLong()).isEqualTo(expected.nextLong());
+        }
+    }
+
+    /** A generator restored from a saved state continues the same sequence. */
+    @Test
+    void setState_ShouldContinueSequence() {
+        RestorableRandom original = new RestorableRandom(7);
+        original.nextInt();
+        long state = original.getState();
+
+        RestorableRandom restored = new RestorableRandom();
+        restored.setState(state);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(restored.nextDouble()).isEqualTo(original.nextDouble());
+        }
+    }
+}
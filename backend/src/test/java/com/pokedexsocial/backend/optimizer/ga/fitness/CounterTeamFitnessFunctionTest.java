@@ -0,0 +1,99 @@
+package com.pokedexsocial.backend.optimizer.ga.fitness;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link CounterTeamFitnessFunction}, on a Fire/Water/Grass type triangle.
+ */
+class CounterTeamFitnessFunctionTest {
+
+    private PokemonType fire;
+    private PokemonType water;
+    private PokemonType grass;
+
+    @BeforeEach
+    void setUp() {
+        fire = type(PokemonTypeName.FIRE,
+                Map.of(PokemonTypeName.GRASS, 2.0, PokemonTypeName.WATER, 0.5, PokemonTypeName.FIRE, 0.5),
+                Map.of(PokemonTypeName.WATER, 2.0, PokemonTypeName.GRASS, 0.5, PokemonTypeName.FIRE, 0.5));
+        water = type(PokemonTypeName.WATER,
+                Map.of(PokemonTypeName.FIRE, 2.0, PokemonTypeName.GRASS, 0.5, PokemonTypeName.WATER, 0.5),
+                Map.of(PokemonTypeName.GRASS, 2.0, PokemonTypeName.FIRE, 0.5, PokemonTypeName.WATER, 0.5));
+        grass = type(PokemonTypeName.GRASS,
+                Map.of(PokemonTypeName.WATER, 2.0, PokemonTypeName.FIRE, 0.5, PokemonTypeName.GRASS, 0.5),
+                Map.of(PokemonTypeName.FIRE, 2.0, PokemonTypeName.WATER, 0.5, PokemonTypeName.GRASS, 0.5));
+    }
+
+    /** Coverage and exposure masks come from the offensive multipliers of both sides. */
+    @Test
+    void tables_ShouldMarkSuperEffectiveMatchups() {
+        CounterTeamFitnessFunction fitness = new CounterTeamFitnessFunction(List.of(fire, water, grass),
+                List.of(pokemon("Bulbasaur", grass, null), pokemon("Squirtle", water, null)));
+
+        assertThat(fitness.coverageOf(pokemon("Charmander", fire, null))).isEqualTo(0b01L);
+        assertThat(fitness.coverageOf(pokemon("Scovillain", grass, fire))).isEqualTo(0b11L);
+        assertThat(fitness.exposureOf(pokemon("Charmander", fire, null))).isEqualTo(0b10L);
+        // Erba contro Fuoco/Acqua è neutro (2 x 0.5), Acqua contro Fuoco/Acqua è 1 x 0.5
+        assertThat(fitness.exposureOf(pokemon("Volcanion", fire, water))).isZero();
+    }
+
+    /** A team that hits the opponent and resists it beats a team that is hit and resisted. */
+    @Test
+    void evaluate_ShouldPreferCoverageAndLowExposure() {
+        CounterTeamFitnessFunction fitness = new CounterTeamFitnessFunction(List.of(fire, water, grass),
+                List.of(pokemon("Bulbasaur", grass, null)));
+
+        PokemonTeamGA counter = team(pokemon("Charmander", fire, null), pokemon("Vulpix", fire, null));
+        PokemonTeamGA countered = team(pokemon("Squirtle", water, null), pokemon("Psyduck", water, null));
+        fitness.evaluate(counter);
+        fitness.evaluate(countered);
+
+        assertThat(counter.getFitness()).isGreaterThan(countered.getFitness());
+        // copertura piena (2 membri per avversario) ed esposizione nulla, più le statistiche
+        assertThat(counter.getFitness()).isGreaterThanOrEqualTo(1.5 * 100 + 1.5 * 100);
+    }
+
+    /** Teams with more than one Mega Evolution stay invalid. */
+    @Test
+    void evaluate_ShouldReturnZero_WhenTeamHasTwoMegaEvolutions() {
+        CounterTeamFitnessFunction fitness = new CounterTeamFitnessFunction(List.of(fire, water, grass),
+                List.of(pokemon("Bulbasaur", grass, null)));
+
+        PokemonTeamGA team = team(pokemon("Mega Charizard X", fire, null), pokemon("Mega Charizard Y", fire, null));
+        fitness.evaluate(team);
+
+        assertThat(team.getFitness()).isZero();
+    }
+
+    /** The opponent must fit in the bit masks. */
+    @Test
+    void constructor_ShouldRejectEmptyOpponent() {
+        assertThatThrownBy(() -> new CounterTeamFitnessFunction(List.of(fire), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PokemonType type(PokemonTypeName name, Map<PokemonTypeName, Double> offensive,
+                                    Map<PokemonTypeName, Double> defensive) {
+        return new PokemonType(name, offensive, defensive);
+    }
+
+    private static PokemonGA pokemon(String name, PokemonType type1, PokemonType type2) {
+        return new PokemonGA(1, name, type1, type2, 80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+    }
+
+    private static PokemonTeamGA team(PokemonGA... members) {
+        return new PokemonTeamGA(members);
+    }
+}
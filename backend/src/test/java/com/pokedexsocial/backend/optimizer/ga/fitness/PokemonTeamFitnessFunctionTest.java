@@ -45,15 +45,6 @@ class PokemonTeamFitnessFunctionTest {
     @Mock
     private PokemonGA p2;
 
-    @Mock
-    private PokemonType type1a;
-    @Mock
-    private PokemonType type2a;
-    @Mock
-    private PokemonType type1b;
-    @Mock
-    private PokemonType type2b;
-
     @BeforeEach
     void setUp() throws Exception {
         // Ensure weights are initialized as in @Value defaults without a Spring context
@@ -70,6 +61,26 @@ class PokemonTeamFitnessFunctionTest {
         f.setDouble(target, value);
     }
 
+    private static PokemonGA realPokemon(String name, PokemonTypeName type1, PokemonTypeName type2, int total,
+                                         PokemonRarity rarity, Set<PokemonTypeName> resistances,
+                                         Set<PokemonTypeName> weaknesses) {
+        return new PokemonGA(1, name, new PokemonType(type1), type2 == null ? null : new PokemonType(type2),
+                total, 0, 0, 0, 0, 0, rarity).withDefenses(resistances, weaknesses);
+    }
+
+    private static long bits(PokemonTypeName... types) {
+        long mask = 0;
+        for (PokemonTypeName type : types) {
+            mask |= 1L << type.ordinal();
+        }
+        return mask;
+    }
+
+    private static void stubWeaknesses(PokemonGA pokemon, PokemonTypeName... types) {
+        when(pokemon.getWeaknessMask()).thenReturn(bits(types));
+        when(pokemon.getWeaknessCount()).thenReturn(types.length);
+    }
+
     /** Mirror of production formula with clamping used for assertions (kept local to the test). */
     private static double normalize(double x, double minX, double maxX, double minY, double maxY) {
         double normalized = (x - minX) / (maxX - minX) * (maxY - minY) + minY;
@@ -104,37 +115,26 @@ class PokemonTeamFitnessFunctionTest {
         when(p1.isMegaEvolution()).thenReturn(false);
         when(p2.isMegaEvolution()).thenReturn(false);
 
-        // totals: one above standard (legendary-like) and one normal
-        when(p1.getTotal()).thenReturn(650);    // > MAX_TOTAL_STATS_STANDARD → capped at 600 inside average
-        when(p2.getTotal()).thenReturn(400);
+        // totals: one above standard (legendary-like, capped at 600 by PokemonGA) and one normal
+        when(p1.getCappedTotal()).thenReturn(600);
+        when(p2.getCappedTotal()).thenReturn(400);
 
         // rarities → legendary count score
-        when(p1.getRarity()).thenReturn(PokemonRarity.LEGENDARY); // +2
-        when(p2.getRarity()).thenReturn(PokemonRarity.COMMON);    // +0
+        when(p1.getRarityWeight()).thenReturn(2); // LEGENDARY
+        when(p2.getRarityWeight()).thenReturn(0); // COMMON
 
         // typing: p1 monotype, p2 dual-type
-        when(p1.getType1()).thenReturn(type1a);
-        when(p1.getType2()).thenReturn(type2a);
-        when(type1a.getName()).thenReturn(PokemonTypeName.FIRE);
-        when(type2a.getName()).thenReturn(PokemonTypeName.UNDEFINED);
-
-        when(p2.getType1()).thenReturn(type1b);
-        when(p2.getType2()).thenReturn(type2b);
-        when(type1b.getName()).thenReturn(PokemonTypeName.WATER);
-        when(type2b.getName()).thenReturn(PokemonTypeName.ELECTRIC);
+        when(p1.getTypeMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getTypeMask()).thenReturn(bits(PokemonTypeName.WATER, PokemonTypeName.ELECTRIC));
 
         // resistances union size → e.g., {FIRE, WATER, GRASS} = 3
-        Set<PokemonTypeName> res1 = EnumSet.of(PokemonTypeName.FIRE, PokemonTypeName.WATER);
-        Set<PokemonTypeName> res2 = EnumSet.of(PokemonTypeName.GRASS);
-        when(p1.getResistances()).thenReturn(res1);
-        when(p2.getResistances()).thenReturn(res2);
+        when(p1.getResistanceMask()).thenReturn(bits(PokemonTypeName.FIRE, PokemonTypeName.WATER));
+        when(p2.getResistanceMask()).thenReturn(bits(PokemonTypeName.GRASS));
 
-        // weaknesses map (with overlaps) for commonWeaknesses
+        // weaknesses (with overlaps) for commonWeaknesses
         // p1: {ROCK}, p2: {ELECTRIC, GRASS} → counts: ROCK=1, ELECTRIC=1, GRASS=1 → total=3, num=3 → avg=1
-        Set<PokemonTypeName> wk1 = EnumSet.of(PokemonTypeName.ROCK);
-        Set<PokemonTypeName> wk2 = EnumSet.of(PokemonTypeName.ELECTRIC, PokemonTypeName.GRASS);
-        when(p1.getWeaknesses()).thenReturn(wk1);
-        when(p2.getWeaknesses()).thenReturn(wk2);
+        stubWeaknesses(p1, PokemonTypeName.ROCK);
+        stubWeaknesses(p2, PokemonTypeName.ELECTRIC, PokemonTypeName.GRASS);
 
         when(team.getCoding()).thenReturn(new PokemonGA[]{p1, p2});
 
@@ -185,26 +185,17 @@ class PokemonTeamFitnessFunctionTest {
         when(p2.isMegaEvolution()).thenReturn(false);
 
         // Keep everything very small but valid to avoid division-by-zero in commonWeaknesses
-        when(p1.getTotal()).thenReturn(300);
-        when(p2.getTotal()).thenReturn(300);
+        when(p1.getCappedTotal()).thenReturn(300);
+        when(p2.getCappedTotal()).thenReturn(300);
 
-        when(p1.getRarity()).thenReturn(PokemonRarity.COMMON);
-        when(p2.getRarity()).thenReturn(PokemonRarity.COMMON);
+        when(p1.getTypeMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getTypeMask()).thenReturn(bits(PokemonTypeName.WATER));
 
-        when(p1.getType1()).thenReturn(type1a);
-        when(p1.getType2()).thenReturn(type2a);
-        when(p2.getType1()).thenReturn(type1b);
-        when(p2.getType2()).thenReturn(type2b);
-        when(type1a.getName()).thenReturn(PokemonTypeName.FIRE);
-        when(type2a.getName()).thenReturn(PokemonTypeName.UNDEFINED);
-        when(type1b.getName()).thenReturn(PokemonTypeName.WATER);
-        when(type2b.getName()).thenReturn(PokemonTypeName.UNDEFINED);
+        when(p1.getResistanceMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getResistanceMask()).thenReturn(bits(PokemonTypeName.WATER));
 
-        when(p1.getResistances()).thenReturn(EnumSet.of(PokemonTypeName.FIRE));
-        when(p2.getResistances()).thenReturn(EnumSet.of(PokemonTypeName.WATER));
-
-        when(p1.getWeaknesses()).thenReturn(EnumSet.of(PokemonTypeName.ELECTRIC));
-        when(p2.getWeaknesses()).thenReturn(EnumSet.of(PokemonTypeName.GRASS));
+        stubWeaknesses(p1, PokemonTypeName.ELECTRIC);
+        stubWeaknesses(p2, PokemonTypeName.GRASS);
 
         when(team.getCoding()).thenReturn(new PokemonGA[]{p1, p2});
 
@@ -217,6 +208,77 @@ class PokemonTeamFitnessFunctionTest {
         assertThat(captor.getValue()).isGreaterThan(0.0);
     }
 
+    @Test
+    @DisplayName("objectives_ShouldMatchBreakdownComponents_WhenTeamIsValid")
+        // Each NSGA-II objective is one of the weighted components, in getObjectiveNames() order
+    void objectives_ShouldMatchBreakdownComponents_WhenTeamIsValid() {
+        when(p1.getCappedTotal()).thenReturn(300);
+        when(p2.getCappedTotal()).thenReturn(500);
+        when(p2.getRarityWeight()).thenReturn(2);
+        when(p1.getTypeMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getTypeMask()).thenReturn(bits(PokemonTypeName.WATER, PokemonTypeName.FLYING));
+        when(p1.getResistanceMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getResistanceMask()).thenReturn(bits(PokemonTypeName.WATER));
+        stubWeaknesses(p1, PokemonTypeName.ELECTRIC);
+        stubWeaknesses(p2, PokemonTypeName.ELECTRIC);
+        when(team.getCoding()).thenReturn(new PokemonGA[]{p1, p2});
+
+        PokemonTeamFitnessFunction.Breakdown breakdown = fitnessFunction.breakdown(team);
+        double[] objectives = fitnessFunction.objectives(team);
+
+        assertThat(fitnessFunction.getObjectiveNames())
+                .containsExactly("averageStats", "typesDiversity", "resistances", "legendaries", "commonWeaknesses");
+        assertThat(objectives).containsExactly(breakdown.averageStats(), breakdown.typesDiversity(),
+                breakdown.resistances(), breakdown.legendaries(), breakdown.commonWeaknesses());
+    }
+
+    @Test
+    @DisplayName("objectives_ShouldBeAllZero_WhenMoreThanOneMegaEvolution")
+        // Invalid teams must be dominated by every valid team
+    void objectives_ShouldBeAllZero_WhenMoreThanOneMegaEvolution() {
+        when(p1.isMegaEvolution()).thenReturn(true);
+        when(p2.isMegaEvolution()).thenReturn(true);
+        when(team.getCoding()).thenReturn(new PokemonGA[]{p1, p2});
+
+        assertThat(fitnessFunction.objectives(team)).containsOnly(0.0).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("slotEvaluator_ShouldMatchFullEvaluation_ForEverySlotAndCandidate")
+        // The incremental evaluation of a single-slot swap must agree with evaluate() on the swapped team
+    void slotEvaluator_ShouldMatchFullEvaluation_ForEverySlotAndCandidate() {
+        List<PokemonGA> pool = List.of(
+                realPokemon("Charizard", PokemonTypeName.FIRE, PokemonTypeName.FLYING, 534, PokemonRarity.COMMON,
+                        EnumSet.of(PokemonTypeName.GRASS, PokemonTypeName.BUG), EnumSet.of(PokemonTypeName.ROCK, PokemonTypeName.WATER)),
+                realPokemon("Mega Charizard X", PokemonTypeName.FIRE, PokemonTypeName.DRAGON, 634, PokemonRarity.COMMON,
+                        EnumSet.of(PokemonTypeName.FIRE, PokemonTypeName.GRASS), EnumSet.of(PokemonTypeName.GROUND, PokemonTypeName.DRAGON)),
+                realPokemon("Mewtwo", PokemonTypeName.PSYCHIC, null, 680, PokemonRarity.LEGENDARY,
+                        EnumSet.of(PokemonTypeName.FIGHTING), EnumSet.of(PokemonTypeName.BUG, PokemonTypeName.DARK)),
+                realPokemon("Raikou", PokemonTypeName.ELECTRIC, null, 580, PokemonRarity.SUB_LEGENDARY,
+                        EnumSet.of(PokemonTypeName.STEEL), EnumSet.of(PokemonTypeName.GROUND)),
+                realPokemon("Snorlax", PokemonTypeName.NORMAL, null, 540, PokemonRarity.COMMON,
+                        EnumSet.noneOf(PokemonTypeName.class), EnumSet.of(PokemonTypeName.FIGHTING)),
+                realPokemon("Ferrothorn", PokemonTypeName.GRASS, PokemonTypeName.STEEL, 489, PokemonRarity.COMMON,
+                        EnumSet.of(PokemonTypeName.WATER, PokemonTypeName.GRASS, PokemonTypeName.NORMAL), EnumSet.of(PokemonTypeName.FIRE)),
+                realPokemon("Mega Venusaur", PokemonTypeName.GRASS, PokemonTypeName.POISON, 625, PokemonRarity.COMMON,
+                        EnumSet.of(PokemonTypeName.WATER), EnumSet.of(PokemonTypeName.FIRE, PokemonTypeName.PSYCHIC)),
+                realPokemon("Iron Valiant", PokemonTypeName.FAIRY, PokemonTypeName.FIGHTING, 590, PokemonRarity.PARADOX,
+                        EnumSet.of(PokemonTypeName.BUG, PokemonTypeName.DARK), EnumSet.of(PokemonTypeName.POISON, PokemonTypeName.FLYING)));
+
+        PokemonGA[] coding = pool.subList(0, 6).toArray(new PokemonGA[0]);
+        for (int slot = 0; slot < coding.length; slot++) {
+            PokemonTeamFitnessFunction.SlotEvaluator evaluator = fitnessFunction.slotEvaluator(coding, slot);
+            for (PokemonGA candidate : pool) {
+                PokemonGA[] swapped = coding.clone();
+                swapped[slot] = candidate;
+                PokemonTeamGA full = new PokemonTeamGA(swapped);
+                fitnessFunction.evaluate(full);
+
+                assertThat(evaluator.evaluate(candidate)).isCloseTo(full.getFitness(), within(1e-9));
+            }
+        }
+    }
+
     @Test
     @DisplayName("evaluate_ShouldThrowArithmeticException_WhenAllWeaknessesEmpty")
         // Edge-case safety: if every Pokemon has an empty weaknesses set, commonWeaknesses() divides by zero.
@@ -226,27 +288,18 @@ class PokemonTeamFitnessFunctionTest {
         when(p1.isMegaEvolution()).thenReturn(false);
         when(p2.isMegaEvolution()).thenReturn(false);
 
-        when(p1.getTotal()).thenReturn(300);
-        when(p2.getTotal()).thenReturn(300);
-
-        when(p1.getRarity()).thenReturn(PokemonRarity.COMMON);
-        when(p2.getRarity()).thenReturn(PokemonRarity.COMMON);
+        when(p1.getCappedTotal()).thenReturn(300);
+        when(p2.getCappedTotal()).thenReturn(300);
 
-        when(p1.getType1()).thenReturn(type1a);
-        when(p1.getType2()).thenReturn(type2a);
-        when(p2.getType1()).thenReturn(type1b);
-        when(p2.getType2()).thenReturn(type2b);
-        when(type1a.getName()).thenReturn(PokemonTypeName.FIRE);
-        when(type2a.getName()).thenReturn(PokemonTypeName.UNDEFINED);
-        when(type1b.getName()).thenReturn(PokemonTypeName.WATER);
-        when(type2b.getName()).thenReturn(PokemonTypeName.UNDEFINED);
+        when(p1.getTypeMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getTypeMask()).thenReturn(bits(PokemonTypeName.WATER));
 
-        when(p1.getResistances()).thenReturn(EnumSet.of(PokemonTypeName.FIRE));
-        when(p2.getResistances()).thenReturn(EnumSet.of(PokemonTypeName.WATER));
+        when(p1.getResistanceMask()).thenReturn(bits(PokemonTypeName.FIRE));
+        when(p2.getResistanceMask()).thenReturn(bits(PokemonTypeName.WATER));
 
         // The trigger: empty weaknesses for every Pokemon → num == 0 in commonWeaknesses()
-        when(p1.getWeaknesses()).thenReturn(EnumSet.noneOf(PokemonTypeName.class));
-        when(p2.getWeaknesses()).thenReturn(EnumSet.noneOf(PokemonTypeName.class));
+        stubWeaknesses(p1);
+        stubWeaknesses(p2);
 
         when(team.getCoding()).thenReturn(new PokemonGA[]{p1, p2});
 
@@ -270,10 +323,10 @@ class PokemonTeamFitnessFunctionTest {
         PokemonGA subLegendary = mock(PokemonGA.class);
         PokemonGA paradox = mock(PokemonGA.class);
 
-        when(legendary.getRarity()).thenReturn(PokemonRarity.LEGENDARY);
-        when(mythical.getRarity()).thenReturn(PokemonRarity.MYTHICAL);
-        when(subLegendary.getRarity()).thenReturn(PokemonRarity.SUB_LEGENDARY);
-        when(paradox.getRarity()).thenReturn(PokemonRarity.PARADOX);
+        when(legendary.getRarityWeight()).thenReturn(2);
+        when(mythical.getRarityWeight()).thenReturn(2);
+        when(subLegendary.getRarityWeight()).thenReturn(1);
+        when(paradox.getRarityWeight()).thenReturn(1);
 
         PokemonTeamGA team = mock(PokemonTeamGA.class);
         when(team.getCoding()).thenReturn(new PokemonGA[]{legendary, mythical, subLegendary, paradox});
@@ -288,17 +341,16 @@ class PokemonTeamFitnessFunctionTest {
     }
 
     @Test
-    @DisplayName("averageTeamStats should call getTotal twice when equal to MAX_TOTAL_STATS_STANDARD")
-    void averageTeamStats_ShouldCallGetTotalTwice_WhenEqualToBoundary() throws Exception {
+    @DisplayName("averageTeamStats should read the precomputed capped total once per member")
+    void averageTeamStats_ShouldUseCappedTotal_WhenAtBoundary() throws Exception {
         // Access the private method using reflection
         var method = PokemonTeamFitnessFunction.class
                 .getDeclaredMethod("averageTeamStats", PokemonTeamGA.class);
         method.setAccessible(true);
 
-        // Mock a Pokémon whose total is exactly 600 on first call,
-        // but returns 123 on second call to expose the else-branch behavior.
+        // A Pokémon exactly at MAX_TOTAL_STATS_STANDARD: the raw total must not be consulted
         PokemonGA pokemon = mock(PokemonGA.class);
-        when(pokemon.getTotal()).thenReturn(PokemonGA.MAX_TOTAL_STATS_STANDARD, 123);
+        when(pokemon.getCappedTotal()).thenReturn(PokemonGA.MAX_TOTAL_STATS_STANDARD);
 
         // Mock the team containing only this Pokémon
         PokemonTeamGA team = mock(PokemonTeamGA.class);
@@ -307,11 +359,10 @@ class PokemonTeamFitnessFunctionTest {
         // Call the private method
         double result = (double) method.invoke(fitnessFunction, team);
 
-        // For the real code: else branch (== 600) → adds 123 → normalizeFitness(123) = 0
-        assertThat(result).isEqualTo(0.0);
-
-        // Verify getTotal() was called twice (condition + else branch)
-        verify(pokemon, times(2)).getTotal();
+        // 600 is the upper bound of the normalization → 100
+        assertThat(result).isEqualTo(100.0);
+        verify(pokemon).getCappedTotal();
+        verify(pokemon, never()).getTotal();
     }
 
     @Test
@@ -327,8 +378,8 @@ class PokemonTeamFitnessFunctionTest {
         // total/num = 2 (INTEGER division)
         PokemonGA p1 = mock(PokemonGA.class);
         PokemonGA p2 = mock(PokemonGA.class);
-        when(p1.getWeaknesses()).thenReturn(EnumSet.of(PokemonTypeName.FIRE, PokemonTypeName.WATER));
-        when(p2.getWeaknesses()).thenReturn(EnumSet.of(PokemonTypeName.FIRE, PokemonTypeName.WATER));
+        stubWeaknesses(p1, PokemonTypeName.FIRE, PokemonTypeName.WATER);
+        stubWeaknesses(p2, PokemonTypeName.FIRE, PokemonTypeName.WATER);
 
         PokemonTeamGA team = mock(PokemonTeamGA.class);
         when(team.getCoding()).thenReturn(new PokemonGA[]{p1, p2});
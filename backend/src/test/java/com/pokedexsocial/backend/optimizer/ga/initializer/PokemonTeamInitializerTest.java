@@ -1,10 +1,13 @@
 package com.pokedexsocial.backend.optimizer.ga.initializer;
 
+import com.pokedexsocial.backend.optimizer.ga.archive.PokemonTeamEliteArchive;
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
 import com.pokedexsocial.backend.optimizer.ga.initializer.PokemonTeamInitializer;
 import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
 import com.pokedexsocial.backend.optimizer.pokemon.team.PokemonTeamGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +15,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,5 +97,47 @@ class PokemonTeamInitializerTest {
         verify(pokemonTeamGenerator, times(100))
                 .generatePokemonTeam(PokemonTeamGA.MAX_TEAM_MEMBERS);
     }
-}
 
+    @Test
+        // Tests that a constrained initializer generates every team from the constraints
+    void initialize_ShouldGenerateConstrainedTeams_WhenConstraintsAreSet() {
+        // Arrange
+        TeamConstraints constraints = mock(TeamConstraints.class);
+        when(pokemonTeamGenerator.generatePokemonTeam(eq(constraints), any())).thenReturn(mockTeam1, mockTeam2);
+
+        // Act
+        Population<PokemonTeamGA> population = initializer.withConstraints(constraints).initialize(2);
+
+        // Assert
+        assertEquals(2, population.size());
+        assertTrue(population.contains(mockTeam1));
+        assertTrue(population.contains(mockTeam2));
+        verify(pokemonTeamGenerator, never()).generatePokemonTeam(anyInt());
+    }
+
+    @Test
+        // Tests that archived teams seed part of the population and the rest is generated
+    void initialize_ShouldSeedFromArchive_WhenArchiveHasTeams() {
+        // Arrange
+        PokemonTeamEliteArchive archive = mock(PokemonTeamEliteArchive.class);
+        TeamConstraints constraints = mock(TeamConstraints.class);
+        PokemonGA[] seedCoding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+        when(archive.seeds(eq("locked=25"), eq(3), any())).thenReturn(List.of(mockTeam1));
+        when(mockTeam1.getCoding()).thenReturn(seedCoding);
+        when(pokemonTeamGenerator.generatePokemonTeam(eq(constraints), any())).thenReturn(mockTeam2, mock(PokemonTeamGA.class));
+        PokemonTeamInitializer seeded = new PokemonTeamInitializer(pokemonTeamGenerator, archive)
+                .withConstraints(constraints, "locked=25");
+
+        // Act
+        Population<PokemonTeamGA> population = seeded.initialize(3);
+
+        // Assert
+        assertEquals(3, population.size());
+        assertTrue(population.contains(mockTeam1));
+        assertTrue(population.contains(mockTeam2));
+        verify(constraints).repair(eq(seedCoding), any());
+        verify(pokemonTeamGenerator, times(2)).generatePokemonTeam(eq(constraints), any());
+        assertNull(seeded.withoutArchive().getArchive());
+        assertNull(seeded.withConstraints(constraints).getArchive());
+    }
+}
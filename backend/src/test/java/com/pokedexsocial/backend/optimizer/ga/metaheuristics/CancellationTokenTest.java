@@ -0,0 +1,52 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CancellationToken}.
+ */
+class CancellationTokenTest {
+
+    /** The first reason wins; later cancellations are ignored. */
+    @Test
+    void cancel_ShouldKeepFirstReason() {
+        CancellationToken token = CancellationToken.none();
+        assertThat(token.isCancelled()).isFalse();
+        assertThat(token.getReason()).isNull();
+
+        assertThat(token.cancel(CancellationToken.Reason.CLIENT_ABORT)).isTrue();
+        assertThat(token.cancel(CancellationToken.Reason.ASYNC_TIMEOUT)).isFalse();
+
+        assertThat(token.isCancelled()).isTrue();
+        assertThat(token.getReason()).isEqualTo(CancellationToken.Reason.CLIENT_ABORT);
+    }
+
+    /** An expired deadline cancels the token on the next check. */
+    @Test
+    void isCancelled_ShouldReportDeadline_WhenTimeoutHasElapsed() {
+        CancellationToken expired = CancellationToken.withTimeout(Duration.ZERO);
+        CancellationToken unbounded = CancellationToken.withTimeout(Duration.ofSeconds(Long.MAX_VALUE));
+
+        assertThat(expired.isCancelled()).isTrue();
+        assertThat(expired.getReason()).isEqualTo(CancellationToken.Reason.DEADLINE);
+        assertThat(unbounded.isCancelled()).isFalse();
+    }
+
+    /** Interrupting the checking thread cancels the token without clearing the flag. */
+    @Test
+    void isCancelled_ShouldReportInterruption_WhenThreadIsInterrupted() {
+        CancellationToken token = CancellationToken.none();
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(token.isCancelled()).isTrue();
+            assertThat(token.getReason()).isEqualTo(CancellationToken.Reason.INTERRUPTED);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.ConstrainedPokemonTeamCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamUniformCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.PokemonSwapMutation;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.KTournamentSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.results.Results;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DoubleBufferedGeneticAlgorithm}, on teams whose fitness is the sum
+ * of the member IDs.
+ */
+class DoubleBufferedGeneticAlgorithmTest {
+
+    private static final int POPULATION = 7;
+
+    private final List<PokemonGA> pokemons = new ArrayList<>();
+    private final Random pokemonRandom = new Random(7);
+    private PokemonGenerator generator;
+
+    static class IdSumFitness extends FitnessFunction<PokemonTeamGA> {
+        IdSumFitness() {
+            super(true);
+        }
+
+        @Override
+        public void evaluate(PokemonTeamGA individual) {
+            int sum = 0;
+            for (PokemonGA member : individual.getCoding()) {
+                sum += member.getId();
+            }
+            individual.setFitness(sum);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int id = 1; id <= 20; id++) {
+            PokemonGA p = new PokemonGA(id, "P" + id, new PokemonType(PokemonTypeName.NORMAL), null,
+                    80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+            pokemons.add(p);
+        }
+        generator = mock(PokemonGenerator.class);
+        when(generator.generatePokemon()).thenAnswer(inv -> randomPokemon());
+    }
+
+    /** Generations reuse the same slot instances and keep a constant size; the best generation is a snapshot. */
+    @Test
+    void step_ShouldReuseSlotsAndTrackBestGeneration() {
+        DoubleBufferedGeneticAlgorithm<PokemonTeamGA> ga = algorithm(new KTournamentSelection<>(), 50, 0);
+        DoubleBufferedGeneticAlgorithm.Buffers<PokemonTeamGA> buffers = ga.allocate(initializer().initialize());
+        List<PokemonTeamGA> first = new ArrayList<>(buffers.getCurrent());
+        List<PokemonTeamGA> second = null;
+        double initialAverage = buffers.getBestAverage();
+        Random rand = new Random(1);
+
+        for (int i = 0; i < 20; i++) {
+            ga.step(buffers, rand);
+            if (i == 0) {
+                second = new ArrayList<>(buffers.getCurrent());
+            }
+            List<PokemonTeamGA> expected = buffers.getGeneration() % 2 == 0 ? first : second;
+            assertThat(buffers.getCurrent()).hasSize(POPULATION);
+            for (int slot = 0; slot < POPULATION; slot++) {
+                assertThat(buffers.getCurrent().get(slot)).isSameAs(expected.get(slot));
+            }
+        }
+
+        assertThat(second).doesNotContainAnyElementsOf(first);
+        assertThat(buffers.getGeneration()).isEqualTo(20);
+        assertThat(buffers.getBestAverage()).isGreaterThan(initialAverage)
+                .isGreaterThanOrEqualTo(buffers.getCurrentAverage());
+    }
+
+    /** A full run returns the last and best generations as populations with their best individual. */
+    @Test
+    void run_ShouldReturnLastAndBestGenerations() {
+        Results<PokemonTeamGA> results = algorithm(new KTournamentSelection<>(), 30, 0).run();
+
+        assertThat(results.getGenerations()).hasSize(1);
+        assertThat(results.getNumberOfIterations()).isEqualTo(30);
+        assertThat(results.getBestGeneration().size()).isEqualTo(POPULATION);
+        assertThat(results.getBestGeneration().getAverageFitness())
+                .isGreaterThanOrEqualTo(results.getGenerations().peek().getAverageFitness());
+        assertThat(results.getBestIndividual().getFitness())
+                .isEqualTo(results.getBestGeneration().stream().mapToDouble(PokemonTeamGA::getFitness).max().orElseThrow());
+        assertThat(results.getCancellation()).isNull();
+    }
+
+    /** A cancelled token stops before the first generation; operators must work in place. */
+    @Test
+    void run_ShouldStopOnCancellation_AndRejectAllocatingOperators() {
+        CancellationToken token = CancellationToken.none();
+        token.cancel(CancellationToken.Reason.CLIENT_ABORT);
+
+        Results<PokemonTeamGA> results = algorithm(new KTournamentSelection<>(), 30, 0).run(token);
+
+        assertThat(results.getNumberOfIterations()).isEqualTo(1);
+        assertThat(results.getCancellation()).isEqualTo(CancellationToken.Reason.CLIENT_ABORT);
+        assertThat(results.getBestGeneration().size()).isEqualTo(POPULATION);
+
+        @SuppressWarnings("unchecked")
+        SelectionOperator<PokemonTeamGA> allocating = mock(SelectionOperator.class);
+        assertThatThrownBy(() -> algorithm(allocating, 30, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("InPlaceSelection");
+
+        // Un crossover vincolato è sul posto solo se lo è il suo delegato
+        @SuppressWarnings("unchecked")
+        CrossoverOperator<PokemonTeamGA> allocatingCrossover = mock(CrossoverOperator.class);
+        assertThatThrownBy(() -> new DoubleBufferedGeneticAlgorithm<>(new IdSumFitness(), initializer(),
+                new KTournamentSelection<>(), ConstrainedPokemonTeamCrossover.of(allocatingCrossover, null),
+                new PokemonSwapMutation(generator, 0.3), 1.0, 30, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("InPlaceCrossover");
+    }
+
+    private DoubleBufferedGeneticAlgorithm<PokemonTeamGA> algorithm(SelectionOperator<PokemonTeamGA> selection,
+                                                                    int maxIterations, int maxNoImprovements) {
+        return new DoubleBufferedGeneticAlgorithm<>(new IdSumFitness(), initializer(), selection,
+                new PokemonTeamUniformCrossover(), new PokemonSwapMutation(generator, 0.3), 1.0,
+                maxIterations, maxNoImprovements) {
+            @Override
+            protected Random newRandom() {
+                return new Random(3);
+            }
+        };
+    }
+
+    private Initializer<PokemonTeamGA> initializer() {
+        return new Initializer<>() {
+            @Override
+            public Population<PokemonTeamGA> initialize() {
+                Population<PokemonTeamGA> population = new FixedSizePopulation<>(0L, POPULATION);
+                for (int i = 0; i < POPULATION; i++) {
+                    PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+                    for (int slot = 0; slot < coding.length; slot++) {
+                        coding[slot] = randomPokemon();
+                    }
+                    population.add(new PokemonTeamGA(coding));
+                }
+                return population;
+            }
+        };
+    }
+
+    private PokemonGA randomPokemon() {
+        return pokemons.get(pokemonRandom.nextInt(pokemons.size()));
+    }
+}
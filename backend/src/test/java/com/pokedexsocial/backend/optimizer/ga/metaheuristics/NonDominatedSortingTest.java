@@ -0,0 +1,109 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link NonDominatedSorting}.
+ */
+class NonDominatedSortingTest {
+
+    /** Points are split into the expected fronts, best first. */
+    @Test
+    void sort_ShouldReturnFrontsInDominanceOrder() {
+        double[] objectives = {
+                3, 1,   // 0: fronte 0
+                1, 3,   // 1: fronte 0
+                2, 2,   // 2: fronte 0
+                1, 1,   // 3: fronte 1 (dominato da 2)
+                0, 0,   // 4: fronte 2
+                2, 2    // 5: uguale a 2, non dominato
+        };
+
+        List<int[]> fronts = NonDominatedSorting.sort(objectives, 2);
+
+        assertThat(fronts).hasSize(3);
+        assertThat(fronts.get(0)).containsExactlyInAnyOrder(0, 1, 2, 5);
+        assertThat(fronts.get(1)).containsExactly(3);
+        assertThat(fronts.get(2)).containsExactly(4);
+    }
+
+    /** The parallel path, used for large populations, gives the same ranks as a naive sort. */
+    @Test
+    void sort_ShouldMatchNaiveRanks_WhenPopulationUsesParallelPath() {
+        int n = NonDominatedSorting.PARALLEL_THRESHOLD * 3;
+        int m = 3;
+        Random rand = new Random(42);
+        double[] objectives = new double[n * m];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = rand.nextInt(20);
+        }
+
+        List<int[]> fronts = NonDominatedSorting.sort(objectives, m);
+
+        int[] expected = naiveRanks(objectives, n, m);
+        int total = 0;
+        for (int rank = 0; rank < fronts.size(); rank++) {
+            for (int i : fronts.get(rank)) {
+                assertThat(expected[i]).isEqualTo(rank);
+                total++;
+            }
+        }
+        assertThat(total).isEqualTo(n);
+    }
+
+    /** Boundary points are infinitely far; inner points sum their normalized neighbor gaps. */
+    @Test
+    void crowdingDistance_ShouldFavorBoundaryAndIsolatedPoints() {
+        double[] objectives = {
+                0, 4,
+                1, 3,
+                3, 1,
+                4, 0
+        };
+
+        double[] distance = NonDominatedSorting.crowdingDistance(objectives, 2, new int[]{0, 1, 2, 3});
+
+        assertThat(distance[0]).isInfinite();
+        assertThat(distance[3]).isInfinite();
+        // (3 - 0) / 4 per ciascun obiettivo
+        assertThat(distance[1]).isEqualTo(1.5);
+        assertThat(distance[2]).isEqualTo(1.5);
+    }
+
+    // Peeling ripetuto dei non dominati, O(N^3): solo come riferimento
+    private static int[] naiveRanks(double[] objectives, int n, int m) {
+        int[] ranks = new int[n];
+        List<Integer> remaining = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            remaining.add(i);
+        }
+        int rank = 0;
+        while (!remaining.isEmpty()) {
+            List<Integer> front = new ArrayList<>();
+            for (int i : remaining) {
+                boolean dominated = false;
+                for (int j : remaining) {
+                    if (NonDominatedSorting.compare(objectives, j * m, i * m, m) > 0) {
+                        dominated = true;
+                        break;
+                    }
+                }
+                if (!dominated) {
+                    front.add(i);
+                }
+            }
+            for (int i : front) {
+                ranks[i] = rank;
+            }
+            remaining.removeAll(front);
+            rank++;
+        }
+        return ranks;
+    }
+}
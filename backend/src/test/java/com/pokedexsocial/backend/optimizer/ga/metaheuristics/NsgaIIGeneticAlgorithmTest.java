@@ -0,0 +1,152 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.MultiObjectiveFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.results.ParetoResults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link NsgaIIGeneticAlgorithm}, on individuals with two fixed objectives.
+ */
+@ExtendWith(MockitoExtension.class)
+class NsgaIIGeneticAlgorithmTest {
+
+    static class TestIndividual extends Individual {
+        final double[] values;
+
+        TestIndividual(double... values) {
+            this.values = values;
+        }
+
+        @Override
+        public TestIndividual clone() {
+            return new TestIndividual(values);
+        }
+    }
+
+    // Obiettivi = valori dell'individuo, fitness scalare = somma
+    private final MultiObjectiveFitnessFunction<TestIndividual> objectives = new MultiObjectiveFitnessFunction<>() {
+        @Override
+        public List<String> getObjectiveNames() {
+            return List.of("x", "y");
+        }
+
+        @Override
+        public double[] objectives(TestIndividual individual) {
+            return individual.values;
+        }
+
+        @Override
+        public void evaluate(TestIndividual individual) {
+            individual.setFitness(individual.values[0] + individual.values[1]);
+        }
+    };
+
+    @Mock
+    private Initializer<TestIndividual> initializer;
+
+    @Mock
+    private CrossoverOperator<TestIndividual> crossover;
+
+    @Mock
+    private MutationOperator<TestIndividual> mutation;
+
+    private TestIndividual balanced;
+    private TestIndividual onlyX;
+    private TestIndividual onlyY;
+    private TestIndividual dominated;
+
+    @BeforeEach
+    void setUp() {
+        balanced = new TestIndividual(1, 1);
+        onlyX = new TestIndividual(2, 0);
+        onlyY = new TestIndividual(0, 2);
+        dominated = new TestIndividual(0, 0);
+        when(initializer.initialize()).thenReturn(population(0L, balanced, onlyX, onlyY, dominated));
+    }
+
+    /** With a single generation the front is the non-dominated part of the initial population. */
+    @Test
+    void run_ShouldReturnNonDominatedTeams_WhenSingleGeneration() throws CloneNotSupportedException {
+        NsgaIIGeneticAlgorithm<TestIndividual> nsga = algorithm(1);
+
+        ParetoResults<TestIndividual> results = nsga.run();
+
+        assertThat(results.getObjectiveNames()).containsExactly("x", "y");
+        assertThat(results.getParetoFront()).extracting(ParetoResults.Solution::individual)
+                .containsExactlyInAnyOrder(balanced, onlyX, onlyY);
+        assertThat((Collection<TestIndividual>) results.getBestGeneration()).hasSize(4);
+        verify(crossover, never()).apply(any(), any());
+    }
+
+    /** A dominating offspring replaces the old front; the population size does not change. */
+    @Test
+    void run_ShouldKeepPopulationSizeAndPromoteDominatingOffspring() throws CloneNotSupportedException {
+        TestIndividual strong = new TestIndividual(3, 3);
+        when(crossover.apply(any(), any())).thenReturn(population(1L, strong, new TestIndividual(0, 0)));
+        NsgaIIGeneticAlgorithm<TestIndividual> nsga = algorithm(2);
+
+        ParetoResults<TestIndividual> results = nsga.run();
+
+        assertThat(results.getParetoFront()).hasSize(1);
+        ParetoResults.Solution<TestIndividual> best = results.getParetoFront().get(0);
+        assertThat(best.individual()).isSameAs(strong);
+        assertThat(best.objectives()).containsExactly(3.0, 3.0);
+        // la popolazione finale è rivalutata con la fitness scalare
+        assertThat(results.getBestIndividual()).isSameAs(strong);
+        assertThat(strong.getFitness()).isEqualTo(6.0);
+        assertThat((Collection<TestIndividual>) results.getBestGeneration()).hasSize(4).doesNotContain(dominated);
+        assertThat(results.getNumberOfIterations()).isEqualTo(2);
+    }
+
+    /** A cancelled run stops before breeding and still returns the front found so far. */
+    @Test
+    void run_ShouldReturnPartialFront_WhenCancelled() throws CloneNotSupportedException {
+        CancellationToken token = CancellationToken.none();
+        token.cancel(CancellationToken.Reason.DEADLINE);
+
+        ParetoResults<TestIndividual> results = algorithm(10).run(token);
+
+        assertThat(results.getParetoFront()).extracting(ParetoResults.Solution::individual)
+                .containsExactlyInAnyOrder(balanced, onlyX, onlyY);
+        assertThat(results.getCancellation()).isEqualTo(CancellationToken.Reason.DEADLINE);
+        assertThat(results.getNumberOfIterations()).isEqualTo(1);
+        verify(crossover, never()).apply(any(), any());
+    }
+
+    private NsgaIIGeneticAlgorithm<TestIndividual> algorithm(int maxIterations) {
+        return new NsgaIIGeneticAlgorithm<>(objectives, initializer, crossover, mutation, 0.0, maxIterations) {
+            @Override
+            protected Random newRandom() {
+                return new Random(1);
+            }
+        };
+    }
+
+    private static Population<TestIndividual> population(long id, TestIndividual... individuals) {
+        Population<TestIndividual> population = new FixedSizePopulation<>(id, individuals.length);
+        for (TestIndividual individual : individuals) {
+            population.add(individual);
+        }
+        return population;
+    }
+}
@@ -0,0 +1,287 @@
+package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
+
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.Checkpoint;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.CheckpointStore;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.GeneCodec;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.RestorableRandom;
+import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.results.Results;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checkpoint and resume tests for {@link SimpleGeneticAlgorithm}, on individuals holding
+ * a single counter that crossover increments by a random amount.
+ */
+class SimpleGeneticAlgorithmCheckpointTest {
+
+    static class Counter extends Individual {
+        final int value;
+
+        Counter(int value) {
+            this.value = value;
+        }
+    }
+
+    static class CounterCodec implements GeneCodec<Counter> {
+        @Override
+        public int[] encode(Counter individual) {
+            return new int[]{individual.value};
+        }
+
+        @Override
+        public Counter decode(int[] genes) {
+            return new Counter(genes[0]);
+        }
+    }
+
+    static class CounterInitializer extends Initializer<Counter> {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Population<Counter> initialize() {
+            calls.incrementAndGet();
+            Population<Counter> population = new FixedSizePopulation<>(0L, 4);
+            for (int i = 0; i < 4; i++) {
+                population.add(new Counter(i));
+            }
+            return population;
+        }
+    }
+
+    static class CounterFitness extends FitnessFunction<Counter> {
+        CounterFitness() {
+            super(true);
+        }
+
+        @Override
+        public void evaluate(Counter individual) {
+            individual.setFitness(individual.value);
+        }
+    }
+
+    static class IdentitySelection extends SelectionOperator<Counter> {
+        @Override
+        public Population<Counter> apply(Population<Counter> population, Random rand) {
+            return population;
+        }
+    }
+
+    // Incrementa ogni contatore, in ordine di valore così il risultato non dipende dall'ordine del set
+    static class IncrementCrossover extends CrossoverOperator<Counter> {
+        final long delayMillis;
+        final int failAtCall;
+        int calls;
+
+        IncrementCrossover(long delayMillis, int failAtCall) {
+            this.delayMillis = delayMillis;
+            this.failAtCall = failAtCall;
+        }
+
+        @Override
+        public Population<Counter> apply(Population<Counter> population, Random rand) {
+            if (++calls == failAtCall) {
+                throw new IllegalStateException("killed");
+            }
+            sleep(delayMillis);
+            List<Counter> parents = new ArrayList<>(population);
+            parents.sort(Comparator.comparingInt(c -> c.value));
+            Population<Counter> offsprings = new FixedSizePopulation<>(population.getId() + 1, parents.size());
+            for (Counter parent : parents) {
+                offsprings.add(new Counter(parent.value + rand.nextInt(3)));
+            }
+            return offsprings;
+        }
+    }
+
+    static class IdentityMutation extends MutationOperator<Counter> {
+        @Override
+        public Population<Counter> apply(Population<Counter> population, Random rand) {
+            return population;
+        }
+    }
+
+    /**
+     * Runs a checkpointed job until killed; the checkpoint file is the only argument.
+     */
+    public static void main(String[] args) throws Exception {
+        CheckpointStore<Counter> store = new CheckpointStore<>(Path.of(args[0]), new CounterCodec(), 1);
+        algorithm(new CounterInitializer(), new IncrementCrossover(20, 0), 1_000_000, 7L)
+                .run(CancellationToken.none(), store);
+    }
+
+    /** A job killed with SIGKILL resumes from its last checkpoint and runs to its budget. */
+    @Test
+    void run_ShouldResumeFromLastCheckpoint_WhenProcessIsKilled(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("job.ckpt");
+        CheckpointStore<Counter> store = new CheckpointStore<>(file, new CounterCodec(), 1);
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process child = new ProcessBuilder(java.toString(), "-cp", System.getProperty("java.class.path"),
+                SimpleGeneticAlgorithmCheckpointTest.class.getName(), file.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (generation(store) < 5 && System.nanoTime() < deadline) {
+                assertThat(child.isAlive()).isTrue();
+                Thread.sleep(20);
+            }
+        } finally {
+            child.destroyForcibly();
+            child.waitFor(10, TimeUnit.SECONDS);
+        }
+
+        // Il checkpoint lasciato dal processo ucciso è integro
+        Checkpoint<Counter> last = store.load().orElseThrow();
+        assertThat(last.generation()).isGreaterThanOrEqualTo(5);
+        int budget = last.generation() + 5;
+        CounterInitializer initializer = new CounterInitializer();
+
+        Results<Counter> results = algorithm(initializer, new IncrementCrossover(0, 0), budget, 7L)
+                .run(CancellationToken.none(), store);
+
+        assertThat(initializer.calls).hasValue(0);
+        assertThat(results.getLog()).contains("Resumed from checkpoint at generation " + last.generation());
+        assertThat(results.getNumberOfIterations()).isEqualTo(budget);
+        assertThat(results.getBestIndividual().getFitness())
+                .isGreaterThanOrEqualTo(last.best().getBestIndividual().getFitness());
+        assertThat(Files.exists(file)).isFalse();
+    }
+
+    /** A resumed run continues the same random sequence and ends exactly like an uninterrupted one. */
+    @Test
+    void run_ShouldMatchUninterruptedRun_WhenResumedAfterCrash(@TempDir Path directory) throws Exception {
+        Results<Counter> uninterrupted = algorithm(new CounterInitializer(), new IncrementCrossover(0, 0), 12, 3L)
+                .run(CancellationToken.none());
+
+        CheckpointStore<Counter> store = new CheckpointStore<>(directory.resolve("job.ckpt"), new CounterCodec(), 3);
+        assertThatThrownBy(() -> algorithm(new CounterInitializer(), new IncrementCrossover(0, 8), 12, 3L)
+                .run(CancellationToken.none(), store))
+                .hasMessage("killed");
+        assertThat(generation(store)).isEqualTo(6);
+
+        // Il seme diverso non conta: lo stato del generatore viene dal checkpoint
+        Results<Counter> resumed = algorithm(new CounterInitializer(), new IncrementCrossover(0, 0), 12, 99L)
+                .run(CancellationToken.none(), store);
+
+        assertThat(resumed.getNumberOfIterations()).isEqualTo(12);
+        assertThat(values(resumed.getGenerations().peek()))
+                .containsExactlyElementsOf(values(uninterrupted.getGenerations().peek()));
+    }
+
+    /** A cancelled run saves its last generation, so the next run picks up from there. */
+    @Test
+    void run_ShouldSaveCheckpoint_WhenCancelled(@TempDir Path directory) throws Exception {
+        CheckpointStore<Counter> store = new CheckpointStore<>(directory.resolve("job.ckpt"), new CounterCodec(), 100);
+        CancellationToken token = CancellationToken.none();
+        IncrementCrossover crossover = new IncrementCrossover(0, 0) {
+            @Override
+            public Population<Counter> apply(Population<Counter> population, Random rand) {
+                if (calls == 3) {
+                    token.cancel(CancellationToken.Reason.DEADLINE);
+                }
+                return super.apply(population, rand);
+            }
+        };
+
+        Results<Counter> cancelled = algorithm(new CounterInitializer(), crossover, 50, 1L).run(token, store);
+
+        assertThat(cancelled.getCancellation()).isEqualTo(CancellationToken.Reason.DEADLINE);
+        assertThat(generation(store)).isEqualTo(cancelled.getNumberOfIterations()).isEqualTo(5);
+    }
+
+    /** A run cancelled by interrupting its thread still writes the checkpoint and keeps the flag set. */
+    @Test
+    void run_ShouldSaveCheckpoint_WhenThreadIsInterrupted(@TempDir Path directory) throws Exception {
+        CheckpointStore<Counter> store = new CheckpointStore<>(directory.resolve("job.ckpt"), new CounterCodec(), 100);
+        CancellationToken token = CancellationToken.none();
+        IncrementCrossover crossover = new IncrementCrossover(0, 0) {
+            @Override
+            public Population<Counter> apply(Population<Counter> population, Random rand) {
+                if (calls == 3) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.apply(population, rand);
+            }
+        };
+
+        Results<Counter> cancelled;
+        boolean stillInterrupted;
+        try {
+            cancelled = algorithm(new CounterInitializer(), crossover, 50, 1L).run(token, store);
+        } finally {
+            // Pulisce il flag anche se il test fallisce, per non sporcare il thread di JUnit
+            stillInterrupted = Thread.interrupted();
+        }
+
+        assertThat(cancelled.getCancellation()).isEqualTo(CancellationToken.Reason.INTERRUPTED);
+        assertThat(cancelled.getLog()).noneMatch(line -> line.startsWith("Checkpoint not saved"));
+        assertThat(generation(store)).isEqualTo(cancelled.getNumberOfIterations()).isEqualTo(5);
+        assertThat(stillInterrupted).isTrue();
+    }
+
+    /** An unreadable checkpoint is reported in the log and the run starts from scratch. */
+    @Test
+    void run_ShouldStartFromScratch_WhenCheckpointIsUnreadable(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("job.ckpt");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        CounterInitializer initializer = new CounterInitializer();
+
+        Results<Counter> results = algorithm(initializer, new IncrementCrossover(0, 0), 4, 1L)
+                .run(CancellationToken.none(), new CheckpointStore<>(file, new CounterCodec(), 2));
+
+        assertThat(initializer.calls).hasValue(1);
+        assertThat(results.getLog()).anyMatch(line -> line.startsWith("Checkpoint ignored: Corrupt checkpoint"));
+        assertThat(results.getNumberOfIterations()).isEqualTo(4);
+    }
+
+    private static SimpleGeneticAlgorithm<Counter> algorithm(CounterInitializer initializer,
+                                                             IncrementCrossover crossover, int maxIterations, long seed) {
+        return new SimpleGeneticAlgorithm<>(new CounterFitness(), initializer, new IdentitySelection(),
+                crossover, new IdentityMutation(), 0.0, maxIterations, 0) {
+            @Override
+            protected Random newRandom() {
+                return new RestorableRandom(seed);
+            }
+        };
+    }
+
+    private static int generation(CheckpointStore<Counter> store) throws IOException {
+        Optional<Checkpoint<Counter>> checkpoint = store.load();
+        return checkpoint.map(Checkpoint::generation).orElse(0);
+    }
+
+    private static List<Integer> values(Population<Counter> population) {
+        return population.stream().map(c -> c.value).sorted().toList();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,10 +3,14 @@ package com.pokedexsocial.backend.optimizer.ga.metaheuristics;
 import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
 import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
 import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.operators.adaptive.AdaptiveOperatorControl;
 import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.diversity.DiversityOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.localsearch.LocalSearchOperator;
 import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
 import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.population.PopulationDiversity;
 import com.pokedexsocial.backend.optimizer.ga.results.Results;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,6 +60,8 @@ class SimpleGeneticAlgorithmTest {
     @Mock private SelectionOperator<TestIndividual> selectionOperator;
     @Mock private CrossoverOperator<TestIndividual> crossoverOperator;
     @Mock private MutationOperator<TestIndividual> mutationOperator;
+    @Mock private LocalSearchOperator<TestIndividual> localSearchOperator;
+    @Mock private DiversityOperator<TestIndividual> diversityOperator;
 
     private SimpleGeneticAlgorithm<TestIndividual> algorithm;
     private Population<TestIndividual> basePop;
@@ -238,6 +245,157 @@ class SimpleGeneticAlgorithmTest {
         assertThat(result.getNumberOfIterations()).isEqualTo(5);
     }
 
+    @Test
+    void run_ShouldRefineEveryEvaluatedGeneration_WhenLocalSearchIsSet() throws CloneNotSupportedException {
+        Population<TestIndividual> refined = makePopulation(7L, 9.0, 9.5);
+        when(localSearchOperator.apply(any(), any(), any())).thenReturn(refined);
+
+        SimpleGeneticAlgorithm<TestIndividual> memetic = new SimpleGeneticAlgorithm<>(
+                fitnessFunction, initializer, selectionOperator,
+                crossoverOperator, mutationOperator,
+                0.5,
+                5,
+                0,
+                localSearchOperator
+        );
+
+        Results<TestIndividual> result = memetic.run();
+
+        // Generazione iniziale più le 4 successive
+        verify(localSearchOperator, times(5)).apply(any(), any(), any());
+        verify(selectionOperator, atLeastOnce()).apply(eq(refined), any());
+        assertThat(memetic.getLocalSearchOperator()).isSameAs(localSearchOperator);
+        assertThat(result.getNumberOfIterations()).isEqualTo(5);
+    }
+
+    @Test
+    void run_ShouldLogDiversityAndApplyOperator_WhenDiversityOperatorIsSet() throws CloneNotSupportedException {
+        Population<TestIndividual> distinct = makePopulation(8L, 1.0, 2.0);
+        PopulationDiversity converged = new PopulationDiversity(2, 1, 0.5);
+        when(diversityOperator.measure(any())).thenReturn(converged);
+        when(diversityOperator.isConverged(converged)).thenReturn(true);
+        when(diversityOperator.apply(any(), any())).thenReturn(distinct);
+
+        SimpleGeneticAlgorithm<TestIndividual> diverse = new SimpleGeneticAlgorithm<>(
+                fitnessFunction, initializer, selectionOperator,
+                crossoverOperator, mutationOperator,
+                0.5,
+                3,
+                0,
+                null,
+                diversityOperator
+        );
+
+        Results<TestIndividual> result = diverse.run();
+
+        // Misurata anche la generazione iniziale, applicata solo alle successive
+        verify(diversityOperator, times(3)).measure(any());
+        verify(diversityOperator, times(2)).apply(any(), any());
+        verify(fitnessFunction, times(2)).evaluate(distinct);
+        assertThat(result.getLog()).contains("Generation 1: 1/2 distinct, gene entropy 0.50 bits");
+        assertThat(result.getLog()).filteredOn(line -> line.contains("premature convergence")).hasSize(1);
+        assertThat(diverse.getDiversityOperator()).isSameAs(diversityOperator);
+    }
+
+    @Test
+    void run_ShouldUseAdaptiveOperators_WhenAdaptiveControlIsSet() throws CloneNotSupportedException {
+        @SuppressWarnings("unchecked")
+        CrossoverOperator<TestIndividual> otherCrossover = mock(CrossoverOperator.class);
+        @SuppressWarnings("unchecked")
+        MutationOperator<TestIndividual> otherMutation = mock(MutationOperator.class);
+        when(otherCrossover.apply(any(), any())).thenReturn(defaultPop);
+        when(otherMutation.apply(any(), any())).thenReturn(defaultPop);
+        AdaptiveOperatorControl<TestIndividual> control = new AdaptiveOperatorControl<>(
+                Map.of("Other", otherCrossover), Map.of("other", otherMutation), 0.5);
+
+        SimpleGeneticAlgorithm<TestIndividual> adaptive = new SimpleGeneticAlgorithm<>(
+                fitnessFunction, initializer, selectionOperator,
+                crossoverOperator, mutationOperator,
+                1.0,
+                3,
+                0,
+                null,
+                null,
+                control
+        );
+
+        Results<TestIndividual> result = adaptive.run();
+
+        // Gli operatori fissi non vengono usati: ogni generazione usa quelli scelti dal bandit
+        verify(otherCrossover, times(2)).apply(any(), any());
+        verify(otherMutation, times(2)).apply(any(), any());
+        verify(crossoverOperator, never()).apply(any(), any());
+        verify(mutationOperator, never()).apply(any(), any());
+        assertThat(result.getLog()).contains("Operators Other + other: 2 generations, mean reward 0.000");
+        assertThat(adaptive.getAdaptiveControl()).isSameAs(control);
+    }
+
+    @Test
+    void run_ShouldRewardOperatorsBeforeDiversityInjection_WhenBothAreSet() throws CloneNotSupportedException {
+        // Team iniettati molto migliori dei genitori: non devono contare nel premio
+        Population<TestIndividual> injected = makePopulation(9L, 50.0, 60.0);
+        when(diversityOperator.measure(any())).thenReturn(new PopulationDiversity(2, 2, 1.0));
+        when(diversityOperator.apply(any(), any())).thenReturn(injected);
+        AdaptiveOperatorControl<TestIndividual> control = new AdaptiveOperatorControl<>(
+                Map.of("Fixed", crossoverOperator), Map.of("fixed", mutationOperator), 0.5);
+
+        SimpleGeneticAlgorithm<TestIndividual> adaptive = new SimpleGeneticAlgorithm<>(
+                fitnessFunction, initializer, selectionOperator,
+                crossoverOperator, mutationOperator,
+                1.0,
+                3,
+                0,
+                null,
+                diversityOperator,
+                control
+        );
+
+        Results<TestIndividual> result = adaptive.run();
+
+        assertThat(result.getLog()).contains("Operators Fixed + fixed: 2 generations, mean reward 0.000");
+        verify(fitnessFunction, times(2)).evaluate(injected);
+    }
+
+    @Test
+    void run_ShouldReturnInitialGeneration_WhenTokenIsAlreadyCancelled() throws CloneNotSupportedException {
+        CancellationToken token = CancellationToken.none();
+        token.cancel(CancellationToken.Reason.CLIENT_ABORT);
+
+        Results<TestIndividual> result = algorithm.run(token);
+
+        // Solo la generazione iniziale, valutata e restituita come risultato parziale
+        verify(fitnessFunction, times(1)).evaluate(any(Population.class));
+        verify(selectionOperator, never()).apply(any(), any());
+        assertThat(result.getNumberOfIterations()).isEqualTo(1);
+        assertThat(result.isCancelled()).isTrue();
+        assertThat(result.getCancellation()).isEqualTo(CancellationToken.Reason.CLIENT_ABORT);
+        assertThat(result.getLog()).contains("Cancelled after 1 generations: CLIENT_ABORT");
+    }
+
+    @Test
+    void run_ShouldStopAtNextGeneration_WhenTokenIsCancelledDuringRun() throws CloneNotSupportedException {
+        CancellationToken token = CancellationToken.none();
+        when(mutationOperator.apply(any(), any())).thenAnswer(inv -> {
+            token.cancel(CancellationToken.Reason.ASYNC_TIMEOUT);
+            return defaultPop;
+        });
+        SimpleGeneticAlgorithm<TestIndividual> alg = new SimpleGeneticAlgorithm<>(
+                fitnessFunction, initializer, selectionOperator,
+                crossoverOperator, mutationOperator,
+                1.0,
+                10,
+                0
+        );
+
+        Results<TestIndividual> result = alg.run(token);
+
+        // La generazione in corso viene completata, la successiva non parte
+        verify(mutationOperator, times(1)).apply(any(), any());
+        assertThat(result.getNumberOfIterations()).isEqualTo(2);
+        assertThat(result.getCancellation()).isEqualTo(CancellationToken.Reason.ASYNC_TIMEOUT);
+        assertThat(algorithm.run().isCancelled()).isFalse();
+    }
+
     @Test
     void getters_ShouldReturnClampedConfigurationValues() {
         SimpleGeneticAlgorithm<TestIndividual> alg = new SimpleGeneticAlgorithm<>(
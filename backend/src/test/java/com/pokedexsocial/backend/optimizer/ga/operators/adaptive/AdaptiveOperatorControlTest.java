@@ -0,0 +1,119 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.adaptive;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.ConstrainedPokemonTeamCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.PokemonSwapMutation;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link AdaptiveOperatorControl} and {@link PokemonAdaptiveOperatorControl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdaptiveOperatorControlTest {
+
+    @Mock
+    private CrossoverOperator<PokemonTeamGA> uniform;
+    @Mock
+    private CrossoverOperator<PokemonTeamGA> singlePoint;
+    @Mock
+    private CrossoverOperator<PokemonTeamGA> twoPoint;
+    @Mock
+    private MutationOperator<PokemonTeamGA> low;
+    @Mock
+    private MutationOperator<PokemonTeamGA> high;
+    @Mock
+    private PokemonGenerator pokemonGenerator;
+    @Mock
+    private TeamConstraints constraints;
+
+    /** Each combination of crossover and mutation is an arm, in configuration order. */
+    @Test
+    void start_ShouldCreateOneArmPerCombination() {
+        AdaptiveOperatorControl<PokemonTeamGA> control = new AdaptiveOperatorControl<>(
+                ordered("Uniform", uniform, "SinglePoint", singlePoint), ordered("low", low, "high", high), 0.5);
+
+        List<AdaptiveOperatorControl.Arm<PokemonTeamGA>> arms = control.start().getArms();
+
+        assertThat(arms).extracting(AdaptiveOperatorControl.Arm::name)
+                .containsExactly("Uniform + low", "Uniform + high", "SinglePoint + low", "SinglePoint + high");
+        assertThat(arms.get(1).crossover()).isSameAs(uniform);
+        assertThat(arms.get(1).mutation()).isSameAs(high);
+        assertThatThrownBy(() -> new AdaptiveOperatorControl<>(Map.of(), ordered("low", low, "high", high), 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** The chosen arm is rewarded with the share of offspring better than the parents' average. */
+    @Test
+    void reward_ShouldCreditTheSelectedArm() {
+        AdaptiveOperatorControl.Session<PokemonTeamGA> session = new AdaptiveOperatorControl<>(
+                ordered("Uniform", uniform, "SinglePoint", singlePoint), ordered("low", low, "high", high), 0.5).start();
+        Random rand = new Random(1);
+
+        AdaptiveOperatorControl.Arm<PokemonTeamGA> arm = session.select(rand);
+        double reward = session.reward(10.0, population(5.0, 12.0, 15.0, 10.0), true);
+
+        int index = session.getArms().indexOf(arm);
+        assertThat(reward).isEqualTo(0.5);
+        assertThat(session.getBandit().getPulls(index)).isEqualTo(1);
+        assertThat(session.getBandit().mean(index)).isEqualTo(0.5);
+        //Con fitness da minimizzare conta solo il figlio sotto la media
+        assertThat(session.reward(10.0, population(5.0, 12.0, 15.0, 10.0), false)).isEqualTo(0.25);
+        assertThat(session.summary()).containsExactly(
+                "Operators " + arm.name() + ": 2 generations, mean reward 0.375");
+    }
+
+    /** The constrained copy wraps every crossover and restricts every mutation rate. */
+    @Test
+    void withConstraints_ShouldWrapEveryOperator() {
+        PokemonSwapMutation mutation = new PokemonSwapMutation(pokemonGenerator, 0.3);
+        PokemonAdaptiveOperatorControl control = new PokemonAdaptiveOperatorControl(
+                uniform, singlePoint, twoPoint, mutation, new double[]{0.1, 0.6}, 0.5);
+
+        PokemonAdaptiveOperatorControl constrained = control.withConstraints(constraints);
+
+        assertThat(control.getCrossoverOperators()).containsKeys("Uniform", "SinglePoint", "TwoPoint");
+        assertThat(control.getMutationOperators()).containsOnlyKeys("mutation 0.10", "mutation 0.60");
+        assertThat(((PokemonSwapMutation) control.getMutationOperators().get("mutation 0.60")).getMutationProbability())
+                .isEqualTo(0.6);
+        assertThat(constrained.getCrossoverOperators().values())
+                .allMatch(crossover -> crossover instanceof ConstrainedPokemonTeamCrossover);
+        assertThat(constrained.getMutationOperators().values())
+                .allMatch(m -> m instanceof PokemonSwapMutation && m != control.getMutationOperators().get("mutation 0.10"));
+        assertThat(constrained.getExploration()).isEqualTo(0.5);
+    }
+
+    private static <O> Map<String, O> ordered(String firstName, O first, String secondName, O second) {
+        Map<String, O> map = new LinkedHashMap<>();
+        map.put(firstName, first);
+        map.put(secondName, second);
+        return map;
+    }
+
+    private static Population<PokemonTeamGA> population(double... fitnesses) {
+        Population<PokemonTeamGA> population = new FixedSizePopulation<>(0, fitnesses.length);
+        for (double fitness : fitnesses) {
+            PokemonTeamGA team = new PokemonTeamGA(new PokemonGA[0]);
+            team.setFitness(fitness);
+            population.add(team);
+        }
+        return population;
+    }
+}
@@ -0,0 +1,63 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.adaptive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link OperatorBandit}.
+ */
+class OperatorBanditTest {
+
+    /** Every arm is tried once before any arm is repeated. */
+    @Test
+    void select_ShouldTryEveryArmFirst() {
+        OperatorBandit bandit = new OperatorBandit(4, 0.5);
+        Random rand = new Random(3);
+        Set<Integer> tried = new HashSet<>();
+
+        for (int i = 0; i < 4; i++) {
+            int arm = bandit.select(rand);
+            tried.add(arm);
+            bandit.reward(arm, 0.5);
+        }
+
+        assertThat(tried).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    /** The arm with the higher success rate is chosen most of the time. */
+    @Test
+    void select_ShouldFavourTheMostRewardedArm() {
+        OperatorBandit bandit = new OperatorBandit(3, 0.3);
+        Random rand = new Random(5);
+        double[] successRates = {0.2, 0.7, 0.4};
+
+        for (int i = 0; i < 300; i++) {
+            int arm = bandit.select(rand);
+            bandit.reward(arm, rand.nextDouble() < successRates[arm] ? 1.0 : 0.0);
+        }
+
+        assertThat(bandit.getPulls(1)).isGreaterThan(bandit.getPulls(0) + bandit.getPulls(2));
+        assertThat(bandit.mean(1)).isGreaterThan(bandit.mean(0));
+    }
+
+    /** Rewards are clamped to [0, 1] and an unused arm has mean 0. */
+    @Test
+    void reward_ShouldClampRewards() {
+        OperatorBandit bandit = new OperatorBandit(3, 0.5);
+
+        bandit.reward(0, 5.0);
+        bandit.reward(1, -2.0);
+
+        assertThat(bandit.mean(0)).isEqualTo(1.0);
+        assertThat(bandit.mean(1)).isZero();
+        assertThat(bandit.mean(2)).isZero();
+        assertThat(bandit.getArms()).isEqualTo(3);
+        assertThatThrownBy(() -> new OperatorBandit(0, 0.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
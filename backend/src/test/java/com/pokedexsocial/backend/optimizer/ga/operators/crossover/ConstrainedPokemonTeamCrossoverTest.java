@@ -0,0 +1,73 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.crossover;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConstrainedPokemonTeamCrossoverTest {
+
+    @Mock
+    private CrossoverOperator<PokemonTeamGA> delegate;
+
+    @Mock
+    private TeamConstraints constraints;
+
+    @Mock
+    private Random random;
+
+    @Test
+        // verifies that every offspring of the delegate crossover is repaired against the constraints
+    void apply_ShouldRepairEveryOffspringOfTheDelegate() throws CloneNotSupportedException {
+        Population<PokemonTeamGA> parents = new FixedSizePopulation<>(1L, 2);
+        Population<PokemonTeamGA> offsprings = new FixedSizePopulation<>(2L, 2);
+        PokemonTeamGA child1 = new PokemonTeamGA(new PokemonGA[]{mock(PokemonGA.class)});
+        PokemonTeamGA child2 = new PokemonTeamGA(new PokemonGA[]{mock(PokemonGA.class)});
+        offsprings.add(child1);
+        offsprings.add(child2);
+        when(delegate.apply(parents, random)).thenReturn(offsprings);
+
+        Population<PokemonTeamGA> result = new ConstrainedPokemonTeamCrossover(delegate, constraints).apply(parents, random);
+
+        assertSame(offsprings, result);
+        verify(constraints).repair(child1.getCoding(), random);
+        verify(constraints).repair(child2.getCoding(), random);
+    }
+
+    @Test
+        // verifies that the in-place crossover repairs both child slots when the delegate supports it
+    void crossoverInto_ShouldRepairBothChildren_WhenDelegateSupportsInPlace() {
+        PokemonTeamUniformCrossover uniform = mock(PokemonTeamUniformCrossover.class);
+        PokemonTeamGA parent = new PokemonTeamGA(new PokemonGA[]{mock(PokemonGA.class)});
+        PokemonTeamGA child1 = new PokemonTeamGA(new PokemonGA[]{mock(PokemonGA.class)});
+        PokemonTeamGA child2 = new PokemonTeamGA(new PokemonGA[]{mock(PokemonGA.class)});
+
+        ConstrainedPokemonTeamCrossover crossover = ConstrainedPokemonTeamCrossover.of(uniform, constraints);
+        assertInstanceOf(InPlaceCrossover.class, crossover);
+        ((ConstrainedPokemonTeamCrossover.InPlace) crossover).crossoverInto(parent, parent, child1, child2, random);
+
+        verify(uniform).crossoverInto(parent, parent, child1, child2, random);
+        verify(constraints).repair(child1.getCoding(), random);
+        verify(constraints).repair(child2.getCoding(), random);
+    }
+
+    @Test
+        // verifies that a delegate without in-place support does not get an in-place wrapper
+    void of_ShouldNotBeInPlace_WhenDelegateDoesNotSupportIt() {
+        ConstrainedPokemonTeamCrossover crossover = ConstrainedPokemonTeamCrossover.of(delegate, constraints);
+
+        assertFalse(crossover instanceof InPlaceCrossover<?>);
+        assertFalse(new ConstrainedPokemonTeamCrossover(delegate, constraints) instanceof InPlaceCrossover<?>);
+    }
+}
@@ -204,4 +204,23 @@ class PokemonTeamSinglePointCrossoverTest {
                 "Offspring should be [P1,Q2] and [Q1,P2] in any order"
         );
     }
+
+    @Test
+        // Tests that crossoverInto swaps the tails around the cut point inside the existing child arrays
+    void crossoverInto_ShouldSwapTailsIntoChildSlots() {
+        PokemonGA[] first = {newPokemon("A1"), newPokemon("A2"), newPokemon("A3")};
+        PokemonGA[] second = {newPokemon("B1"), newPokemon("B2"), newPokemon("B3")};
+        PokemonTeamGA c1 = new PokemonTeamGA(new PokemonGA[3]);
+        PokemonTeamGA c2 = new PokemonTeamGA(new PokemonGA[3]);
+        PokemonGA[] slot1 = c1.getCoding();
+
+        // minLength = 3 -> nextInt(2) returns 0 -> cutPoint = 1
+        when(random.nextInt(2)).thenReturn(0);
+
+        crossover.crossoverInto(new PokemonTeamGA(first), new PokemonTeamGA(second), c1, c2, random);
+
+        assertSame(slot1, c1.getCoding());
+        assertArrayEquals(new PokemonGA[]{first[0], second[1], second[2]}, c1.getCoding());
+        assertArrayEquals(new PokemonGA[]{second[0], first[1], first[2]}, c2.getCoding());
+    }
 }
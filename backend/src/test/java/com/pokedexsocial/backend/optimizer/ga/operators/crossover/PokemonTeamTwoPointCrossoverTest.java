@@ -185,5 +185,22 @@ class PokemonTeamTwoPointCrossoverTest {
             assertArrayEquals(single.getCoding(), c.getCoding(), "Self-pair should reproduce identical codings");
         }
     }
-}
 
+    @Test
+        // verifies that crossoverInto swaps the middle segment inside the existing child arrays
+    void crossoverInto_ShouldSwapMiddleSegmentIntoChildSlots() {
+        PokemonGA[] first = {newPokemon("A1"), newPokemon("A2"), newPokemon("A3"), newPokemon("A4")};
+        PokemonGA[] second = {newPokemon("B1"), newPokemon("B2"), newPokemon("B3"), newPokemon("B4")};
+        PokemonTeamGA c1 = new PokemonTeamGA(new PokemonGA[4]);
+        PokemonTeamGA c2 = new PokemonTeamGA(new PokemonGA[4]);
+        PokemonGA[] slot2 = c2.getCoding();
+
+        when(random.nextInt(4)).thenReturn(3, 1);
+
+        crossover.crossoverInto(new PokemonTeamGA(first), new PokemonTeamGA(second), c1, c2, random);
+
+        assertSame(slot2, c2.getCoding());
+        assertArrayEquals(new PokemonGA[]{first[0], second[1], second[2], first[3]}, c1.getCoding());
+        assertArrayEquals(new PokemonGA[]{second[0], first[1], first[2], second[3]}, c2.getCoding());
+    }
+}
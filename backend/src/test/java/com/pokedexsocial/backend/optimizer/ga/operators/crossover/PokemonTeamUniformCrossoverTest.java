@@ -173,5 +173,26 @@ class PokemonTeamUniformCrossoverTest {
         // 3 genes * 2 crossovers = 6 total calls
         verify(random, times(6)).nextBoolean();
     }
-}
 
+    @Test
+        // verifies that crossoverInto writes both children into existing slots, drawing genes in the same order as apply
+    void crossoverInto_ShouldOverwriteChildSlots_WithoutTouchingParents() {
+        PokemonGA[] genesA = {newPokemon("A1"), newPokemon("A2"), newPokemon("A3")};
+        PokemonGA[] genesB = {newPokemon("B1"), newPokemon("B2"), newPokemon("B3")};
+        PokemonTeamGA p1 = new PokemonTeamGA(genesA.clone());
+        PokemonTeamGA p2 = new PokemonTeamGA(genesB.clone());
+        PokemonTeamGA c1 = new PokemonTeamGA(new PokemonGA[3]);
+        PokemonTeamGA c2 = new PokemonTeamGA(new PokemonGA[3]);
+        PokemonGA[] slot1 = c1.getCoding();
+
+        when(random.nextBoolean()).thenReturn(true, false, true, false, false, true);
+
+        crossover.crossoverInto(p1, p2, c1, c2, random);
+
+        assertSame(slot1, c1.getCoding());
+        assertArrayEquals(new PokemonGA[]{genesA[0], genesB[1], genesA[2]}, c1.getCoding());
+        assertArrayEquals(new PokemonGA[]{genesA[0], genesA[1], genesB[2]}, c2.getCoding());
+        assertArrayEquals(genesA, p1.getCoding());
+        assertArrayEquals(genesB, p2.getCoding());
+    }
+}
@@ -0,0 +1,124 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.diversity;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.ga.population.PopulationDiversity;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.team.PokemonTeamGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PokemonTeamDiversityOperator} and {@link PokemonTeamGA#canonicalHash()}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PokemonTeamDiversityOperatorTest {
+
+    @Mock
+    private PokemonTeamGenerator teamGenerator;
+
+    private List<PokemonGA> pokemons;
+
+    @BeforeEach
+    void setUp() {
+        pokemons = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            PokemonGA p = new PokemonGA(i + 1, "P" + i, new PokemonType(PokemonTypeName.NORMAL), null,
+                    80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+            pokemons.add(p);
+        }
+    }
+
+    /** The canonical hash ignores member order but not repeated members. */
+    @Test
+    void canonicalHash_ShouldIgnoreOrder_AndCountRepeatedMembers() {
+        PokemonTeamGA team = team(0, 1, 2, 3, 4, 5);
+        PokemonTeamGA shuffled = team(5, 3, 1, 0, 2, 4);
+        PokemonTeamGA repeated = team(0, 0, 2, 3, 4, 5);
+        PokemonTeamGA other = team(0, 1, 2, 3, 4, 6);
+
+        assertThat(shuffled.canonicalHash()).isEqualTo(team.canonicalHash());
+        assertThat(repeated.canonicalHash()).isNotEqualTo(team.canonicalHash());
+        assertThat(other.canonicalHash()).isNotEqualTo(team.canonicalHash());
+    }
+
+    /** Distinct teams are counted by canonical hash and the gene entropy is in bits. */
+    @Test
+    void measure_ShouldCountDistinctTeamsAndGeneEntropy() {
+        PokemonTeamDiversityOperator operator = new PokemonTeamDiversityOperator(teamGenerator, false, 0.5, null);
+        Population<PokemonTeamGA> population = population(
+                team(0, 1, 2, 3, 4, 5), team(5, 4, 3, 2, 1, 0), team(6, 7, 8, 9, 10, 11), team(0, 1, 2, 3, 4, 5));
+
+        PopulationDiversity diversity = operator.measure(population);
+
+        assertThat(diversity.size()).isEqualTo(4);
+        assertThat(diversity.distinct()).isEqualTo(2);
+        assertThat(diversity.duplicates()).isEqualTo(2);
+        assertThat(diversity.distinctRatio()).isEqualTo(0.5);
+        //18 occorrenze equiprobabili di 6 ID e 6 di altri 6 ID
+        double expected = -(6 * (3.0 / 24) * Math.log(3.0 / 24) + 6 * (1.0 / 24) * Math.log(1.0 / 24)) / Math.log(2);
+        assertThat(diversity.geneEntropy()).isCloseTo(expected, within(1e-9));
+        assertThat(operator.isConverged(diversity)).isFalse();
+        assertThat(operator.isConverged(new PopulationDiversity(4, 1, 0))).isTrue();
+    }
+
+    /** Repeated teams are replaced with fresh ones; one occurrence is kept. */
+    @Test
+    void apply_ShouldReplaceDuplicates_WhenSuppressionIsEnabled() {
+        PokemonTeamDiversityOperator operator = new PokemonTeamDiversityOperator(teamGenerator, true, 0.2, null);
+        PokemonTeamGA first = team(0, 1, 2, 3, 4, 5);
+        PokemonTeamGA copy = team(1, 0, 2, 3, 4, 5);
+        PokemonTeamGA fresh = team(6, 7, 8, 9, 10, 11);
+        when(teamGenerator.generatePokemonTeam(PokemonTeamGA.MAX_TEAM_MEMBERS)).thenReturn(fresh);
+        Population<PokemonTeamGA> population = population(first, copy);
+
+        Population<PokemonTeamGA> result = operator.apply(population, new Random(1));
+
+        assertThat(result != population).isTrue();
+        assertThat(new ArrayList<>(result)).hasSize(2).contains(fresh).containsAnyOf(first, copy);
+        assertThat(new ArrayList<>(population)).containsExactlyInAnyOrder(first, copy);
+    }
+
+    /** With suppression disabled the population is returned untouched. */
+    @Test
+    void apply_ShouldReturnSamePopulation_WhenSuppressionIsDisabled() {
+        PokemonTeamDiversityOperator operator = new PokemonTeamDiversityOperator(teamGenerator, false, 0.2, null);
+        Population<PokemonTeamGA> population = population(team(0, 1, 2, 3, 4, 5), team(0, 1, 2, 3, 4, 5));
+
+        assertThat(operator.apply(population, new Random(1)) == population).isTrue();
+        assertThat(operator.withConstraints(null).isSuppressDuplicates()).isFalse();
+        verify(teamGenerator, never()).generatePokemonTeam(PokemonTeamGA.MAX_TEAM_MEMBERS);
+    }
+
+    private PokemonTeamGA team(int... indexes) {
+        PokemonGA[] coding = new PokemonGA[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            coding[i] = pokemons.get(indexes[i]);
+        }
+        return new PokemonTeamGA(coding);
+    }
+
+    @SafeVarargs
+    private static Population<PokemonTeamGA> population(PokemonTeamGA... teams) {
+        Population<PokemonTeamGA> population = new FixedSizePopulation<>(0, teams.length);
+        population.addAll(List.of(teams));
+        return population;
+    }
+}
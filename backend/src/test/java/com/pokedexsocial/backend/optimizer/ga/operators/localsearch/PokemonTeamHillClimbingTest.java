@@ -0,0 +1,154 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.localsearch;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.PokemonCandidatePool;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PokemonTeamHillClimbing}, on a small pool where one type per
+ * Pokémon makes type diversity the easiest component to improve.
+ */
+@ExtendWith(MockitoExtension.class)
+class PokemonTeamHillClimbingTest {
+
+    private static final PokemonTypeName[] TYPES = {
+            PokemonTypeName.FIRE, PokemonTypeName.WATER, PokemonTypeName.GRASS, PokemonTypeName.ELECTRIC,
+            PokemonTypeName.ICE, PokemonTypeName.ROCK, PokemonTypeName.GROUND, PokemonTypeName.STEEL};
+
+    @Mock
+    private Pokedex pokedex;
+
+    private final PokemonTeamFitnessFunction fitnessFunction = new PokemonTeamFitnessFunction();
+    private List<PokemonGA> pool;
+    private PokemonCandidatePool candidates;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ArrayList<>();
+        List<List<PokemonGA>> groups = new ArrayList<>();
+        for (int i = 0; i < TYPES.length; i++) {
+            PokemonGA p = new PokemonGA(i + 1, "P" + i, new PokemonType(TYPES[i]), null,
+                    90, 90, 90, 90, 90, 90, PokemonRarity.COMMON)
+                    .withDefenses(EnumSet.of(TYPES[i]), EnumSet.of(TYPES[(i + 1) % TYPES.length]));
+            pool.add(p);
+            groups.add(List.of(p));
+        }
+        candidates = new PokemonCandidatePool(groups);
+    }
+
+    /** A team of six copies of the same Pokémon is improved, without touching the original. */
+    @Test
+    void climb_ShouldReturnBetterTeamAndKeepOriginal_WhenSwapsImproveFitness() {
+        PokemonTeamHillClimbing hillClimbing = new PokemonTeamHillClimbing(fitnessFunction, candidates, 1, 10);
+        PokemonGA[] coding = sameMember(pool.get(0));
+        PokemonTeamGA team = new PokemonTeamGA(coding.clone());
+        fitnessFunction.evaluate(team);
+
+        PokemonTeamGA climbed = hillClimbing.climb(team, new Random(1));
+
+        assertThat(climbed).isNotSameAs(team);
+        assertThat(climbed.getFitness()).isGreaterThan(team.getFitness());
+        assertThat(team.getCoding()).containsExactly(coding);
+        //La fitness assegnata coincide con una valutazione completa
+        double assigned = climbed.getFitness();
+        fitnessFunction.evaluate(climbed);
+        assertThat(climbed.getFitness()).isCloseTo(assigned, within(1e-9));
+    }
+
+    /** Only the top-k teams are refined and the population best is updated. */
+    @Test
+    void apply_ShouldRefineTopKAndUpdateBestIndividual() {
+        PokemonTeamHillClimbing hillClimbing = new PokemonTeamHillClimbing(fitnessFunction, candidates, 1, 10);
+        Population<PokemonTeamGA> population = new FixedSizePopulation<>(3L, 2);
+        PokemonTeamGA best = new PokemonTeamGA(sameMember(pool.get(0)));
+        PokemonTeamGA worst = new PokemonTeamGA(sameMember(pool.get(1)));
+        population.add(best);
+        population.add(worst);
+        fitnessFunction.evaluate(best);
+        fitnessFunction.evaluate(worst);
+        worst.setFitness(best.getFitness() - 1);
+        population.setBestIndividual(best);
+
+        Population<PokemonTeamGA> refined = hillClimbing.apply(population, new Random(2));
+
+        assertThat(refined.getId()).isEqualTo(3L);
+        assertThat(refined.size()).isEqualTo(2);
+        assertThat(refined.contains(best)).isFalse();
+        assertThat(refined.contains(worst)).isTrue();
+        assertThat(refined.getBestIndividual().getFitness()).isGreaterThan(best.getFitness());
+        assertThat(population.contains(best)).isTrue();
+    }
+
+    /** A cancelled token leaves every team as it was. */
+    @Test
+    void apply_ShouldNotRefine_WhenTokenIsCancelled() {
+        PokemonTeamHillClimbing hillClimbing = new PokemonTeamHillClimbing(fitnessFunction, candidates, 2, 10);
+        Population<PokemonTeamGA> population = new FixedSizePopulation<>(4L, 1);
+        PokemonTeamGA team = new PokemonTeamGA(sameMember(pool.get(0)));
+        fitnessFunction.evaluate(team);
+        population.add(team);
+        population.setBestIndividual(team);
+        CancellationToken token = CancellationToken.none();
+        token.cancel(CancellationToken.Reason.CLIENT_ABORT);
+
+        Population<PokemonTeamGA> refined = hillClimbing.apply(population, new Random(2), token);
+
+        assertThat(refined.contains(team)).isTrue();
+        assertThat(refined.getBestIndividual()).isSameAs(team);
+    }
+
+    /** With constraints, locked slots never change and only allowed candidates are used. */
+    @Test
+    void withConstraints_ShouldKeepLockedSlotsAndUseAllowedCandidates() {
+        when(pokedex.getCandidates(any())).thenAnswer(inv -> candidates.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(pool.get(0), pool.get(1)),
+                Set.of(pool.get(7).getId()), Set.of(), true);
+        PokemonTeamHillClimbing hillClimbing = new PokemonTeamHillClimbing(fitnessFunction, candidates, 1, 10)
+                .withConstraints(constraints);
+        PokemonGA[] coding = sameMember(pool.get(2));
+        coding[0] = pool.get(0);
+        coding[1] = pool.get(1);
+        PokemonTeamGA team = new PokemonTeamGA(coding);
+        fitnessFunction.evaluate(team);
+
+        PokemonTeamGA climbed = hillClimbing.climb(team, new Random(3));
+
+        assertThat(climbed.getFitness()).isGreaterThan(team.getFitness());
+        assertThat(climbed.getCoding()[0]).isSameAs(pool.get(0));
+        assertThat(climbed.getCoding()[1]).isSameAs(pool.get(1));
+        assertThat(climbed.getCoding()).doesNotContain(pool.get(7));
+    }
+
+    private static PokemonGA[] sameMember(PokemonGA pokemon) {
+        PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+        Arrays.fill(coding, pokemon);
+        return coding;
+    }
+}
@@ -5,6 +5,7 @@ import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
 import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGenerator;
+import com.pokedexsocial.backend.optimizer.pokemon.team.TeamConstraints;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -197,5 +199,59 @@ class PokemonSwapMutationTest {
         assertArrayEquals(new PokemonGA[]{generated, g2}, mutated.getCoding());
         verify(pokemonGenerator, times(1)).generatePokemon();
     }
-}
 
+    @Test
+        // Tests that a constrained mutation only replaces free slots, with a candidate from the constraints
+    void apply_ShouldOnlyMutateFreeSlots_WhenConstraintsAreSet() throws CloneNotSupportedException {
+        TeamConstraints constraints = mock(TeamConstraints.class);
+        PokemonSwapMutation constrained = mutationOperator.withConstraints(constraints);
+        Population<PokemonTeamGA> population = new FixedSizePopulation<>(1L, 5);
+        PokemonGA locked = newPokemon("Locked");
+        PokemonGA free = newPokemon("Free");
+        PokemonTeamGA ind = new PokemonTeamGA(new PokemonGA[]{locked, free});
+        population.add(ind);
+
+        PokemonGA candidate = newPokemon("Candidate");
+        when(random.nextDouble()).thenReturn(0.1);
+        when(constraints.randomFreeSlot(random)).thenReturn(1);
+        when(constraints.randomMember(any(), eq(1), eq(random))).thenReturn(candidate);
+
+        PokemonTeamGA mutated = constrained.apply(population, random).iterator().next();
+
+        assertArrayEquals(new PokemonGA[]{locked, candidate}, mutated.getCoding());
+        assertEquals(0.3, constrained.getMutationProbability());
+        verify(pokemonGenerator, never()).generatePokemon();
+        verify(random, never()).nextInt(anyInt());
+    }
+
+    @Test
+        // Tests that a copy with another rate keeps the original untouched
+    void withMutationProbability_ShouldReturnCopyWithNewRate() {
+        PokemonSwapMutation copy = mutationOperator.withMutationProbability(0.8);
+
+        assertNotSame(mutationOperator, copy);
+        assertEquals(0.8, copy.getMutationProbability());
+        assertEquals(0.3, mutationOperator.getMutationProbability());
+    }
+
+    @Test
+        // Tests that mutateInPlace replaces one gene inside the existing coding of each selected individual
+    void mutateInPlace_ShouldReplaceGeneInExistingCoding_WhenProbabilitySatisfied() {
+        PokemonGA a = newPokemon("A");
+        PokemonGA b = newPokemon("B");
+        PokemonGA replacement = newPokemon("R");
+        PokemonTeamGA mutated = new PokemonTeamGA(new PokemonGA[]{a, b});
+        PokemonTeamGA untouched = new PokemonTeamGA(new PokemonGA[]{a, b});
+        PokemonGA[] coding = mutated.getCoding();
+
+        when(random.nextDouble()).thenReturn(0.1, 0.9);
+        when(random.nextInt(2)).thenReturn(1);
+        when(pokemonGenerator.generatePokemon()).thenReturn(replacement);
+
+        mutationOperator.mutateInPlace(List.of(mutated, untouched), random);
+
+        assertSame(coding, mutated.getCoding());
+        assertArrayEquals(new PokemonGA[]{a, replacement}, mutated.getCoding());
+        assertArrayEquals(new PokemonGA[]{a, b}, untouched.getCoding());
+    }
+}
@@ -0,0 +1,71 @@
+package com.pokedexsocial.backend.optimizer.ga.operators.selection;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.population.Population;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BinaryTournamentSelectionTest {
+
+    @Mock
+    private Random random;
+
+    private final BinaryTournamentSelection<TestIndividual> selection = new BinaryTournamentSelection<>();
+
+    @Test
+        // Tests that every tournament copies the fitter of the two drawn individuals
+    void apply_ShouldCopyFitterIndividualOfEachPair() throws CloneNotSupportedException {
+        TestPopulation population = new TestPopulation(3L);
+        population.add(new TestIndividual(1.0));
+        population.add(new TestIndividual(5.0));
+        List<TestIndividual> order = new ArrayList<>(population);
+        int weak = order.get(0).getFitness() < order.get(1).getFitness() ? 0 : 1;
+        when(random.nextInt(2)).thenReturn(weak, 1 - weak, weak, weak);
+
+        Population<TestIndividual> result = selection.apply(population, random);
+
+        assertEquals(4L, result.getId());
+        assertEquals(2, result.size());
+        List<Double> fitness = result.stream().map(TestIndividual::getFitness).sorted().toList();
+        assertEquals(List.of(1.0, 5.0), fitness);
+        for (TestIndividual selected : result) {
+            assertFalse(population.contains(selected), "Selected individuals must be copies");
+        }
+    }
+
+    @Test
+        // Tests that an empty population produces an empty copy without drawing numbers
+    void apply_ShouldReturnEmptyPopulation_WhenPopulationIsEmpty() throws CloneNotSupportedException {
+        Population<TestIndividual> result = selection.apply(new TestPopulation(1L), random);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(random);
+    }
+
+    static class TestIndividual extends Individual {
+        TestIndividual(double fitness) {
+            super(fitness);
+        }
+
+        @Override
+        public TestIndividual clone() throws CloneNotSupportedException {
+            return (TestIndividual) super.clone();
+        }
+    }
+
+    static class TestPopulation extends Population<TestIndividual> {
+        TestPopulation(long id) {
+            super(id);
+        }
+    }
+}
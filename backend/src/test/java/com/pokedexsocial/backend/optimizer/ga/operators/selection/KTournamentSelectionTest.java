@@ -1,6 +1,7 @@
 package com.pokedexsocial.backend.optimizer.ga.operators.selection;
 
 import com.pokedexsocial.backend.optimizer.ga.individuals.Individual;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
 import com.pokedexsocial.backend.optimizer.ga.population.Population;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -83,6 +84,25 @@ class KTournamentSelectionTest {
         assertEquals(100, result.size(), "New population should contain 100 individuals");
     }
 
+    @Test
+        // Verifies that a FixedSizePopulation smaller than the selection size is filled up to its capacity
+    void apply_ShouldStopAtMaxSize_WhenFixedSizePopulationIsSmaller() throws CloneNotSupportedException {
+        // Arrange
+        Population<TestIndividual> population = new FixedSizePopulation<>(4L, 10);
+        for (int i = 0; i < 10; i++) {
+            population.add(new TestIndividual("I" + i, i + 1.0));
+        }
+
+        Random rand = new Random(7);
+
+        // Act
+        Population<TestIndividual> result = selectionOperator.apply(population, rand);
+
+        // Assert
+        assertEquals(5L, result.getId(), "New population ID should be incremented by 1");
+        assertEquals(10, result.size(), "New population should be filled up to the maximum size");
+    }
+
     @Test
         // Verifies that higher-fitness individuals are selected more frequently (proportional selection)
     void apply_ShouldFavorIndividualsWithHigherFitness_WhenProportional() throws CloneNotSupportedException {
@@ -311,7 +331,20 @@ class KTournamentSelectionTest {
         assertEquals("Z", winner.toString(),
                 "With totalFitness=0 the fallback MUST use Collections.max(), not slicing fallback");
     }
-}
 
+    @Test
+        // Tests that selectInto fills every parent index with a tournament winner, by index instead of by clone
+    void selectInto_ShouldWriteWinnerIndices() {
+        List<TestIndividual> population = List.of(
+                new TestIndividual("A", 0.0), new TestIndividual("B", 5.0), new TestIndividual("C", 0.0));
+        int[] parents = new int[3];
+
+        // Every tournament draws A, B, C, A, C: only B has fitness, so the proportional wheel picks it
+        when(mockedRandom.nextInt(3)).thenReturn(0, 1, 2, 0, 2, 0, 1, 2, 0, 2, 0, 1, 2, 0, 2);
+        when(mockedRandom.nextDouble()).thenReturn(0.5);
 
+        selectionOperator.selectInto(population, parents, new int[6], mockedRandom);
 
+        assertArrayEquals(new int[]{1, 1, 1}, parents);
+    }
+}
@@ -246,5 +246,20 @@ class RankSelectionTest {
             super(id);
         }
     }
-}
 
+    @Test
+        // Tests that selectInto ranks indices by fitness and maps the pointer to the same rank intervals as apply
+    void selectInto_ShouldSelectIndicesByRank() {
+        List<TestIndividual> population = List.of(new TestIndividual(30), new TestIndividual(10), new TestIndividual(20));
+        int[] parents = new int[3];
+        int[] scratch = new int[6];
+
+        // Ranks: index 1 -> [0, 1/6), index 2 -> [1/6, 1/2), index 0 -> [1/2, 1)
+        when(random.nextDouble()).thenReturn(0.1, 0.3, 0.9);
+
+        rankSelection.selectInto(population, parents, scratch, random);
+
+        assertArrayEquals(new int[]{1, 2, 0}, parents);
+        assertArrayEquals(new int[]{1, 2, 0}, Arrays.copyOf(scratch, 3));
+    }
+}
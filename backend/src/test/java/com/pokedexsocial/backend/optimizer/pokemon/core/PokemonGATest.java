@@ -324,4 +324,62 @@ class PokemonGATest {
         assertThat(normal.isMegaEvolution()).isFalse();
     }
 
+    /** Derived values are precomputed: capped total, rarity weight, type/defense masks and weakness count. */
+    @Test
+    void derivedFields_ShouldMatchStatsRarityTypesAndDefenses() {
+        PokemonType fire = concreteType(PokemonTypeName.FIRE, Map.of(
+                PokemonTypeName.WATER, PokemonTypeMultiplier.WEAK_TO,
+                PokemonTypeName.GRASS, PokemonTypeMultiplier.RESISTS));
+        PokemonType flying = concreteType(PokemonTypeName.FLYING, Map.of(
+                PokemonTypeName.ROCK, PokemonTypeMultiplier.WEAK_TO));
+
+        PokemonGA legendary = new PokemonGA(9, 146, "Moltres", fire, flying,
+                130, 130, 130, 130, 130, 130, PokemonRarity.LEGENDARY);
+        PokemonGA paradox = new PokemonGA(10, 1000, "Paradox", flying, null,
+                50, 50, 50, 50, 50, 50, PokemonRarity.PARADOX);
+
+        assertThat(legendary.getTotal()).isEqualTo(780);
+        assertThat(legendary.getCappedTotal()).isEqualTo(PokemonGA.MAX_TOTAL_STATS_STANDARD);
+        assertThat(paradox.getCappedTotal()).isEqualTo(300);
+        assertThat(legendary.getRarityWeight()).isEqualTo(2);
+        assertThat(paradox.getRarityWeight()).isEqualTo(1);
+        assertThat(legendary.getTypeMask()).isEqualTo(
+                (1L << PokemonTypeName.FIRE.ordinal()) | (1L << PokemonTypeName.FLYING.ordinal()));
+        assertThat(paradox.getTypeMask()).isEqualTo(1L << PokemonTypeName.FLYING.ordinal());
+        assertThat(legendary.getResistanceMask()).isEqualTo(1L << PokemonTypeName.GRASS.ordinal());
+        assertThat(legendary.getWeaknessMask()).isEqualTo(
+                (1L << PokemonTypeName.WATER.ordinal()) | (1L << PokemonTypeName.ROCK.ordinal()));
+        assertThat(legendary.getWeaknessCount()).isEqualTo(legendary.getWeaknesses().size()).isEqualTo(2);
+        assertThatThrownBy(() -> legendary.getWeaknesses().add(PokemonTypeName.ICE))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    /** Equality and hashing depend only on the ID, so alternate forms sharing a number stay distinct. */
+    @Test
+    void equals_ShouldUseIdOnly() {
+        PokemonType fire = concreteType(PokemonTypeName.FIRE, null);
+
+        PokemonGA charizard = new PokemonGA(6, 6, "Charizard", fire, null, 80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+        PokemonGA megaX = new PokemonGA(1200, 6, "Mega Charizard X", fire, null, 80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+        PokemonGA sameId = new PokemonGA(6, 6, "Other", fire, null, 10, 10, 10, 10, 10, 10, PokemonRarity.COMMON);
+
+        assertThat(charizard).isNotEqualTo(megaX).isEqualTo(sameId).hasSameHashCodeAs(sameId);
+        assertThat(new PokemonGA(25, "Pikachu", fire, null, 1, 1, 1, 1, 1, 1, PokemonRarity.COMMON).getId())
+                .isEqualTo(25);
+    }
+
+    /** withDefenses returns a copy with the given defenses and leaves the shared instance untouched. */
+    @Test
+    void withDefenses_ShouldReturnCopyWithOverriddenMasks() {
+        PokemonGA original = new PokemonGA(1, "Bulbasaur", concreteType(PokemonTypeName.GRASS, null), null,
+                45, 49, 49, 65, 65, 45, PokemonRarity.COMMON);
+
+        PokemonGA copy = original.withDefenses(Set.of(PokemonTypeName.WATER), Set.of());
+
+        assertThat(copy).isNotSameAs(original).isEqualTo(original);
+        assertThat(copy.getResistances()).containsExactly(PokemonTypeName.WATER);
+        assertThat(copy.getResistanceMask()).isEqualTo(1L << PokemonTypeName.WATER.ordinal());
+        assertThat(copy.getWeaknessCount()).isZero();
+        assertThat(original.getResistances()).isEmpty();
+    }
 }
@@ -132,6 +132,25 @@ class PokedexTest {
                 .isEqualTo("Bulba-A");
     }
 
+    @Test
+    @DisplayName("getById_ShouldReturnExactForm_WhenFormsShareNdex")
+    void getById_ShouldReturnExactForm_WhenFormsShareNdex() {
+        when(pokemonTypePool.getTypeByName(eq(PokemonTypeName.FIRE))).thenReturn(Optional.of(FIRE));
+        when(pokemonTypePool.getTypeByName(eq(PokemonTypeName.WATER))).thenReturn(Optional.of(WATER));
+
+        Pokemon bulbaA = dbPokemon(1, "Bulba-A", type("Water"), null, 45, 49, 49, 65, 65, 45);
+        Pokemon bulbaB = dbPokemon(1, "Bulba-B", type("Fire"), null, 46, 50, 50, 66, 66, 46);
+        bulbaB.setId(1001);
+        when(pokemonRepository.findAllWithTypes()).thenReturn(Arrays.asList(bulbaA, bulbaB));
+
+        pokedex.init();
+
+        assertThat(pokedex.getById(1001)).get().extracting(PokemonGA::getName).isEqualTo("Bulba-B");
+        assertThat(pokedex.getById(1001)).get().extracting(PokemonGA::getId).isEqualTo(1001);
+        assertThat(pokedex.getById(1)).get().extracting(PokemonGA::getName).isEqualTo("Bulba-A");
+        assertThat(pokedex.getById(42)).isEmpty();
+    }
+
     @Test
     @DisplayName("init_ShouldThrow_WhenBothTypesAreNullAndConstructorRejectsDoubleUndefined")
     void init_ShouldThrow_WhenBothTypesAreNullAndConstructorRejectsDoubleUndefined() {
@@ -236,4 +255,23 @@ class PokedexTest {
         assertThat(((PokemonType) result).getName())
                 .isEqualTo(PokemonTypeName.UNDEFINED);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getCandidates_ShouldKeepOnlyMatchingPokemon_WhenFilterIsGiven")
+    void getCandidates_ShouldKeepOnlyMatchingPokemon_WhenFilterIsGiven() {
+        when(pokemonTypePool.getTypeByName(eq(PokemonTypeName.FIRE))).thenReturn(Optional.of(FIRE));
+        when(pokemonTypePool.getTypeByName(eq(PokemonTypeName.WATER))).thenReturn(Optional.of(WATER));
+
+        Pokemon a = dbPokemon(4, "Charmander", type("Fire"), null, 1, 1, 1, 1, 1, 1);
+        Pokemon b = dbPokemon(150, "Mewtwo", type("Water"), null, 1, 1, 1, 1, 1, 1);
+        Pokemon c = dbPokemon(7, "Squirtle", type("Water"), null, 1, 1, 1, 1, 1, 1);
+        when(pokemonRepository.findAllWithTypes()).thenReturn(Arrays.asList(a, b, c));
+        pokedex.init();
+
+        PokemonCandidatePool pool = pokedex.getCandidates(p -> p.getRarity() == PokemonRarity.COMMON && p.getId() != 7);
+
+        assertThat(pokedex.getCandidates().size()).isEqualTo(3);
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(pool.random(new Random(1)).getName()).isEqualTo("Charmander");
+    }
+}
@@ -0,0 +1,159 @@
+package com.pokedexsocial.backend.optimizer.pokemon.team;
+
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.PokemonCandidatePool;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for {@link BranchAndBoundTeamSolver}, checked against exhaustive enumeration
+ * on a random pool small enough to enumerate.
+ */
+@ExtendWith(MockitoExtension.class)
+class BranchAndBoundTeamSolverTest {
+
+    private static final PokemonRarity[] RARITIES = {
+            PokemonRarity.COMMON, PokemonRarity.COMMON, PokemonRarity.SUB_LEGENDARY, PokemonRarity.LEGENDARY};
+
+    @Mock
+    private Pokedex pokedex;
+
+    private final PokemonTeamFitnessFunction fitnessFunction = new PokemonTeamFitnessFunction();
+    private final BranchAndBoundTeamSolver solver = new BranchAndBoundTeamSolver(fitnessFunction, 1_000_000);
+    private List<PokemonGA> pokemons;
+
+    @BeforeEach
+    void setUp() {
+        Random rand = new Random(11);
+        PokemonTypeName[] types = Stream.of(PokemonTypeName.values())
+                .filter(t -> t != PokemonTypeName.UNDEFINED)
+                .toArray(PokemonTypeName[]::new);
+        pokemons = new ArrayList<>();
+        List<List<PokemonGA>> groups = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            //Due megaevoluzioni nel pool: il team ottimo può contenerne al massimo una
+            String name = (i == 3 || i == 7 ? "Mega P" : "P") + i;
+            PokemonGA p = new PokemonGA(i + 1, name, new PokemonType(types[rand.nextInt(types.length)]),
+                    rand.nextBoolean() ? new PokemonType(types[rand.nextInt(types.length)]) : null,
+                    40 + rand.nextInt(90), 60, 60, 60, 60, 60, RARITIES[rand.nextInt(RARITIES.length)])
+                    .withDefenses(randomTypes(rand, types, 4), randomTypes(rand, types, 3));
+            pokemons.add(p);
+            groups.add(List.of(p));
+        }
+        PokemonCandidatePool pool = new PokemonCandidatePool(groups);
+        lenient().when(pokedex.getCandidates(any())).thenAnswer(inv -> pool.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+    }
+
+    /** The solver finds the same optimum as exhaustive enumeration, with at most one Mega Evolution. */
+    @Test
+    void solve_ShouldMatchExhaustiveSearch() {
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(), Set.of(), Set.of(), true);
+
+        BranchAndBoundTeamSolver.Solution solution = solver.solve(constraints);
+
+        assertThat(solution.team().getFitness()).isCloseTo(exhaustiveBest(constraints), within(1e-9));
+        assertThat(solution.searchSize()).isEqualTo(8008);
+        assertThat(solution.evaluated()).isLessThan(solution.searchSize());
+        assertThat(Stream.of(solution.team().getCoding()).filter(PokemonGA::isMegaEvolution).count())
+                .isLessThanOrEqualTo(1);
+        assertThat(Stream.of(solution.team().getCoding()).distinct().count()).isEqualTo(6);
+    }
+
+    /** Locked members keep their slots and only the free slots are searched. */
+    @Test
+    void solve_ShouldKeepLockedMembers() {
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(pokemons.get(0), pokemons.get(3)),
+                Set.of(pokemons.get(5).getId()), Set.of(), true);
+
+        BranchAndBoundTeamSolver.Solution solution = solver.solve(constraints);
+
+        PokemonGA[] coding = solution.team().getCoding();
+        assertThat(coding[0]).isSameAs(pokemons.get(0));
+        assertThat(coding[1]).isSameAs(pokemons.get(3));
+        assertThat(coding).doesNotContain(pokemons.get(5), pokemons.get(7));
+        assertThat(solution.team().getFitness()).isCloseTo(exhaustiveBest(constraints), within(1e-9));
+    }
+
+    /** A cancelled token stops the search after the first complete team and reports why. */
+    @Test
+    void solve_ShouldStopEarly_WhenTokenIsCancelled() {
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(), Set.of(), Set.of(), true);
+        BranchAndBoundTeamSolver.Solution complete = solver.solve(constraints);
+        CancellationToken token = CancellationToken.none();
+        token.cancel(CancellationToken.Reason.CLIENT_ABORT);
+
+        BranchAndBoundTeamSolver.Solution solution = solver.solve(constraints, token);
+
+        assertThat(solution.stopReason()).isEqualTo(CancellationToken.Reason.CLIENT_ABORT);
+        assertThat(solution.team().getCoding()).doesNotContainNull();
+        assertThat(solution.evaluated()).isLessThan(complete.evaluated());
+        assertThat(complete.isCancelled()).isFalse();
+    }
+
+    /** The search size is the number of combinations, saturated instead of overflowing. */
+    @Test
+    void searchSize_ShouldCountCombinations() {
+        assertThat(BranchAndBoundTeamSolver.searchSize(40, 6)).isEqualTo(3_838_380L);
+        assertThat(BranchAndBoundTeamSolver.searchSize(5, 6)).isZero();
+        assertThat(BranchAndBoundTeamSolver.searchSize(Integer.MAX_VALUE, 6)).isEqualTo(Long.MAX_VALUE);
+        assertThat(solver.isTractable(TeamConstraints.of(pokedex, List.of(), Set.of(), Set.of(), true))).isTrue();
+        assertThat(new BranchAndBoundTeamSolver(fitnessFunction, 1000)
+                .isTractable(TeamConstraints.of(pokedex, List.of(), Set.of(), Set.of(), true))).isFalse();
+    }
+
+    private double exhaustiveBest(TeamConstraints constraints) {
+        PokemonGA[] candidates = constraints.getCandidates().toArray();
+        PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+        List<PokemonGA> locked = constraints.getLockedMembers();
+        for (int i = 0; i < locked.size(); i++) {
+            coding[i] = locked.get(i);
+        }
+        return exhaustiveBest(coding, locked.size(), candidates, 0);
+    }
+
+    private double exhaustiveBest(PokemonGA[] coding, int slot, PokemonGA[] candidates, int start) {
+        if (slot == coding.length) {
+            PokemonTeamGA team = new PokemonTeamGA(coding.clone());
+            fitnessFunction.evaluate(team);
+            return team.getFitness();
+        }
+        double best = 0;
+        for (int i = start; i < candidates.length; i++) {
+            coding[slot] = candidates[i];
+            best = Math.max(best, exhaustiveBest(coding, slot + 1, candidates, i + 1));
+        }
+        return best;
+    }
+
+    private static Set<PokemonTypeName> randomTypes(Random rand, PokemonTypeName[] types, int max) {
+        Set<PokemonTypeName> set = EnumSet.noneOf(PokemonTypeName.class);
+        int count = 1 + rand.nextInt(max);
+        for (int i = 0; i < count; i++) {
+            set.add(types[rand.nextInt(types.length)]);
+        }
+        return set;
+    }
+}
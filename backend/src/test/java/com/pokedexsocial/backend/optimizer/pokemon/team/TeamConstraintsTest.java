@@ -0,0 +1,124 @@
+package com.pokedexsocial.backend.optimizer.pokemon.team;
+
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.PokemonCandidatePool;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for {@link TeamConstraints}, on a small Pokedex with one Mega Evolution.
+ */
+@ExtendWith(MockitoExtension.class)
+class TeamConstraintsTest {
+
+    @Mock
+    private Pokedex pokedex;
+
+    private PokemonGA bulbasaur;
+    private PokemonGA charizard;
+    private PokemonGA megaCharizard;
+    private PokemonGA squirtle;
+    private PokemonGA mewtwo;
+    private PokemonGA megaMewtwo;
+    private PokemonGA pikachu;
+
+    @BeforeEach
+    void setUp() {
+        bulbasaur = pokemon(1, 1, "Bulbasaur", PokemonRarity.COMMON);
+        charizard = pokemon(6, 6, "Charizard", PokemonRarity.COMMON);
+        megaCharizard = pokemon(7, 6, "Mega Charizard X", PokemonRarity.COMMON);
+        squirtle = pokemon(9, 7, "Squirtle", PokemonRarity.COMMON);
+        mewtwo = pokemon(150, 150, "Mewtwo", PokemonRarity.LEGENDARY);
+        megaMewtwo = pokemon(151, 150, "Mega Mewtwo Y", PokemonRarity.LEGENDARY);
+        pikachu = pokemon(25, 25, "Pikachu", PokemonRarity.COMMON);
+
+        PokemonCandidatePool all = new PokemonCandidatePool(List.of(
+                List.of(bulbasaur), List.of(charizard, megaCharizard), List.of(squirtle),
+                List.of(mewtwo, megaMewtwo), List.of(pikachu)));
+        lenient().when(pokedex.getCandidates(any())).thenAnswer(inv -> all.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+    }
+
+    /** Locked members fill the first slots; free slots only get allowed, unlocked candidates. */
+    @Test
+    void newTeam_ShouldKeepLockedMembersAndSampleOnlyAllowedCandidates() {
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(pikachu, bulbasaur),
+                Set.of(squirtle.getId()), Set.of(PokemonRarity.LEGENDARY), true);
+        Random rand = new Random(7);
+
+        assertThat(constraints.getLockedCount()).isEqualTo(2);
+        assertThat(constraints.isLocked(1)).isTrue();
+        assertThat(constraints.isLocked(2)).isFalse();
+        for (int i = 0; i < 50; i++) {
+            PokemonGA[] team = constraints.newTeam(rand);
+            assertThat(team).hasSize(PokemonTeamGA.MAX_TEAM_MEMBERS);
+            assertThat(team[0]).isSameAs(pikachu);
+            assertThat(team[1]).isSameAs(bulbasaur);
+            assertThat(Stream.of(team).skip(2)).allMatch(p -> p == charizard || p == megaCharizard);
+            assertThat(Stream.of(team).filter(PokemonGA::isMegaEvolution).count()).isLessThanOrEqualTo(1);
+        }
+    }
+
+    /** With a Mega Evolution locked, no other Mega Evolution is ever a candidate. */
+    @Test
+    void of_ShouldDropMegaEvolutionsFromPool_WhenAMegaIsLocked() {
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(megaCharizard), Set.of(), Set.of(), true);
+
+        assertThat(constraints.getCandidates().contains(megaMewtwo)).isFalse();
+        assertThat(constraints.getCandidates().contains(megaCharizard)).isFalse();
+        assertThat(constraints.getCandidates().size()).isEqualTo(5);
+    }
+
+    /** Repair restores locked members and replaces the second Mega Evolution of a free slot. */
+    @Test
+    void repair_ShouldRestoreLockedSlotsAndKeepAtMostOneMega() {
+        TeamConstraints constraints = TeamConstraints.of(pokedex, List.of(pikachu), Set.of(), Set.of(), true);
+        PokemonGA[] coding = {bulbasaur, megaCharizard, squirtle, megaMewtwo, charizard, mewtwo};
+
+        constraints.repair(coding, new Random(3));
+
+        assertThat(coding[0]).isSameAs(pikachu);
+        assertThat(coding[1]).isSameAs(megaCharizard);
+        assertThat(coding[3].isMegaEvolution()).isFalse();
+        assertThat(coding[2]).isSameAs(squirtle);
+    }
+
+    /** Unsatisfiable constraints are rejected up front. */
+    @Test
+    void of_ShouldThrow_WhenConstraintsCannotBeSatisfied() {
+        assertThatThrownBy(() -> TeamConstraints.of(pokedex, List.of(megaCharizard, megaMewtwo), Set.of(), Set.of(), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Mega Evolution");
+        assertThatThrownBy(() -> TeamConstraints.of(pokedex, List.of(), Set.of(),
+                Set.of(PokemonRarity.COMMON, PokemonRarity.LEGENDARY), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No Pokémon");
+        assertThatThrownBy(() -> TeamConstraints.of(pokedex,
+                List.of(bulbasaur, charizard, squirtle, mewtwo, pikachu, megaCharizard), Set.of(), Set.of(), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("locked");
+    }
+
+    private static PokemonGA pokemon(int id, int ndex, String name, PokemonRarity rarity) {
+        return new PokemonGA(id, ndex, name, new PokemonType(PokemonTypeName.NORMAL), null,
+                80, 80, 80, 80, 80, 80, rarity);
+    }
+}
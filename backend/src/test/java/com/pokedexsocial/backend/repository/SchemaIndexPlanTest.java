@@ -0,0 +1,171 @@
+package com.pokedexsocial.backend.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression test for the indexes declared in {@code database/db_scripts}.
+ * <p>
+ * The schema and index scripts are loaded into an in-memory H2 database running in
+ * PostgreSQL mode, and the plan of every hot query is checked to go through its
+ * index instead of a full table scan. To keep the stand-in close to PostgreSQL,
+ * foreign key clauses are dropped when loading the scripts (H2 would otherwise index
+ * every foreign key on its own, PostgreSQL does not); H2 also has no partial indexes,
+ * so their {@code WHERE} clause is dropped as well. The dropped predicates are kept
+ * and checked on their own: each must be exactly the condition of the query the
+ * index serves (PostgreSQL only uses a partial index when the query implies its
+ * predicate) and must select the same rows on the seeded data.
+ */
+class SchemaIndexPlanTest {
+
+    private static final Path SCRIPTS = Path.of("..", "database", "db_scripts");
+
+    private static final Pattern PARTIAL_INDEX = Pattern.compile(
+            "(?is)CREATE\\s+INDEX\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)\\s+ON\\s+(\\w+)\\s*\\([^)]*\\)\\s*WHERE\\s+([^;]+);");
+
+    private static Connection connection;
+    // index name -> {table, predicate} of the partial indexes, as written in the scripts
+    private static final Map<String, String[]> partialIndexes = new HashMap<>();
+
+    @BeforeAll
+    static void loadSchema() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:plan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        runScript("01-schema.sql");
+        runScript("06-indexes.sql");
+        seed();
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    /** Every hot filter or listing query must be answered through the expected index. */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "SELECT * FROM pokemon WHERE type1_id = 3                               | idx_pokemon_type1",
+            "SELECT * FROM pokemon WHERE type2_id = 3                               | idx_pokemon_type2",
+            "SELECT * FROM pokemon WHERE ability1_id = 3                            | idx_pokemon_ability1",
+            "SELECT * FROM pokemon WHERE ability2_id = 3                            | idx_pokemon_ability2",
+            "SELECT * FROM pokemon WHERE hidden_ability_id = 3                      | idx_pokemon_hidden_ability",
+            "SELECT * FROM pokemon WHERE ndex BETWEEN 10 AND 20                     | idx_pokemon_ndex",
+            "SELECT * FROM pokemon WHERE height BETWEEN 1.5 AND 2.0                 | idx_pokemon_height",
+            "SELECT * FROM pokemon WHERE weight BETWEEN 10.0 AND 12.0               | idx_pokemon_weight",
+            "SELECT * FROM type_effectiveness WHERE defender_type_id = 2            | idx_type_effectiveness_defender",
+            "SELECT * FROM team WHERE user_id = 7 ORDER BY created_at DESC, id DESC | idx_team_user_created",
+            "SELECT * FROM team WHERE visibility = 'PUBLIC' ORDER BY created_at DESC, id DESC FETCH FIRST 20 ROWS ONLY"
+                    + " | idx_team_public_created",
+            "SELECT * FROM team_pokemon WHERE pokemon_id = 5                        | idx_team_pokemon_pokemon",
+    })
+    void hotQuery_ShouldUseIndex(String sql, String expectedIndex) throws SQLException {
+        assertThat(explain(sql)).containsIgnoringCase(expectedIndex);
+    }
+
+    /** The scripts declare exactly the expected partial indexes, so none goes unchecked. */
+    @Test
+    void partialIndexes_ShouldAllBeChecked() {
+        assertThat(partialIndexes).containsOnlyKeys("idx_team_public_created");
+    }
+
+    /**
+     * A partial index predicate must be the condition of the query it serves, and on
+     * the seeded data it must select exactly the rows that query reads.
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "idx_team_public_created | team | visibility = 'PUBLIC'",
+    })
+    void partialIndex_ShouldMatchServedQueryPredicate(String index, String table, String queryPredicate)
+            throws SQLException {
+        String[] declared = partialIndexes.get(index);
+        assertThat(declared).as("partial index %s", index).isNotNull();
+        assertThat(declared[0]).isEqualToIgnoringCase(table);
+        assertThat(declared[1]).isEqualTo(queryPredicate);
+
+        long selected = count("SELECT COUNT(*) FROM " + table + " WHERE " + declared[1]);
+        assertThat(selected).isPositive()
+                .isLessThan(count("SELECT COUNT(*) FROM " + table))
+                .isEqualTo(count("SELECT COUNT(*) FROM " + table + " WHERE " + queryPredicate));
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery("EXPLAIN " + sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static void runScript(String name) throws IOException, SQLException {
+        String source = Files.readString(SCRIPTS.resolve(name)).replaceAll("--[^\\n]*", "");
+        Matcher partial = PARTIAL_INDEX.matcher(source);
+        while (partial.find()) {
+            partialIndexes.put(partial.group(1),
+                    new String[]{partial.group(2), partial.group(3).trim().replaceAll("\\s+", " ")});
+        }
+        String script = source
+                .replaceAll("(?s)\\)\\s*WHERE[^;]*;", ");")
+                .replaceAll("(?i)REFERENCES\\s+\\w+\\s*\\(\\w+\\)(\\s+ON DELETE (CASCADE|RESTRICT|SET NULL))?", "");
+        try (Statement st = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                if (!sql.isBlank()) {
+                    st.execute(sql);
+                }
+            }
+        }
+    }
+
+    // enough rows for the planner to prefer index lookups over scans
+    private static void seed() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            for (int i = 1; i <= 20; i++) {
+                st.execute("INSERT INTO type(id, name) VALUES (" + i + ", 'T" + i + "')");
+                st.execute("INSERT INTO ability(id, name, description) VALUES (" + i + ", 'A" + i + "', 'd')");
+                st.execute("INSERT INTO app_user(id, email, username, password, first_name, last_name, birth_date) "
+                        + "VALUES (" + i + ", 'u" + i + "@x.it', 'u" + i + "', 'p', 'f', 'l', DATE '2000-01-01')");
+            }
+            for (int t = 1; t <= 20; t++) {
+                for (int d = 1; d <= 20; d++) {
+                    st.execute("INSERT INTO type_effectiveness VALUES (" + t + ", " + d + ", 1)");
+                }
+            }
+            for (int i = 1; i <= 1000; i++) {
+                int k = i % 20 + 1;
+                st.execute("INSERT INTO pokemon(id, ndex, species, dex1, dex2, type1_id, type2_id, ability1_id, "
+                        + "ability2_id, hidden_ability_id, hp, attack, defense, spattack, spdefense, speed, total, "
+                        + "weight, height) VALUES (" + i + ", " + i + ", 'P" + i + "', 'd', 'd', " + k + ", " + k
+                        + ", " + k + ", " + k + ", " + k + ", 1, 1, 1, 1, 1, 1, 6, " + (i / 10.0) + ", " + (i / 100.0) + ")");
+            }
+            for (int i = 1; i <= 500; i++) {
+                st.execute("INSERT INTO team(id, user_id, name, visibility) VALUES (" + i + ", " + (i % 20 + 1)
+                        + ", 'T" + i + "', '" + (i % 2 == 0 ? "PUBLIC" : "PRIVATE") + "')");
+                st.execute("INSERT INTO team_pokemon VALUES (" + i + ", " + (i % 1000 + 1) + ", 1)");
+            }
+            st.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.pokedexsocial.backend.repository;
+
+import com.pokedexsocial.backend.model.Team;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the leaderboard queries of {@link TeamFeedRepository} against an in-memory H2 database.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class TeamFeedRepositoryTest {
+
+    private static final int VERSION = 3;
+
+    @Autowired private TeamFeedRepository feedRepository;
+    @Autowired private EntityManager em;
+
+    private final int[] teamIds = new int[4];
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setEmail("ash@pokedex.it");
+        owner.setUsername("ash");
+        owner.setPassword("x");
+        owner.setRole("USER");
+        owner.setPokecoin(0L);
+        em.persist(owner);
+
+        Double[] fitness = {10.0, null, 30.0, 40.0};
+        Integer[] versions = {VERSION, null, VERSION - 1, VERSION};
+        for (int i = 0; i < teamIds.length; i++) {
+            Team team = new Team();
+            team.setUser(owner);
+            team.setName("Team " + i);
+            team.setVisibility("PUBLIC");
+            em.persist(team);
+            teamIds[i] = team.getId();
+
+            TeamFeedEntry entry = new TeamFeedEntry();
+            entry.setTeamId(team.getId());
+            entry.setUserId(owner.getId());
+            entry.setOwnerUsername("ash");
+            entry.setName(team.getName());
+            entry.setMembers("[]");
+            entry.setFitness(fitness[i]);
+            entry.setFitnessVersion(versions[i]);
+            em.persist(entry);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /** Scores are paged by team ID and unscored entries are skipped. */
+    @Test
+    void findScoresAfter_ShouldPageScoredEntriesByTeamId() {
+        List<TeamFeedRepository.ScoreRow> first = feedRepository.findScoresAfter(0, PageRequest.of(0, 2));
+        List<TeamFeedRepository.ScoreRow> second = feedRepository.findScoresAfter(first.get(1).getTeamId(), PageRequest.of(0, 2));
+
+        assertThat(first).extracting(TeamFeedRepository.ScoreRow::getTeamId).containsExactly(teamIds[0], teamIds[2]);
+        assertThat(second).extracting(TeamFeedRepository.ScoreRow::getFitness).containsExactly(40.0);
+    }
+
+    /** Entries never scored or scored with another version are stale. */
+    @Test
+    void findStaleAfter_ShouldReturnMissingAndOutdatedScores() {
+        assertThat(feedRepository.findStaleAfter(VERSION, 0, PageRequest.of(0, 10)))
+                .extracting(TeamFeedEntry::getTeamId)
+                .containsExactly(teamIds[1], teamIds[2]);
+    }
+
+    /** A stale score is replaced, a current one is left alone. */
+    @Test
+    void updateStaleFitness_ShouldOnlyTouchStaleEntries() {
+        assertThat(feedRepository.updateStaleFitness(teamIds[1], 55.0, VERSION)).isEqualTo(1);
+        assertThat(feedRepository.updateStaleFitness(teamIds[3], 55.0, VERSION)).isZero();
+        em.clear();
+
+        assertThat(feedRepository.findById(teamIds[1])).get().extracting(TeamFeedEntry::getFitness).isEqualTo(55.0);
+        assertThat(feedRepository.findById(teamIds[3])).get().extracting(TeamFeedEntry::getFitness).isEqualTo(40.0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.pokedexsocial.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardIndexTest {
+
+    private final LeaderboardIndex index = new LeaderboardIndex();
+
+    /** Teams are ranked by fitness, highest first, ties broken by team ID. */
+    @Test
+    void range_ShouldOrderByFitnessThenTeamId() {
+        index.put(3, 50.0);
+        index.put(1, 80.0);
+        index.put(2, 50.0);
+        index.put(4, 90.0);
+
+        assertThat(index.range(1, 10)).containsExactly(
+                new LeaderboardIndex.Entry(1, 4, 90.0),
+                new LeaderboardIndex.Entry(2, 1, 80.0),
+                new LeaderboardIndex.Entry(3, 2, 50.0),
+                new LeaderboardIndex.Entry(4, 3, 50.0));
+        assertThat(index.range(3, 1)).extracting(LeaderboardIndex.Entry::teamId).containsExactly(2);
+        assertThat(index.range(5, 1)).isEmpty();
+    }
+
+    /** Updating a team moves it, removing it shifts the ranks below. */
+    @Test
+    void put_ShouldMoveTeam_AndRemoveShouldShiftRanks() {
+        index.put(1, 10.0);
+        index.put(2, 20.0);
+        index.put(3, 30.0);
+
+        index.put(1, 40.0);
+        assertThat(index.rankOf(1)).isEqualTo(new LeaderboardIndex.Entry(1, 1, 40.0));
+        assertThat(index.rankOf(2).rank()).isEqualTo(3);
+
+        index.remove(3);
+        assertThat(index.rankOf(2).rank()).isEqualTo(2);
+        assertThat(index.rankOf(3)).isNull();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    /** Random inserts, moves and removals match a sorted reference list. */
+    @Test
+    void operations_ShouldMatchSortedReference_WhenRandomized() {
+        Random random = new Random(42);
+        Map<Integer, Double> reference = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int teamId = random.nextInt(1000);
+            if (random.nextInt(4) == 0) {
+                index.remove(teamId);
+                reference.remove(teamId);
+            } else {
+                double fitness = random.nextInt(200) / 2.0; // molti pareggi
+                index.put(teamId, fitness);
+                reference.put(teamId, fitness);
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> sorted = new ArrayList<>(reference.entrySet());
+        sorted.sort(Comparator.<Map.Entry<Integer, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        assertThat(index.size()).isEqualTo(sorted.size());
+        assertThat(index.range(1, sorted.size())).extracting(LeaderboardIndex.Entry::teamId)
+                .containsExactlyElementsOf(sorted.stream().map(Map.Entry::getKey).toList());
+        for (int rank = 1; rank <= sorted.size(); rank += 37) {
+            int teamId = sorted.get(rank - 1).getKey();
+            assertThat(index.rankOf(teamId).rank()).isEqualTo(rank);
+            assertThat(index.range(rank, 1)).extracting(LeaderboardIndex.Entry::teamId).containsExactly(teamId);
+        }
+    }
+}
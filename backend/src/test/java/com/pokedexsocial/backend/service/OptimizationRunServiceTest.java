@@ -0,0 +1,72 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
+import com.pokedexsocial.backend.security.AuthContext;
+import com.pokedexsocial.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link OptimizationRunService}; the async task callables are called
+ * directly on the test thread.
+ */
+class OptimizationRunServiceTest {
+
+    private final OptimizationRunService service =
+            new OptimizationRunService(Duration.ofMillis(50), Duration.ofSeconds(1), 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        AuthContext.clear();
+        service.shutdown();
+    }
+
+    /** The task runs with the caller's user and an async timeout covering the run timeout. */
+    @Test
+    void submit_ShouldRunWithCallerUserAndCountCompletion() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(7, "ash", "USER");
+        AuthContext.setCurrentUser(user);
+        WebAsyncTask<AuthenticatedUser> task = service.submit(token -> AuthContext.getCurrentUser(), result -> null);
+        AuthContext.clear();
+
+        assertThat(task.getTimeout()).isEqualTo(1050L);
+        assertThat(task.getCallable().call()).isEqualTo(user);
+        assertThat(AuthContext.getCurrentUser()).isNull();
+
+        Map<String, Long> metrics = service.getMetrics();
+        assertThat(metrics).containsEntry("started", 1L).containsEntry("completed", 1L)
+                .containsEntry("active", 0L).containsEntry("cancelled.deadline", 0L);
+    }
+
+    /** A run that outlives the run timeout sees its token expire and is counted as cancelled. */
+    @Test
+    void submit_ShouldCancelTokenAtRunTimeout() throws Exception {
+        WebAsyncTask<CancellationToken.Reason> task = service.submit(token -> {
+            while (!token.isCancelled()) {
+                Thread.sleep(5);
+            }
+            return token.getReason();
+        }, Enum::name);
+
+        assertThat(task.getCallable().call()).isEqualTo(CancellationToken.Reason.DEADLINE);
+        assertThat(service.getMetrics()).containsEntry("cancelled.deadline", 1L).containsEntry("completed", 0L);
+    }
+
+    /** A failing run is counted and its exception reaches the async dispatch. */
+    @Test
+    void submit_ShouldCountFailure_WhenRunThrows() {
+        WebAsyncTask<Object> task = service.submit(token -> {
+            throw new IllegalStateException("boom");
+        }, result -> null);
+
+        assertThatThrownBy(() -> task.getCallable().call()).isInstanceOf(IllegalStateException.class);
+        assertThat(service.getMetrics()).containsEntry("failed", 1L).containsEntry("active", 0L);
+    }
+}
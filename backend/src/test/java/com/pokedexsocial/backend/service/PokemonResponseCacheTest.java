@@ -0,0 +1,91 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.PokemonDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PokemonResponseCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private PokemonService pokemonService;
+    private MutableClock clock;
+    private PokemonResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        pokemonService = mock(PokemonService.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00.500Z"));
+        cache = new PokemonResponseCache(pokemonService, new ObjectMapper(), true, TTL, clock);
+
+        PokemonDto dto = new PokemonDto();
+        dto.setId(1);
+        dto.setSpecies("Bulbasaur");
+        when(pokemonService.getPokemonById(1)).thenReturn(dto);
+    }
+
+    /** Hits within the TTL reuse the encoded body without reloading the Pokémon. */
+    @Test
+    void get_ShouldReuseEncodedBody_WithinTtl() {
+        PokemonResponseCache.EncodedPokemon first = cache.get(1);
+        clock.advance(TTL.minusSeconds(1));
+
+        assertThat(cache.get(1)).isSameAs(first);
+        assertThat(first.lastModified()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+        verify(pokemonService, times(1)).getPokemonById(1);
+    }
+
+    /** Once the TTL has elapsed the body is rebuilt and carries a newer Last-Modified date. */
+    @Test
+    void get_ShouldReloadWithNewerLastModified_WhenTtlElapsed() {
+        PokemonResponseCache.EncodedPokemon first = cache.get(1);
+        clock.advance(TTL);
+
+        PokemonResponseCache.EncodedPokemon second = cache.get(1);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(second.lastModified()).isAfter(first.lastModified());
+        verify(pokemonService, times(2)).getPokemonById(1);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.pokedexsocial.backend.service;
 
+import com.pokedexsocial.backend.dto.CursorPagedResponse;
 import com.pokedexsocial.backend.dto.PokemonDto;
 import com.pokedexsocial.backend.dto.PokemonFiltersDto;
 import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.exception.InvalidCursorException;
+import com.pokedexsocial.backend.exception.PokemonNotFoundException;
 import com.pokedexsocial.backend.model.Ability;
 import com.pokedexsocial.backend.model.Pokemon;
 import com.pokedexsocial.backend.model.Type;
@@ -14,19 +17,28 @@ import com.pokedexsocial.backend.repository.TypeRepository;
 import com.pokedexsocial.backend.service.PokemonService;
 import com.pokedexsocial.backend.specification.PokemonSearchCriteria;
 import com.pokedexsocial.backend.specification.PokemonSpecification;
+import com.pokedexsocial.backend.util.Cursor;
+import com.pokedexsocial.backend.util.Versioned;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +49,17 @@ class PokemonServiceTest {
     @Mock private AbilityRepository abilityRepository;
     @Mock private TypeEffectivenessRepository effectivenessRepository;
 
-    @InjectMocks private PokemonService service;
+    private static final Duration CATALOGUE_TTL = Duration.ofHours(1);
+
+    private MutableClock clock;
+    private PokemonService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        service = new PokemonService(pokemonRepository, typeRepository, abilityRepository,
+                effectivenessRepository, CATALOGUE_TTL, clock);
+    }
 
     // ---------- getPokemonById ----------
 
@@ -292,6 +314,73 @@ class PokemonServiceTest {
         verifyNoInteractions(typeRepository, abilityRepository);
     }
 
+    // ---------- getPokemonByIds ----------
+
+    /** Builds every DTO from one fetch-joined query and the shared type chart, keeping the request order. */
+    @Test
+    void getPokemonByIds_ShouldReturnDtosInRequestOrder_UsingSharedTypeChart() {
+        Type grass = new Type(12, "Grass");
+        Type fire = new Type(10, "Fire");
+        Type water = new Type(11, "Water");
+        Pokemon bulbasaur = withTypes(1, "Bulbasaur", grass, null);
+        Pokemon charmander = withTypes(4, "Charmander", fire, null);
+
+        when(pokemonRepository.findAllDetailedByIdIn(any())).thenReturn(List.of(bulbasaur, charmander));
+        when(effectivenessRepository.findAllWithTypes()).thenReturn(List.of(
+                new TypeEffectiveness(fire, grass, new BigDecimal("2.0")),
+                new TypeEffectiveness(water, fire, new BigDecimal("2.0")),
+                new TypeEffectiveness(grass, fire, new BigDecimal("0.5"))
+        ));
+
+        List<PokemonDto> result = service.getPokemonByIds(List.of(4, 1, 4));
+
+        assertThat(result).extracting(PokemonDto::getSpecies).containsExactly("Charmander", "Bulbasaur");
+        assertThat(result.get(0).getWeaknesses()).containsEntry("Water", 2.0);
+        assertThat(result.get(0).getResistances()).containsEntry("Grass", 0.5);
+        assertThat(result.get(1).getWeaknesses()).containsEntry("Fire", 2.0);
+        verify(pokemonRepository).findAllDetailedByIdIn(Set.of(4, 1));
+        verify(effectivenessRepository, never()).findByDefenderType(any());
+    }
+
+    /** The type chart is loaded once and reused by later batches. */
+    @Test
+    void getPokemonByIds_ShouldLoadTypeChartOnce_AcrossCalls() {
+        Pokemon bulbasaur = withTypes(1, "Bulbasaur", new Type(12, "Grass"), null);
+        when(pokemonRepository.findAllDetailedByIdIn(any())).thenReturn(List.of(bulbasaur));
+        when(effectivenessRepository.findAllWithTypes()).thenReturn(List.of());
+
+        service.getPokemonByIds(List.of(1));
+        service.getPokemonByIds(List.of(1));
+
+        verify(effectivenessRepository, times(1)).findAllWithTypes();
+    }
+
+    /** The type chart is reloaded once the catalogue TTL has elapsed. */
+    @Test
+    void getPokemonByIds_ShouldReloadTypeChart_WhenTtlElapsed() {
+        Pokemon bulbasaur = withTypes(1, "Bulbasaur", new Type(12, "Grass"), null);
+        when(pokemonRepository.findAllDetailedByIdIn(any())).thenReturn(List.of(bulbasaur));
+        when(effectivenessRepository.findAllWithTypes()).thenReturn(List.of());
+
+        service.getPokemonByIds(List.of(1));
+        clock.advance(CATALOGUE_TTL);
+        service.getPokemonByIds(List.of(1));
+
+        verify(effectivenessRepository, times(2)).findAllWithTypes();
+    }
+
+    /** Unknown IDs are reported together instead of being silently dropped. */
+    @Test
+    void getPokemonByIds_ShouldThrowNotFound_WhenSomeIdsDoNotExist() {
+        Pokemon bulbasaur = withTypes(1, "Bulbasaur", new Type(12, "Grass"), null);
+        when(pokemonRepository.findAllDetailedByIdIn(any())).thenReturn(List.of(bulbasaur));
+
+        assertThatThrownBy(() -> service.getPokemonByIds(List.of(1, 998, 999)))
+                .isInstanceOf(PokemonNotFoundException.class)
+                .hasMessageContaining("[998, 999]");
+        verifyNoInteractions(effectivenessRepository);
+    }
+
     // ---------- search ----------
 
     /** Verifies the Specification built from criteria is passed to repository and the mapping returns list entries. */
@@ -429,12 +518,7 @@ class PokemonServiceTest {
         when(abilityRepository.findAll()).thenReturn(List.of(blaze, torrent));
 
         // Ranges
-        when(pokemonRepository.findMinNdex()).thenReturn(1);
-        when(pokemonRepository.findMaxNdex()).thenReturn(1025);
-        when(pokemonRepository.findMinHeight()).thenReturn(new BigDecimal("0.1"));
-        when(pokemonRepository.findMaxHeight()).thenReturn(new BigDecimal("20.0"));
-        when(pokemonRepository.findMinWeight()).thenReturn(new BigDecimal("0.1"));
-        when(pokemonRepository.findMaxWeight()).thenReturn(new BigDecimal("999.9"));
+        mockRanges(1, 1025, "0.1", "20.0", "0.1", "999.9");
 
         PokemonFiltersDto filters = service.getFilters();
 
@@ -458,16 +542,128 @@ class PokemonServiceTest {
 
         verify(typeRepository).findAll();
         verify(abilityRepository).findAll();
-        verify(pokemonRepository).findMinNdex();
-        verify(pokemonRepository).findMaxNdex();
-        verify(pokemonRepository).findMinHeight();
-        verify(pokemonRepository).findMaxHeight();
-        verify(pokemonRepository).findMinWeight();
-        verify(pokemonRepository).findMaxWeight();
+        verify(pokemonRepository).findFilterRanges();
+    }
+
+    /** Ensures filters are served from memory after the first load, without touching the repositories again. */
+    @Test
+    void getFilters_ShouldHitRepositoriesOnlyOnce_WhenCalledRepeatedly() {
+        when(typeRepository.findAll()).thenReturn(List.of(new Type(10, "Fire")));
+        when(abilityRepository.findAll()).thenReturn(List.of(new Ability(1, "Blaze", "d")));
+        mockRanges(1, 1025, "0.1", "20.0", "0.1", "999.9");
+
+        PokemonFiltersDto first = service.getFilters();
+        PokemonFiltersDto second = service.getFilters();
+
+        assertThat(second).isSameAs(first);
+        verify(typeRepository, times(1)).findAll();
+        verify(abilityRepository, times(1)).findAll();
+        verify(pokemonRepository, times(1)).findFilterRanges();
+    }
+
+    /** Ensures expiry forces a reload and that the ETag follows the content. */
+    @Test
+    void getVersionedFilters_ShouldReloadAndChangeETag_WhenExpiredAndDataChanged() {
+        when(typeRepository.findAll())
+                .thenReturn(List.of(new Type(10, "Fire")))
+                .thenReturn(List.of(new Type(10, "Fire"), new Type(11, "Water")));
+        when(abilityRepository.findAll()).thenReturn(List.of());
+        mockRanges(1, 1025, "0.1", "20.0", "0.1", "999.9");
+
+        Versioned<PokemonFiltersDto> before = service.getVersionedFilters();
+        clock.advance(CATALOGUE_TTL.minusSeconds(1));
+        assertThat(service.getVersionedFilters().etag()).isEqualTo(before.etag());
+
+        clock.advance(Duration.ofSeconds(1));
+        Versioned<PokemonFiltersDto> after = service.getVersionedFilters();
+
+        assertThat(after.value().types()).hasSize(2);
+        assertThat(after.etag()).isNotEqualTo(before.etag()).startsWith("\"").endsWith("\"");
+        verify(typeRepository, times(2)).findAll();
+    }
+
+    /** Ensures identical content always yields the same ETag, even across reloads. */
+    @Test
+    void getVersionedFilters_ShouldKeepETag_WhenReloadedDataIsUnchanged() {
+        when(typeRepository.findAll()).thenReturn(List.of(new Type(10, "Fire")));
+        when(abilityRepository.findAll()).thenReturn(List.of(new Ability(1, "Blaze", "d")));
+        mockRanges(1, 1025, "0.1", "20.0", "0.1", "999.9");
+
+        String etag = service.getVersionedFilters().etag();
+        clock.advance(CATALOGUE_TTL);
+
+        assertThat(service.getVersionedFilters().etag()).isEqualTo(etag);
+    }
+
+    // ---------- scroll ----------
+
+    /** Fetches one extra row to detect the next page and encodes the last returned row as cursor. */
+    @Test
+    @SuppressWarnings("unchecked")
+    void scroll_ShouldReturnNextCursor_WhenMoreRowsThanPageSize() {
+        Pokemon p1 = withTypes(1, "Bulbasaur", new Type(1, "Grass"), null);
+        Pokemon p2 = withTypes(2, "Ivysaur", new Type(1, "Grass"), null);
+        Pokemon p3 = withTypes(3, "Venusaur", new Type(1, "Grass"), null);
+        doReturn(List.of(p1, p2, p3)).when(pokemonRepository).findBy(any(Specification.class), any());
+
+        CursorPagedResponse<PokemonListDto> result = service.scroll(
+                new PokemonSearchCriteria(), Sort.Order.asc("ndex"), 2, null);
+
+        assertThat(result.getItems()).extracting(PokemonListDto::ndex).containsExactly(1, 2);
+        assertThat(result.isLast()).isFalse();
+        Cursor next = Cursor.decode(result.getNextCursor());
+        assertThat(next).isEqualTo(new Cursor("ndex", Sort.Direction.ASC, "2", p2.getId()));
+    }
+
+    /** The last page carries no cursor. */
+    @Test
+    @SuppressWarnings("unchecked")
+    void scroll_ShouldMarkLastPage_WhenFewerRowsThanPageSize() {
+        Pokemon p1 = withTypes(7, "Squirtle", new Type(2, "Water"), null);
+        doReturn(List.of(p1)).when(pokemonRepository).findBy(any(Specification.class), any());
+
+        CursorPagedResponse<PokemonListDto> result = service.scroll(
+                new PokemonSearchCriteria(), Sort.Order.asc("species"),
+                2, new Cursor("species", Sort.Direction.ASC, "Charmander", 4));
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    /** A cursor produced for another sort order must not be applied. */
+    @Test
+    void scroll_ShouldThrow_WhenCursorDoesNotMatchSort() {
+        Cursor cursor = new Cursor("species", Sort.Direction.ASC, "Pikachu", 25);
+
+        assertThatThrownBy(() -> service.scroll(new PokemonSearchCriteria(), Sort.Order.asc("ndex"), 20, cursor))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(pokemonRepository);
+    }
+
+    /** A cursor whose value does not parse for its property is rejected. */
+    @Test
+    void scroll_ShouldThrow_WhenCursorValueIsMalformed() {
+        Cursor cursor = new Cursor("ndex", Sort.Direction.ASC, "abc", 25);
+
+        assertThatThrownBy(() -> service.scroll(new PokemonSearchCriteria(), Sort.Order.asc("ndex"), 20, cursor))
+                .isInstanceOf(InvalidCursorException.class);
     }
 
     // ---------- helpers ----------
 
+    private void mockRanges(Integer minNdex, Integer maxNdex, String minHeight, String maxHeight,
+                            String minWeight, String maxWeight) {
+        PokemonRepository.FilterRanges ranges = mock(PokemonRepository.FilterRanges.class);
+        when(ranges.getMinNdex()).thenReturn(minNdex);
+        when(ranges.getMaxNdex()).thenReturn(maxNdex);
+        when(ranges.getMinHeight()).thenReturn(new BigDecimal(minHeight));
+        when(ranges.getMaxHeight()).thenReturn(new BigDecimal(maxHeight));
+        when(ranges.getMinWeight()).thenReturn(new BigDecimal(minWeight));
+        when(ranges.getMaxWeight()).thenReturn(new BigDecimal(maxWeight));
+        when(pokemonRepository.findFilterRanges()).thenReturn(ranges);
+    }
+
     private Pokemon basePokemon() {
         Pokemon p = new Pokemon();
         // set minimal required fields to avoid NPEs in service mapping
@@ -496,4 +692,31 @@ class PokemonServiceTest {
         p.setAbility1(new Ability(1000 + ndex, "A" + ndex, "Desc"));
         return p;
     }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
 }
@@ -0,0 +1,235 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.dto.TeamAnalysisDto;
+import com.pokedexsocial.backend.dto.TeamAnalysisRequest;
+import com.pokedexsocial.backend.exception.InvalidTeamOperationException;
+import com.pokedexsocial.backend.exception.PokemonNotFoundException;
+import com.pokedexsocial.backend.exception.TeamNotFoundException;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import com.pokedexsocial.backend.repository.TeamRepository;
+import com.pokedexsocial.backend.security.AuthContext;
+import com.pokedexsocial.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamAnalysisServiceTest {
+
+    @Mock private TeamRepository teamRepository;
+    @Mock private Pokedex pokedex;
+
+    private final PokemonTeamFitnessFunction fitnessFunction = new PokemonTeamFitnessFunction();
+    private TeamAnalysisService analysisService;
+    private Map<Integer, PokemonGA> pokemons;
+
+    @BeforeEach
+    void setUp() {
+        analysisService = new TeamAnalysisService(teamRepository, pokedex, fitnessFunction);
+        AuthContext.setCurrentUser(new AuthenticatedUser(1, "ash", "USER"));
+
+        PokemonType fire = type(PokemonTypeName.FIRE, Map.of(PokemonTypeName.WATER, 2.0, PokemonTypeName.GRASS, 0.5));
+        PokemonType water = type(PokemonTypeName.WATER, Map.of(PokemonTypeName.GRASS, 2.0, PokemonTypeName.FIRE, 0.5));
+        PokemonType grass = type(PokemonTypeName.GRASS, Map.of(PokemonTypeName.FIRE, 2.0, PokemonTypeName.WATER, 0.5));
+        pokemons = Map.of(
+                4, pokemon(4, 4, "Charmander", fire, 309),
+                7, pokemon(7, 7, "Squirtle", water, 314),
+                1, pokemon(1, 1, "Bulbasaur", grass, 318),
+                10034, pokemon(10034, 6, "Mega Charizard X", fire, 634),
+                10035, pokemon(10035, 6, "Mega Charizard Y", fire, 634)
+        );
+        lenient().when(pokedex.getById(anyInt()))
+                .thenAnswer(inv -> Optional.ofNullable(pokemons.get(inv.<Integer>getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        AuthContext.clear();
+    }
+
+    /** Member lists are scored from the Pokedex alone, with the same total as the optimizer. */
+    @Test
+    void analyze_ShouldScoreMemberLists_WithoutTouchingRepository() throws Exception {
+        TeamAnalysisDto result = analysisService.analyze(request(null, List.of(List.of(4, 7, 1)))).get(0);
+
+        PokemonTeamGA team = new PokemonTeamGA(new PokemonGA[]{pokemons.get(4), pokemons.get(7), pokemons.get(1)});
+        fitnessFunction.evaluate(team);
+
+        assertThat(result.teamId()).isNull();
+        assertThat(result.pokemonIds()).containsExactly(4, 7, 1);
+        assertThat(result.total()).isCloseTo(team.getFitness(), within(1e-9));
+        assertThat(result.typesDiversity()).isGreaterThan(0);
+        assertThat(result.megaEvolutions()).isZero();
+        verifyNoInteractions(teamRepository);
+    }
+
+    /** A team with two Mega Evolutions keeps its components but gets a total of 0. */
+    @Test
+    void analyze_ShouldReturnZeroTotal_WhenTeamHasTwoMegaEvolutions() throws Exception {
+        TeamAnalysisDto result = analysisService.analyze(request(null, List.of(List.of(10034, 10035)))).get(0);
+
+        assertThat(result.megaEvolutions()).isEqualTo(2);
+        assertThat(result.total()).isZero();
+        assertThat(result.averageStats()).isGreaterThan(0);
+    }
+
+    /** Saved teams are read with one query and returned in request order, before member lists. */
+    @Test
+    void analyze_ShouldLoadSavedTeamsWithOneQuery_AndKeepOrder() throws Exception {
+        when(teamRepository.findMemberRowsByTeamIdIn(Set.of(20, 10))).thenReturn(List.of(
+                new Row(10, 1, "PRIVATE", 1, 4),
+                new Row(10, 1, "PRIVATE", 2, 7),
+                new Row(20, 2, "PUBLIC", 1, 1)
+        ));
+
+        List<TeamAnalysisDto> results = analysisService.analyze(request(List.of(20, 10, 20), List.of(List.of(7))));
+
+        assertThat(results).extracting(TeamAnalysisDto::teamId).containsExactly(20, 10, null);
+        assertThat(results.get(1).pokemonIds()).containsExactly(4, 7);
+        verify(teamRepository).findMemberRowsByTeamIdIn(Set.of(20, 10));
+        verifyNoMoreInteractions(teamRepository);
+    }
+
+    /** Private teams of other users cannot be analyzed. */
+    @Test
+    void analyze_ShouldThrowAccessDenied_WhenTeamIsPrivateAndNotOwned() {
+        when(teamRepository.findMemberRowsByTeamIdIn(Set.of(10)))
+                .thenReturn(List.of(new Row(10, 99, "PRIVATE", 1, 4)));
+
+        assertThatThrownBy(() -> analysisService.analyze(request(List.of(10), null)))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    /** Admins can analyze private teams of other users. */
+    @Test
+    void analyze_ShouldAllowPrivateTeam_WhenUserIsAdmin() throws Exception {
+        AuthContext.setCurrentUser(new AuthenticatedUser(2, "oak", "ADMIN"));
+        when(teamRepository.findMemberRowsByTeamIdIn(Set.of(10)))
+                .thenReturn(List.of(new Row(10, 99, "PRIVATE", 1, 4)));
+
+        assertThat(analysisService.analyze(request(List.of(10), null))).hasSize(1);
+    }
+
+    /** Unknown team IDs are reported as not found. */
+    @Test
+    void analyze_ShouldThrowTeamNotFound_WhenTeamDoesNotExist() {
+        when(teamRepository.findMemberRowsByTeamIdIn(Set.of(10, 11)))
+                .thenReturn(List.of(new Row(10, 1, "PUBLIC", 1, 4)));
+
+        assertThatThrownBy(() -> analysisService.analyze(request(List.of(10, 11), null)))
+                .isInstanceOf(TeamNotFoundException.class)
+                .hasMessageContaining("Team with id 11 not found");
+    }
+
+    /** Saved teams without members cannot be scored. */
+    @Test
+    void analyze_ShouldThrowInvalidOperation_WhenSavedTeamHasNoMembers() {
+        when(teamRepository.findMemberRowsByTeamIdIn(Set.of(10)))
+                .thenReturn(List.of(new Row(10, 1, "PUBLIC", null, null)));
+
+        assertThatThrownBy(() -> analysisService.analyze(request(List.of(10), null)))
+                .isInstanceOf(InvalidTeamOperationException.class);
+    }
+
+    /** Unknown Pokémon IDs in a member list are reported as not found. */
+    @Test
+    void analyze_ShouldThrowPokemonNotFound_WhenMemberIsUnknown() {
+        assertThatThrownBy(() -> analysisService.analyze(request(null, List.of(List.of(4, 999)))))
+                .isInstanceOf(PokemonNotFoundException.class)
+                .hasMessageContaining("999");
+    }
+
+    /** Anonymous callers are rejected. */
+    @Test
+    void analyze_ShouldThrowAccessDenied_WhenUserNotAuthenticated() {
+        AuthContext.clear();
+
+        assertThatThrownBy(() -> analysisService.analyze(request(null, List.of(List.of(4)))))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("You must be logged in");
+    }
+
+    /** Large batches are scored in parallel and keep their order. */
+    @Test
+    void analyze_ShouldKeepOrder_WhenBatchIsEvaluatedInParallel() throws Exception {
+        List<List<Integer>> teams = new ArrayList<>();
+        for (int i = 0; i < TeamAnalysisRequest.MAX_TEAMS; i++) {
+            teams.add(i % 2 == 0 ? List.of(4, 7) : List.of(1));
+        }
+
+        List<TeamAnalysisDto> results = analysisService.analyze(request(null, teams));
+
+        assertThat(results).hasSize(TeamAnalysisRequest.MAX_TEAMS);
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).pokemonIds()).isEqualTo(teams.get(i));
+        }
+    }
+
+    /** A single opponent resolves from a saved team (with visibility check) or from a member list. */
+    @Test
+    void resolveTeam_ShouldResolveSavedTeamOrMemberList() throws Exception {
+        when(teamRepository.findMemberRowsByTeamIdIn(Set.of(10))).thenReturn(List.of(
+                new Row(10, 1, "PRIVATE", 1, 4),
+                new Row(10, 1, "PRIVATE", 2, 7)
+        ));
+
+        assertThat(analysisService.resolveTeam(10, null)).containsExactly(pokemons.get(4), pokemons.get(7));
+        assertThat(analysisService.resolveTeam(null, List.of(1))).containsExactly(pokemons.get(1));
+
+        AuthContext.setCurrentUser(new AuthenticatedUser(2, "misty", "USER"));
+        assertThatThrownBy(() -> analysisService.resolveTeam(10, null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static TeamAnalysisRequest request(List<Integer> teamIds, List<List<Integer>> teams) {
+        TeamAnalysisRequest request = new TeamAnalysisRequest();
+        request.setTeamIds(teamIds);
+        request.setTeams(teams);
+        return request;
+    }
+
+    private static PokemonType type(PokemonTypeName name, Map<PokemonTypeName, Double> defensive) {
+        return new PokemonType(name, Map.of(PokemonTypeName.NORMAL, 1.0), defensive);
+    }
+
+    private static PokemonGA pokemon(int id, int ndex, String name, PokemonType type, int total) {
+        int stat = total / 6;
+        return new PokemonGA(id, ndex, name, type, null, total - 5 * stat, stat, stat, stat, stat, stat,
+                PokemonRarity.COMMON);
+    }
+
+    private record Row(Integer teamId, Integer ownerId, String visibility, Integer slot, Integer pokemonId)
+            implements TeamRepository.TeamMemberRow {
+        @Override public Integer getTeamId() { return teamId; }
+        @Override public Integer getOwnerId() { return ownerId; }
+        @Override public String getVisibility() { return visibility; }
+        @Override public Integer getSlot() { return slot; }
+        @Override public Integer getPokemonId() { return pokemonId; }
+    }
+}
@@ -0,0 +1,187 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.dto.TeamDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TeamDetailCacheTest {
+
+    private MutableClock clock;
+    private AtomicInteger loads;
+    private TeamDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        loads = new AtomicInteger();
+        cache = new TeamDetailCache(2, Duration.ofMinutes(5), clock);
+    }
+
+    /** A second read of the same team is served without calling the loader. */
+    @Test
+    void get_ShouldLoadOnce_WhenCalledTwice() {
+        cache.get(1, this::load);
+        TeamDetailCache.TeamSnapshot snapshot = cache.get(1, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(snapshot.ownerId()).isEqualTo(100);
+        assertThat(snapshot.visibility()).isEqualTo("PRIVATE");
+    }
+
+    /** Entries older than the TTL are reloaded. */
+    @Test
+    void get_ShouldReload_WhenEntryExpired() {
+        cache.get(1, this::load);
+        clock.advance(Duration.ofMinutes(5));
+        cache.get(1, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    /** The least recently used team is evicted once the cache is full. */
+    @Test
+    void get_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);
+        cache.get(3, this::load);
+
+        cache.get(1, this::load);
+        assertThat(loads).hasValue(3);
+        cache.get(2, this::load);
+        assertThat(loads).hasValue(4);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    /** A load that raced with an invalidation is returned but not cached. */
+    @Test
+    void get_ShouldNotCacheStaleLoad_WhenInvalidatedWhileLoading() {
+        Function<Integer, TeamDto> racingLoader = id -> {
+            TeamDto stale = load(id);
+            cache.invalidate(id);
+            return stale;
+        };
+
+        cache.get(1, racingLoader);
+        cache.get(1, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.loadingCount()).isZero();
+    }
+
+    /** Invalidating teams that are not being loaded leaves no bookkeeping behind. */
+    @Test
+    void invalidate_ShouldNotRetainState_ForTeamsNotBeingLoaded() {
+        cache.get(1, this::load);
+        for (int id = 1; id <= 1000; id++) {
+            cache.invalidate(id);
+        }
+
+        assertThat(cache.loadingCount()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    /** A failing loader does not leave its in-flight record behind. */
+    @Test
+    void get_ShouldReleaseLoadingState_WhenLoaderThrows() {
+        assertThatThrownBy(() -> cache.get(1, id -> {
+            throw new IllegalStateException("not found");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.loadingCount()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    /** Invalidation drops the entry and bumps the version of the next snapshot. */
+    @Test
+    void invalidate_ShouldForceReloadWithNewVersion() {
+        long before = cache.get(1, this::load).version();
+        cache.invalidate(1);
+        long after = cache.get(1, this::load).version();
+
+        assertThat(loads).hasValue(2);
+        assertThat(after).isGreaterThan(before);
+    }
+
+    /** Inside a transaction the entry is evicted again once the transaction completes. */
+    @Test
+    void invalidate_ShouldEvictAgain_AfterTransactionCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1);
+            // a read between the write and the commit still sees the old row
+            cache.get(1, this::load);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get(1, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    /** Callers get their own copy and cannot alter the cached snapshot. */
+    @Test
+    void toDto_ShouldReturnIndependentCopies() {
+        TeamDto first = cache.get(1, this::load).toDto();
+        first.setName("changed");
+
+        TeamDto second = cache.get(1, this::load).toDto();
+        assertThat(second.getName()).isEqualTo("Team 1");
+        assertThatThrownBy(() -> second.getMembers().add(null))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private TeamDto load(Integer id) {
+        loads.incrementAndGet();
+        TeamDto dto = new TeamDto();
+        dto.setId(id);
+        dto.setName("Team " + id);
+        dto.setVisibility("PRIVATE");
+        dto.setUser(new TeamDto.UserSummaryDto(100, "ash"));
+        dto.setMembers(List.of());
+        return dto;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pokedexsocial.backend.dto.PagedResponse;
+import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.dto.TeamDto;
+import com.pokedexsocial.backend.dto.TypeDto;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.repository.TeamFeedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamFeedServiceTest {
+
+    @Mock private TeamFeedRepository feedRepository;
+    @Mock private TeamLeaderboardService leaderboardService;
+
+    private TeamFeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new TeamFeedService(feedRepository, new ObjectMapper().registerModule(new JavaTimeModule()),
+                leaderboardService);
+    }
+
+    /** A public team is stored as a single denormalized row, with its leaderboard score. */
+    @Test
+    void publish_ShouldSaveEntry_WhenTeamIsPublic() {
+        when(leaderboardService.score(List.of(1))).thenReturn(42.5);
+
+        feedService.publish(team("PUBLIC"));
+
+        ArgumentCaptor<TeamFeedEntry> captor = ArgumentCaptor.forClass(TeamFeedEntry.class);
+        verify(feedRepository).save(captor.capture());
+        TeamFeedEntry entry = captor.getValue();
+        assertThat(entry.getTeamId()).isEqualTo(7);
+        assertThat(entry.getOwnerUsername()).isEqualTo("ash");
+        assertThat(entry.getMembers()).contains("\"species\":\"Bulbasaur\"", "\"name\":\"Grass\"", "\"slot\":1");
+        assertThat(entry.getFitness()).isEqualTo(42.5);
+        assertThat(entry.getFitnessVersion()).isEqualTo(PokemonTeamFitnessFunction.MODEL_VERSION);
+        verify(leaderboardService).update(7, 42.5);
+        verify(feedRepository, never()).deleteById(any());
+    }
+
+    /** A team turned private leaves the feed. */
+    @Test
+    void publish_ShouldRemoveEntry_WhenTeamIsPrivate() {
+        feedService.publish(team("PRIVATE"));
+
+        verify(feedRepository).deleteById(7);
+        verify(leaderboardService).remove(7);
+        verify(feedRepository, never()).save(any());
+    }
+
+    /** Stored members can be read back as Pokémon IDs, for re-scoring. */
+    @Test
+    void pokemonIds_ShouldReadIdsFromStoredMembers() {
+        feedService.publish(team("PUBLIC"));
+        ArgumentCaptor<TeamFeedEntry> captor = ArgumentCaptor.forClass(TeamFeedEntry.class);
+        verify(feedRepository).save(captor.capture());
+
+        assertThat(TeamFeedService.pokemonIds(new ObjectMapper(), captor.getValue().getMembers())).containsExactly(1);
+    }
+
+    /** Feed pages are rebuilt from the stored rows alone. */
+    @Test
+    void getFeed_ShouldRebuildTeams_FromStoredRows() {
+        feedService.publish(team("PUBLIC"));
+        ArgumentCaptor<TeamFeedEntry> captor = ArgumentCaptor.forClass(TeamFeedEntry.class);
+        verify(feedRepository).save(captor.capture());
+
+        Pageable pageable = PageRequest.of(0, 20);
+        when(feedRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(captor.getValue()), pageable, 1));
+
+        PagedResponse<TeamDto> feed = feedService.getFeed(pageable);
+
+        assertThat(feed.getItems()).hasSize(1);
+        TeamDto dto = feed.getItems().get(0);
+        assertThat(dto.getVisibility()).isEqualTo("PUBLIC");
+        assertThat(dto.getUser().getUsername()).isEqualTo("ash");
+        assertThat(dto.getMembers()).singleElement().satisfies(m -> {
+            assertThat(m.getSlot()).isEqualTo(1);
+            assertThat(m.getPokemon().species()).isEqualTo("Bulbasaur");
+            assertThat(m.getPokemon().types()).containsExactly(new TypeDto(12, "Grass"));
+        });
+    }
+
+    private TeamDto team(String visibility) {
+        TeamDto dto = new TeamDto();
+        dto.setId(7);
+        dto.setName("Kanto");
+        dto.setVisibility(visibility);
+        dto.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        dto.setUser(new TeamDto.UserSummaryDto(1, "ash"));
+        dto.setMembers(List.of(new TeamDto.MemberDto(1, new PokemonListDto(
+                1, 1, "Bulbasaur", null, "Seed Pokémon", List.of(new TypeDto(12, "Grass")), "http://img/1.png"))));
+        return dto;
+    }
+}
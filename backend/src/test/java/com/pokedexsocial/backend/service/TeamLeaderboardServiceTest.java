@@ -0,0 +1,154 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.LeaderboardEntryDto;
+import com.pokedexsocial.backend.dto.PagedResponse;
+import com.pokedexsocial.backend.exception.TeamNotFoundException;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
+import com.pokedexsocial.backend.repository.TeamFeedRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamLeaderboardServiceTest {
+
+    private static final int VERSION = PokemonTeamFitnessFunction.MODEL_VERSION;
+
+    @Mock private TeamFeedRepository feedRepository;
+    @Mock private TeamAnalysisService analysisService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TeamLeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new TeamLeaderboardService(feedRepository, analysisService, new ObjectMapper(),
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboardService.shutdown();
+    }
+
+    /** A page is ranked in memory and named with one feed query; teams gone from the feed are skipped. */
+    @Test
+    void getLeaderboard_ShouldReturnRankedPage() {
+        leaderboardService.update(1, 50.0);
+        leaderboardService.update(2, 90.0);
+        leaderboardService.update(3, 70.0);
+        when(feedRepository.findAllById(List.of(2, 3, 1))).thenReturn(List.of(entry(1, null), entry(3, null)));
+
+        PagedResponse<LeaderboardEntryDto> page = leaderboardService.getLeaderboard(PageRequest.of(0, 3));
+
+        assertThat(page.getItems()).extracting(LeaderboardEntryDto::teamId).containsExactly(3, 1);
+        assertThat(page.getItems().get(0)).isEqualTo(new LeaderboardEntryDto(2, 3, "Team 3", "ash", 70.0));
+        assertThat(page.getTotalItems()).isEqualTo(3);
+    }
+
+    /** The rank of a team reflects its latest score. */
+    @Test
+    void getRank_ShouldReturnPosition_WhenTeamIsRanked() {
+        leaderboardService.update(1, 50.0);
+        leaderboardService.update(2, 90.0);
+        leaderboardService.update(1, 95.0);
+        when(feedRepository.findById(1)).thenReturn(Optional.of(entry(1, 95.0)));
+
+        assertThat(leaderboardService.getRank(1).rank()).isEqualTo(1);
+    }
+
+    /** Teams removed from the feed are no longer ranked. */
+    @Test
+    void getRank_ShouldThrowNotFound_WhenTeamWasRemoved() {
+        leaderboardService.update(1, 50.0);
+        leaderboardService.remove(1);
+
+        assertThatThrownBy(() -> leaderboardService.getRank(1))
+                .isInstanceOf(TeamNotFoundException.class);
+        verify(feedRepository, never()).findById(any());
+    }
+
+    /** Inside a transaction the index changes only after the commit. */
+    @Test
+    void update_ShouldApplyAfterCommit_WhenTransactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboardService.update(1, 50.0);
+            assertThatThrownBy(() -> leaderboardService.getRank(1)).isInstanceOf(TeamNotFoundException.class);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(feedRepository.findById(1)).thenReturn(Optional.of(entry(1, 50.0)));
+
+        assertThat(leaderboardService.getRank(1).fitness()).isEqualTo(50.0);
+    }
+
+    /** Startup loads stored scores chunk by chunk. */
+    @Test
+    void loadIndex_ShouldRankStoredScores() {
+        when(feedRepository.findScoresAfter(eq(0), any())).thenReturn(List.of(score(1, 10.0), score(2, 20.0)));
+        when(feedRepository.findById(2)).thenReturn(Optional.of(entry(2, 20.0)));
+
+        leaderboardService.loadIndex();
+
+        assertThat(leaderboardService.getRank(2).rank()).isEqualTo(1);
+    }
+
+    /** Outdated entries are re-scored; entries re-published meanwhile keep their new score. */
+    @Test
+    void rebuild_ShouldRescoreStaleEntries_AndSkipRepublishedOnes() throws Exception {
+        when(feedRepository.findStaleAfter(eq(VERSION), eq(0), any()))
+                .thenReturn(List.of(entry(1, null), entry(2, 10.0)));
+        when(analysisService.score(List.of(25))).thenReturn(60.0);
+        when(feedRepository.updateStaleFitness(1, 60.0, VERSION)).thenReturn(1);
+        when(feedRepository.updateStaleFitness(2, 60.0, VERSION)).thenReturn(0);
+        when(feedRepository.findById(1)).thenReturn(Optional.of(entry(1, 60.0)));
+
+        int rescored = leaderboardService.rebuild().get();
+
+        assertThat(rescored).isEqualTo(1);
+        assertThat(leaderboardService.getRank(1).fitness()).isEqualTo(60.0);
+        assertThatThrownBy(() -> leaderboardService.getRank(2)).isInstanceOf(TeamNotFoundException.class);
+        verify(feedRepository, never()).findStaleAfter(anyInt(), eq(2), any());
+    }
+
+    private static TeamFeedEntry entry(int teamId, Double fitness) {
+        TeamFeedEntry entry = new TeamFeedEntry();
+        entry.setTeamId(teamId);
+        entry.setName("Team " + teamId);
+        entry.setOwnerUsername("ash");
+        entry.setMembers("[{\"slot\":1,\"pokemon\":{\"id\":25,\"species\":\"Pikachu\"}}]");
+        entry.setFitness(fitness);
+        return entry;
+    }
+
+    private static TeamFeedRepository.ScoreRow score(int teamId, double fitness) {
+        return new TeamFeedRepository.ScoreRow() {
+            @Override public Integer getTeamId() { return teamId; }
+            @Override public Double getFitness() { return fitness; }
+        };
+    }
+}
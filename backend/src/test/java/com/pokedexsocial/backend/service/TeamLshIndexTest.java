@@ -0,0 +1,116 @@
+package com.pokedexsocial.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TeamLshIndexTest {
+
+    private final TeamLshIndex index = new TeamLshIndex();
+
+    /** Jaccard similarity is computed exactly on the sorted member sets. */
+    @Test
+    void jaccard_ShouldCompareSortedSets() {
+        assertThat(MinHasher.jaccard(new int[]{1, 2, 3}, new int[]{2, 3, 4})).isEqualTo(0.5);
+        assertThat(MinHasher.jaccard(new int[]{1}, new int[]{2})).isZero();
+        assertThat(MinHasher.jaccard(new int[0], new int[0])).isZero();
+        assertThat(MinHasher.toSet(List.of(3, 1, 3))).containsExactly(1, 3);
+    }
+
+    /** Matching signature positions estimate the Jaccard similarity. */
+    @Test
+    void signature_ShouldEstimateJaccard() {
+        MinHasher hasher = new MinHasher(512, 7);
+        int[] a = hasher.signature(new int[]{1, 2, 3, 4, 5, 6});
+        int[] b = hasher.signature(new int[]{4, 5, 6, 7, 8, 9});
+
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        assertThat((double) equal / a.length).isCloseTo(3.0 / 9, within(0.08));
+    }
+
+    /** Near-identical teams are found and ranked by exact similarity; the query team is excluded. */
+    @Test
+    void query_ShouldRankCandidatesBySimilarity() {
+        index.put(1, List.of(1, 2, 3, 4, 5, 6));
+        index.put(2, List.of(1, 2, 3, 4, 5, 7));
+        index.put(3, List.of(1, 2, 3, 4, 8, 9));
+        index.put(4, List.of(100, 101, 102, 103, 104, 105));
+
+        List<TeamLshIndex.Match> matches = index.query(List.of(1, 2, 3, 4, 5, 6), 10, 1);
+
+        assertThat(matches).extracting(TeamLshIndex.Match::teamId).startsWith(2).doesNotContain(1, 4);
+        assertThat(matches.get(0).similarity()).isEqualTo(5.0 / 7);
+    }
+
+    /** Updated teams move to their new buckets, removed ones disappear. */
+    @Test
+    void putAndRemove_ShouldKeepBucketsInSync() {
+        index.put(1, List.of(1, 2, 3, 4, 5, 6));
+        index.put(1, List.of(50, 51, 52, 53, 54, 55));
+        index.put(2, List.of(1, 2, 3, 4, 5, 6));
+
+        assertThat(index.query(List.of(1, 2, 3, 4, 5, 6), 10, -1))
+                .extracting(TeamLshIndex.Match::teamId).containsExactly(2);
+
+        index.remove(2);
+        index.remove(2);
+
+        assertThat(index.query(List.of(1, 2, 3, 4, 5, 6), 10, -1)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    /** On clustered random teams LSH finds most of the exact top-k. */
+    @Test
+    void query_ShouldReachHighRecallAgainstBruteForce() {
+        Random random = new Random(42);
+        List<List<Integer>> archetypes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            archetypes.add(randomTeam(random));
+        }
+        for (int teamId = 1; teamId <= 5_000; teamId++) {
+            index.put(teamId, mutate(archetypes.get(random.nextInt(archetypes.size())), random));
+        }
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 100; q++) {
+            List<Integer> query = mutate(archetypes.get(random.nextInt(archetypes.size())), random);
+            List<TeamLshIndex.Match> exact = index.bruteForce(query, 10, -1);
+            List<TeamLshIndex.Match> approx = index.query(query, 10, -1);
+            expected += exact.size();
+            found += (int) exact.stream().filter(m -> approx.stream()
+                    .anyMatch(a -> a.similarity() >= m.similarity())).count();
+        }
+
+        assertThat((double) found / expected).isGreaterThan(0.9);
+    }
+
+    private static List<Integer> randomTeam(Random random) {
+        List<Integer> team = new ArrayList<>();
+        while (team.size() < 6) {
+            int id = 1 + random.nextInt(1000);
+            if (!team.contains(id)) {
+                team.add(id);
+            }
+        }
+        return team;
+    }
+
+    private static List<Integer> mutate(List<Integer> archetype, Random random) {
+        List<Integer> team = new ArrayList<>(archetype);
+        for (int i = random.nextInt(3); i > 0; i--) {
+            team.set(random.nextInt(6), 1 + random.nextInt(1000));
+        }
+        return team;
+    }
+}
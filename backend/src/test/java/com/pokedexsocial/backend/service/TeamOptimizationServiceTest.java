@@ -1,19 +1,54 @@
 package com.pokedexsocial.backend.service;
+import com.pokedexsocial.backend.dto.CounterTeamRequest;
 import com.pokedexsocial.backend.dto.OptimizationResultDTO;
+import com.pokedexsocial.backend.dto.ParetoFrontDto;
+import com.pokedexsocial.backend.dto.TeamCompletionRequest;
+import com.pokedexsocial.backend.exception.InvalidTeamConstraintsException;
+import com.pokedexsocial.backend.exception.PokemonNotFoundException;
+import com.pokedexsocial.backend.optimizer.ga.archive.PokemonTeamEliteArchive;
+import com.pokedexsocial.backend.optimizer.ga.checkpoint.PokemonTeamCheckpoints;
+import com.pokedexsocial.backend.optimizer.ga.fitness.FitnessFunction;
+import com.pokedexsocial.backend.optimizer.ga.fitness.PokemonTeamFitnessFunction;
 import com.pokedexsocial.backend.optimizer.ga.individuals.PokemonTeamGA;
+import com.pokedexsocial.backend.optimizer.ga.initializer.Initializer;
+import com.pokedexsocial.backend.optimizer.ga.initializer.PokemonTeamInitializer;
+import com.pokedexsocial.backend.optimizer.ga.metaheuristics.CancellationToken;
 import com.pokedexsocial.backend.optimizer.ga.metaheuristics.PokemonGeneticAlgorithm;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.CrossoverOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.crossover.PokemonTeamUniformCrossover;
+import com.pokedexsocial.backend.optimizer.ga.operators.localsearch.PokemonTeamHillClimbing;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.MutationOperator;
+import com.pokedexsocial.backend.optimizer.ga.operators.mutation.PokemonSwapMutation;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.KTournamentSelection;
+import com.pokedexsocial.backend.optimizer.ga.operators.selection.SelectionOperator;
+import com.pokedexsocial.backend.optimizer.ga.population.FixedSizePopulation;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonGA;
+import com.pokedexsocial.backend.optimizer.pokemon.core.PokemonRarity;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.PokemonCandidatePool;
+import com.pokedexsocial.backend.optimizer.pokemon.pokedex.Pokedex;
+import com.pokedexsocial.backend.optimizer.pokemon.team.BranchAndBoundTeamSolver;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonType;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypeName;
+import com.pokedexsocial.backend.optimizer.pokemon.type.PokemonTypePool;
 import com.pokedexsocial.backend.service.TeamOptimizationService;
 import com.pokedexsocial.backend.optimizer.ga.results.Results;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -25,7 +60,24 @@ class TeamOptimizationServiceTest {
     @Mock
     private PokemonGeneticAlgorithm pokemonGeneticAlgorithm;
 
-    @InjectMocks
+    @Mock
+    private PokemonTypePool pokemonTypePool;
+
+    @Mock
+    private TeamAnalysisService teamAnalysisService;
+
+    @Mock
+    private Pokedex pokedex;
+
+    @Mock
+    private BranchAndBoundTeamSolver exactSolver;
+
+    @Mock
+    private PokemonTeamCheckpoints checkpoints;
+
+    @Mock
+    private PokemonTeamEliteArchive eliteArchive;
+
     private TeamOptimizationService teamOptimizationService;
 
     @Mock
@@ -34,6 +86,11 @@ class TeamOptimizationServiceTest {
     @Mock
     private PokemonTeamGA bestTeamMock;
 
+    @BeforeEach
+    void setUp() {
+        teamOptimizationService = service(TeamOptimizationService.SIMPLE_PIPELINE);
+    }
+
     // --- Happy path ---
 
     /**
@@ -69,9 +126,32 @@ class TeamOptimizationServiceTest {
         verify(bestTeamMock, times(1)).getFitness();
         verify(resultsMock, times(1)).getNumberOfIterations();
         verify(resultsMock, times(1)).getLog();
+        verify(resultsMock, times(1)).isCancelled();
+        verify(resultsMock, times(1)).getBestGeneration();
+        verify(eliteArchive).record(eq("default"), any());
         verifyNoMoreInteractions(pokemonGeneticAlgorithm, resultsMock, bestTeamMock);
     }
 
+    /**
+     * Ensures the token reaches the algorithm and a run stopped early is reported
+     * with its stop reason.
+     */
+    @Test
+    void optimize_ShouldReportStopReason_WhenRunIsCancelled() throws Exception {
+        CancellationToken token = CancellationToken.none();
+        when(pokemonGeneticAlgorithm.run(token, null)).thenReturn(resultsMock);
+        when(resultsMock.getBestIndividual()).thenReturn(bestTeamMock);
+        when(resultsMock.isCancelled()).thenReturn(true);
+        when(resultsMock.getCancellation()).thenReturn(CancellationToken.Reason.DEADLINE);
+
+        OptimizationResultDTO dto = teamOptimizationService.optimize(token);
+
+        assertThat(dto.isCancelled()).isTrue();
+        assertThat(dto.getStopReason()).isEqualTo("DEADLINE");
+        verify(pokemonGeneticAlgorithm, never()).run();
+        verify(checkpoints).lock("default");
+    }
+
     // --- Exceptional / edge cases ---
 
     /**
@@ -110,7 +190,497 @@ class TeamOptimizationServiceTest {
 
         verify(pokemonGeneticAlgorithm, times(1)).run();
         verify(resultsMock, times(1)).getBestIndividual();
+        verify(resultsMock, times(1)).getBestGeneration();
         verifyNoMoreInteractions(pokemonGeneticAlgorithm, resultsMock);
         verifyNoInteractions(bestTeamMock);
     }
+
+    // --- Counter team ---
+
+    /**
+     * Ensures the counter optimization reuses the configured operators but scores
+     * teams against the resolved opponent.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void optimizeCounter_ShouldPickTeamCoveringOpponent() throws Exception {
+        // Arrange
+        PokemonType fire = new PokemonType(PokemonTypeName.FIRE, Map.of(PokemonTypeName.GRASS, 2.0), Map.of(PokemonTypeName.WATER, 2.0));
+        PokemonType water = new PokemonType(PokemonTypeName.WATER, Map.of(PokemonTypeName.FIRE, 2.0), Map.of(PokemonTypeName.GRASS, 2.0));
+        PokemonType grass = new PokemonType(PokemonTypeName.GRASS, Map.of(PokemonTypeName.WATER, 2.0), Map.of(PokemonTypeName.FIRE, 2.0));
+        PokemonTeamGA fireTeam = new PokemonTeamGA(new PokemonGA[]{pokemon("Charmander", fire)});
+        PokemonTeamGA waterTeam = new PokemonTeamGA(new PokemonGA[]{pokemon("Squirtle", water)});
+        FixedSizePopulation<PokemonTeamGA> population = new FixedSizePopulation<>(0, 2);
+        population.add(waterTeam);
+        population.add(fireTeam);
+
+        Initializer<PokemonTeamGA> initializer = mock(Initializer.class);
+        SelectionOperator<PokemonTeamGA> selection = mock(SelectionOperator.class);
+        CrossoverOperator<PokemonTeamGA> crossover = mock(CrossoverOperator.class);
+        MutationOperator<PokemonTeamGA> mutation = mock(MutationOperator.class);
+        when(initializer.initialize()).thenReturn(population);
+        when(selection.apply(any(), any())).thenReturn(population);
+        when(crossover.apply(any(), any())).thenReturn(population);
+        when(mutation.apply(any(), any())).thenReturn(population);
+
+        when(teamAnalysisService.resolveTeam(5, null)).thenReturn(List.of(pokemon("Bulbasaur", grass)));
+        when(pokemonTypePool.getTypes()).thenReturn(Set.of(fire, water, grass));
+        when(pokemonGeneticAlgorithm.getInitializer()).thenReturn(initializer);
+        when(pokemonGeneticAlgorithm.getSelectionOperator()).thenReturn(selection);
+        when(pokemonGeneticAlgorithm.getCrossoverOperator()).thenReturn(crossover);
+        when(pokemonGeneticAlgorithm.getMutationOperator()).thenReturn(mutation);
+        when(pokemonGeneticAlgorithm.getMutationProbability()).thenReturn(1.0);
+        when(pokemonGeneticAlgorithm.getMaxIterations()).thenReturn(2);
+        when(pokemonGeneticAlgorithm.getMaxIterationsNoImprovements()).thenReturn(0);
+
+        CounterTeamRequest request = new CounterTeamRequest();
+        request.setTeamId(5);
+
+        // Act
+        OptimizationResultDTO dto = teamOptimizationService.optimizeCounter(request);
+
+        // Assert
+        assertThat(dto.getBestTeam()).isSameAs(fireTeam);
+        assertThat(dto.getBestFitness()).isGreaterThan(waterTeam.getFitness());
+        verify(pokemonGeneticAlgorithm, never()).run();
+    }
+
+    /**
+     * Verifies that the GA does not start when the opponent team cannot be accessed.
+     */
+    @Test
+    void optimizeCounter_ShouldPropagateAccessDenied_WhenOpponentIsNotVisible() throws Exception {
+        // Arrange
+        when(teamAnalysisService.resolveTeam(5, null)).thenThrow(new AccessDeniedException("denied"));
+        CounterTeamRequest request = new CounterTeamRequest();
+        request.setTeamId(5);
+
+        // Act + Assert
+        assertThatThrownBy(() -> teamOptimizationService.optimizeCounter(request))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(pokemonGeneticAlgorithm, pokemonTypePool);
+    }
+
+    // --- Pareto front ---
+
+    /**
+     * Ensures the Pareto run reports only non-dominated teams, once per member set,
+     * with their objectives named after the fitness components, and is not seeded
+     * from the elite archive.
+     */
+    @Test
+    void optimizePareto_ShouldReturnDistinctNonDominatedTeams() throws Exception {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        PokemonGA snorlax = pokemon(143, "Snorlax", normal);
+        PokemonGA eevee = pokemon(133, "Eevee", normal);
+        PokemonTeamGA team = new PokemonTeamGA(new PokemonGA[]{snorlax, eevee});
+        PokemonTeamGA sameMembers = new PokemonTeamGA(new PokemonGA[]{eevee, snorlax});
+        PokemonTeamGA weaker = new PokemonTeamGA(new PokemonGA[]{eevee, eevee});
+        FixedSizePopulation<PokemonTeamGA> population = new FixedSizePopulation<>(0, 3);
+        population.add(team);
+        population.add(sameMembers);
+        population.add(weaker);
+
+        PokemonTeamFitnessFunction fitness = mock(PokemonTeamFitnessFunction.class);
+        PokemonTeamInitializer seeded = mock(PokemonTeamInitializer.class);
+        PokemonTeamInitializer unseeded = mock(PokemonTeamInitializer.class);
+        when(seeded.withoutArchive()).thenReturn(unseeded);
+        when(unseeded.initialize()).thenReturn(population);
+        when(fitness.getObjectiveNames()).thenReturn(List.of("averageStats", "typesDiversity"));
+        when(fitness.objectives(team)).thenReturn(new double[]{80, 10});
+        when(fitness.objectives(sameMembers)).thenReturn(new double[]{80, 10});
+        when(fitness.objectives(weaker)).thenReturn(new double[]{50, 10});
+        when(pokemonGeneticAlgorithm.getFitnessFunction()).thenReturn(fitness);
+        when(pokemonGeneticAlgorithm.getInitializer()).thenReturn(seeded);
+        when(pokemonGeneticAlgorithm.getMutationProbability()).thenReturn(1.0);
+        when(pokemonGeneticAlgorithm.getMaxIterations()).thenReturn(1);
+
+        // Act
+        ParetoFrontDto dto = teamOptimizationService.optimizePareto();
+
+        // Assert
+        assertThat(dto.objectives()).containsExactly("averageStats", "typesDiversity");
+        assertThat(dto.iterations()).isEqualTo(1);
+        assertThat(dto.teams()).hasSize(1);
+        assertThat(dto.teams().get(0).team()).isIn(team, sameMembers);
+        assertThat(dto.teams().get(0).objectives()).containsEntry("averageStats", 80.0).containsEntry("typesDiversity", 10.0);
+        verify(seeded, never()).initialize();
+        verify(pokemonGeneticAlgorithm, never()).run();
+    }
+
+    /**
+     * Ensures two different non-dominated teams are both reported even when their
+     * canonical hashes collide: the hash only groups teams, members decide.
+     */
+    @Test
+    void optimizePareto_ShouldKeepDistinctTeams_WhenCanonicalHashesCollide() throws Exception {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        PokemonGA snorlax = pokemon(143, "Snorlax", normal);
+        PokemonGA eevee = pokemon(133, "Eevee", normal);
+        PokemonTeamGA strong = new CollidingTeam(new PokemonGA[]{snorlax, snorlax});
+        PokemonTeamGA diverse = new CollidingTeam(new PokemonGA[]{eevee, eevee});
+        FixedSizePopulation<PokemonTeamGA> population = new FixedSizePopulation<>(0, 2);
+        population.add(strong);
+        population.add(diverse);
+
+        PokemonTeamFitnessFunction fitness = mock(PokemonTeamFitnessFunction.class);
+        Initializer<PokemonTeamGA> initializer = mock(Initializer.class);
+        when(initializer.initialize()).thenReturn(population);
+        when(fitness.getObjectiveNames()).thenReturn(List.of("averageStats", "typesDiversity"));
+        when(fitness.objectives(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, PokemonTeamGA.class).hasSameMembers(strong)
+                        ? new double[]{80, 10} : new double[]{10, 80});
+        when(pokemonGeneticAlgorithm.getFitnessFunction()).thenReturn(fitness);
+        when(pokemonGeneticAlgorithm.getInitializer()).thenReturn(initializer);
+        when(pokemonGeneticAlgorithm.getMutationProbability()).thenReturn(1.0);
+        when(pokemonGeneticAlgorithm.getMaxIterations()).thenReturn(1);
+
+        // Act
+        ParetoFrontDto dto = teamOptimizationService.optimizePareto();
+
+        // Assert
+        assertThat(dto.teams()).hasSize(2);
+        assertThat(dto.teams()).extracting(t -> t.objectives().get("averageStats"))
+                .containsExactlyInAnyOrder(80.0, 10.0);
+    }
+
+    // every team gets the same hash, to force collisions
+    private static final class CollidingTeam extends PokemonTeamGA {
+        CollidingTeam(PokemonGA[] coding) {
+            super(coding);
+        }
+
+        @Override
+        public long canonicalHash() {
+            return 42L;
+        }
+
+        @Override
+        public PokemonTeamGA copy() {
+            CollidingTeam copy = new CollidingTeam(coding.clone());
+            copy.setFitness(fitness);
+            return copy;
+        }
+    }
+
+    // --- Constrained completion ---
+
+    /**
+     * Ensures the completion run rebuilds initializer, crossover and mutation for the
+     * constraints and keeps the fitness and stopping criteria of the base algorithm.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void optimizeCompletion_ShouldRunGAWithConstrainedOperators() throws Exception {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        PokemonGA pikachu = pokemon(25, "Pikachu", normal);
+        PokemonGA eevee = pokemon(133, "Eevee", normal);
+        PokemonTeamGA team = new PokemonTeamGA(new PokemonGA[]{pikachu, eevee});
+        FixedSizePopulation<PokemonTeamGA> population = new FixedSizePopulation<>(0, 1);
+        population.add(team);
+
+        PokemonTeamInitializer initializer = mock(PokemonTeamInitializer.class);
+        PokemonTeamInitializer constrainedInitializer = mock(PokemonTeamInitializer.class);
+        PokemonSwapMutation mutation = mock(PokemonSwapMutation.class);
+        PokemonSwapMutation constrainedMutation = mock(PokemonSwapMutation.class);
+        CrossoverOperator<PokemonTeamGA> crossover = mock(CrossoverOperator.class);
+        SelectionOperator<PokemonTeamGA> selection = mock(SelectionOperator.class);
+        FitnessFunction<PokemonTeamGA> fitness = new FitnessFunction<>(true) {
+            @Override
+            public void evaluate(PokemonTeamGA individual) {
+                individual.setFitness(1);
+            }
+        };
+        when(initializer.withConstraints(any(), any())).thenReturn(constrainedInitializer);
+        when(mutation.withConstraints(any())).thenReturn(constrainedMutation);
+        when(constrainedInitializer.initialize()).thenReturn(population);
+        when(selection.apply(any(), any())).thenReturn(population);
+        when(crossover.apply(any(), any())).thenReturn(population);
+        when(constrainedMutation.apply(any(), any())).thenReturn(population);
+
+        PokemonCandidatePool pool = new PokemonCandidatePool(List.of(List.of(pikachu), List.of(eevee)));
+        when(pokedex.getById(25)).thenReturn(Optional.of(pikachu));
+        when(pokedex.getCandidates(any())).thenAnswer(inv -> pool.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+        when(pokemonGeneticAlgorithm.getFitnessFunction()).thenReturn(fitness);
+        when(pokemonGeneticAlgorithm.getInitializer()).thenReturn(initializer);
+        when(pokemonGeneticAlgorithm.getSelectionOperator()).thenReturn(selection);
+        when(pokemonGeneticAlgorithm.getCrossoverOperator()).thenReturn(crossover);
+        when(pokemonGeneticAlgorithm.getMutationOperator()).thenReturn(mutation);
+        when(pokemonGeneticAlgorithm.getMutationProbability()).thenReturn(1.0);
+        when(pokemonGeneticAlgorithm.getMaxIterations()).thenReturn(1);
+        when(pokemonGeneticAlgorithm.getMaxIterationsNoImprovements()).thenReturn(0);
+
+        TeamCompletionRequest request = new TeamCompletionRequest();
+        request.setLockedPokemonIds(List.of(25));
+
+        // Act
+        OptimizationResultDTO dto = teamOptimizationService.optimize(request);
+
+        // Assert
+        assertThat(dto.getBestTeam()).isSameAs(team);
+        String key = "locked=25;banned=;rarities=;allowed=;types=;mega=true";
+        verify(initializer).withConstraints(argThat(c -> c.isLocked(0) && !c.getCandidates().contains(pikachu)), eq(key));
+        verify(eliteArchive).record(eq(key), any());
+        verify(constrainedMutation).apply(any(), any());
+        verify(pokemonGeneticAlgorithm, never()).run();
+    }
+
+    /**
+     * Ensures a small allow-listed pool is solved exactly, without running the GA.
+     */
+    @Test
+    void optimizeCompletion_ShouldUseExactSolver_WhenSearchSpaceIsSmall() throws Exception {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        PokemonGA eevee = pokemon(133, "Eevee", normal);
+        PokemonGA snorlax = pokemon(143, "Snorlax", normal);
+        PokemonCandidatePool pool = new PokemonCandidatePool(List.of(List.of(eevee), List.of(snorlax)));
+        when(pokedex.getCandidates(any())).thenAnswer(inv -> pool.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+
+        PokemonTeamGA team = new PokemonTeamGA(new PokemonGA[]{eevee});
+        team.setFitness(321.0);
+        when(exactSolver.isTractable(any())).thenReturn(true);
+        when(exactSolver.solve(any(), any())).thenReturn(new BranchAndBoundTeamSolver.Solution(team, 10, 5, 20));
+
+        TeamCompletionRequest request = new TeamCompletionRequest();
+        request.setAllowedPokemonIds(Set.of(133));
+
+        // Act
+        OptimizationResultDTO dto = teamOptimizationService.optimize(request);
+
+        // Assert
+        assertThat(dto.getBestTeam()).isSameAs(team);
+        assertThat(dto.getBestFitness()).isEqualTo(321.0);
+        assertThat(dto.getIterations()).isZero();
+        assertThat(dto.getStopReason()).isNull();
+        verify(exactSolver).solve(argThat(c -> c.getCandidates().contains(eevee) && !c.getCandidates().contains(snorlax)),
+                any());
+        verifyNoInteractions(pokemonGeneticAlgorithm);
+    }
+
+    /**
+     * Ensures the exact solver receives the request token and a stopped search reports its reason.
+     */
+    @Test
+    void optimizeCompletion_ShouldReportStopReason_WhenExactSolverIsCancelled() throws Exception {
+        // Arrange
+        PokemonGA eevee = pokemon(133, "Eevee", new PokemonType(PokemonTypeName.NORMAL));
+        PokemonCandidatePool pool = new PokemonCandidatePool(List.of(List.of(eevee)));
+        when(pokedex.getCandidates(any())).thenAnswer(inv -> pool.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+
+        PokemonTeamGA team = new PokemonTeamGA(new PokemonGA[]{eevee});
+        team.setFitness(120.0);
+        CancellationToken token = CancellationToken.none();
+        token.cancel(CancellationToken.Reason.ASYNC_TIMEOUT);
+        when(exactSolver.isTractable(any())).thenReturn(true);
+        when(exactSolver.solve(any(), eq(token))).thenReturn(new BranchAndBoundTeamSolver.Solution(team, 3, 0, 20,
+                CancellationToken.Reason.ASYNC_TIMEOUT));
+
+        // Act
+        OptimizationResultDTO dto = teamOptimizationService.optimize(new TeamCompletionRequest(), token);
+
+        // Assert
+        assertThat(dto.getBestTeam()).isSameAs(team);
+        assertThat(dto.getStopReason()).isEqualTo("ASYNC_TIMEOUT");
+        assertThat(dto.isCancelled()).isTrue();
+        verifyNoInteractions(pokemonGeneticAlgorithm);
+    }
+
+    /**
+     * Verifies that an unknown locked Pokémon is reported before the GA starts.
+     */
+    @Test
+    void optimizeCompletion_ShouldThrowNotFound_WhenLockedPokemonDoesNotExist() {
+        // Arrange
+        when(pokedex.getById(9999)).thenReturn(Optional.empty());
+        TeamCompletionRequest request = new TeamCompletionRequest();
+        request.setLockedPokemonIds(List.of(9999));
+
+        // Act + Assert
+        assertThatThrownBy(() -> teamOptimizationService.optimize(request))
+                .isInstanceOf(PokemonNotFoundException.class);
+        verifyNoInteractions(pokemonGeneticAlgorithm);
+    }
+
+    /**
+     * Verifies that constraints no team can satisfy are rejected as a client error.
+     */
+    @Test
+    void optimizeCompletion_ShouldThrowInvalidConstraints_WhenTwoMegaEvolutionsAreLocked() {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        when(pokedex.getById(1)).thenReturn(Optional.of(pokemon("Mega Lopunny", normal)));
+        when(pokedex.getById(2)).thenReturn(Optional.of(pokemon("Mega Audino", normal)));
+        TeamCompletionRequest request = new TeamCompletionRequest();
+        request.setLockedPokemonIds(List.of(1, 2));
+
+        // Act + Assert
+        assertThatThrownBy(() -> teamOptimizationService.optimize(request))
+                .isInstanceOf(InvalidTeamConstraintsException.class)
+                .hasMessageContaining("Mega Evolution");
+        verifyNoInteractions(pokemonGeneticAlgorithm);
+    }
+
+    /**
+     * Ensures requests with the same constraints share an archive key, whatever the order
+     * of the banned and allowed sets, while the order of locked members matters.
+     */
+    @Test
+    void archiveKey_ShouldDependOnlyOnConstraints() {
+        TeamCompletionRequest request = new TeamCompletionRequest();
+        request.setLockedPokemonIds(List.of(6, 3));
+        request.setBannedPokemonIds(Set.of(150, 9, 151));
+        request.setBannedRarities(Set.of(PokemonRarity.MYTHICAL, PokemonRarity.LEGENDARY));
+        TeamCompletionRequest same = new TeamCompletionRequest();
+        same.setLockedPokemonIds(List.of(6, 3));
+        same.setBannedPokemonIds(Set.of(151, 150, 9));
+        same.setBannedRarities(Set.of(PokemonRarity.LEGENDARY, PokemonRarity.MYTHICAL));
+        TeamCompletionRequest swapped = new TeamCompletionRequest();
+        swapped.setLockedPokemonIds(List.of(3, 6));
+        swapped.setBannedPokemonIds(Set.of(150, 9, 151));
+        swapped.setBannedRarities(Set.of(PokemonRarity.MYTHICAL, PokemonRarity.LEGENDARY));
+
+        assertThat(TeamOptimizationService.archiveKey(request))
+                .isEqualTo(TeamOptimizationService.archiveKey(same))
+                .isEqualTo("locked=6,3;banned=9,150,151;rarities=LEGENDARY,MYTHICAL;allowed=;types=;mega=true")
+                .isNotEqualTo(TeamOptimizationService.archiveKey(swapped));
+    }
+
+    // --- Double-buffered pipeline ---
+
+    /**
+     * Ensures the double-buffered pipeline runs unconstrained optimizations with the
+     * base algorithm's operators and budget, without touching the simple engine or checkpoints.
+     */
+    @Test
+    void optimize_ShouldUseDoubleBufferedEngine_WhenPipelineIsDoubleBuffered() throws Exception {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        List<PokemonGA> pokemons = List.of(pokemon(25, "Pikachu", normal), pokemon(133, "Eevee", normal),
+                pokemon(143, "Snorlax", normal));
+        Initializer<PokemonTeamGA> initializer = new Initializer<>() {
+            @Override
+            public FixedSizePopulation<PokemonTeamGA> initialize() {
+                return teams(pokemons);
+            }
+        };
+        stubInPlaceOperators(initializer, mock(PokemonSwapMutation.class), 5);
+        TeamOptimizationService service = service(TeamOptimizationService.DOUBLE_BUFFERED_PIPELINE);
+
+        // Act
+        OptimizationResultDTO dto = service.optimize(CancellationToken.none());
+
+        // Assert
+        assertThat(dto.getIterations()).isEqualTo(5);
+        assertThat(dto.getBestTeam().getCoding()).hasSize(PokemonTeamGA.MAX_TEAM_MEMBERS).doesNotContainNull();
+        assertThat(dto.isCancelled()).isFalse();
+        verify(eliteArchive).record(eq(PokemonTeamEliteArchive.DEFAULT_KEY), any());
+        verify(pokemonGeneticAlgorithm, never()).run(any(), any());
+        verify(checkpoints, never()).lock(any());
+    }
+
+    /**
+     * Ensures constrained runs also use the double-buffered engine, with the constrained
+     * initializer and mutation and locked members kept in their slots.
+     */
+    @Test
+    void optimizeCompletion_ShouldUseDoubleBufferedEngine_WhenPipelineIsDoubleBuffered() throws Exception {
+        // Arrange
+        PokemonType normal = new PokemonType(PokemonTypeName.NORMAL);
+        PokemonGA pikachu = pokemon(25, "Pikachu", normal);
+        PokemonGA eevee = pokemon(133, "Eevee", normal);
+        PokemonGA snorlax = pokemon(143, "Snorlax", normal);
+        PokemonTeamInitializer initializer = mock(PokemonTeamInitializer.class);
+        PokemonTeamInitializer constrainedInitializer = mock(PokemonTeamInitializer.class);
+        PokemonSwapMutation mutation = mock(PokemonSwapMutation.class);
+        PokemonSwapMutation constrainedMutation = mock(PokemonSwapMutation.class);
+        when(initializer.withConstraints(any(), any())).thenReturn(constrainedInitializer);
+        when(mutation.withConstraints(any())).thenReturn(constrainedMutation);
+        // Pikachu bloccato nel primo slot di ogni team
+        when(constrainedInitializer.initialize()).thenAnswer(inv -> teams(List.of(pikachu, eevee, snorlax)));
+        PokemonCandidatePool pool = new PokemonCandidatePool(List.of(List.of(pikachu), List.of(eevee), List.of(snorlax)));
+        when(pokedex.getById(25)).thenReturn(Optional.of(pikachu));
+        when(pokedex.getCandidates(any())).thenAnswer(inv -> pool.filter(inv.<Predicate<PokemonGA>>getArgument(0)));
+        stubInPlaceOperators(initializer, mutation, 3);
+        TeamOptimizationService service = service(TeamOptimizationService.DOUBLE_BUFFERED_PIPELINE);
+        TeamCompletionRequest request = new TeamCompletionRequest();
+        request.setLockedPokemonIds(List.of(25));
+
+        // Act
+        OptimizationResultDTO dto = service.optimize(request, CancellationToken.none());
+
+        // Assert
+        assertThat(dto.getIterations()).isEqualTo(3);
+        assertThat(dto.getBestTeam().getCoding()[0]).isSameAs(pikachu);
+        verify(constrainedMutation, times(2)).mutateInPlace(any(), any());
+        verify(mutation, never()).mutateInPlace(any(), any());
+        verify(eliteArchive).record(eq("locked=25;banned=;rarities=;allowed=;types=;mega=true"), any());
+    }
+
+    /**
+     * Ensures the double-buffered pipeline refuses to start with the features it does not
+     * support, naming each of them.
+     */
+    @Test
+    void constructor_ShouldFail_WhenDoubleBufferedIsCombinedWithUnsupportedFeatures() {
+        when(pokemonGeneticAlgorithm.getLocalSearchOperator()).thenReturn(mock(PokemonTeamHillClimbing.class));
+        when(checkpoints.isEnabled()).thenReturn(true);
+
+        assertThatThrownBy(() -> service(TeamOptimizationService.DOUBLE_BUFFERED_PIPELINE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("optimizer.local-search.enabled")
+                .hasMessageContaining("optimizer.checkpoint.dir")
+                .hasMessageNotContaining("optimizer.adaptive.enabled");
+        assertThatThrownBy(() -> service("fast"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown optimizer.pipeline: fast");
+    }
+
+    private TeamOptimizationService service(String pipeline) {
+        return new TeamOptimizationService(pokemonGeneticAlgorithm, pokemonTypePool, teamAnalysisService, pokedex,
+                exactSolver, checkpoints, eliteArchive, pipeline);
+    }
+
+    private void stubInPlaceOperators(Initializer<PokemonTeamGA> initializer, PokemonSwapMutation mutation,
+                                      int maxIterations) {
+        FitnessFunction<PokemonTeamGA> idSum = new FitnessFunction<>(true) {
+            @Override
+            public void evaluate(PokemonTeamGA individual) {
+                individual.setFitness(Stream.of(individual.getCoding()).mapToInt(PokemonGA::getId).sum());
+            }
+        };
+        when(pokemonGeneticAlgorithm.getFitnessFunction()).thenReturn(idSum);
+        when(pokemonGeneticAlgorithm.getInitializer()).thenReturn(initializer);
+        when(pokemonGeneticAlgorithm.getSelectionOperator()).thenReturn(new KTournamentSelection<>());
+        when(pokemonGeneticAlgorithm.getCrossoverOperator()).thenReturn(new PokemonTeamUniformCrossover());
+        when(pokemonGeneticAlgorithm.getMutationOperator()).thenReturn(mutation);
+        when(pokemonGeneticAlgorithm.getMutationProbability()).thenReturn(1.0);
+        when(pokemonGeneticAlgorithm.getMaxIterations()).thenReturn(maxIterations);
+        when(pokemonGeneticAlgorithm.getMaxIterationsNoImprovements()).thenReturn(0);
+    }
+
+    // quattro team pieni: il primo Pokémon della lista nel primo slot, gli altri a rotazione
+    private static FixedSizePopulation<PokemonTeamGA> teams(List<PokemonGA> pokemons) {
+        FixedSizePopulation<PokemonTeamGA> population = new FixedSizePopulation<>(0, 4);
+        for (int i = 0; i < 4; i++) {
+            PokemonGA[] coding = new PokemonGA[PokemonTeamGA.MAX_TEAM_MEMBERS];
+            coding[0] = pokemons.get(0);
+            for (int slot = 1; slot < coding.length; slot++) {
+                coding[slot] = pokemons.get(1 + (i + slot) % (pokemons.size() - 1));
+            }
+            population.add(new PokemonTeamGA(coding));
+        }
+        return population;
+    }
+
+    private static PokemonGA pokemon(String name, PokemonType type) {
+        return pokemon(1, name, type);
+    }
+
+    private static PokemonGA pokemon(int id, String name, PokemonType type) {
+        return new PokemonGA(id, name, type, null, 80, 80, 80, 80, 80, 80, PokemonRarity.COMMON);
+    }
 }
@@ -0,0 +1,185 @@
+package com.pokedexsocial.backend.service;
+
+import com.pokedexsocial.backend.dto.PagedResponse;
+import com.pokedexsocial.backend.dto.TeamDto;
+import com.pokedexsocial.backend.model.Ability;
+import com.pokedexsocial.backend.model.Pokemon;
+import com.pokedexsocial.backend.model.Team;
+import com.pokedexsocial.backend.model.TeamPokemon;
+import com.pokedexsocial.backend.model.Type;
+import com.pokedexsocial.backend.model.User;
+import com.pokedexsocial.backend.repository.TeamRepository;
+import com.pokedexsocial.backend.security.AuthContext;
+import com.pokedexsocial.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that team listings run a bounded number of SQL statements per page,
+ * regardless of how many teams, members and types the page contains.
+ * <p>
+ * Runs {@link TeamService} against an in-memory H2 database with Hibernate
+ * statistics enabled.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import({TeamService.class, TeamFeedService.class, TeamDetailCache.class, JacksonAutoConfiguration.class})
+class TeamServiceQueryCountTest {
+
+    private static final int TEAMS = 25;
+    private static final int PAGE_SIZE = 20;
+
+    @MockitoBean private TeamLeaderboardService leaderboardService;
+    @MockitoBean private TeamSimilarityService similarityService;
+
+    @Autowired private TeamService teamService;
+    @Autowired private TeamRepository teamRepository;
+    @Autowired private EntityManager em;
+    @Autowired private EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Type> types = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Type type = new Type(null, "Type" + i);
+            em.persist(type);
+            types.add(type);
+        }
+        Ability ability = new Ability(null, "Overgrow", "d");
+        em.persist(ability);
+
+        List<Pokemon> pokemons = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            pokemons.add(persistPokemon(i, types.get(i % 6), types.get((i + 1) % 6), ability));
+        }
+
+        User owner = new User();
+        owner.setEmail("ash@pokedex.it");
+        owner.setUsername("ash");
+        owner.setPassword("x");
+        owner.setRole("USER");
+        owner.setPokecoin(0L);
+        em.persist(owner);
+
+        for (int t = 0; t < TEAMS; t++) {
+            Team team = new Team();
+            team.setUser(owner);
+            team.setName("Team " + t);
+            team.setVisibility(t % 2 == 0 ? "PUBLIC" : "PRIVATE");
+            team.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(t));
+            em.persist(team);
+            for (int slot = 1; slot <= 6; slot++) {
+                team.getPokemons().add(new TeamPokemon(team, pokemons.get((t + slot) % pokemons.size()), slot));
+            }
+        }
+        em.flush();
+        em.clear();
+
+        AuthContext.setCurrentUser(new AuthenticatedUser(owner.getId(), "ash", "USER"));
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        AuthContext.clear();
+    }
+
+    /** User lookup, id page, count and one fetch-joined load: no lazy loading per team. */
+    @Test
+    void getAllTeams_ShouldRunBoundedStatements_PerPage() throws Exception {
+        PagedResponse<TeamDto> page = teamService.getAllTeams(
+                PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()));
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(page.getItems().get(0).getName()).isEqualTo("Team " + (TEAMS - 1));
+        assertThat(page.getItems()).allSatisfy(team -> assertThat(team.getMembers()).hasSize(6));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    /** Same bound for the owner's listing. */
+    @Test
+    void getUserTeams_ShouldRunBoundedStatements_PerPage() throws Exception {
+        PagedResponse<TeamDto> page = teamService.getUserTeams(PageRequest.of(1, PAGE_SIZE, Sort.by("name")));
+
+        assertThat(page.getItems()).hasSize(TEAMS - PAGE_SIZE);
+        assertThat(page.getTotalItems()).isEqualTo(TEAMS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    /** Cursor listing: the limited row query plus one fetch-joined load. */
+    @Test
+    void scrollAllTeams_ShouldRunBoundedStatements_PerPage() throws Exception {
+        var page = teamService.scrollAllTeams(Sort.Order.desc("createdAt"), PAGE_SIZE, null);
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(page.getItems()).allSatisfy(team -> {
+            assertThat(team.getUser().getUsername()).isEqualTo("ash");
+            assertThat(team.getMembers()).hasSize(6);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    /** Team analysis reads owners, visibility and member IDs of a whole batch with one statement. */
+    @Test
+    void findMemberRowsByTeamIdIn_ShouldRunOneStatement_ForWholeBatch() {
+        List<Integer> ids = em.createQuery("SELECT t.id FROM Team t", Integer.class).getResultList();
+        statistics.clear();
+
+        List<TeamRepository.TeamMemberRow> rows = teamRepository.findMemberRowsByTeamIdIn(ids);
+
+        assertThat(rows).hasSize(TEAMS * 6);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.getPokemonId()).isNotNull();
+            assertThat(row.getVisibility()).isIn("PUBLIC", "PRIVATE");
+        });
+        assertThat(rows.subList(0, 6)).extracting(TeamRepository.TeamMemberRow::getSlot)
+                .containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Pokemon persistPokemon(int ndex, Type type1, Type type2, Ability ability) {
+        Pokemon p = new Pokemon();
+        p.setNdex(ndex);
+        p.setSpecies("Mon" + ndex);
+        p.setDex1("d1");
+        p.setDex2("d2");
+        p.setType1(type1);
+        p.setType2(type2);
+        p.setAbility1(ability);
+        p.setHp(1);
+        p.setAttack(1);
+        p.setDefense(1);
+        p.setSpattack(1);
+        p.setSpdefense(1);
+        p.setSpeed(1);
+        p.setTotal(6);
+        p.setPokemonClass("Test Pokémon");
+        em.persist(p);
+        return p;
+    }
+}
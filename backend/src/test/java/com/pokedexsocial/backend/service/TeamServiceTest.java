@@ -1,6 +1,8 @@
 package com.pokedexsocial.backend.service;
 
 import com.pokedexsocial.backend.dto.CreateTeamRequest;
+import com.pokedexsocial.backend.dto.SimilarTeamDto;
+import com.pokedexsocial.backend.exception.InvalidCursorException;
 import com.pokedexsocial.backend.exception.InvalidTeamOperationException;
 import com.pokedexsocial.backend.model.Pokemon;
 import com.pokedexsocial.backend.model.Team;
@@ -13,6 +15,7 @@ import com.pokedexsocial.backend.repository.UserRepository;
 import com.pokedexsocial.backend.security.AuthContext;
 import com.pokedexsocial.backend.security.AuthenticatedUser;
 import com.pokedexsocial.backend.service.TeamService;
+import com.pokedexsocial.backend.util.Cursor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,12 +23,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.nio.file.AccessDeniedException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +44,9 @@ class TeamServiceTest {
     @Mock private TeamRepository teamRepository;
     @Mock private PokemonRepository pokemonRepository;
     @Mock private UserRepository userRepository;
+    @Mock private TeamFeedService teamFeedService;
+    @Mock private TeamSimilarityService teamSimilarityService;
+    @Spy private TeamDetailCache teamDetailCache = new TeamDetailCache(100, Duration.ofMinutes(10));
 
     @InjectMocks private TeamService teamService;
 
@@ -150,7 +163,7 @@ class TeamServiceTest {
     void createTeam_ShouldThrowInvalidOperation_WhenPokemonNotFound() {
         // given
         when(userRepository.findById(authUser.id())).thenReturn(Optional.of(dbUser));
-        when(pokemonRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(pokemonRepository.findAllById(any())).thenReturn(List.of());
 
         // when / then
         assertThatThrownBy(() -> teamService.createTeam(request))
@@ -164,7 +177,7 @@ class TeamServiceTest {
     @Test
     void createTeam_ShouldCreateTeamSuccessfully_WhenRequestValid() throws Exception {
         when(userRepository.findById(authUser.id())).thenReturn(Optional.of(dbUser));
-        when(pokemonRepository.findById(1)).thenReturn(Optional.of(bulbasaur));
+        when(pokemonRepository.findAllById(Set.of(1))).thenReturn(List.of(bulbasaur));
 
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> {
             Team t = inv.getArgument(0);
@@ -190,6 +203,62 @@ class TeamServiceTest {
         assertThat(saved.getName()).isEqualTo("Kanto Starters");
 
         verify(teamRepository).save(any(Team.class));
+        verify(teamFeedService).publish(result);
+        verify(teamSimilarityService).index(result);
+    }
+
+    /**
+     * Should resolve all members with a single query, even when a Pokémon is used twice.
+     */
+    @Test
+    void createTeam_ShouldLoadMembersWithSingleQuery() throws Exception {
+        Pokemon ivysaur = new Pokemon();
+        ivysaur.setId(2);
+        ivysaur.setSpecies("Ivysaur");
+
+        CreateTeamRequest.MemberDto m1 = new CreateTeamRequest.MemberDto();
+        m1.setPokemonId(1);
+        m1.setSlot(1);
+        CreateTeamRequest.MemberDto m2 = new CreateTeamRequest.MemberDto();
+        m2.setPokemonId(2);
+        m2.setSlot(2);
+        CreateTeamRequest.MemberDto m3 = new CreateTeamRequest.MemberDto();
+        m3.setPokemonId(1);
+        m3.setSlot(3);
+        request.setMembers(List.of(m1, m2, m3));
+
+        when(userRepository.findById(authUser.id())).thenReturn(Optional.of(dbUser));
+        when(pokemonRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(bulbasaur, ivysaur));
+        when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TeamDto result = teamService.createTeam(request);
+
+        assertThat(result.getMembers()).extracting(m -> m.getPokemon().species())
+                .containsExactly("Bulbasaur", "Ivysaur", "Bulbasaur");
+        verify(pokemonRepository, times(1)).findAllById(any());
+        verify(pokemonRepository, never()).findById(any());
+    }
+
+    /**
+     * Should report the first requested Pokémon that does not exist.
+     */
+    @Test
+    void createTeam_ShouldReportMissingId_WhenOnePokemonNotFound() {
+        CreateTeamRequest.MemberDto m1 = new CreateTeamRequest.MemberDto();
+        m1.setPokemonId(1);
+        m1.setSlot(1);
+        CreateTeamRequest.MemberDto m2 = new CreateTeamRequest.MemberDto();
+        m2.setPokemonId(404);
+        m2.setSlot(2);
+        request.setMembers(List.of(m1, m2));
+
+        when(userRepository.findById(authUser.id())).thenReturn(Optional.of(dbUser));
+        when(pokemonRepository.findAllById(Set.of(1, 404))).thenReturn(List.of(bulbasaur));
+
+        assertThatThrownBy(() -> teamService.createTeam(request))
+                .isInstanceOf(InvalidTeamOperationException.class)
+                .hasMessage("Pokemon not found with id 404");
+        verify(teamRepository, never()).save(any(Team.class));
     }
 
     /**
@@ -213,7 +282,7 @@ class TeamServiceTest {
         when(userRepository.findById(authUser.id())).thenReturn(Optional.of(dbUser));
 
         // pokemon esistente
-        when(pokemonRepository.findById(1)).thenReturn(Optional.of(bulbasaur));
+        when(pokemonRepository.findAllById(Set.of(1))).thenReturn(List.of(bulbasaur));
 
         // request con visibilità PRIVATE
         CreateTeamRequest.MemberDto member = new CreateTeamRequest.MemberDto();
@@ -267,7 +336,7 @@ class TeamServiceTest {
     @Test
     void getTeamById_ShouldThrowTeamNotFound_WhenTeamDoesNotExist() {
         // given
-        when(teamRepository.findById(10)).thenReturn(Optional.empty());
+        when(teamRepository.findAllWithMembersByIdIn(List.of(10))).thenReturn(List.of());
 
         // when / then
         assertThatThrownBy(() -> teamService.getTeamById(10))
@@ -289,7 +358,7 @@ class TeamServiceTest {
         privateTeam.setVisibility("PRIVATE");
         privateTeam.setUser(owner);
 
-        when(teamRepository.findById(10)).thenReturn(Optional.of(privateTeam));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(10))).thenReturn(List.of(privateTeam));
 
         // when / then
         assertThatThrownBy(() -> teamService.getTeamById(10))
@@ -312,7 +381,7 @@ class TeamServiceTest {
         publicTeam.setCreatedAt(java.time.Instant.now());
         publicTeam.setUpdatedAt(java.time.Instant.now());
 
-        when(teamRepository.findById(10)).thenReturn(Optional.of(publicTeam));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(10))).thenReturn(List.of(publicTeam));
 
         // when
         var result = teamService.getTeamById(10);
@@ -338,7 +407,7 @@ class TeamServiceTest {
         privateTeam.setUser(dbUser);
         privateTeam.getPokemons().add(new TeamPokemon(privateTeam, bulbasaur, 1));
 
-        when(teamRepository.findById(11)).thenReturn(Optional.of(privateTeam));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(11))).thenReturn(List.of(privateTeam));
 
         // when
         var result = teamService.getTeamById(11);
@@ -367,7 +436,7 @@ class TeamServiceTest {
         privateTeam.setUser(owner);
         privateTeam.getPokemons().add(new TeamPokemon(privateTeam, bulbasaur, 1));
 
-        when(teamRepository.findById(12)).thenReturn(Optional.of(privateTeam));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(12))).thenReturn(List.of(privateTeam));
 
         // when
         var result = teamService.getTeamById(12);
@@ -404,7 +473,7 @@ class TeamServiceTest {
         team.setUser(dbUser);
         team.getPokemons().add(new TeamPokemon(team, bulbasaur, 1));
 
-        when(teamRepository.findById(1)).thenReturn(Optional.of(team));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(1))).thenReturn(List.of(team));
 
         // when
         TeamDto result = teamService.getTeamById(1);
@@ -418,6 +487,104 @@ class TeamServiceTest {
         assertThat(types).extracting("name").containsExactlyInAnyOrder("Grass", "Poison");
     }
 
+    /**
+     * Should serve repeated reads from the cache, still checking visibility per request.
+     */
+    @Test
+    void getTeamById_ShouldUseCacheAndCheckVisibility_WhenCalledTwice() throws Exception {
+        // given
+        Team privateTeam = new Team();
+        privateTeam.setId(11);
+        privateTeam.setVisibility("PRIVATE");
+        privateTeam.setUser(dbUser);
+
+        when(teamRepository.findAllWithMembersByIdIn(List.of(11))).thenReturn(List.of(privateTeam));
+
+        // when
+        TeamDto first = teamService.getTeamById(11);
+        first.setName("changed by caller");
+        TeamDto second = teamService.getTeamById(11);
+
+        AuthContext.setCurrentUser(new AuthenticatedUser(99, "misty", "USER"));
+
+        // then
+        assertThat(second.getName()).isNotEqualTo("changed by caller");
+        assertThatThrownBy(() -> teamService.getTeamById(11))
+                .isInstanceOf(AccessDeniedException.class);
+        verify(teamRepository, times(1)).findAllWithMembersByIdIn(List.of(11));
+    }
+
+    /**
+     * Should look up similar teams only after the visibility check passed.
+     */
+    @Test
+    void getSimilarTeams_ShouldQueryIndex_WhenTeamIsVisible() throws Exception {
+        // given
+        Team publicTeam = new Team();
+        publicTeam.setId(12);
+        publicTeam.setVisibility("PUBLIC");
+        publicTeam.setUser(dbUser);
+        List<SimilarTeamDto> similar = List.of(new SimilarTeamDto(13, "Copy", "misty", 0.5));
+
+        when(teamRepository.findAllWithMembersByIdIn(List.of(12))).thenReturn(List.of(publicTeam));
+        when(teamSimilarityService.findSimilar(any(TeamDto.class), eq(5))).thenReturn(similar);
+
+        // when
+        List<SimilarTeamDto> result = teamService.getSimilarTeams(12, 5);
+
+        // then
+        assertThat(result).isEqualTo(similar);
+    }
+
+    /**
+     * Should not look up similar teams of a private team of someone else.
+     */
+    @Test
+    void getSimilarTeams_ShouldThrowAccessDenied_WhenPrivateAndNotOwnerOrAdmin() {
+        // given
+        Team privateTeam = new Team();
+        privateTeam.setId(14);
+        privateTeam.setVisibility("PRIVATE");
+        privateTeam.setUser(dbUser);
+        AuthContext.setCurrentUser(new AuthenticatedUser(99, "misty", "USER"));
+
+        when(teamRepository.findAllWithMembersByIdIn(List.of(14))).thenReturn(List.of(privateTeam));
+
+        // when / then
+        assertThatThrownBy(() -> teamService.getSimilarTeams(14, 5))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(teamSimilarityService);
+    }
+
+    /**
+     * Should reload the team after it has been updated.
+     */
+    @Test
+    void getTeamById_ShouldReload_WhenTeamWasUpdated() throws Exception {
+        // given
+        Team team = new Team();
+        team.setId(1);
+        team.setName("Old");
+        team.setVisibility("PUBLIC");
+        team.setUser(dbUser);
+        team.getPokemons().add(new TeamPokemon(team, bulbasaur, 1));
+
+        when(teamRepository.findAllWithMembersByIdIn(List.of(1))).thenReturn(List.of(team));
+        when(teamRepository.findById(1)).thenReturn(Optional.of(team));
+        when(pokemonRepository.findAllById(Set.of(1))).thenReturn(List.of(bulbasaur));
+        when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        teamService.getTeamById(1);
+
+        // when
+        teamService.updateTeam(1, request);
+        TeamDto result = teamService.getTeamById(1);
+
+        // then
+        assertThat(result.getName()).isEqualTo(request.getName());
+        verify(teamRepository, times(2)).findAllWithMembersByIdIn(List.of(1));
+    }
+
     // -------------------------------------------------------------------------------------
     // Tests for deleteTeam()
     // -------------------------------------------------------------------------------------
@@ -471,7 +638,7 @@ class TeamServiceTest {
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("not allowed to delete this team");
 
-        verify(teamRepository, never()).delete(any());
+        verify(teamRepository, never()).delete(any(Team.class));
     }
 
     /**
@@ -491,6 +658,8 @@ class TeamServiceTest {
         teamService.deleteTeam(10);
 
         // then
+        verify(teamFeedService).remove(team.getId());
+        verify(teamSimilarityService).remove(team.getId());
         verify(teamRepository).delete(team);
     }
 
@@ -608,7 +777,7 @@ class TeamServiceTest {
         poke.setSpecies("Bulbasaur");
 
         when(teamRepository.findById(10)).thenReturn(Optional.of(team));
-        when(pokemonRepository.findById(1)).thenReturn(Optional.of(poke));
+        when(pokemonRepository.findAllById(Set.of(1))).thenReturn(List.of(poke));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
@@ -702,7 +871,7 @@ class TeamServiceTest {
 
         // Mock repository
         when(teamRepository.findById(1)).thenReturn(Optional.of(team));
-        when(pokemonRepository.findById(1)).thenReturn(Optional.of(bulbasaur));
+        when(pokemonRepository.findAllById(Set.of(1))).thenReturn(List.of(bulbasaur));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
@@ -754,7 +923,7 @@ class TeamServiceTest {
         request.setMembers(List.of(m1));
 
         when(teamRepository.findById(1)).thenReturn(Optional.of(team));
-        when(pokemonRepository.findById(1)).thenReturn(Optional.of(p1));
+        when(pokemonRepository.findAllById(Set.of(1))).thenReturn(List.of(p1));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
@@ -785,7 +954,7 @@ class TeamServiceTest {
         team.setUser(dbUser);
 
         when(teamRepository.findById(1)).thenReturn(Optional.of(team));
-        when(pokemonRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(pokemonRepository.findAllById(any())).thenReturn(List.of());
 
         // when / then
         assertThatThrownBy(() -> teamService.updateTeam(1, request))
@@ -835,8 +1004,7 @@ class TeamServiceTest {
         newPoke2.setSpecies("Ivysaur");
 
 
-        when(pokemonRepository.findById(1)).thenReturn(Optional.of(newPoke1));
-        when(pokemonRepository.findById(2)).thenReturn(Optional.of(newPoke2));
+        when(pokemonRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(newPoke1, newPoke2));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
@@ -908,10 +1076,9 @@ class TeamServiceTest {
         team2.setUser(dbUser);
         team2.getPokemons().add(new TeamPokemon(team2, bulbasaur, 1));
 
-        org.springframework.data.domain.Page<Team> teamPage =
-                new org.springframework.data.domain.PageImpl<>(List.of(team1, team2));
-
-        when(teamRepository.findByUser(dbUser, pageable)).thenReturn(teamPage);
+        when(teamRepository.findIdsByUser(dbUser, pageable))
+                .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(1, 2)));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(1, 2))).thenReturn(List.of(team2, team1));
 
         // when
         var result = teamService.getUserTeams(pageable);
@@ -922,7 +1089,7 @@ class TeamServiceTest {
         assertThat(result.getItems().get(0).getName()).isEqualTo("Team A");
         assertThat(result.getPage()).isEqualTo(0); // PageImpl default number = 0
 
-        verify(teamRepository).findByUser(dbUser, pageable);
+        verify(teamRepository).findIdsByUser(dbUser, pageable);
     }
 
     // -------------------------------------------------------------------------------------
@@ -978,10 +1145,9 @@ class TeamServiceTest {
         team2.setUser(dbUser);
         team2.getPokemons().add(new TeamPokemon(team2, bulbasaur, 1));
 
-        org.springframework.data.domain.Page<Team> page =
-                new org.springframework.data.domain.PageImpl<>(List.of(team1, team2));
-
-        when(teamRepository.findAll(pageable)).thenReturn(page);
+        when(teamRepository.findAllIds(pageable))
+                .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(1, 2)));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(1, 2))).thenReturn(List.of(team1, team2));
 
         // when
         var result = teamService.getAllTeams(pageable);
@@ -989,8 +1155,8 @@ class TeamServiceTest {
         // then
         assertThat(result).isNotNull();
         assertThat(result.getItems()).hasSize(2);
-        verify(teamRepository).findAll(pageable);
-        verify(teamRepository, never()).findAllVisibleForUser(anyInt(), any());
+        verify(teamRepository).findAllIds(pageable);
+        verify(teamRepository, never()).findIdsVisibleForUser(anyInt(), any());
     }
 
     /**
@@ -1014,10 +1180,9 @@ class TeamServiceTest {
         t2.setVisibility("PRIVATE");
         t2.getPokemons().add(new TeamPokemon(t2, bulbasaur, 1));
 
-        org.springframework.data.domain.Page<Team> page =
-                new org.springframework.data.domain.PageImpl<>(List.of(t1, t2));
-
-        when(teamRepository.findAllVisibleForUser(dbUser.getId(), pageable)).thenReturn(page);
+        when(teamRepository.findIdsVisibleForUser(dbUser.getId(), pageable))
+                .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(1, 2)));
+        when(teamRepository.findAllWithMembersByIdIn(List.of(1, 2))).thenReturn(List.of(t2, t1));
 
         // when
         var result = teamService.getAllTeams(pageable);
@@ -1027,7 +1192,96 @@ class TeamServiceTest {
         assertThat(result.getItems()).hasSize(2);
         assertThat(result.getItems().get(0).getId()).isEqualTo(1);
 
-        verify(teamRepository).findAllVisibleForUser(dbUser.getId(), pageable);
-        verify(teamRepository, never()).findAll(pageable);
+        verify(teamRepository).findIdsVisibleForUser(dbUser.getId(), pageable);
+        verify(teamRepository, never()).findAllIds(pageable);
+    }
+
+    // -------------------------------------------------------------------------------------
+    // Tests for scrollAllTeams() / scrollUserTeams()
+    // -------------------------------------------------------------------------------------
+
+    /** Unauthenticated callers cannot scroll teams. */
+    @Test
+    void scrollAllTeams_ShouldThrowAccessDenied_WhenUserNotAuthenticated() {
+        AuthContext.clear();
+
+        assertThatThrownBy(() -> teamService.scrollAllTeams(Sort.Order.desc("createdAt"), 10, null))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(teamRepository);
+    }
+
+    /** Returns a page of the requested size and a cursor pointing at its last team. */
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollAllTeams_ShouldReturnNextCursor_WhenMoreTeamsThanPageSize() throws Exception {
+        Team t1 = teamCreatedAt(3, "2025-01-03T00:00:00Z");
+        Team t2 = teamCreatedAt(2, "2025-01-02T00:00:00Z");
+        doReturn(List.of(t1, t2)).when(teamRepository).findBy(any(Specification.class), any());
+
+        var result = teamService.scrollAllTeams(Sort.Order.desc("createdAt"), 1, null);
+
+        assertThat(result.getItems()).extracting(TeamDto::getId).containsExactly(3);
+        assertThat(result.isLast()).isFalse();
+        assertThat(Cursor.decode(result.getNextCursor()))
+                .isEqualTo(new Cursor("createdAt", Sort.Direction.DESC, "2025-01-03T00:00:00Z", 3));
+        verifyNoInteractions(userRepository);
+    }
+
+    /** The owner-only listing also pages with cursors. */
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollUserTeams_ShouldMarkLastPage_WhenNoMoreTeams() throws Exception {
+        Team t1 = teamCreatedAt(1, "2025-01-01T00:00:00Z");
+        doReturn(List.of(t1)).when(teamRepository).findBy(any(Specification.class), any());
+
+        var result = teamService.scrollUserTeams(Sort.Order.desc("createdAt"), 10,
+                new Cursor("createdAt", Sort.Direction.DESC, "2025-01-02T00:00:00Z", 2));
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    /** A cursor produced for another sort order is rejected. */
+    @Test
+    void scrollAllTeams_ShouldThrowInvalidCursor_WhenCursorDoesNotMatchSort() {
+        Cursor cursor = new Cursor("name", Sort.Direction.ASC, "Kanto", 5);
+
+        assertThatThrownBy(() -> teamService.scrollAllTeams(Sort.Order.desc("createdAt"), 10, cursor))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(teamRepository);
+    }
+
+    /** A createdAt cursor whose value is not an ISO instant is rejected. */
+    @Test
+    void scrollUserTeams_ShouldThrowInvalidCursor_WhenCursorValueIsMalformed() {
+        Cursor cursor = new Cursor("createdAt", Sort.Direction.DESC, "yesterday", 5);
+
+        assertThatThrownBy(() -> teamService.scrollUserTeams(Sort.Order.desc("createdAt"), 10, cursor))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    /** A name or createdAt cursor without a value is rejected before any query. */
+    @Test
+    void scrollUserTeams_ShouldThrowInvalidCursor_WhenCursorValueIsMissing() {
+        Cursor byName = new Cursor("name", Sort.Direction.ASC, null, 5);
+        Cursor byCreatedAt = new Cursor("createdAt", Sort.Direction.DESC, " ", 5);
+
+        assertThatThrownBy(() -> teamService.scrollUserTeams(Sort.Order.asc("name"), 10, byName))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> teamService.scrollUserTeams(Sort.Order.desc("createdAt"), 10, byCreatedAt))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(teamRepository);
+    }
+
+    private Team teamCreatedAt(int id, String createdAt) {
+        Team team = new Team();
+        team.setId(id);
+        team.setUser(dbUser);
+        team.setName("Team " + id);
+        team.setVisibility("PUBLIC");
+        team.setCreatedAt(Instant.parse(createdAt));
+        team.getPokemons().add(new TeamPokemon(team, bulbasaur, 1));
+        return team;
     }
 }
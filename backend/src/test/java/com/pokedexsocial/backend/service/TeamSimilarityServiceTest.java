@@ -0,0 +1,112 @@
+package com.pokedexsocial.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokedexsocial.backend.dto.PokemonListDto;
+import com.pokedexsocial.backend.dto.SimilarTeamDto;
+import com.pokedexsocial.backend.dto.TeamDto;
+import com.pokedexsocial.backend.model.TeamFeedEntry;
+import com.pokedexsocial.backend.repository.TeamFeedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamSimilarityServiceTest {
+
+    @Mock private TeamFeedRepository feedRepository;
+
+    private TeamSimilarityService similarityService;
+
+    @BeforeEach
+    void setUp() {
+        similarityService = new TeamSimilarityService(feedRepository, new ObjectMapper());
+    }
+
+    /** Similar public teams are named with one feed query; teams gone from the feed are skipped. */
+    @Test
+    void findSimilar_ShouldReturnNamedMatches() {
+        similarityService.index(team(1, "PUBLIC", 1, 2, 3, 4, 5, 6));
+        similarityService.index(team(2, "PUBLIC", 1, 2, 3, 4, 5, 7));
+        similarityService.index(team(3, "PUBLIC", 1, 2, 3, 4, 5, 8));
+        when(feedRepository.findAllById(List.of(2, 3))).thenReturn(List.of(entry(3)));
+
+        List<SimilarTeamDto> similar = similarityService.findSimilar(team(1, "PUBLIC", 1, 2, 3, 4, 5, 6), 10);
+
+        assertThat(similar).containsExactly(new SimilarTeamDto(3, "Team 3", "ash", 5.0 / 7));
+    }
+
+    /** Teams made private leave the index; nothing is queried when there is no match. */
+    @Test
+    void index_ShouldRemoveTeam_WhenVisibilityIsPrivate() {
+        similarityService.index(team(2, "PUBLIC", 1, 2, 3, 4, 5, 6));
+        similarityService.index(team(2, "PRIVATE", 1, 2, 3, 4, 5, 6));
+
+        assertThat(similarityService.findSimilar(team(1, "PRIVATE", 1, 2, 3, 4, 5, 6), 10)).isEmpty();
+        verifyNoInteractions(feedRepository);
+    }
+
+    /** Inside a transaction the index changes only after the commit. */
+    @Test
+    void index_ShouldApplyAfterCommit_WhenTransactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            similarityService.index(team(1, "PUBLIC", 1, 2, 3));
+            assertThat(similarityService.size()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(similarityService.size()).isEqualTo(1);
+    }
+
+    /** Startup loads the members of every feed entry. */
+    @Test
+    void loadIndex_ShouldIndexFeedEntries() {
+        when(feedRepository.findMembersAfter(eq(0), any())).thenReturn(List.of(members(4), members(5)));
+
+        similarityService.loadIndex();
+
+        assertThat(similarityService.size()).isEqualTo(2);
+    }
+
+    private static TeamDto team(int id, String visibility, int... pokemonIds) {
+        TeamDto dto = new TeamDto();
+        dto.setId(id);
+        dto.setVisibility(visibility);
+        dto.setMembers(Arrays.stream(pokemonIds)
+                .mapToObj(p -> new TeamDto.MemberDto(p, new PokemonListDto(p, p, "P" + p, null, null, List.of(), null)))
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    private static TeamFeedEntry entry(int teamId) {
+        TeamFeedEntry entry = new TeamFeedEntry();
+        entry.setTeamId(teamId);
+        entry.setName("Team " + teamId);
+        entry.setOwnerUsername("ash");
+        return entry;
+    }
+
+    private static TeamFeedRepository.MembersRow members(int teamId) {
+        return new TeamFeedRepository.MembersRow() {
+            @Override public Integer getTeamId() { return teamId; }
+            @Override public String getMembers() { return "[{\"slot\":1,\"pokemon\":{\"id\":25,\"species\":\"Pikachu\"}}]"; }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.pokedexsocial.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    /**
+     * Should accept gzip when it is listed, with or without a positive quality.
+     */
+    @Test
+    void acceptsGzip_ShouldReturnTrue_WhenGzipIsListed() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip")).isTrue();
+    }
+
+    /**
+     * Should refuse gzip when its quality is zero, even if a wildcard is present.
+     */
+    @Test
+    void acceptsGzip_ShouldReturnFalse_WhenGzipHasZeroQuality() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip; q=0.000, *")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=abc")).isFalse();
+    }
+
+    /**
+     * Should only match whole coding tokens, not substrings.
+     */
+    @Test
+    void acceptsGzip_ShouldReturnFalse_ForTokensContainingGzip() {
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip-foo")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzipped, br")).isFalse();
+    }
+
+    /**
+     * Should fall back to the wildcard quality when gzip is not listed.
+     */
+    @Test
+    void acceptsGzip_ShouldFollowWildcard_WhenGzipIsNotListed() {
+        assertThat(AcceptEncoding.acceptsGzip("br, *")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+    }
+}
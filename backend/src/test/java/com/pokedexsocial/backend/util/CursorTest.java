@@ -0,0 +1,51 @@
+package com.pokedexsocial.backend.util;
+
+import com.pokedexsocial.backend.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    /** Encoding then decoding yields the same cursor, including values with separators. */
+    @Test
+    void decode_ShouldRoundTrip_WhenTokenWasEncoded() {
+        Cursor cursor = new Cursor("name", Sort.Direction.DESC, "Team\nwith newline", 42);
+
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    /** Cursors sorted by id carry no value. */
+    @Test
+    void decode_ShouldKeepNullValue_WhenSortingById() {
+        Cursor cursor = new Cursor("id", Sort.Direction.ASC, null, 7);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertThat(decoded.value()).isNull();
+        assertThat(decoded.toOrder()).isEqualTo(Sort.Order.asc("id"));
+    }
+
+    /** Missing or blank tokens mean "first page". */
+    @Test
+    void decode_ShouldReturnNull_WhenTokenIsBlank() {
+        assertThat(Cursor.decode(null)).isNull();
+        assertThat(Cursor.decode(" ")).isNull();
+    }
+
+    /** Tokens that are not valid base64 or miss fields are rejected. */
+    @Test
+    void decode_ShouldThrow_WhenTokenIsMalformed() {
+        String missingFields = Base64.getUrlEncoder().encodeToString("1\nndex".getBytes(StandardCharsets.UTF_8));
+        String badDirection = Base64.getUrlEncoder().encodeToString("1\nndex\nUP\n3".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> Cursor.decode("%%%")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> Cursor.decode(missingFields)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> Cursor.decode(badDirection)).isInstanceOf(InvalidCursorException.class);
+    }
+}
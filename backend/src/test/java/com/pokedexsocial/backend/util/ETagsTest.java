@@ -0,0 +1,37 @@
+package com.pokedexsocial.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    /**
+     * Should produce a quoted strong tag of 32 hex characters.
+     */
+    @Test
+    void strong_ShouldReturnQuotedHexTag() {
+        String etag = ETags.strong("content");
+
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+    }
+
+    /**
+     * Should return the same tag for equal content, whatever the input form.
+     */
+    @Test
+    void strong_ShouldBeDeterministic_ForEqualContent() {
+        assertThat(ETags.strong("content"))
+                .isEqualTo(ETags.strong("content".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Should return different tags for different content.
+     */
+    @Test
+    void strong_ShouldDiffer_ForDifferentContent() {
+        assertThat(ETags.strong("content")).isNotEqualTo(ETags.strong("content2"));
+    }
+}
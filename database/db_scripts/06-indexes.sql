@@ -0,0 +1,31 @@
+-- =====================================================
+-- Indexes for the hot query paths
+-- =====================================================
+-- IF NOT EXISTS keeps the script re-runnable, so it can also be applied
+-- by hand to databases initialised before it was added.
+
+-- Pokemon: catalogue filters (type, ability, ndex range, height, weight)
+-- and the default ndex ordering with id as keyset tie-breaker
+CREATE INDEX IF NOT EXISTS idx_pokemon_type1 ON pokemon(type1_id);
+CREATE INDEX IF NOT EXISTS idx_pokemon_type2 ON pokemon(type2_id);
+CREATE INDEX IF NOT EXISTS idx_pokemon_ability1 ON pokemon(ability1_id);
+CREATE INDEX IF NOT EXISTS idx_pokemon_ability2 ON pokemon(ability2_id);
+CREATE INDEX IF NOT EXISTS idx_pokemon_hidden_ability ON pokemon(hidden_ability_id);
+CREATE INDEX IF NOT EXISTS idx_pokemon_ndex ON pokemon(ndex, id);
+CREATE INDEX IF NOT EXISTS idx_pokemon_height ON pokemon(height);
+CREATE INDEX IF NOT EXISTS idx_pokemon_weight ON pokemon(weight);
+
+-- TypeEffectiveness: lookups by defender (the PK already leads with attacker)
+CREATE INDEX IF NOT EXISTS idx_type_effectiveness_defender ON type_effectiveness(defender_type_id);
+
+-- Team: "my teams" listing, newest first
+CREATE INDEX IF NOT EXISTS idx_team_user_created ON team(user_id, created_at DESC, id DESC);
+
+-- Team: public feed, newest first. Partial index, since visibility alone has
+-- only two values; it also serves the PUBLIC branch of
+-- "visibility = 'PUBLIC' OR user_id = ?" next to idx_team_user_created
+CREATE INDEX IF NOT EXISTS idx_team_public_created ON team(created_at DESC, id DESC)
+    WHERE visibility = 'PUBLIC';
+
+-- TeamPokemon: reverse lookup by Pokemon (the PK already leads with team_id)
+CREATE INDEX IF NOT EXISTS idx_team_pokemon_pokemon ON team_pokemon(pokemon_id);
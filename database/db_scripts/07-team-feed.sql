@@ -0,0 +1,46 @@
+-- =====================================================
+-- TABLE: TeamFeed (read model of the public team feed)
+-- =====================================================
+-- One ready-to-serve row per PUBLIC team, kept up to date by the backend
+-- in the same transaction as every team write. members holds the JSON
+-- array of {slot, pokemon: {id, ndex, species, forme, pokemonClass,
+-- types: [{id, name}], imageUrl}} served by the API.
+CREATE TABLE IF NOT EXISTS team_feed (
+    team_id INT PRIMARY KEY REFERENCES team(id) ON DELETE CASCADE,
+    user_id INT NOT NULL,
+    owner_username VARCHAR(50) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    members TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_team_feed_created ON team_feed(created_at DESC, team_id DESC);
+
+-- Backfill, for databases that already contain teams
+INSERT INTO team_feed (team_id, user_id, owner_username, name, description, members, created_at, updated_at)
+SELECT t.id, u.id, u.username, t.name, t.description,
+       COALESCE((
+           SELECT json_agg(json_build_object(
+                      'slot', tp.slot,
+                      'pokemon', json_build_object(
+                          'id', p.id,
+                          'ndex', p.ndex,
+                          'species', p.species,
+                          'forme', p.forme,
+                          'pokemonClass', p.class,
+                          'types', (SELECT json_agg(json_build_object('id', ty.id, 'name', ty.name) ORDER BY ty.ord)
+                                    FROM (SELECT t1.id, t1.name, 1 AS ord FROM type t1 WHERE t1.id = p.type1_id
+                                          UNION ALL
+                                          SELECT t2.id, t2.name, 2 FROM type t2 WHERE t2.id = p.type2_id) ty),
+                          'imageUrl', p.image_url
+                      )) ORDER BY tp.slot)
+           FROM team_pokemon tp JOIN pokemon p ON p.id = tp.pokemon_id
+           WHERE tp.team_id = t.id
+       )::text, '[]'),
+       t.created_at, t.updated_at
+FROM team t
+JOIN app_user u ON u.id = t.user_id
+WHERE t.visibility = 'PUBLIC'
+ON CONFLICT (team_id) DO NOTHING;
@@ -0,0 +1,11 @@
+-- =====================================================
+-- TEAM FEED: leaderboard fitness
+-- =====================================================
+-- Fitness of each public team, as computed by the optimizer's scoring model,
+-- and the model version it was computed with. Rows with a NULL or outdated
+-- fitness_version (including the ones backfilled by 07-team-feed.sql) are
+-- re-scored by the backend at startup.
+ALTER TABLE team_feed ADD COLUMN IF NOT EXISTS fitness DOUBLE PRECISION;
+ALTER TABLE team_feed ADD COLUMN IF NOT EXISTS fitness_version INT;
+
+CREATE INDEX IF NOT EXISTS idx_team_feed_fitness_version ON team_feed(fitness_version);